@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: BenchmarkData.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.apache.parquet.io.api.Binary;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * BenchmarkData builds the rows the benchmarks run on. A Schema is a combination of FieldInfo and a Distribution
+ * decides how the values are drawn. The same seed always gives the same rows, so runs are comparable.
+ */
+public final class BenchmarkData
+{
+
+public static final long SEED = 0x5EED;
+
+private static final String STRING_PREFIX = "customer-0000-";
+
+private BenchmarkData()
+{
+}
+
+public enum Schema
+{
+    /**
+     * The schema of MainApp.
+     */
+    INT_LONG_LONG(FieldType.INTEGER, FieldType.LONG, FieldType.LONG),
+    INT(FieldType.INTEGER),
+    LONG_DOUBLE(FieldType.LONG, FieldType.DOUBLE),
+    STRING_INT(FieldType.STRING, FieldType.INTEGER),
+    ALL_TYPES(FieldType.INTEGER, FieldType.LONG, FieldType.DOUBLE, FieldType.FLOAT, FieldType.BOOLEAN, FieldType.DATE,
+        FieldType.STRING, FieldType.BINARY, FieldType.INT96);
+
+    private final FieldType[] m_aFieldType;
+
+    Schema(FieldType... aFieldType)
+    {
+        m_aFieldType = aFieldType;
+    }
+
+    public RowInfo getRowInfo()
+    {
+        FieldInfo[] aFieldInfo = new FieldInfo[m_aFieldType.length];
+        for (int i = 0; i < aFieldInfo.length; i++)
+        {
+            aFieldInfo[i] = new FieldInfo("field" + (i + 1), m_aFieldType[i]);
+        }
+        return new RowInfo(aFieldInfo);
+    }
+}
+
+public enum Distribution
+{
+    UNIFORM,
+    /**
+     * Already in ascending order.
+     */
+    SORTED,
+    REVERSE_SORTED,
+    /**
+     * 16 distinct values per field, so most comparisons go through every field.
+     */
+    FEW_DISTINCT,
+    /**
+     * Heavily skewed: value k is drawn with a probability of about 1/k, as in a Zipf distribution with s = 1.
+     */
+    ZIPF
+}
+
+public static List<RowData> generate(Schema schema, Distribution distribution, int nRowCount)
+{
+    RowInfo rowInfo = schema.getRowInfo();
+    Random random = new Random(SEED);
+    List<RowData> listRowData = new ArrayList<>(nRowCount);
+    for (int i = 0; i < nRowCount; i++)
+    {
+        RowData rowData = new RowData(rowInfo);
+        for (int nFieldIdx = 0; nFieldIdx < rowData.getFieldCount(); nFieldIdx++)
+        {
+            FieldData fieldData = rowData.getFieldData(nFieldIdx);
+            setValue(fieldData, nextValue(random, distribution, nRowCount));
+        }
+        listRowData.add(rowData);
+    }
+
+    if (distribution == Distribution.SORTED)
+    {
+        listRowData.sort(RowData::compareTo);
+    }
+    else if (distribution == Distribution.REVERSE_SORTED)
+    {
+        listRowData.sort((rowData1, rowData2) -> rowData2.compareTo(rowData1));
+    }
+    return listRowData;
+}
+
+/**
+ * Returns nCount values of the fieldType, each in a FieldData of its own.
+ */
+public static FieldData[] generateFieldData(FieldType fieldType, Distribution distribution, int nCount)
+{
+    Random random = new Random(SEED);
+    FieldData[] aFieldData = new FieldData[nCount];
+    for (int i = 0; i < nCount; i++)
+    {
+        aFieldData[i] = fieldType.allocateFieldData();
+        setValue(aFieldData[i], nextValue(random, distribution, nCount));
+    }
+    return aFieldData;
+}
+
+private static long nextValue(Random random, Distribution distribution, int nRowCount)
+{
+    switch (distribution)
+    {
+        case FEW_DISTINCT:
+            return random.nextInt(16);
+        case ZIPF:
+            return (long) Math.pow(nRowCount + 1.0, random.nextDouble()) - 1;
+        default:
+            return random.nextInt(Math.max(1, nRowCount));
+    }
+}
+
+/**
+ * Sets a value derived from lValue, so that the order of the values follows the order of lValue for every type.
+ */
+private static void setValue(FieldData fieldData, long lValue)
+{
+    switch (fieldData.getFieldType())
+    {
+        case INTEGER:
+        case DATE:
+            fieldData.setValue((int) lValue);
+            break;
+        case LONG:
+            fieldData.setValue(lValue * 1_000_003L);
+            break;
+        case DOUBLE:
+            fieldData.setValue(lValue / 7.0);
+            break;
+        case FLOAT:
+            fieldData.setValue(lValue / 7.0f);
+            break;
+        case BOOLEAN:
+            fieldData.setValue((lValue & 1) == 1);
+            break;
+        case STRING:
+            fieldData.setValue(STRING_PREFIX + String.format("%010d", lValue));
+            break;
+        case BINARY:
+            fieldData.setValue(Binary.fromConstantByteArray(ByteBuffer.allocate(Long.BYTES).putLong(lValue).array()));
+            break;
+        case INT96:
+            fieldData.setValue(Binary.fromConstantByteArray(
+                ByteBuffer.allocate(Long.BYTES + Integer.BYTES).putInt(0).putLong(lValue).array()));
+            break;
+        default:
+            throw new UnsupportedOperationException("Unsupported FieldType: " + fieldData.getFieldType());
+    }
+}
+} ///////// End of class
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: BenchmarkRunner.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * BenchmarkRunner is the main class of benchmarks.jar. It accepts the usual JMH command line, e.g. a benchmark regex
+ * and -p rowCount=1000000, and always adds the GC profiler so that the allocation rate per operation
+ * (gc.alloc.rate.norm) is reported next to the time of every benchmark.
+ */
+public class BenchmarkRunner
+{
+
+public static void main(String... args) throws RunnerException, CommandLineOptionException
+{
+    CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+    new Runner(new OptionsBuilder().parent(commandLineOptions).addProfiler(GCProfiler.class).build()).run();
+}
+} ///////// End of class
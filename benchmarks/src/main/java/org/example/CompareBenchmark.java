@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: CompareBenchmark.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of a single comparison, averaged over PAIR_COUNT pairs of neighbouring values: FieldData.compareTo per field
+ * type, and a whole row with RowData.compareTo, MainApp.compare, the generated comparator, the RowBatch comparator and
+ * memcmp of the normalized keys.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CompareBenchmark
+{
+
+static final int PAIR_COUNT = 1024;
+
+@State(Scope.Thread)
+public static class FieldState
+{
+
+    @Param({"INTEGER", "LONG", "DOUBLE", "FLOAT", "BOOLEAN", "DATE", "STRING", "BINARY", "INT96"})
+    public FieldType fieldType;
+
+    @Param({"UNIFORM", "FEW_DISTINCT"})
+    public BenchmarkData.Distribution distribution;
+
+    FieldData[] m_aFieldData;
+
+    @Setup
+    public void setup()
+    {
+        m_aFieldData = BenchmarkData.generateFieldData(fieldType, distribution, PAIR_COUNT + 1);
+    }
+}
+
+@State(Scope.Thread)
+public static class RowState
+{
+
+    @Param({"INT_LONG_LONG", "STRING_INT", "ALL_TYPES"})
+    public BenchmarkData.Schema schema;
+
+    @Param({"UNIFORM", "FEW_DISTINCT"})
+    public BenchmarkData.Distribution distribution;
+
+    RowData[] m_aRowData;
+    byte[][] m_aaKey;
+    Comparator<RowData> m_generatedComparator;
+    IntComparator m_rowBatchComparator;
+
+    @Setup
+    public void setup()
+    {
+        RowInfo rowInfo = schema.getRowInfo();
+        List<RowData> listRowData = BenchmarkData.generate(schema, distribution, PAIR_COUNT + 1);
+        m_aRowData = listRowData.toArray(new RowData[0]);
+
+        RowKeyEncoder rowKeyEncoder = new RowKeyEncoder(rowInfo);
+        m_aaKey = new byte[m_aRowData.length][];
+        for (int i = 0; i < m_aRowData.length; i++)
+        {
+            m_aaKey[i] = rowKeyEncoder.encode(m_aRowData[i]);
+        }
+
+        m_generatedComparator = RowComparatorFactory.getComparator(rowInfo);
+        m_rowBatchComparator = RowBatch.fromRowData(rowInfo, listRowData).getComparator(SortSpec.ascending(rowInfo));
+    }
+}
+
+@Benchmark
+@OperationsPerInvocation(PAIR_COUNT)
+public int fieldDataCompareTo(FieldState fieldState)
+{
+    FieldData[] aFieldData = fieldState.m_aFieldData;
+    int nSum = 0;
+    for (int i = 0; i < PAIR_COUNT; i++)
+    {
+        nSum += aFieldData[i].compareTo(aFieldData[i + 1]);
+    }
+    return nSum;
+}
+
+@Benchmark
+@OperationsPerInvocation(PAIR_COUNT)
+public int rowDataCompareTo(RowState rowState)
+{
+    RowData[] aRowData = rowState.m_aRowData;
+    int nSum = 0;
+    for (int i = 0; i < PAIR_COUNT; i++)
+    {
+        nSum += aRowData[i].compareTo(aRowData[i + 1]);
+    }
+    return nSum;
+}
+
+@Benchmark
+@OperationsPerInvocation(PAIR_COUNT)
+public int mainAppCompare(RowState rowState)
+{
+    RowData[] aRowData = rowState.m_aRowData;
+    int nSum = 0;
+    for (int i = 0; i < PAIR_COUNT; i++)
+    {
+        nSum += MainApp.compare(aRowData[i], aRowData[i + 1]);
+    }
+    return nSum;
+}
+
+@Benchmark
+@OperationsPerInvocation(PAIR_COUNT)
+public int generatedComparator(RowState rowState)
+{
+    RowData[] aRowData = rowState.m_aRowData;
+    Comparator<RowData> comparator = rowState.m_generatedComparator;
+    int nSum = 0;
+    for (int i = 0; i < PAIR_COUNT; i++)
+    {
+        nSum += comparator.compare(aRowData[i], aRowData[i + 1]);
+    }
+    return nSum;
+}
+
+@Benchmark
+@OperationsPerInvocation(PAIR_COUNT)
+public int rowBatchComparator(RowState rowState)
+{
+    IntComparator comparator = rowState.m_rowBatchComparator;
+    int nSum = 0;
+    for (int i = 0; i < PAIR_COUNT; i++)
+    {
+        nSum += comparator.compare(i, i + 1);
+    }
+    return nSum;
+}
+
+@Benchmark
+@OperationsPerInvocation(PAIR_COUNT)
+public int memcmp(RowState rowState)
+{
+    byte[][] aaKey = rowState.m_aaKey;
+    int nSum = 0;
+    for (int i = 0; i < PAIR_COUNT; i++)
+    {
+        nSum += BinaryKeyComparator.compareKeys(aaKey[i], aaKey[i + 1]);
+    }
+    return nSum;
+}
+} ///////// End of class
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: EncodeBenchmark.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of writing one value or one row as a normalized key: every SortableBytes helper, FieldType.encodeKey and the
+ * RowKeyEncoder for RowData and RowBatch rows. The keys are written into a reused buffer, so any allocation reported by
+ * the GC profiler comes from the encoding itself.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class EncodeBenchmark
+{
+
+static final int VALUE_COUNT = 1024;
+
+@State(Scope.Thread)
+public static class ValueState
+{
+
+    int[] m_anValue;
+    long[] m_alValue;
+    float[] m_afValue;
+    double[] m_adValue;
+    boolean[] m_abValue;
+    String[] m_asValue;
+    byte[][] m_aaValue;
+    byte[] m_aKey;
+
+    @Setup
+    public void setup()
+    {
+        Random random = new Random(BenchmarkData.SEED);
+        m_anValue = new int[VALUE_COUNT];
+        m_alValue = new long[VALUE_COUNT];
+        m_afValue = new float[VALUE_COUNT];
+        m_adValue = new double[VALUE_COUNT];
+        m_abValue = new boolean[VALUE_COUNT];
+        m_asValue = new String[VALUE_COUNT];
+        m_aaValue = new byte[VALUE_COUNT][];
+        for (int i = 0; i < VALUE_COUNT; i++)
+        {
+            m_anValue[i] = random.nextInt();
+            m_alValue[i] = random.nextLong();
+            m_afValue[i] = random.nextFloat();
+            m_adValue[i] = random.nextDouble();
+            m_abValue[i] = random.nextBoolean();
+            m_asValue[i] = "customer-" + random.nextInt(1_000_000);
+            m_aaValue[i] = m_asValue[i].getBytes(StandardCharsets.UTF_8);
+        }
+        m_aKey = new byte[256];
+    }
+}
+
+@State(Scope.Thread)
+public static class FieldState
+{
+
+    @Param({"INTEGER", "LONG", "DOUBLE", "FLOAT", "BOOLEAN", "DATE", "STRING", "BINARY", "INT96"})
+    public FieldType fieldType;
+
+    FieldData[] m_aFieldData;
+    byte[] m_aKey;
+
+    @Setup
+    public void setup()
+    {
+        m_aFieldData = BenchmarkData.generateFieldData(fieldType, BenchmarkData.Distribution.UNIFORM, VALUE_COUNT);
+        m_aKey = new byte[256];
+    }
+}
+
+@State(Scope.Thread)
+public static class RowState
+{
+
+    @Param({"INT_LONG_LONG", "STRING_INT", "ALL_TYPES"})
+    public BenchmarkData.Schema schema;
+
+    RowKeyEncoder m_rowKeyEncoder;
+    RowData[] m_aRowData;
+    RowBatch m_rowBatch;
+    byte[] m_aKey;
+
+    @Setup
+    public void setup()
+    {
+        RowInfo rowInfo = schema.getRowInfo();
+        List<RowData> listRowData = BenchmarkData.generate(schema, BenchmarkData.Distribution.UNIFORM, VALUE_COUNT);
+        m_rowKeyEncoder = new RowKeyEncoder(rowInfo);
+        m_aRowData = listRowData.toArray(new RowData[0]);
+        m_rowBatch = RowBatch.fromRowData(rowInfo, listRowData);
+        m_aKey = new byte[1024];
+    }
+}
+
+@Benchmark
+@OperationsPerInvocation(VALUE_COUNT)
+public byte[] putInt(ValueState valueState)
+{
+    byte[] aKey = valueState.m_aKey;
+    for (int i = 0; i < VALUE_COUNT; i++)
+    {
+        SortableBytes.putInt(valueState.m_anValue[i], false, aKey, i & 0x7F);
+    }
+    return aKey;
+}
+
+@Benchmark
+@OperationsPerInvocation(VALUE_COUNT)
+public byte[] putLong(ValueState valueState)
+{
+    byte[] aKey = valueState.m_aKey;
+    for (int i = 0; i < VALUE_COUNT; i++)
+    {
+        SortableBytes.putLong(valueState.m_alValue[i], false, aKey, i & 0x7F);
+    }
+    return aKey;
+}
+
+@Benchmark
+@OperationsPerInvocation(VALUE_COUNT)
+public byte[] putFloat(ValueState valueState)
+{
+    byte[] aKey = valueState.m_aKey;
+    for (int i = 0; i < VALUE_COUNT; i++)
+    {
+        SortableBytes.putFloat(valueState.m_afValue[i], false, aKey, i & 0x7F);
+    }
+    return aKey;
+}
+
+@Benchmark
+@OperationsPerInvocation(VALUE_COUNT)
+public byte[] putDouble(ValueState valueState)
+{
+    byte[] aKey = valueState.m_aKey;
+    for (int i = 0; i < VALUE_COUNT; i++)
+    {
+        SortableBytes.putDouble(valueState.m_adValue[i], false, aKey, i & 0x7F);
+    }
+    return aKey;
+}
+
+@Benchmark
+@OperationsPerInvocation(VALUE_COUNT)
+public byte[] putDoubleDescending(ValueState valueState)
+{
+    byte[] aKey = valueState.m_aKey;
+    for (int i = 0; i < VALUE_COUNT; i++)
+    {
+        SortableBytes.putDouble(valueState.m_adValue[i], true, aKey, i & 0x7F);
+    }
+    return aKey;
+}
+
+@Benchmark
+@OperationsPerInvocation(VALUE_COUNT)
+public byte[] putBoolean(ValueState valueState)
+{
+    byte[] aKey = valueState.m_aKey;
+    for (int i = 0; i < VALUE_COUNT; i++)
+    {
+        SortableBytes.putBoolean(valueState.m_abValue[i], false, aKey, i & 0x7F);
+    }
+    return aKey;
+}
+
+@Benchmark
+@OperationsPerInvocation(VALUE_COUNT)
+public byte[] putString(ValueState valueState)
+{
+    byte[] aKey = valueState.m_aKey;
+    for (int i = 0; i < VALUE_COUNT; i++)
+    {
+        SortableBytes.putString(valueState.m_asValue[i], false, aKey, 0, aKey.length);
+    }
+    return aKey;
+}
+
+@Benchmark
+@OperationsPerInvocation(VALUE_COUNT)
+public byte[] putVariableBytes(ValueState valueState)
+{
+    byte[] aKey = valueState.m_aKey;
+    for (int i = 0; i < VALUE_COUNT; i++)
+    {
+        byte[] aValue = valueState.m_aaValue[i];
+        SortableBytes.putVariableBytes(aValue, 0, aValue.length, false, aKey, 0, aKey.length);
+    }
+    return aKey;
+}
+
+@Benchmark
+@OperationsPerInvocation(VALUE_COUNT)
+public byte[] fieldTypeEncodeKey(FieldState fieldState)
+{
+    FieldType fieldType = fieldState.fieldType;
+    byte[] aKey = fieldState.m_aKey;
+    for (int i = 0; i < VALUE_COUNT; i++)
+    {
+        fieldType.encodeKey(fieldState.m_aFieldData[i], false, aKey, 0, aKey.length);
+    }
+    return aKey;
+}
+
+@Benchmark
+@OperationsPerInvocation(VALUE_COUNT)
+public byte[] encodeRowData(RowState rowState)
+{
+    byte[] aKey = rowState.m_aKey;
+    for (int i = 0; i < VALUE_COUNT; i++)
+    {
+        rowState.m_rowKeyEncoder.encodeInto(rowState.m_aRowData[i], aKey, 0);
+    }
+    return aKey;
+}
+
+@Benchmark
+@OperationsPerInvocation(VALUE_COUNT)
+public byte[] encodeRowBatch(RowState rowState)
+{
+    byte[] aKey = rowState.m_aKey;
+    for (int i = 0; i < VALUE_COUNT; i++)
+    {
+        rowState.m_rowKeyEncoder.encodeInto(rowState.m_rowBatch, i, aKey, 0);
+    }
+    return aKey;
+}
+} ///////// End of class
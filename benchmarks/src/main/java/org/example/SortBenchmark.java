@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: SortBenchmark.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of a full sort of rowCount rows with every sort path of the project. The unsorted input is restored before every
+ * invocation, outside of the measured time. The encoding of the key slab is measured separately by encodeKeySlab.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class SortBenchmark
+{
+
+@Param({"10000", "1000000"})
+public int rowCount;
+
+@Param({"INT_LONG_LONG", "STRING_INT", "ALL_TYPES"})
+public BenchmarkData.Schema schema;
+
+@Param({"UNIFORM", "SORTED", "REVERSE_SORTED", "FEW_DISTINCT", "ZIPF"})
+public BenchmarkData.Distribution distribution;
+
+private RowInfo m_rowInfo;
+private SortSpec m_sortSpec;
+private RowKeyEncoder m_rowKeyEncoder;
+private List<RowData> m_listUnsorted;
+private KeySlab m_keySlabUnsorted;
+private RowBatch m_rowBatch;
+private ParallelSorter m_parallelSorter;
+
+private List<RowData> m_listToSort;
+private KeySlab m_keySlabToSort;
+
+@Setup(Level.Trial)
+public void setupTrial()
+{
+    m_rowInfo = schema.getRowInfo();
+    m_sortSpec = SortSpec.ascending(m_rowInfo);
+    // STRING and BINARY keys are truncated so that every schema fits a fixed stride slab
+    m_rowKeyEncoder = new RowKeyEncoder(m_rowInfo, m_sortSpec, 32);
+    m_listUnsorted = BenchmarkData.generate(schema, distribution, rowCount);
+    m_keySlabUnsorted = new KeySlab(m_rowKeyEncoder, rowCount);
+    for (RowData rowData : m_listUnsorted)
+    {
+        m_keySlabUnsorted.append(rowData);
+    }
+    m_rowBatch = RowBatch.fromRowData(m_rowInfo, m_listUnsorted);
+    m_parallelSorter = new ParallelSorter();
+
+    m_listToSort = new ArrayList<>(m_listUnsorted);
+    m_keySlabToSort = m_keySlabUnsorted.createEmptyCopy(rowCount);
+}
+
+@Setup(Level.Invocation)
+public void setupInvocation()
+{
+    for (int i = 0; i < rowCount; i++)
+    {
+        m_listToSort.set(i, m_listUnsorted.get(i));
+    }
+
+    m_keySlabToSort.setRowCount(rowCount);
+    for (int i = 0; i < rowCount; i++)
+    {
+        m_keySlabToSort.copyRow(m_keySlabUnsorted, i, i);
+    }
+}
+
+@TearDown(Level.Trial)
+public void tearDownTrial()
+{
+    m_parallelSorter.close();
+}
+
+@Benchmark
+public List<RowData> listSortMainAppCompare()
+{
+    m_listToSort.sort(MainApp::compare);
+    return m_listToSort;
+}
+
+@Benchmark
+public List<RowData> listSortGeneratedComparator()
+{
+    m_listToSort.sort(RowComparatorFactory.getComparator(m_rowInfo, m_sortSpec));
+    return m_listToSort;
+}
+
+@Benchmark
+public List<RowData> listSortParallel()
+{
+    m_parallelSorter.sort(m_listToSort, MainApp::compare);
+    return m_listToSort;
+}
+
+@Benchmark
+public KeySlab encodeKeySlab()
+{
+    m_keySlabToSort.clear();
+    for (RowData rowData : m_listUnsorted)
+    {
+        m_keySlabToSort.append(rowData);
+    }
+    return m_keySlabToSort;
+}
+
+@Benchmark
+public KeySlab keySlabQuicksort()
+{
+    m_keySlabToSort.sort();
+    return m_keySlabToSort;
+}
+
+@Benchmark
+public KeySlab keySlabRadixSort()
+{
+    new MsdRadixSorter(m_keySlabToSort).sort();
+    return m_keySlabToSort;
+}
+
+@Benchmark
+public int[] keySlabRadixSortIndex()
+{
+    return new MsdRadixSorter(m_keySlabToSort).sortIndex();
+}
+
+@Benchmark
+public KeySlab keySlabParallelSort()
+{
+    return m_parallelSorter.sort(m_keySlabToSort);
+}
+
+@Benchmark
+public int[] keySlabPrefixSort()
+{
+    return PrefixSorter.sortIndex(m_keySlabToSort);
+}
+
+@Benchmark
+public int[] rowDataPrefixSort()
+{
+    return new PrefixSorter(m_rowKeyEncoder).sortIndex(m_listToSort);
+}
+
+@Benchmark
+public int[] rowBatchSortIndex()
+{
+    return m_rowBatch.sortIndex(m_sortSpec);
+}
+} ///////// End of class
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: BinaryKeyComparator.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Comparator;
+
+/**
+ * BinaryKeyComparator compares normalized keys as unsigned byte strings. Eight bytes are compared at a time by reading
+ * them as big endian longs, so that the first differing byte decides the unsigned comparison of the two longs. The
+ * bytes left over after the last full long are compared one at a time.
+ */
+public final class BinaryKeyComparator implements Comparator<byte[]>
+{
+
+public static final BinaryKeyComparator INSTANCE = new BinaryKeyComparator();
+
+private static final VarHandle LONG_BIG_ENDIAN = MethodHandles.byteArrayViewVarHandle(long[].class,
+    ByteOrder.BIG_ENDIAN);
+
+private BinaryKeyComparator()
+{
+}
+
+@Override
+public int compare(byte[] aKey1, byte[] aKey2)
+{
+    return compareKeys(aKey1, aKey2);
+}
+
+public static int compareKeys(byte[] aKey1, byte[] aKey2)
+{
+    return compareKeys(aKey1, 0, aKey1.length, aKey2, 0, aKey2.length);
+}
+
+/**
+ * Compares two keys of nLength bytes each, such as two rows of a KeySlab.
+ */
+public static int compareKeys(byte[] aKey1, int nOffset1, byte[] aKey2, int nOffset2, int nLength)
+{
+    if (SortMetrics.ENABLED)
+    {
+        SortMetrics.countComparison();
+    }
+
+    int i = 0;
+    for (; i + Long.BYTES <= nLength; i += Long.BYTES)
+    {
+        long lWord1 = (long) LONG_BIG_ENDIAN.get(aKey1, nOffset1 + i);
+        long lWord2 = (long) LONG_BIG_ENDIAN.get(aKey2, nOffset2 + i);
+        if (lWord1 != lWord2)
+        {
+            return Long.compareUnsigned(lWord1, lWord2);
+        }
+    }
+
+    for (; i < nLength; i++)
+    {
+        int nByte1 = aKey1[nOffset1 + i] & 0xFF;
+        int nByte2 = aKey2[nOffset2 + i] & 0xFF;
+        if (nByte1 != nByte2)
+        {
+            return nByte1 - nByte2;
+        }
+    }
+
+    return 0;
+}
+
+/**
+ * Compares two keys of different lengths. When one key is a prefix of the other, the shorter key is smaller.
+ */
+public static int compareKeys(byte[] aKey1, int nOffset1, int nLength1, byte[] aKey2, int nOffset2, int nLength2)
+{
+    int nComp = compareKeys(aKey1, nOffset1, aKey2, nOffset2, Math.min(nLength1, nLength2));
+    return nComp != 0 ? nComp : Integer.compare(nLength1, nLength2);
+}
+
+/**
+ * Returns the first 8 bytes of the key at nOffset as a long whose unsigned order is the order of the keys. Keys shorter
+ * than 8 bytes are padded with zeros.
+ */
+public static long getPrefix(byte[] aKey, int nOffset, int nLength)
+{
+    if (nLength >= Long.BYTES)
+    {
+        return (long) LONG_BIG_ENDIAN.get(aKey, nOffset);
+    }
+
+    long lPrefix = 0;
+    for (int i = 0; i < Long.BYTES; i++)
+    {
+        lPrefix <<= 8;
+        if (i < nLength)
+        {
+            lPrefix |= aKey[nOffset + i] & 0xFF;
+        }
+    }
+    return lPrefix;
+}
+} ///////// End of class
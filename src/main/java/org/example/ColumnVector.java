@@ -0,0 +1,919 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: ColumnVector.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * ColumnVector holds the values of one field for all the rows of a RowBatch in a primitive array. Nulls are tracked in
+ * a validity bitmap, one bit per row, instead of with a sentinel value, so every value of the type can be stored.
+ * Please refer to FieldType.allocateColumnVector for the vector used by each field type.
+ */
+public abstract class ColumnVector
+{
+
+private final FieldType m_fieldType;
+private long[] m_alValidity;
+protected int m_nCapacity;
+
+protected ColumnVector(FieldType fieldType, int nCapacity)
+{
+    m_fieldType = fieldType;
+    m_alValidity = new long[(nCapacity + 63) >>> 6];
+    m_nCapacity = nCapacity;
+}
+
+public FieldType getFieldType()
+{
+    return m_fieldType;
+}
+
+public int getCapacity()
+{
+    return m_nCapacity;
+}
+
+public boolean isNull(int nRowIdx)
+{
+    return (m_alValidity[nRowIdx >>> 6] & (1L << nRowIdx)) == 0;
+}
+
+public void setNull(int nRowIdx)
+{
+    m_alValidity[nRowIdx >>> 6] &= ~(1L << nRowIdx);
+}
+
+protected void setValid(int nRowIdx)
+{
+    m_alValidity[nRowIdx >>> 6] |= 1L << nRowIdx;
+}
+
+/**
+ * Returns the validity bitmap. Bit (nRowIdx % 64) of word (nRowIdx / 64) is set when the row is not null.
+ */
+public long[] getValidity()
+{
+    return m_alValidity;
+}
+
+public void ensureCapacity(int nCapacity)
+{
+    if (nCapacity <= m_nCapacity)
+    {
+        return;
+    }
+
+    int nNewCapacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(nCapacity, (long) m_nCapacity * 3 / 2));
+    m_alValidity = Arrays.copyOf(m_alValidity, (nNewCapacity + 63) >>> 6);
+    growValues(nNewCapacity);
+    m_nCapacity = nNewCapacity;
+}
+
+/**
+ * Sets the value of the row from the fieldData, which must be of the field type of the vector.
+ */
+public void setFromFieldData(int nRowIdx, FieldData fieldData)
+{
+    if (fieldData.isNull())
+    {
+        setNull(nRowIdx);
+    }
+    else
+    {
+        setValueX(nRowIdx, fieldData);
+        setValid(nRowIdx);
+    }
+}
+
+public void copyToFieldData(int nRowIdx, FieldData fieldData)
+{
+    fieldData.setValue(isNull(nRowIdx) ? null : getValueX(nRowIdx));
+}
+
+/**
+ * Copies row nSrcRowIdx of srcColumnVector, a vector of the same field type, into row nRowIdx.
+ */
+public void copyFrom(ColumnVector srcColumnVector, int nSrcRowIdx, int nRowIdx)
+{
+    if (srcColumnVector.isNull(nSrcRowIdx))
+    {
+        setNull(nRowIdx);
+    }
+    else
+    {
+        copyValueX(srcColumnVector, nSrcRowIdx, nRowIdx);
+        setValid(nRowIdx);
+    }
+}
+
+/**
+ * Reads the next nRowCount values of a flat Parquet column into the rows from nRowIdx on. A value whose definition
+ * level is below the maximum is null.
+ */
+public void readParquetColumn(ColumnReader columnReader, int nRowIdx, int nRowCount)
+{
+    int nMaxDefinitionLevel = columnReader.getDescriptor().getMaxDefinitionLevel();
+    int nToRowIdx = nRowIdx + nRowCount;
+    for (int i = nRowIdx; i < nToRowIdx; i++)
+    {
+        if (columnReader.getCurrentDefinitionLevel() < nMaxDefinitionLevel)
+        {
+            setNull(i);
+        }
+        else
+        {
+            readValueX(columnReader, i);
+            setValid(i);
+        }
+        columnReader.consume();
+    }
+}
+
+/**
+ * Writes the value of the row as field nColumnIdx of the current Parquet record. Nothing is written for a null, which
+ * Parquet stores as a missing optional field.
+ */
+public void writeParquetField(int nRowIdx, RecordConsumer recordConsumer, String sColumnName, int nColumnIdx)
+{
+    if (isNull(nRowIdx))
+    {
+        return;
+    }
+
+    recordConsumer.startField(sColumnName, nColumnIdx);
+    writeValueX(nRowIdx, recordConsumer);
+    recordConsumer.endField(sColumnName, nColumnIdx);
+}
+
+/**
+ * Marks all the rows as null so that the vector can be filled again from row 0.
+ */
+public void reset()
+{
+    Arrays.fill(m_alValidity, 0L);
+}
+
+/**
+ * Forgets the rows from nRowCount on, so that they can be set again, e.g. after a row could not be appended. Only the
+ * vectors that are filled in row order keep track of the rows set.
+ */
+public void truncate(int nRowCount)
+{
+}
+
+/**
+ * Returns the value of the row as the object FieldData.getValue would return, or null. A Binary value has bytes of its
+ * own, so it is unchanged when the vector is cleared and filled again.
+ */
+public Object getValue(int nRowIdx)
+{
+    return isNull(nRowIdx) ? null : getValueX(nRowIdx);
+}
+
+/**
+ * Returns the number of bytes held by the arrays of the vector, including the unused capacity.
+ */
+public long getAllocatedBytes()
+{
+    return (long) Long.BYTES * m_alValidity.length + getValueBytes();
+}
+
+protected abstract void growValues(int nCapacity);
+
+protected abstract long getValueBytes();
+
+protected abstract void setValueX(int nRowIdx, FieldData fieldData);
+
+protected abstract Object getValueX(int nRowIdx);
+
+protected abstract void copyValueX(ColumnVector srcColumnVector, int nSrcRowIdx, int nRowIdx);
+
+protected abstract void readValueX(ColumnReader columnReader, int nRowIdx);
+
+protected abstract void writeValueX(int nRowIdx, RecordConsumer recordConsumer);
+
+/**
+ * Compares the non null values of two rows in the order of FieldData.compareTo.
+ */
+public abstract int compareValues(int nRowIdx1, int nRowIdx2);
+
+/**
+ * Writes the non null value of the row into aKey in the same form as FieldType.encodeKey.
+ */
+public abstract int encodeKey(int nRowIdx, boolean bDescending, byte[] aKey, int nOffset, int nLimit);
+
+public int getKeySizeInBytes(int nRowIdx)
+{
+    return m_fieldType.getFieldSizeInBytes();
+}
+
+@Override
+public String toString()
+{
+    return getClass().getSimpleName() + '{' + "fieldType=" + m_fieldType + " capacity=" + m_nCapacity + '}';
+}
+
+/**
+ * Vector for INTEGER and DATE. A DATE is stored as the number of days since the epoch.
+ */
+public static class IntColumnVector extends ColumnVector
+{
+
+    private int[] m_anValue;
+
+    public IntColumnVector(FieldType fieldType, int nCapacity)
+    {
+        super(fieldType, nCapacity);
+        m_anValue = new int[nCapacity];
+    }
+
+    public int getInt(int nRowIdx)
+    {
+        return m_anValue[nRowIdx];
+    }
+
+    public void setInt(int nRowIdx, int nValue)
+    {
+        m_anValue[nRowIdx] = nValue;
+        setValid(nRowIdx);
+    }
+
+    public int[] getValues()
+    {
+        return m_anValue;
+    }
+
+    @Override
+    protected void growValues(int nCapacity)
+    {
+        m_anValue = Arrays.copyOf(m_anValue, nCapacity);
+    }
+
+    @Override
+    protected long getValueBytes()
+    {
+        return (long) Integer.BYTES * m_anValue.length;
+    }
+
+    @Override
+    protected void setValueX(int nRowIdx, FieldData fieldData)
+    {
+        m_anValue[nRowIdx] = fieldData.getInt();
+    }
+
+    @Override
+    protected Integer getValueX(int nRowIdx)
+    {
+        return m_anValue[nRowIdx];
+    }
+
+    @Override
+    protected void copyValueX(ColumnVector srcColumnVector, int nSrcRowIdx, int nRowIdx)
+    {
+        m_anValue[nRowIdx] = ((IntColumnVector) srcColumnVector).m_anValue[nSrcRowIdx];
+    }
+
+    @Override
+    protected void readValueX(ColumnReader columnReader, int nRowIdx)
+    {
+        m_anValue[nRowIdx] = columnReader.getInteger();
+    }
+
+    @Override
+    protected void writeValueX(int nRowIdx, RecordConsumer recordConsumer)
+    {
+        recordConsumer.addInteger(m_anValue[nRowIdx]);
+    }
+
+    @Override
+    public int compareValues(int nRowIdx1, int nRowIdx2)
+    {
+        return Integer.compare(m_anValue[nRowIdx1], m_anValue[nRowIdx2]);
+    }
+
+    @Override
+    public int encodeKey(int nRowIdx, boolean bDescending, byte[] aKey, int nOffset, int nLimit)
+    {
+        return SortableBytes.putInt(m_anValue[nRowIdx], bDescending, aKey, nOffset);
+    }
+}
+
+public static class LongColumnVector extends ColumnVector
+{
+
+    private long[] m_alValue;
+
+    public LongColumnVector(FieldType fieldType, int nCapacity)
+    {
+        super(fieldType, nCapacity);
+        m_alValue = new long[nCapacity];
+    }
+
+    public long getLong(int nRowIdx)
+    {
+        return m_alValue[nRowIdx];
+    }
+
+    public void setLong(int nRowIdx, long lValue)
+    {
+        m_alValue[nRowIdx] = lValue;
+        setValid(nRowIdx);
+    }
+
+    public long[] getValues()
+    {
+        return m_alValue;
+    }
+
+    @Override
+    protected void growValues(int nCapacity)
+    {
+        m_alValue = Arrays.copyOf(m_alValue, nCapacity);
+    }
+
+    @Override
+    protected long getValueBytes()
+    {
+        return (long) Long.BYTES * m_alValue.length;
+    }
+
+    @Override
+    protected void setValueX(int nRowIdx, FieldData fieldData)
+    {
+        m_alValue[nRowIdx] = fieldData.getLong();
+    }
+
+    @Override
+    protected Long getValueX(int nRowIdx)
+    {
+        return m_alValue[nRowIdx];
+    }
+
+    @Override
+    protected void copyValueX(ColumnVector srcColumnVector, int nSrcRowIdx, int nRowIdx)
+    {
+        m_alValue[nRowIdx] = ((LongColumnVector) srcColumnVector).m_alValue[nSrcRowIdx];
+    }
+
+    @Override
+    protected void readValueX(ColumnReader columnReader, int nRowIdx)
+    {
+        m_alValue[nRowIdx] = columnReader.getLong();
+    }
+
+    @Override
+    protected void writeValueX(int nRowIdx, RecordConsumer recordConsumer)
+    {
+        recordConsumer.addLong(m_alValue[nRowIdx]);
+    }
+
+    @Override
+    public int compareValues(int nRowIdx1, int nRowIdx2)
+    {
+        return Long.compare(m_alValue[nRowIdx1], m_alValue[nRowIdx2]);
+    }
+
+    @Override
+    public int encodeKey(int nRowIdx, boolean bDescending, byte[] aKey, int nOffset, int nLimit)
+    {
+        return SortableBytes.putLong(m_alValue[nRowIdx], bDescending, aKey, nOffset);
+    }
+}
+
+public static class FloatColumnVector extends ColumnVector
+{
+
+    private float[] m_afValue;
+
+    public FloatColumnVector(FieldType fieldType, int nCapacity)
+    {
+        super(fieldType, nCapacity);
+        m_afValue = new float[nCapacity];
+    }
+
+    public float getFloat(int nRowIdx)
+    {
+        return m_afValue[nRowIdx];
+    }
+
+    public void setFloat(int nRowIdx, float fValue)
+    {
+        m_afValue[nRowIdx] = fValue;
+        setValid(nRowIdx);
+    }
+
+    public float[] getValues()
+    {
+        return m_afValue;
+    }
+
+    @Override
+    protected void growValues(int nCapacity)
+    {
+        m_afValue = Arrays.copyOf(m_afValue, nCapacity);
+    }
+
+    @Override
+    protected long getValueBytes()
+    {
+        return (long) Float.BYTES * m_afValue.length;
+    }
+
+    @Override
+    protected void setValueX(int nRowIdx, FieldData fieldData)
+    {
+        m_afValue[nRowIdx] = fieldData.getFloat();
+    }
+
+    @Override
+    protected Float getValueX(int nRowIdx)
+    {
+        return m_afValue[nRowIdx];
+    }
+
+    @Override
+    protected void copyValueX(ColumnVector srcColumnVector, int nSrcRowIdx, int nRowIdx)
+    {
+        m_afValue[nRowIdx] = ((FloatColumnVector) srcColumnVector).m_afValue[nSrcRowIdx];
+    }
+
+    @Override
+    protected void readValueX(ColumnReader columnReader, int nRowIdx)
+    {
+        m_afValue[nRowIdx] = columnReader.getFloat();
+    }
+
+    @Override
+    protected void writeValueX(int nRowIdx, RecordConsumer recordConsumer)
+    {
+        recordConsumer.addFloat(m_afValue[nRowIdx]);
+    }
+
+    @Override
+    public int compareValues(int nRowIdx1, int nRowIdx2)
+    {
+        return Float.compare(m_afValue[nRowIdx1], m_afValue[nRowIdx2]);
+    }
+
+    @Override
+    public int encodeKey(int nRowIdx, boolean bDescending, byte[] aKey, int nOffset, int nLimit)
+    {
+        return SortableBytes.putFloat(m_afValue[nRowIdx], bDescending, aKey, nOffset);
+    }
+}
+
+public static class DoubleColumnVector extends ColumnVector
+{
+
+    private double[] m_adValue;
+
+    public DoubleColumnVector(FieldType fieldType, int nCapacity)
+    {
+        super(fieldType, nCapacity);
+        m_adValue = new double[nCapacity];
+    }
+
+    public double getDouble(int nRowIdx)
+    {
+        return m_adValue[nRowIdx];
+    }
+
+    public void setDouble(int nRowIdx, double dValue)
+    {
+        m_adValue[nRowIdx] = dValue;
+        setValid(nRowIdx);
+    }
+
+    public double[] getValues()
+    {
+        return m_adValue;
+    }
+
+    @Override
+    protected void growValues(int nCapacity)
+    {
+        m_adValue = Arrays.copyOf(m_adValue, nCapacity);
+    }
+
+    @Override
+    protected long getValueBytes()
+    {
+        return (long) Double.BYTES * m_adValue.length;
+    }
+
+    @Override
+    protected void setValueX(int nRowIdx, FieldData fieldData)
+    {
+        m_adValue[nRowIdx] = fieldData.getDouble();
+    }
+
+    @Override
+    protected Double getValueX(int nRowIdx)
+    {
+        return m_adValue[nRowIdx];
+    }
+
+    @Override
+    protected void copyValueX(ColumnVector srcColumnVector, int nSrcRowIdx, int nRowIdx)
+    {
+        m_adValue[nRowIdx] = ((DoubleColumnVector) srcColumnVector).m_adValue[nSrcRowIdx];
+    }
+
+    @Override
+    protected void readValueX(ColumnReader columnReader, int nRowIdx)
+    {
+        m_adValue[nRowIdx] = columnReader.getDouble();
+    }
+
+    @Override
+    protected void writeValueX(int nRowIdx, RecordConsumer recordConsumer)
+    {
+        recordConsumer.addDouble(m_adValue[nRowIdx]);
+    }
+
+    @Override
+    public int compareValues(int nRowIdx1, int nRowIdx2)
+    {
+        return Double.compare(m_adValue[nRowIdx1], m_adValue[nRowIdx2]);
+    }
+
+    @Override
+    public int encodeKey(int nRowIdx, boolean bDescending, byte[] aKey, int nOffset, int nLimit)
+    {
+        return SortableBytes.putDouble(m_adValue[nRowIdx], bDescending, aKey, nOffset);
+    }
+}
+
+public static class BooleanColumnVector extends ColumnVector
+{
+
+    private boolean[] m_abValue;
+
+    public BooleanColumnVector(FieldType fieldType, int nCapacity)
+    {
+        super(fieldType, nCapacity);
+        m_abValue = new boolean[nCapacity];
+    }
+
+    public boolean getBoolean(int nRowIdx)
+    {
+        return m_abValue[nRowIdx];
+    }
+
+    public void setBoolean(int nRowIdx, boolean bValue)
+    {
+        m_abValue[nRowIdx] = bValue;
+        setValid(nRowIdx);
+    }
+
+    @Override
+    protected void growValues(int nCapacity)
+    {
+        m_abValue = Arrays.copyOf(m_abValue, nCapacity);
+    }
+
+    @Override
+    protected long getValueBytes()
+    {
+        return m_abValue.length;
+    }
+
+    @Override
+    protected void setValueX(int nRowIdx, FieldData fieldData)
+    {
+        m_abValue[nRowIdx] = fieldData.getBoolean();
+    }
+
+    @Override
+    protected Boolean getValueX(int nRowIdx)
+    {
+        return m_abValue[nRowIdx];
+    }
+
+    @Override
+    protected void copyValueX(ColumnVector srcColumnVector, int nSrcRowIdx, int nRowIdx)
+    {
+        m_abValue[nRowIdx] = ((BooleanColumnVector) srcColumnVector).m_abValue[nSrcRowIdx];
+    }
+
+    @Override
+    protected void readValueX(ColumnReader columnReader, int nRowIdx)
+    {
+        m_abValue[nRowIdx] = columnReader.getBoolean();
+    }
+
+    @Override
+    protected void writeValueX(int nRowIdx, RecordConsumer recordConsumer)
+    {
+        recordConsumer.addBoolean(m_abValue[nRowIdx]);
+    }
+
+    @Override
+    public int compareValues(int nRowIdx1, int nRowIdx2)
+    {
+        return Boolean.compare(m_abValue[nRowIdx1], m_abValue[nRowIdx2]);
+    }
+
+    @Override
+    public int encodeKey(int nRowIdx, boolean bDescending, byte[] aKey, int nOffset, int nLimit)
+    {
+        return SortableBytes.putBoolean(m_abValue[nRowIdx], bDescending, aKey, nOffset);
+    }
+}
+
+/**
+ * Vector for INT96, stored as nWidth bytes per row.
+ */
+public static class FixedBinaryColumnVector extends ColumnVector
+{
+
+    private final int m_nWidth;
+    private byte[] m_aValue;
+
+    public FixedBinaryColumnVector(FieldType fieldType, int nCapacity)
+    {
+        super(fieldType, nCapacity);
+        m_nWidth = fieldType.getFieldSizeInBytes();
+        m_aValue = new byte[nCapacity * m_nWidth];
+    }
+
+    public byte[] getData()
+    {
+        return m_aValue;
+    }
+
+    public int getOffset(int nRowIdx)
+    {
+        return nRowIdx * m_nWidth;
+    }
+
+    public void setBytes(int nRowIdx, byte[] aSrc, int nSrcOffset, int nLength)
+    {
+        if (nLength != m_nWidth)
+        {
+            throw new IllegalArgumentException(getFieldType() + " value must be " + m_nWidth + " bytes. Length: "
+                + nLength);
+        }
+        System.arraycopy(aSrc, nSrcOffset, m_aValue, nRowIdx * m_nWidth, m_nWidth);
+        setValid(nRowIdx);
+    }
+
+    @Override
+    protected void growValues(int nCapacity)
+    {
+        m_aValue = Arrays.copyOf(m_aValue, nCapacity * m_nWidth);
+    }
+
+    @Override
+    protected long getValueBytes()
+    {
+        return m_aValue.length;
+    }
+
+    @Override
+    protected void setValueX(int nRowIdx, FieldData fieldData)
+    {
+        byte[] aValue = ((Binary) fieldData.getValue()).getBytesUnsafe();
+        setBytes(nRowIdx, aValue, 0, aValue.length);
+    }
+
+    @Override
+    protected Binary getValueX(int nRowIdx)
+    {
+        int nOffset = nRowIdx * m_nWidth;
+        return Binary.fromConstantByteArray(Arrays.copyOfRange(m_aValue, nOffset, nOffset + m_nWidth));
+    }
+
+    @Override
+    protected void copyValueX(ColumnVector srcColumnVector, int nSrcRowIdx, int nRowIdx)
+    {
+        System.arraycopy(((FixedBinaryColumnVector) srcColumnVector).m_aValue, nSrcRowIdx * m_nWidth, m_aValue,
+            nRowIdx * m_nWidth, m_nWidth);
+    }
+
+    @Override
+    protected void readValueX(ColumnReader columnReader, int nRowIdx)
+    {
+        byte[] aValue = columnReader.getBinary().getBytesUnsafe();
+        setBytes(nRowIdx, aValue, 0, aValue.length);
+    }
+
+    @Override
+    protected void writeValueX(int nRowIdx, RecordConsumer recordConsumer)
+    {
+        recordConsumer.addBinary(Binary.fromReusedByteArray(m_aValue, nRowIdx * m_nWidth, m_nWidth));
+    }
+
+    @Override
+    public int compareValues(int nRowIdx1, int nRowIdx2)
+    {
+        return BinaryKeyComparator.compareKeys(m_aValue, nRowIdx1 * m_nWidth, m_aValue, nRowIdx2 * m_nWidth,
+            m_nWidth);
+    }
+
+    @Override
+    public int encodeKey(int nRowIdx, boolean bDescending, byte[] aKey, int nOffset, int nLimit)
+    {
+        return SortableBytes.putFixedBytes(m_aValue, nRowIdx * m_nWidth, m_nWidth, bDescending, aKey, nOffset);
+    }
+}
+
+/**
+ * Vector for BINARY. The bytes of all the rows are kept back to back in one byte[] and row nRowIdx spans
+ * [offset[nRowIdx], offset[nRowIdx + 1]). Rows must be set in order, starting from row 0.
+ */
+public static class BinaryColumnVector extends ColumnVector
+{
+
+    private int[] m_anOffset;
+    private byte[] m_aData;
+    private int m_nValueCount;
+
+    public BinaryColumnVector(FieldType fieldType, int nCapacity)
+    {
+        super(fieldType, nCapacity);
+        m_anOffset = new int[nCapacity + 1];
+        m_aData = new byte[Math.max(16, nCapacity * 8)];
+    }
+
+    public byte[] getData()
+    {
+        return m_aData;
+    }
+
+    public int getOffset(int nRowIdx)
+    {
+        return m_anOffset[nRowIdx];
+    }
+
+    public int getLength(int nRowIdx)
+    {
+        return m_anOffset[nRowIdx + 1] - m_anOffset[nRowIdx];
+    }
+
+    public void setBytes(int nRowIdx, byte[] aSrc, int nSrcOffset, int nLength)
+    {
+        int nOffset = reserve(nRowIdx, nLength);
+        System.arraycopy(aSrc, nSrcOffset, m_aData, nOffset, nLength);
+        setValid(nRowIdx);
+    }
+
+    @Override
+    public void setNull(int nRowIdx)
+    {
+        reserve(nRowIdx, 0);
+        super.setNull(nRowIdx);
+    }
+
+    /**
+     * Appends nLength bytes for the row and returns the offset of the row in the data array.
+     */
+    protected int reserve(int nRowIdx, int nLength)
+    {
+        if (nRowIdx != m_nValueCount)
+        {
+            throw new IllegalStateException(getFieldType() + " rows must be set in order. Row: " + nRowIdx
+                + " Expected: " + m_nValueCount);
+        }
+
+        int nOffset = m_anOffset[nRowIdx];
+        if (nOffset + nLength > m_aData.length)
+        {
+            m_aData = Arrays.copyOf(m_aData, (int) Math.min(Integer.MAX_VALUE - 8,
+                Math.max(nOffset + (long) nLength, 2L * m_aData.length)));
+        }
+        m_anOffset[nRowIdx + 1] = nOffset + nLength;
+        m_nValueCount++;
+        return nOffset;
+    }
+
+    @Override
+    public void reset()
+    {
+        super.reset();
+        m_nValueCount = 0;
+    }
+
+    @Override
+    public void truncate(int nRowCount)
+    {
+        m_nValueCount = Math.min(m_nValueCount, nRowCount);
+    }
+
+    @Override
+    protected void growValues(int nCapacity)
+    {
+        m_anOffset = Arrays.copyOf(m_anOffset, nCapacity + 1);
+    }
+
+    @Override
+    protected long getValueBytes()
+    {
+        return (long) Integer.BYTES * m_anOffset.length + m_aData.length;
+    }
+
+    @Override
+    protected void setValueX(int nRowIdx, FieldData fieldData)
+    {
+        byte[] aValue = ((Binary) fieldData.getValue()).getBytesUnsafe();
+        int nOffset = reserve(nRowIdx, aValue.length);
+        System.arraycopy(aValue, 0, m_aData, nOffset, aValue.length);
+    }
+
+    @Override
+    protected Object getValueX(int nRowIdx)
+    {
+        int nOffset = getOffset(nRowIdx);
+        return Binary.fromConstantByteArray(Arrays.copyOfRange(m_aData, nOffset, nOffset + getLength(nRowIdx)));
+    }
+
+    @Override
+    protected void copyValueX(ColumnVector srcColumnVector, int nSrcRowIdx, int nRowIdx)
+    {
+        BinaryColumnVector srcBinaryColumnVector = (BinaryColumnVector) srcColumnVector;
+        int nLength = srcBinaryColumnVector.getLength(nSrcRowIdx);
+        int nOffset = reserve(nRowIdx, nLength);
+        System.arraycopy(srcBinaryColumnVector.m_aData, srcBinaryColumnVector.getOffset(nSrcRowIdx), m_aData, nOffset,
+            nLength);
+    }
+
+    @Override
+    protected void readValueX(ColumnReader columnReader, int nRowIdx)
+    {
+        byte[] aValue = columnReader.getBinary().getBytesUnsafe();
+        int nOffset = reserve(nRowIdx, aValue.length);
+        System.arraycopy(aValue, 0, m_aData, nOffset, aValue.length);
+    }
+
+    @Override
+    protected void writeValueX(int nRowIdx, RecordConsumer recordConsumer)
+    {
+        // Parquet copies a reused array when it keeps the value, e.g. for the statistics or the dictionary
+        recordConsumer.addBinary(Binary.fromReusedByteArray(m_aData, getOffset(nRowIdx), getLength(nRowIdx)));
+    }
+
+    @Override
+    public int compareValues(int nRowIdx1, int nRowIdx2)
+    {
+        return BinaryKeyComparator.compareKeys(m_aData, getOffset(nRowIdx1), getLength(nRowIdx1), m_aData,
+            getOffset(nRowIdx2), getLength(nRowIdx2));
+    }
+
+    @Override
+    public int encodeKey(int nRowIdx, boolean bDescending, byte[] aKey, int nOffset, int nLimit)
+    {
+        return SortableBytes.putVariableBytes(m_aData, getOffset(nRowIdx), getLength(nRowIdx), bDescending, aKey,
+            nOffset, nLimit);
+    }
+
+    @Override
+    public int getKeySizeInBytes(int nRowIdx)
+    {
+        return SortableBytes.getVariableBytesLength(m_aData, getOffset(nRowIdx), getLength(nRowIdx));
+    }
+}
+
+/**
+ * Vector for STRING, stored as UTF-8 bytes. Values are compared by their UTF-8 bytes, i.e. by code point, which is the
+ * order of the normalized keys.
+ */
+public static class StringColumnVector extends BinaryColumnVector
+{
+
+    public StringColumnVector(FieldType fieldType, int nCapacity)
+    {
+        super(fieldType, nCapacity);
+    }
+
+    public String getString(int nRowIdx)
+    {
+        return new String(getData(), getOffset(nRowIdx), getLength(nRowIdx), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected void setValueX(int nRowIdx, FieldData fieldData)
+    {
+        byte[] aValue = ((String) fieldData.getValue()).getBytes(StandardCharsets.UTF_8);
+        int nOffset = reserve(nRowIdx, aValue.length);
+        System.arraycopy(aValue, 0, getData(), nOffset, aValue.length);
+    }
+
+    @Override
+    protected String getValueX(int nRowIdx)
+    {
+        return getString(nRowIdx);
+    }
+}
+} ///////// End of class
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: ConcatKeyCursor.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * ConcatKeyCursor returns all the keys of its inputs, one input after the other. The inputs of a RangePartitioner are
+ * sorted partitions in partition order, so their concatenation is sorted without a merge.
+ */
+public class ConcatKeyCursor implements KeyCursor
+{
+
+private final KeyCursor[] m_aKeyCursor;
+private int m_nCurrentIdx;
+
+public ConcatKeyCursor(List<? extends KeyCursor> listKeyCursor)
+{
+    m_aKeyCursor = listKeyCursor.toArray(new KeyCursor[0]);
+}
+
+@Override
+public boolean next() throws IOException
+{
+    while (m_nCurrentIdx < m_aKeyCursor.length)
+    {
+        if (m_aKeyCursor[m_nCurrentIdx].next())
+        {
+            return true;
+        }
+        m_nCurrentIdx++;
+    }
+    return false;
+}
+
+/**
+ * Returns the position in the input list of the cursor that supplied the current key.
+ */
+public int getCurrentInputIdx()
+{
+    return m_nCurrentIdx;
+}
+
+@Override
+public byte[] getKeyBuffer()
+{
+    return m_aKeyCursor[m_nCurrentIdx].getKeyBuffer();
+}
+
+@Override
+public int getKeyOffset()
+{
+    return m_aKeyCursor[m_nCurrentIdx].getKeyOffset();
+}
+
+@Override
+public int getKeyLength()
+{
+    return m_aKeyCursor[m_nCurrentIdx].getKeyLength();
+}
+
+@Override
+public void close() throws IOException
+{
+    IOException ioException = null;
+    for (KeyCursor keyCursor : m_aKeyCursor)
+    {
+        try
+        {
+            keyCursor.close();
+        }
+        catch (IOException e)
+        {
+            if (ioException == null)
+            {
+                ioException = e;
+            }
+            else
+            {
+                ioException.addSuppressed(e);
+            }
+        }
+    }
+    if (ioException != null)
+    {
+        throw ioException;
+    }
+}
+} ///////// End of class
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: EncodedRowComparator.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import java.util.Comparator;
+
+/**
+ * EncodedRowComparator compares two RowData by encoding both with a RowKeyEncoder and comparing the keys. It gives the
+ * exact order of the normalized keys, including the SortDirection and NullOrdering of every field. The encode buffers
+ * are reused, so an instance must not be shared between threads.
+ */
+public class EncodedRowComparator implements Comparator<RowData>
+{
+
+private final RowKeyEncoder m_rowKeyEncoder;
+private byte[] m_aKey1 = new byte[64];
+private byte[] m_aKey2 = new byte[64];
+
+public EncodedRowComparator(RowKeyEncoder rowKeyEncoder)
+{
+    m_rowKeyEncoder = rowKeyEncoder;
+}
+
+@Override
+public int compare(RowData rowData1, RowData rowData2)
+{
+    int nLength1 = m_rowKeyEncoder.getEncodedLength(rowData1);
+    int nLength2 = m_rowKeyEncoder.getEncodedLength(rowData2);
+    if (nLength1 > m_aKey1.length)
+    {
+        m_aKey1 = new byte[nLength1];
+    }
+    if (nLength2 > m_aKey2.length)
+    {
+        m_aKey2 = new byte[nLength2];
+    }
+
+    m_rowKeyEncoder.encodeInto(rowData1, m_aKey1, 0);
+    m_rowKeyEncoder.encodeInto(rowData2, m_aKey2, 0);
+    return BinaryKeyComparator.compareKeys(m_aKey1, 0, nLength1, m_aKey2, 0, nLength2);
+}
+} ///////// End of class
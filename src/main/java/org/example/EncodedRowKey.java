@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: EncodedRowKey.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.apache.hadoop.io.WritableComparable;
+import org.apache.hadoop.io.WritableComparator;
+import org.apache.hadoop.io.WritableUtils;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * EncodedRowKey is a Hadoop key that holds the normalized key of a row, as written by RowKeyEncoder. It is serialized
+ * as a variable length int with the key length followed by the key bytes, so the serialized keys of the map output are
+ * ordered by Comparator, a RawComparator that compares the key bytes in place: no key is deserialized and nothing is
+ * allocated per comparison, unlike a RowData key that has to go through readFields twice.
+ *
+ * The Comparator is registered with WritableComparator, so it is the default sort comparator of a job whose map output
+ * key class is EncodedRowKey.
+ */
+public class EncodedRowKey implements WritableComparable<EncodedRowKey>
+{
+
+static
+{
+    WritableComparator.define(EncodedRowKey.class, new Comparator());
+}
+
+private byte[] m_aKey;
+private int m_nLength;
+
+public EncodedRowKey()
+{
+    m_aKey = new byte[64];
+}
+
+public EncodedRowKey(byte[] aKey)
+{
+    m_aKey = aKey;
+    m_nLength = aKey.length;
+}
+
+/**
+ * Returns the buffer of the key. Only the first getLength bytes are valid.
+ */
+public byte[] getBytes()
+{
+    return m_aKey;
+}
+
+public int getLength()
+{
+    return m_nLength;
+}
+
+/**
+ * Sets the key to the encoding of the rowData, reusing the buffer when it is large enough.
+ */
+public void set(RowKeyEncoder rowKeyEncoder, RowData rowData)
+{
+    ensureCapacity(rowKeyEncoder.getEncodedLength(rowData));
+    m_nLength = rowKeyEncoder.encodeInto(rowData, m_aKey, 0);
+}
+
+/**
+ * Sets the key to the encoding of row nRowIdx of the rowBatch, reusing the buffer when it is large enough.
+ */
+public void set(RowKeyEncoder rowKeyEncoder, RowBatch rowBatch, int nRowIdx)
+{
+    ensureCapacity(rowKeyEncoder.getEncodedLength(rowBatch, nRowIdx));
+    m_nLength = rowKeyEncoder.encodeInto(rowBatch, nRowIdx, m_aKey, 0);
+}
+
+public void set(byte[] aKey, int nOffset, int nLength)
+{
+    ensureCapacity(nLength);
+    System.arraycopy(aKey, nOffset, m_aKey, 0, nLength);
+    m_nLength = nLength;
+}
+
+/**
+ * Decodes the key into the sort fields of rowDataOut.
+ */
+public void decodeInto(RowKeyEncoder rowKeyEncoder, RowData rowDataOut)
+{
+    rowKeyEncoder.decodeInto(m_aKey, 0, rowDataOut);
+}
+
+private void ensureCapacity(int nLength)
+{
+    if (nLength > m_aKey.length)
+    {
+        m_aKey = new byte[Math.max(nLength, 2 * m_aKey.length)];
+    }
+}
+
+@Override
+public void write(DataOutput dataOutput) throws IOException
+{
+    WritableUtils.writeVInt(dataOutput, m_nLength);
+    dataOutput.write(m_aKey, 0, m_nLength);
+}
+
+@Override
+public void readFields(DataInput dataInput) throws IOException
+{
+    int nLength = WritableUtils.readVInt(dataInput);
+    m_nLength = 0;
+    ensureCapacity(nLength);
+    dataInput.readFully(m_aKey, 0, nLength);
+    m_nLength = nLength;
+}
+
+@Override
+public int compareTo(EncodedRowKey that)
+{
+    return BinaryKeyComparator.compareKeys(m_aKey, 0, m_nLength, that.m_aKey, 0, that.m_nLength);
+}
+
+@Override
+public boolean equals(Object o)
+{
+    if (this == o)
+    {
+        return true;
+    }
+    if (o == null || getClass() != o.getClass())
+    {
+        return false;
+    }
+    EncodedRowKey that = (EncodedRowKey) o;
+    return Arrays.equals(m_aKey, 0, m_nLength, that.m_aKey, 0, that.m_nLength);
+}
+
+@Override
+public int hashCode()
+{
+    return (int) KeyHash.hash(m_aKey, 0, m_nLength);
+}
+
+@Override
+public String toString()
+{
+    return getClass().getSimpleName() + '{' + "length=" + m_nLength + '}';
+}
+
+/**
+ * Compares two serialized EncodedRowKeys by their key bytes, after the length prefix.
+ */
+public static class Comparator extends WritableComparator
+{
+
+    public Comparator()
+    {
+        super(EncodedRowKey.class);
+    }
+
+    @Override
+    public int compare(byte[] aKey1, int nOffset1, int nLength1, byte[] aKey2, int nOffset2, int nLength2)
+    {
+        int nPrefixLength1 = WritableUtils.decodeVIntSize(aKey1[nOffset1]);
+        int nPrefixLength2 = WritableUtils.decodeVIntSize(aKey2[nOffset2]);
+        return BinaryKeyComparator.compareKeys(aKey1, nOffset1 + nPrefixLength1, nLength1 - nPrefixLength1, aKey2,
+            nOffset2 + nPrefixLength2, nLength2 - nPrefixLength2);
+    }
+}
+} ///////// End of class
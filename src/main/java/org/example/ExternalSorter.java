@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: ExternalSorter.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ExternalSorter sorts more rows than fit in memory. Rows are encoded into a KeySlab as they are added. When the slab
+ * reaches the memory budget it is radix sorted and spilled to a run file in the temp directory with a FileChannel.
+ * sort() returns a KeyCursor that streams the k-way merge of all the runs. When more runs than the maximum fan in were
+ * spilled, they are first merged into larger runs.
+ *
+ * Only the fields of the SortSpec of the RowKeyEncoder are kept. To get whole rows back with decode, use an encoder
+ * built with SortSpec.withRemainingFields.
+ */
+public class ExternalSorter implements Closeable
+{
+
+public static final long DEFAULT_MEMORY_BUDGET_BYTES = 256L << 20;
+public static final int DEFAULT_MAX_FAN_IN = 128;
+
+private static final int MIN_IO_BUFFER_BYTES = 64 << 10;
+private static final int MAX_IO_BUFFER_BYTES = 8 << 20;
+private static final int MIN_SLAB_ROWS = 1024;
+
+private final RowKeyEncoder m_rowKeyEncoder;
+private final int m_nStride;
+private final long m_lMemoryBudgetBytes;
+private final Path m_tempDir;
+private final int m_nMaxFanIn;
+private final int m_nRowsPerRun;
+
+private final List<Path> m_listRunPath = new ArrayList<>();
+private KeySlab m_keySlab;
+private KeyCursor m_keyCursorResult;
+
+private long m_lRowCount;
+private long m_lSpilledBytes;
+
+public ExternalSorter(RowKeyEncoder rowKeyEncoder, Path tempDir)
+{
+    this(rowKeyEncoder, DEFAULT_MEMORY_BUDGET_BYTES, tempDir, DEFAULT_MAX_FAN_IN);
+}
+
+public ExternalSorter(RowKeyEncoder rowKeyEncoder, long lMemoryBudgetBytes, Path tempDir)
+{
+    this(rowKeyEncoder, lMemoryBudgetBytes, tempDir, DEFAULT_MAX_FAN_IN);
+}
+
+public ExternalSorter(RowKeyEncoder rowKeyEncoder, long lMemoryBudgetBytes, Path tempDir, int nMaxFanIn)
+{
+    if (nMaxFanIn < 2)
+    {
+        throw new IllegalArgumentException("Merge fan in must be at least 2. Fan in: " + nMaxFanIn);
+    }
+
+    m_rowKeyEncoder = rowKeyEncoder;
+    m_nStride = rowKeyEncoder.getMaxKeyWidth();
+    m_lMemoryBudgetBytes = lMemoryBudgetBytes;
+    m_tempDir = tempDir;
+    m_nMaxFanIn = nMaxFanIn;
+    m_nRowsPerRun = (int) Math.max(1, Math.min(Integer.MAX_VALUE - 8, lMemoryBudgetBytes / m_nStride));
+    m_keySlab = new KeySlab(rowKeyEncoder, Math.min(m_nRowsPerRun, MIN_SLAB_ROWS));
+}
+
+public RowKeyEncoder getRowKeyEncoder()
+{
+    return m_rowKeyEncoder;
+}
+
+public long getRowCount()
+{
+    return m_lRowCount;
+}
+
+public int getRunCount()
+{
+    return m_listRunPath.size();
+}
+
+public long getSpilledBytes()
+{
+    return m_lSpilledBytes;
+}
+
+public void add(RowData rowData) throws IOException
+{
+    m_keySlab.set(reserveRow(), rowData);
+}
+
+/**
+ * Adds a key that was encoded by the RowKeyEncoder of this sorter.
+ */
+public void addKey(byte[] aKey, int nOffset, int nLength) throws IOException
+{
+    m_keySlab.setKey(reserveRow(), aKey, nOffset, nLength);
+}
+
+/**
+ * Ends the input and returns a cursor over all the added keys in sorted order. The cursor is closed with the sorter.
+ */
+public KeyCursor sort() throws IOException
+{
+    if (m_keyCursorResult != null)
+    {
+        throw new IllegalStateException("The sorter has already been sorted");
+    }
+
+    if (m_listRunPath.isEmpty())
+    {
+        new MsdRadixSorter(m_keySlab).sort();
+        m_keyCursorResult = new SlabKeyCursor(m_keySlab);
+        return m_keyCursorResult;
+    }
+
+    if (m_keySlab.getRowCount() > 0)
+    {
+        spillRun();
+    }
+    m_keySlab = null; // Release the memory of the slab for the merge buffers
+
+    while (m_listRunPath.size() > m_nMaxFanIn)
+    {
+        mergeRuns();
+    }
+
+    m_keyCursorResult = openMergeCursor(m_listRunPath);
+    return m_keyCursorResult;
+}
+
+/**
+ * Decodes the current key of a cursor returned by sort into rowDataOut.
+ */
+public RowData decode(KeyCursor keyCursor, RowData rowDataOut)
+{
+    m_rowKeyEncoder.decodeInto(keyCursor.getKeyBuffer(), keyCursor.getKeyOffset(), rowDataOut);
+    return rowDataOut;
+}
+
+@Override
+public void close() throws IOException
+{
+    if (m_keyCursorResult != null)
+    {
+        m_keyCursorResult.close();
+    }
+
+    for (Path path : m_listRunPath)
+    {
+        Files.deleteIfExists(path);
+    }
+    m_listRunPath.clear();
+}
+
+private int reserveRow() throws IOException
+{
+    if (m_keyCursorResult != null)
+    {
+        throw new IllegalStateException("Rows can't be added after sort");
+    }
+
+    int nRowCount = m_keySlab.getRowCount();
+    if (nRowCount == m_nRowsPerRun)
+    {
+        spillRun();
+        nRowCount = 0;
+    }
+    else if (nRowCount == m_keySlab.getCapacity())
+    {
+        // Grow without going over the memory budget
+        m_keySlab.ensureCapacity((int) Math.min(m_nRowsPerRun, 2L * nRowCount));
+    }
+
+    m_keySlab.setRowCount(nRowCount + 1);
+    m_lRowCount++;
+    return nRowCount;
+}
+
+private void spillRun() throws IOException
+{
+    SortSpillEvent sortSpillEvent = new SortSpillEvent();
+    sortSpillEvent.begin();
+    long lSpilledBytes = m_lSpilledBytes;
+    new MsdRadixSorter(m_keySlab).sort();
+
+    Path path = Files.createTempFile(m_tempDir, "sort-run-", ".bin");
+    m_listRunPath.add(path);
+    try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.WRITE))
+    {
+        // Rows are contiguous within a chunk, so every chunk is written with a single buffer
+        int nRowCount = m_keySlab.getRowCount();
+        int nRowsPerChunk = m_keySlab.getRowsPerChunk();
+        for (int nRowIdx = 0; nRowIdx < nRowCount; nRowIdx += nRowsPerChunk)
+        {
+            int nBytes = Math.min(nRowCount - nRowIdx, nRowsPerChunk) * m_nStride;
+            ByteBuffer byteBuffer = ByteBuffer.wrap(m_keySlab.getChunk(nRowIdx), 0, nBytes);
+            while (byteBuffer.hasRemaining())
+            {
+                fileChannel.write(byteBuffer);
+            }
+            m_lSpilledBytes += nBytes;
+        }
+    }
+
+    sortSpillEvent.end();
+    if (sortSpillEvent.shouldCommit())
+    {
+        sortSpillEvent.m_sSource = getClass().getSimpleName();
+        sortSpillEvent.m_sPath = path.toString();
+        sortSpillEvent.m_lRowCount = m_keySlab.getRowCount();
+        sortSpillEvent.m_lByteCount = m_lSpilledBytes - lSpilledBytes;
+        sortSpillEvent.commit();
+    }
+    if (SortMetrics.ENABLED)
+    {
+        SortMetrics.recordSpill(m_lSpilledBytes - lSpilledBytes);
+    }
+    m_keySlab.clear();
+}
+
+/**
+ * Merges the first m_nMaxFanIn runs into a single run at the end of the run list.
+ */
+private void mergeRuns() throws IOException
+{
+    List<Path> listInputPath = new ArrayList<>(m_listRunPath.subList(0, m_nMaxFanIn));
+    Path path = Files.createTempFile(m_tempDir, "sort-run-", ".bin");
+    m_listRunPath.add(path);
+
+    try (SortPhase sortPhase = SortPhase.start("mergeRuns");
+        KeyCursor keyCursor = openMergeCursor(listInputPath);
+        FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.WRITE))
+    {
+        ByteBuffer byteBuffer = ByteBuffer.allocate(getIoBufferBytes() / m_nStride * m_nStride);
+        long lRowCount = 0;
+        while (keyCursor.next())
+        {
+            if (byteBuffer.remaining() < m_nStride)
+            {
+                writeFully(fileChannel, byteBuffer);
+            }
+            byteBuffer.put(keyCursor.getKeyBuffer(), keyCursor.getKeyOffset(), m_nStride);
+            lRowCount++;
+        }
+        writeFully(fileChannel, byteBuffer);
+        sortPhase.setRowCount(lRowCount).setByteCount(lRowCount * m_nStride);
+    }
+
+    for (Path inputPath : listInputPath)
+    {
+        Files.deleteIfExists(inputPath);
+    }
+    m_listRunPath.subList(0, m_nMaxFanIn).clear();
+}
+
+private MergeKeyCursor openMergeCursor(List<Path> listPath) throws IOException
+{
+    List<KeyCursor> listKeyCursor = new ArrayList<>();
+    try
+    {
+        for (Path path : listPath)
+        {
+            listKeyCursor.add(new RunFileCursor(path, m_nStride, getIoBufferBytes()));
+        }
+    }
+    catch (IOException e)
+    {
+        for (KeyCursor keyCursor : listKeyCursor)
+        {
+            keyCursor.close();
+        }
+        throw e;
+    }
+
+    return new MergeKeyCursor(listKeyCursor);
+}
+
+/**
+ * Splits the memory budget between the read buffers of a merge and its output buffer.
+ */
+private int getIoBufferBytes()
+{
+    long lBytes = m_lMemoryBudgetBytes / (m_nMaxFanIn + 1);
+    return (int) Math.max(Math.max(MIN_IO_BUFFER_BYTES, m_nStride), Math.min(MAX_IO_BUFFER_BYTES, lBytes));
+}
+
+private static void writeFully(FileChannel fileChannel, ByteBuffer byteBuffer) throws IOException
+{
+    byteBuffer.flip();
+    while (byteBuffer.hasRemaining())
+    {
+        fileChannel.write(byteBuffer);
+    }
+    byteBuffer.clear();
+}
+} ///////// End of class
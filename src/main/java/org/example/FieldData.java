@@ -66,6 +66,60 @@ public FieldData clone()
     return fieldDataOut;
 }
 
+/**
+ * Returns true when the field has no value. Subclasses that keep a primitive value check it without boxing.
+ */
+public boolean isNull()
+{
+    return getValue() == null;
+}
+
+/**
+ * Returns the value of an INTEGER or DATE field without boxing. The result is undefined when isNull is true.
+ */
+public int getInt()
+{
+    throw new UnsupportedOperationException("Not an int field. FieldType: " + getFieldType());
+}
+
+/**
+ * Returns the value of an INTEGER or LONG field without boxing. The result is undefined when isNull is true.
+ */
+public long getLong()
+{
+    throw new UnsupportedOperationException("Not a long field. FieldType: " + getFieldType());
+}
+
+public float getFloat()
+{
+    throw new UnsupportedOperationException("Not a float field. FieldType: " + getFieldType());
+}
+
+/**
+ * Returns the value of a FLOAT or DOUBLE field without boxing. The result is undefined when isNull is true.
+ */
+public double getDouble()
+{
+    throw new UnsupportedOperationException("Not a double field. FieldType: " + getFieldType());
+}
+
+public boolean getBoolean()
+{
+    throw new UnsupportedOperationException("Not a boolean field. FieldType: " + getFieldType());
+}
+
+/**
+ * Orders nulls after all the values, as compareTo does. Only called when at least one of the two is null.
+ */
+protected static int compareNull(boolean bNullThis, boolean bNullThat)
+{
+    return Boolean.compare(bNullThis, bNullThat);
+}
+
+/**
+ * Compares the values through FieldType.compareX. Subclasses override it with a comparison of their own values that
+ * does not box, and fall back to it when the other field is of a different class.
+ */
 @Override
 public int compareTo(FieldData fieldDataToCompareWith)
 {
@@ -101,7 +155,13 @@ public boolean equals(Object obj)
         return false;
     }
 
-    return (getFieldType().equalsX(this.getValue(), ((FieldData) obj).getValue()));
+    FieldData fieldDataThat = (FieldData) obj;
+    if (isNull() || fieldDataThat.isNull())
+    {
+        return isNull() && fieldDataThat.isNull();
+    }
+
+    return (getFieldType().equalsX(this.getValue(), fieldDataThat.getValue()));
 }
 
 @Override
@@ -126,7 +186,7 @@ public void readFields(DataInput dataInput) throws IOException
 @Override
 public void write(DataOutput dataOutput) throws IOException
 {
-    if (getValue() != null)
+    if (!isNull())
     {
         dataOutput.writeByte(1);
         writeX(dataOutput);
@@ -182,6 +242,32 @@ public static class BinaryFieldData extends TypedFieldData<Binary>
         m_value = (Binary) value;
     }
 
+    @Override
+    public boolean isNull()
+    {
+        return m_value == null;
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public int compareTo(FieldData fieldDataToCompareWith)
+    {
+        if (!(fieldDataToCompareWith instanceof BinaryFieldData))
+        {
+            return super.compareTo(fieldDataToCompareWith);
+        }
+
+        Binary valueThat = ((BinaryFieldData) fieldDataToCompareWith).m_value;
+        boolean bNullThis = m_value == null;
+        boolean bNullThat = valueThat == null;
+        if (bNullThis || bNullThat)
+        {
+            return compareNull(bNullThis, bNullThat);
+        }
+
+        return m_value.compareTo(valueThat);
+    }
+
     @Override
     protected void readFieldsX(DataInput dataInput) throws IOException
     {
@@ -201,9 +287,8 @@ public static class DateFieldData extends TypedFieldData<LocalDate>
 
     private static final long serialVersionUID = 3730225904999531532L;
 
-    private static final Integer NULL_VALUE = Integer.MIN_VALUE;
-
-    private Integer m_value = NULL_VALUE;
+    private int m_value;
+    private boolean m_bNull = true;
 
     @Override
     public FieldType getFieldType()
@@ -214,25 +299,58 @@ public static class DateFieldData extends TypedFieldData<LocalDate>
     @Override
     public Integer getValue()
     {
-        return m_value;
+        return !m_bNull ? m_value : null;
     }
 
     @Override
     public LocalDate getStringValue()
     {
-        return LocalDate.ofEpochDay(m_value);
+        return !m_bNull ? LocalDate.ofEpochDay(m_value) : null;
     }
 
     @Override
     public void setValue(Object value)
     {
-        m_value = value != null ? ((Number) value).intValue() : NULL_VALUE;
+        m_bNull = value == null;
+        m_value = value != null ? ((Number) value).intValue() : 0;
+    }
+
+    @Override
+    public boolean isNull()
+    {
+        return m_bNull;
+    }
+
+    @Override
+    public int getInt()
+    {
+        return m_value;
+    }
+
+    @Override
+    public int compareTo(FieldData fieldDataToCompareWith)
+    {
+        if (!(fieldDataToCompareWith instanceof DateFieldData))
+        {
+            return super.compareTo(fieldDataToCompareWith);
+        }
+
+        DateFieldData fieldDataThat = (DateFieldData) fieldDataToCompareWith;
+        boolean bNullThis = m_bNull;
+        boolean bNullThat = fieldDataThat.m_bNull;
+        if (bNullThis || bNullThat)
+        {
+            return compareNull(bNullThis, bNullThat);
+        }
+
+        return Integer.compare(m_value, fieldDataThat.m_value);
     }
 
     @Override
     protected void readFieldsX(DataInput dataInput) throws IOException
     {
         m_value = dataInput.readInt();
+        m_bNull = false;
     }
 
     @Override
@@ -248,9 +366,8 @@ public static class BooleanFieldData extends TypedFieldData<Boolean>
 
     private static final long serialVersionUID = 4528228253253833639L;
 
-    private static final Byte NULL_VALUE = Byte.MIN_VALUE;
-
-    private byte m_value = NULL_VALUE;
+    private byte m_value;
+    private boolean m_bNull = true;
 
     @Override
     public FieldType getFieldType()
@@ -261,59 +378,68 @@ public static class BooleanFieldData extends TypedFieldData<Boolean>
     @Override
     public Boolean getValue()
     {
-        if (m_value == 1)
-        {
-            return Boolean.TRUE;
-        }
-
-        if (m_value == 0)
+        if (m_bNull)
         {
-            return Boolean.FALSE;
+            return null;
         }
 
-        return null;
+        return m_value == 1 ? Boolean.TRUE : Boolean.FALSE;
     }
 
     @Override
     public Boolean getStringValue()
     {
-        if (m_value == 1)
-        {
-            return Boolean.TRUE;
-        }
-
-        if (m_value == 0)
+        if (m_bNull)
         {
-            return Boolean.FALSE;
+            return null;
         }
 
-        return null;
+        return m_value == 1 ? Boolean.TRUE : Boolean.FALSE;
     }
 
     @Override
     public void setValue(Object value)
     {
-        if (value != null)
+        m_bNull = value == null;
+        m_value = value != null && (Boolean) value ? (byte) 1 : (byte) 0;
+    }
+
+    @Override
+    public boolean isNull()
+    {
+        return m_bNull;
+    }
+
+    @Override
+    public boolean getBoolean()
+    {
+        return m_value == 1;
+    }
+
+    @Override
+    public int compareTo(FieldData fieldDataToCompareWith)
+    {
+        if (!(fieldDataToCompareWith instanceof BooleanFieldData))
         {
-            if ((Boolean) value)
-            {
-                m_value = 1;
-            }
-            else
-            {
-                m_value = 0;
-            }
+            return super.compareTo(fieldDataToCompareWith);
         }
-        else
+
+        BooleanFieldData fieldDataThat = (BooleanFieldData) fieldDataToCompareWith;
+        boolean bNullThis = m_bNull;
+        boolean bNullThat = fieldDataThat.m_bNull;
+        if (bNullThis || bNullThat)
         {
-            m_value = NULL_VALUE;
+            return compareNull(bNullThis, bNullThat);
         }
+
+        return Byte.compare(m_value, fieldDataThat.m_value);
     }
 
     @Override
     protected void readFieldsX(DataInput dataInput) throws IOException
     {
         m_value = dataInput.readByte();
+        m_bNull = false;
     }
 
     @Override
@@ -329,9 +455,8 @@ public static class DoubleFieldData extends TypedFieldData<Double>
 
     private static final long serialVersionUID = -4678014356705055770L;
 
-    private static final double NULL_VALUE = Double.MAX_VALUE;
-
-    private double m_value = NULL_VALUE;
+    private double m_value;
+    private boolean m_bNull = true;
 
     @Override
     public FieldType getFieldType()
@@ -342,25 +467,58 @@ public static class DoubleFieldData extends TypedFieldData<Double>
     @Override
     public Double getValue()
     {
-        return m_value != NULL_VALUE ? m_value : null;
+        return !m_bNull ? m_value : null;
     }
 
     @Override
     public Object getStringValue()
     {
-        return m_value != NULL_VALUE ? m_value : null;
+        return !m_bNull ? m_value : null;
     }
 
     @Override
     public void setValue(Object value)
     {
-        m_value = value != null ? ((Number) value).doubleValue() : NULL_VALUE;
+        m_bNull = value == null;
+        m_value = value != null ? ((Number) value).doubleValue() : 0;
+    }
+
+    @Override
+    public boolean isNull()
+    {
+        return m_bNull;
+    }
+
+    @Override
+    public double getDouble()
+    {
+        return m_value;
+    }
+
+    @Override
+    public int compareTo(FieldData fieldDataToCompareWith)
+    {
+        if (!(fieldDataToCompareWith instanceof DoubleFieldData))
+        {
+            return super.compareTo(fieldDataToCompareWith);
+        }
+
+        DoubleFieldData fieldDataThat = (DoubleFieldData) fieldDataToCompareWith;
+        boolean bNullThis = m_bNull;
+        boolean bNullThat = fieldDataThat.m_bNull;
+        if (bNullThis || bNullThat)
+        {
+            return compareNull(bNullThis, bNullThat);
+        }
+
+        return Double.compare(m_value, fieldDataThat.m_value);
     }
 
     @Override
     protected void readFieldsX(DataInput dataInput) throws IOException
     {
         m_value = dataInput.readDouble();
+        m_bNull = false;
     }
 
     @Override
@@ -376,9 +534,8 @@ public static class FloatFieldData extends TypedFieldData<Float>
 
     private static final long serialVersionUID = 3668561371898227085L;
 
-    private static final float NULL_VALUE = Float.MAX_VALUE;
-
-    private float m_value = NULL_VALUE;
+    private float m_value;
+    private boolean m_bNull = true;
 
     @Override
     public FieldType getFieldType()
@@ -389,25 +546,64 @@ public static class FloatFieldData extends TypedFieldData<Float>
     @Override
     public Float getValue()
     {
-        return m_value != NULL_VALUE ? m_value : null;
+        return !m_bNull ? m_value : null;
     }
 
     @Override
     public Object getStringValue()
     {
-        return m_value != NULL_VALUE ? m_value : null;
+        return !m_bNull ? m_value : null;
     }
 
     @Override
     public void setValue(Object value)
     {
-        m_value = value != null ? ((Number) value).floatValue() : NULL_VALUE;
+        m_bNull = value == null;
+        m_value = value != null ? ((Number) value).floatValue() : 0;
+    }
+
+    @Override
+    public boolean isNull()
+    {
+        return m_bNull;
+    }
+
+    @Override
+    public float getFloat()
+    {
+        return m_value;
+    }
+
+    @Override
+    public double getDouble()
+    {
+        return m_value;
+    }
+
+    @Override
+    public int compareTo(FieldData fieldDataToCompareWith)
+    {
+        if (!(fieldDataToCompareWith instanceof FloatFieldData))
+        {
+            return super.compareTo(fieldDataToCompareWith);
+        }
+
+        FloatFieldData fieldDataThat = (FloatFieldData) fieldDataToCompareWith;
+        boolean bNullThis = m_bNull;
+        boolean bNullThat = fieldDataThat.m_bNull;
+        if (bNullThis || bNullThat)
+        {
+            return compareNull(bNullThis, bNullThat);
+        }
+
+        return Float.compare(m_value, fieldDataThat.m_value);
     }
 
     @Override
     protected void readFieldsX(DataInput dataInput) throws IOException
     {
         m_value = dataInput.readFloat();
+        m_bNull = false;
     }
 
     @Override
@@ -457,6 +653,32 @@ public static class Int96FieldData extends TypedFieldData<Binary>
         }
     }
 
+    @Override
+    public boolean isNull()
+    {
+        return m_value == null;
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public int compareTo(FieldData fieldDataToCompareWith)
+    {
+        if (!(fieldDataToCompareWith instanceof Int96FieldData))
+        {
+            return super.compareTo(fieldDataToCompareWith);
+        }
+
+        Binary valueThat = ((Int96FieldData) fieldDataToCompareWith).m_value;
+        boolean bNullThis = m_value == null;
+        boolean bNullThat = valueThat == null;
+        if (bNullThis || bNullThat)
+        {
+            return compareNull(bNullThis, bNullThat);
+        }
+
+        return m_value.compareTo(valueThat);
+    }
+
     @Override
     protected void readFieldsX(DataInput dataInput) throws IOException
     {
@@ -476,9 +698,8 @@ public static class IntegerFieldData extends TypedFieldData<Integer>
 
     private static final long serialVersionUID = 3730225004999531532L;
 
-    private static final int NULL_VALUE = Integer.MAX_VALUE;
-
-    private int m_value = NULL_VALUE;
+    private int m_value;
+    private boolean m_bNull = true;
 
     @Override
     public FieldType getFieldType()
@@ -489,25 +710,64 @@ public static class IntegerFieldData extends TypedFieldData<Integer>
     @Override
     public Integer getValue()
     {
-        return m_value != NULL_VALUE ? m_value : null;
+        return !m_bNull ? m_value : null;
     }
 
     @Override
     public Object getStringValue()
     {
-        return m_value != NULL_VALUE ? m_value : null;
+        return !m_bNull ? m_value : null;
     }
 
     @Override
     public void setValue(Object value)
     {
-        m_value = value != null ? ((Number) value).intValue() : NULL_VALUE;
+        m_bNull = value == null;
+        m_value = value != null ? ((Number) value).intValue() : 0;
+    }
+
+    @Override
+    public boolean isNull()
+    {
+        return m_bNull;
+    }
+
+    @Override
+    public int getInt()
+    {
+        return m_value;
+    }
+
+    @Override
+    public long getLong()
+    {
+        return m_value;
+    }
+
+    @Override
+    public int compareTo(FieldData fieldDataToCompareWith)
+    {
+        if (!(fieldDataToCompareWith instanceof IntegerFieldData))
+        {
+            return super.compareTo(fieldDataToCompareWith);
+        }
+
+        IntegerFieldData fieldDataThat = (IntegerFieldData) fieldDataToCompareWith;
+        boolean bNullThis = m_bNull;
+        boolean bNullThat = fieldDataThat.m_bNull;
+        if (bNullThis || bNullThat)
+        {
+            return compareNull(bNullThis, bNullThat);
+        }
+
+        return Integer.compare(m_value, fieldDataThat.m_value);
     }
 
     @Override
     protected void readFieldsX(DataInput dataInput) throws IOException
     {
         m_value = dataInput.readInt();
+        m_bNull = false;
     }
 
     @Override
@@ -523,9 +783,8 @@ public static class LongFieldData extends TypedFieldData<Long>
 
     private static final long serialVersionUID = -6504140158970786820L;
 
-    private static final long NULL_VALUE = Long.MAX_VALUE;
-
-    private long m_value = NULL_VALUE;
+    private long m_value;
+    private boolean m_bNull = true;
 
     @Override
     public FieldType getFieldType()
@@ -536,25 +795,58 @@ public static class LongFieldData extends TypedFieldData<Long>
     @Override
     public Long getValue()
     {
-        return m_value != NULL_VALUE ? m_value : null;
+        return !m_bNull ? m_value : null;
     }
 
     @Override
     public Object getStringValue()
     {
-        return m_value != NULL_VALUE ? m_value : null;
+        return !m_bNull ? m_value : null;
     }
 
     @Override
     public void setValue(Object value)
     {
-        m_value = value != null ? ((Number) value).longValue() : NULL_VALUE;
+        m_bNull = value == null;
+        m_value = value != null ? ((Number) value).longValue() : 0;
+    }
+
+    @Override
+    public boolean isNull()
+    {
+        return m_bNull;
+    }
+
+    @Override
+    public long getLong()
+    {
+        return m_value;
+    }
+
+    @Override
+    public int compareTo(FieldData fieldDataToCompareWith)
+    {
+        if (!(fieldDataToCompareWith instanceof LongFieldData))
+        {
+            return super.compareTo(fieldDataToCompareWith);
+        }
+
+        LongFieldData fieldDataThat = (LongFieldData) fieldDataToCompareWith;
+        boolean bNullThis = m_bNull;
+        boolean bNullThat = fieldDataThat.m_bNull;
+        if (bNullThis || bNullThat)
+        {
+            return compareNull(bNullThis, bNullThat);
+        }
+
+        return Long.compare(m_value, fieldDataThat.m_value);
     }
 
     @Override
     protected void readFieldsX(DataInput dataInput) throws IOException
     {
         m_value = dataInput.readLong();
+        m_bNull = false;
     }
 
     @Override
@@ -604,6 +896,60 @@ public static class StringFieldData extends TypedFieldData<String>
         }
     }
 
+    @Override
+    public boolean isNull()
+    {
+        return m_value == null;
+    }
+
+    @Override
+    public int compareTo(FieldData fieldDataToCompareWith)
+    {
+        if (!(fieldDataToCompareWith instanceof StringFieldData))
+        {
+            return super.compareTo(fieldDataToCompareWith);
+        }
+
+        String valueThat = ((StringFieldData) fieldDataToCompareWith).m_value;
+        boolean bNullThis = m_value == null;
+        boolean bNullThat = valueThat == null;
+        if (bNullThis || bNullThat)
+        {
+            return compareNull(bNullThis, bNullThat);
+        }
+
+        return compareCodePoints(m_value, valueThat);
+    }
+
+    /**
+     * Compares two strings by code point, the order of their UTF-8 bytes and so of the STRING keys. String.compareTo
+     * compares UTF-16 chars, which puts the code points above U+FFFF, stored as surrogates, before U+E000 to U+FFFF.
+     */
+    static int compareCodePoints(String s1, String s2)
+    {
+        int nLength = Math.min(s1.length(), s2.length());
+        for (int i = 0; i < nLength; i++)
+        {
+            char c1 = s1.charAt(i);
+            char c2 = s2.charAt(i);
+            if (c1 != c2)
+            {
+                if (c1 >= Character.MIN_SURROGATE && c2 >= Character.MIN_SURROGATE)
+                {
+                    // Moves the surrogates above U+E000 to U+FFFF, keeping the order within both ranges
+                    return toCodePointOrder(c1) - toCodePointOrder(c2);
+                }
+                return c1 - c2;
+            }
+        }
+        return s1.length() - s2.length();
+    }
+
+    private static int toCodePointOrder(char c)
+    {
+        return Character.isSurrogate(c) ? c + 0x2000 : c - 0x800;
+    }
+
     @Override
     protected void readFieldsX(DataInput dataInput) throws IOException
     {
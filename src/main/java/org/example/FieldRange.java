@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: FieldRange.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import java.util.List;
+
+/**
+ * FieldRange is the smallest and the largest value of an INTEGER, DATE, LONG or BOOLEAN field, a BOOLEAN being 0 or 1.
+ * A RowKeyEncoder that is given the range of every sort field packs the key: each field takes only the bits needed for
+ * value - min and one more code for null, and the fields are written back to back in a big endian bit layout.
+ *
+ * The range comes from a scan of the rows or from the Parquet statistics, see ParallelParquetLoader.getFieldRange.
+ */
+public class FieldRange
+{
+
+private final long m_lMin;
+private final long m_lMax;
+
+public FieldRange(long lMin, long lMax)
+{
+    if (lMin > lMax)
+    {
+        throw new IllegalArgumentException("Invalid range. Min: " + lMin + " Max: " + lMax);
+    }
+
+    m_lMin = lMin;
+    m_lMax = lMax;
+}
+
+/**
+ * Returns true for the field types whose values can be packed with a FieldRange.
+ */
+public static boolean isSupported(FieldType fieldType)
+{
+    return fieldType == FieldType.INTEGER || fieldType == FieldType.DATE || fieldType == FieldType.LONG
+        || fieldType == FieldType.BOOLEAN;
+}
+
+/**
+ * Returns the range of field nFieldIdx of the rowBatch, or null when all its values are null.
+ */
+public static FieldRange scan(RowBatch rowBatch, int nFieldIdx)
+{
+    checkSupported(rowBatch.getRowInfo().getFieldInfo(nFieldIdx).getFieldType());
+
+    ColumnVector columnVector = rowBatch.getColumnVector(nFieldIdx);
+    long lMin = Long.MAX_VALUE;
+    long lMax = Long.MIN_VALUE;
+    boolean bHasValue = false;
+    for (int nRowIdx = 0; nRowIdx < rowBatch.getRowCount(); nRowIdx++)
+    {
+        if (columnVector.isNull(nRowIdx))
+        {
+            continue;
+        }
+
+        long lValue = getLong(columnVector, nRowIdx);
+        lMin = Math.min(lMin, lValue);
+        lMax = Math.max(lMax, lValue);
+        bHasValue = true;
+    }
+    return bHasValue ? new FieldRange(lMin, lMax) : null;
+}
+
+/**
+ * Returns the range of field nFieldIdx of the rows, or null when all its values are null.
+ */
+public static FieldRange scan(List<RowData> listRowData, int nFieldIdx)
+{
+    long lMin = Long.MAX_VALUE;
+    long lMax = Long.MIN_VALUE;
+    boolean bHasValue = false;
+    for (RowData rowData : listRowData)
+    {
+        FieldData fieldData = rowData.getFieldData(nFieldIdx);
+        checkSupported(fieldData.getFieldType());
+        if (fieldData.isNull())
+        {
+            continue;
+        }
+
+        long lValue = getLong(fieldData);
+        lMin = Math.min(lMin, lValue);
+        lMax = Math.max(lMax, lValue);
+        bHasValue = true;
+    }
+    return bHasValue ? new FieldRange(lMin, lMax) : null;
+}
+
+/**
+ * Returns the non null value of the fieldData as a long. A BOOLEAN is 0 or 1.
+ */
+static long getLong(FieldData fieldData)
+{
+    switch (fieldData.getFieldType())
+    {
+        case INTEGER:
+        case DATE:
+            return fieldData.getInt();
+        case LONG:
+            return fieldData.getLong();
+        case BOOLEAN:
+            return fieldData.getBoolean() ? 1 : 0;
+        default:
+            throw new UnsupportedOperationException("Not a packable field. FieldType: " + fieldData.getFieldType());
+    }
+}
+
+/**
+ * Returns the non null value of row nRowIdx of the columnVector as a long. A BOOLEAN is 0 or 1.
+ */
+static long getLong(ColumnVector columnVector, int nRowIdx)
+{
+    switch (columnVector.getFieldType())
+    {
+        case INTEGER:
+        case DATE:
+            return ((ColumnVector.IntColumnVector) columnVector).getInt(nRowIdx);
+        case LONG:
+            return ((ColumnVector.LongColumnVector) columnVector).getLong(nRowIdx);
+        case BOOLEAN:
+            return ((ColumnVector.BooleanColumnVector) columnVector).getBoolean(nRowIdx) ? 1 : 0;
+        default:
+            throw new UnsupportedOperationException("Not a packable field. FieldType: " + columnVector.getFieldType());
+    }
+}
+
+/**
+ * Sets the value of the fieldData from a long returned by getLong.
+ */
+static void setLong(FieldData fieldData, long lValue)
+{
+    switch (fieldData.getFieldType())
+    {
+        case INTEGER:
+        case DATE:
+            fieldData.setValue((int) lValue);
+            break;
+        case LONG:
+            fieldData.setValue(lValue);
+            break;
+        case BOOLEAN:
+            fieldData.setValue(lValue != 0);
+            break;
+        default:
+            throw new UnsupportedOperationException("Not a packable field. FieldType: " + fieldData.getFieldType());
+    }
+}
+
+private static void checkSupported(FieldType fieldType)
+{
+    if (!isSupported(fieldType))
+    {
+        throw new UnsupportedOperationException("Not a packable field. FieldType: " + fieldType);
+    }
+}
+
+public long getMin()
+{
+    return m_lMin;
+}
+
+public long getMax()
+{
+    return m_lMax;
+}
+
+public boolean contains(long lValue)
+{
+    return lValue >= m_lMin && lValue <= m_lMax;
+}
+
+/**
+ * Returns the smallest range that contains both ranges.
+ */
+public FieldRange union(FieldRange fieldRange)
+{
+    return new FieldRange(Math.min(m_lMin, fieldRange.m_lMin), Math.max(m_lMax, fieldRange.m_lMax));
+}
+
+/**
+ * Returns false for the full range of LONG, whose values and null do not fit in 64 bits.
+ */
+public boolean isPackable()
+{
+    return m_lMax - m_lMin + 1 != 0;
+}
+
+/**
+ * Returns the number of bits of a packed field: the codes of the max - min + 1 values and of null.
+ */
+public int getBitCount()
+{
+    if (!isPackable())
+    {
+        throw new UnsupportedOperationException("Range is too wide to pack: " + this);
+    }
+    return Long.SIZE - Long.numberOfLeadingZeros(m_lMax - m_lMin + 1);
+}
+
+@Override
+public boolean equals(Object o)
+{
+    if (this == o)
+    {
+        return true;
+    }
+    if (o == null || getClass() != o.getClass())
+    {
+        return false;
+    }
+    FieldRange that = (FieldRange) o;
+    return m_lMin == that.m_lMin && m_lMax == that.m_lMax;
+}
+
+@Override
+public int hashCode()
+{
+    return 31 * Long.hashCode(m_lMin) + Long.hashCode(m_lMax);
+}
+
+@Override
+public String toString()
+{
+    return getClass().getSimpleName() + '{' + "min=" + m_lMin + " max=" + m_lMax + '}';
+}
+} ///////// End of class
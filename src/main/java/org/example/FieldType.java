@@ -11,8 +11,12 @@ package org.example;
 
 import org.apache.parquet.example.data.Group;
 import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Types;
 
-import java.time.LocalDate;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 
 /**
  * FieldType supports all the types supported by a Parquet File and makes them available as field types supported by
@@ -28,6 +32,12 @@ public enum FieldType
                 return new FieldData.BinaryFieldData();
             }
 
+            @Override
+            public ColumnVector allocateColumnVector(int nCapacity)
+            {
+                return new ColumnVector.BinaryColumnVector(this, nCapacity);
+            }
+
             @SuppressWarnings("deprecation")
             @Override
             public int compareX(Object o1, Object o2)
@@ -40,6 +50,35 @@ public enum FieldType
             {
                 return group.getBinary(nFieldIdx, nRowIdx);
             }
+
+            @Override
+            public int encodeKey(FieldData fieldData, boolean bDescending, byte[] aKey, int nOffset, int nLimit)
+            {
+                byte[] aValue = ((Binary) fieldData.getValue()).getBytesUnsafe();
+                return SortableBytes.putVariableBytes(aValue, 0, aValue.length, bDescending, aKey, nOffset, nLimit);
+            }
+
+            @Override
+            public int decodeKey(byte[] aKey, int nOffset, boolean bDescending, FieldData fieldData)
+            {
+                ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                int nLength = SortableBytes.getVariableBytes(aKey, nOffset, bDescending, baos);
+                fieldData.setValue(Binary.fromConstantByteArray(baos.toByteArray()));
+                return nLength;
+            }
+
+            @Override
+            public int getKeySizeInBytes(FieldData fieldData)
+            {
+                byte[] aValue = ((Binary) fieldData.getValue()).getBytesUnsafe();
+                return SortableBytes.getVariableBytesLength(aValue, 0, aValue.length);
+            }
+
+            @Override
+            public boolean isFixedLength()
+            {
+                return false;
+            }
         },
     BOOLEAN
         {
@@ -49,6 +88,12 @@ public enum FieldType
                 return new FieldData.BooleanFieldData();
             }
 
+            @Override
+            public ColumnVector allocateColumnVector(int nCapacity)
+            {
+                return new ColumnVector.BooleanColumnVector(this, nCapacity);
+            }
+
             @Override
             public int compareX(Object o1, Object o2)
             {
@@ -66,6 +111,19 @@ public enum FieldType
             {
                 return Byte.BYTES;
             }
+
+            @Override
+            public int encodeKey(FieldData fieldData, boolean bDescending, byte[] aKey, int nOffset, int nLimit)
+            {
+                return SortableBytes.putBoolean(fieldData.getBoolean(), bDescending, aKey, nOffset);
+            }
+
+            @Override
+            public int decodeKey(byte[] aKey, int nOffset, boolean bDescending, FieldData fieldData)
+            {
+                fieldData.setValue(SortableBytes.getBoolean(aKey, nOffset, bDescending));
+                return Byte.BYTES;
+            }
         },
     DATE
         {
@@ -75,10 +133,17 @@ public enum FieldType
                 return new FieldData.DateFieldData();
             }
 
+            @Override
+            public ColumnVector allocateColumnVector(int nCapacity)
+            {
+                return new ColumnVector.IntColumnVector(this, nCapacity);
+            }
+
             @Override
             public int compareX(Object o1, Object o2)
             {
-                return ((LocalDate) o1).compareTo((LocalDate)o2);
+                // DateFieldData holds the number of days since the epoch
+                return Integer.compare((Integer) o1, (Integer) o2);
             }
 
 
@@ -88,6 +153,24 @@ public enum FieldType
                 return null;
             }
 
+            @Override
+            public int getFieldSizeInBytes()
+            {
+                return Integer.BYTES;
+            }
+
+            @Override
+            public int encodeKey(FieldData fieldData, boolean bDescending, byte[] aKey, int nOffset, int nLimit)
+            {
+                return SortableBytes.putInt(fieldData.getInt(), bDescending, aKey, nOffset);
+            }
+
+            @Override
+            public int decodeKey(byte[] aKey, int nOffset, boolean bDescending, FieldData fieldData)
+            {
+                fieldData.setValue(SortableBytes.getInt(aKey, nOffset, bDescending));
+                return Integer.BYTES;
+            }
         },
     DOUBLE
         {
@@ -97,6 +180,12 @@ public enum FieldType
                 return new FieldData.DoubleFieldData();
             }
 
+            @Override
+            public ColumnVector allocateColumnVector(int nCapacity)
+            {
+                return new ColumnVector.DoubleColumnVector(this, nCapacity);
+            }
+
             @Override
             public int compareX(Object o1, Object o2)
             {
@@ -114,6 +203,19 @@ public enum FieldType
             {
                 return Double.BYTES;
             }
+
+            @Override
+            public int encodeKey(FieldData fieldData, boolean bDescending, byte[] aKey, int nOffset, int nLimit)
+            {
+                return SortableBytes.putDouble(fieldData.getDouble(), bDescending, aKey, nOffset);
+            }
+
+            @Override
+            public int decodeKey(byte[] aKey, int nOffset, boolean bDescending, FieldData fieldData)
+            {
+                fieldData.setValue(SortableBytes.getDouble(aKey, nOffset, bDescending));
+                return Double.BYTES;
+            }
         },
     FLOAT
         {
@@ -123,6 +225,12 @@ public enum FieldType
                 return new FieldData.FloatFieldData();
             }
 
+            @Override
+            public ColumnVector allocateColumnVector(int nCapacity)
+            {
+                return new ColumnVector.FloatColumnVector(this, nCapacity);
+            }
+
             @Override
             public int compareX(Object o1, Object o2)
             {
@@ -140,6 +248,19 @@ public enum FieldType
             {
                 return Float.BYTES;
             }
+
+            @Override
+            public int encodeKey(FieldData fieldData, boolean bDescending, byte[] aKey, int nOffset, int nLimit)
+            {
+                return SortableBytes.putFloat(fieldData.getFloat(), bDescending, aKey, nOffset);
+            }
+
+            @Override
+            public int decodeKey(byte[] aKey, int nOffset, boolean bDescending, FieldData fieldData)
+            {
+                fieldData.setValue(SortableBytes.getFloat(aKey, nOffset, bDescending));
+                return Float.BYTES;
+            }
         },
     INT96
         {
@@ -149,6 +270,12 @@ public enum FieldType
                 return new FieldData.Int96FieldData();
             }
 
+            @Override
+            public ColumnVector allocateColumnVector(int nCapacity)
+            {
+                return new ColumnVector.FixedBinaryColumnVector(this, nCapacity);
+            }
+
             @SuppressWarnings("deprecation")
             @Override
             public int compareX(Object o1, Object o2)
@@ -167,6 +294,26 @@ public enum FieldType
             {
                 return Long.BYTES + Integer.BYTES;
             }
+
+            @Override
+            public int encodeKey(FieldData fieldData, boolean bDescending, byte[] aKey, int nOffset, int nLimit)
+            {
+                byte[] aValue = ((Binary) fieldData.getValue()).getBytesUnsafe();
+                if (aValue.length != getFieldSizeInBytes())
+                {
+                    throw new IllegalArgumentException("INT96 value must be " + getFieldSizeInBytes()
+                        + " bytes. Length: " + aValue.length);
+                }
+                return SortableBytes.putFixedBytes(aValue, 0, aValue.length, bDescending, aKey, nOffset);
+            }
+
+            @Override
+            public int decodeKey(byte[] aKey, int nOffset, boolean bDescending, FieldData fieldData)
+            {
+                byte[] aValue = SortableBytes.getFixedBytes(aKey, nOffset, getFieldSizeInBytes(), bDescending);
+                fieldData.setValue(Binary.fromConstantByteArray(aValue));
+                return aValue.length;
+            }
         },
     INTEGER
         {
@@ -176,6 +323,12 @@ public enum FieldType
                 return new FieldData.IntegerFieldData();
             }
 
+            @Override
+            public ColumnVector allocateColumnVector(int nCapacity)
+            {
+                return new ColumnVector.IntColumnVector(this, nCapacity);
+            }
+
             @Override
             public int compareX(Object o1, Object o2)
             {
@@ -193,6 +346,19 @@ public enum FieldType
             {
                 return Integer.BYTES;
             }
+
+            @Override
+            public int encodeKey(FieldData fieldData, boolean bDescending, byte[] aKey, int nOffset, int nLimit)
+            {
+                return SortableBytes.putInt(fieldData.getInt(), bDescending, aKey, nOffset);
+            }
+
+            @Override
+            public int decodeKey(byte[] aKey, int nOffset, boolean bDescending, FieldData fieldData)
+            {
+                fieldData.setValue(SortableBytes.getInt(aKey, nOffset, bDescending));
+                return Integer.BYTES;
+            }
         },
     LONG
         {
@@ -202,6 +368,12 @@ public enum FieldType
                 return new FieldData.LongFieldData();
             }
 
+            @Override
+            public ColumnVector allocateColumnVector(int nCapacity)
+            {
+                return new ColumnVector.LongColumnVector(this, nCapacity);
+            }
+
             @Override
             public int compareX(Object o1, Object o2)
             {
@@ -219,6 +391,19 @@ public enum FieldType
             {
                 return Long.BYTES;
             }
+
+            @Override
+            public int encodeKey(FieldData fieldData, boolean bDescending, byte[] aKey, int nOffset, int nLimit)
+            {
+                return SortableBytes.putLong(fieldData.getLong(), bDescending, aKey, nOffset);
+            }
+
+            @Override
+            public int decodeKey(byte[] aKey, int nOffset, boolean bDescending, FieldData fieldData)
+            {
+                fieldData.setValue(SortableBytes.getLong(aKey, nOffset, bDescending));
+                return Long.BYTES;
+            }
         },
     STRING
         {
@@ -228,10 +413,16 @@ public enum FieldType
                 return new FieldData.StringFieldData();
             }
 
+            @Override
+            public ColumnVector allocateColumnVector(int nCapacity)
+            {
+                return new ColumnVector.StringColumnVector(this, nCapacity);
+            }
+
             @Override
             public int compareX(Object o1, Object o2)
             {
-                return ((String) o1).compareTo((String) o2);
+                return FieldData.StringFieldData.compareCodePoints((String) o1, (String) o2);
             }
 
             @Override
@@ -239,10 +430,42 @@ public enum FieldType
             {
                 return group.getString(nFieldIdx, nRowIdx);
             }
+
+            @Override
+            public int encodeKey(FieldData fieldData, boolean bDescending, byte[] aKey, int nOffset, int nLimit)
+            {
+                return SortableBytes.putString((String) fieldData.getValue(), bDescending, aKey, nOffset, nLimit);
+            }
+
+            @Override
+            public int decodeKey(byte[] aKey, int nOffset, boolean bDescending, FieldData fieldData)
+            {
+                ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                int nLength = SortableBytes.getVariableBytes(aKey, nOffset, bDescending, baos);
+                fieldData.setValue(new String(baos.toByteArray(), StandardCharsets.UTF_8));
+                return nLength;
+            }
+
+            @Override
+            public int getKeySizeInBytes(FieldData fieldData)
+            {
+                return SortableBytes.getStringLength((String) fieldData.getValue());
+            }
+
+            @Override
+            public boolean isFixedLength()
+            {
+                return false;
+            }
         };
 
 public abstract FieldData allocateFieldData();
 
+/**
+ * Allocates the vector that holds the values of a field of this type in a RowBatch.
+ */
+public abstract ColumnVector allocateColumnVector(int nCapacity);
+
 public abstract int compareX(Object o1, Object o2);
 
 public boolean equalsX(Object o1, Object o2)
@@ -252,12 +475,98 @@ public boolean equalsX(Object o1, Object o2)
 
 public abstract Object getFieldDataFromParquetGroupInternal(Group group, int nFieldIdx, int nRowIdx);
 
+/**
+ * Writes the non null value of the fieldData into aKey as a binary comparable byte sequence and returns the number of
+ * bytes written. Variable length values must not be written at or beyond nLimit.
+ */
+public abstract int encodeKey(FieldData fieldData, boolean bDescending, byte[] aKey, int nOffset, int nLimit);
+
+/**
+ * Reads a value written by encodeKey into the fieldData and returns the number of bytes consumed.
+ */
+public abstract int decodeKey(byte[] aKey, int nOffset, boolean bDescending, FieldData fieldData);
+
+/**
+ * Returns the number of bytes encodeKey writes for the non null value of the fieldData.
+ */
+public int getKeySizeInBytes(FieldData fieldData)
+{
+    return getFieldSizeInBytes();
+}
+
+public boolean isFixedLength()
+{
+    return true;
+}
+
 @SuppressWarnings("unused")
 public int getFieldSizeInBytes()
 {
     throw new UnsupportedOperationException("Not a fixed length field. FieldType: " + name());
 }
 
+/**
+ * Returns the FieldType that holds the values of a Parquet column. INT32 annotated as a date is a DATE and BINARY
+ * annotated as a string is a STRING.
+ */
+public static FieldType fromPrimitiveType(PrimitiveType primitiveType)
+{
+    LogicalTypeAnnotation logicalTypeAnnotation = primitiveType.getLogicalTypeAnnotation();
+    switch (primitiveType.getPrimitiveTypeName())
+    {
+        case BOOLEAN:
+            return BOOLEAN;
+        case INT32:
+            return logicalTypeAnnotation instanceof LogicalTypeAnnotation.DateLogicalTypeAnnotation ? DATE : INTEGER;
+        case INT64:
+            return LONG;
+        case INT96:
+            return INT96;
+        case FLOAT:
+            return FLOAT;
+        case DOUBLE:
+            return DOUBLE;
+        case BINARY:
+            return logicalTypeAnnotation instanceof LogicalTypeAnnotation.StringLogicalTypeAnnotation ? STRING : BINARY;
+        case FIXED_LEN_BYTE_ARRAY:
+            return BINARY;
+        default:
+            throw new UnsupportedOperationException("Unsupported Parquet type: " + primitiveType);
+    }
+}
+
+/**
+ * Returns the optional Parquet column that holds the values of this type, the reverse of fromPrimitiveType.
+ */
+public PrimitiveType toPrimitiveType(String sColumnName)
+{
+    switch (this)
+    {
+        case BINARY:
+            return Types.optional(PrimitiveType.PrimitiveTypeName.BINARY).named(sColumnName);
+        case BOOLEAN:
+            return Types.optional(PrimitiveType.PrimitiveTypeName.BOOLEAN).named(sColumnName);
+        case DATE:
+            return Types.optional(PrimitiveType.PrimitiveTypeName.INT32).as(LogicalTypeAnnotation.dateType())
+                .named(sColumnName);
+        case DOUBLE:
+            return Types.optional(PrimitiveType.PrimitiveTypeName.DOUBLE).named(sColumnName);
+        case FLOAT:
+            return Types.optional(PrimitiveType.PrimitiveTypeName.FLOAT).named(sColumnName);
+        case INT96:
+            return Types.optional(PrimitiveType.PrimitiveTypeName.INT96).named(sColumnName);
+        case INTEGER:
+            return Types.optional(PrimitiveType.PrimitiveTypeName.INT32).named(sColumnName);
+        case LONG:
+            return Types.optional(PrimitiveType.PrimitiveTypeName.INT64).named(sColumnName);
+        case STRING:
+            return Types.optional(PrimitiveType.PrimitiveTypeName.BINARY).as(LogicalTypeAnnotation.stringType())
+                .named(sColumnName);
+        default:
+            throw new UnsupportedOperationException("Unsupported FieldType: " + this);
+    }
+}
+
 @SuppressWarnings("unused")
 public Object getFieldDataFromParquetGroup(Group group, int nFieldIdx)
 {
@@ -0,0 +1,739 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: HashAggregator.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * HashAggregator computes COUNT, SUM, MIN and MAX per group, the equivalent of GROUP BY. The group key is encoded by a
+ * RowKeyEncoder whose sort fields are the group fields and is hashed with KeyHash, so no RowData is created or hashed
+ * per input row.
+ *
+ * The groups are kept in an open addressing table with linear probing in a direct ByteBuffer, outside of the Java heap.
+ * Every slot is
+ *
+ *   [used flag, 1 byte][hash, 4 bytes][key, stride bytes][accumulator, 8 bytes per aggregate][has value, 1 byte per
+ *   aggregate]
+ *
+ * with the accumulators held as long, or as the bits of a double for FLOAT and DOUBLE fields. The table doubles when it
+ * is 3/4 full. When doubling would go over the memory budget, all the slots are spilled to SPILL_PARTITION_COUNT files
+ * by hash and the table is emptied. getResult then spills the last slots as well and aggregates the partitions one at a
+ * time, merging the partial accumulators of a group; a partition that still does not fit grows over the budget.
+ */
+public class HashAggregator implements Closeable
+{
+
+public static final long DEFAULT_MEMORY_BUDGET_BYTES = 64L << 20;
+
+private static final int SPILL_PARTITION_COUNT = 16;
+private static final int SPILL_BUFFER_BYTES = 64 << 10;
+private static final int MIN_CAPACITY = 64;
+private static final int INITIAL_CAPACITY = 1 << 12;
+
+private static final int HASH_OFFSET = 1;
+private static final int KEY_OFFSET = 5;
+
+/**
+ * An aggregate function over a field of the input, or over the rows for COUNT(*). Nulls are ignored; the SUM, MIN and
+ * MAX of a group without values are null.
+ */
+public static class Aggregate
+{
+
+    public enum Function
+    {
+        COUNT,
+        SUM,
+        MIN,
+        MAX
+    }
+
+    private final Function m_function;
+    private final int m_nFieldIdx;
+
+    public Aggregate(Function function, int nFieldIdx)
+    {
+        m_function = function;
+        m_nFieldIdx = nFieldIdx;
+    }
+
+    public static Aggregate count()
+    {
+        return new Aggregate(Function.COUNT, -1);
+    }
+
+    public static Aggregate count(int nFieldIdx)
+    {
+        return new Aggregate(Function.COUNT, nFieldIdx);
+    }
+
+    public static Aggregate sum(int nFieldIdx)
+    {
+        return new Aggregate(Function.SUM, nFieldIdx);
+    }
+
+    public static Aggregate min(int nFieldIdx)
+    {
+        return new Aggregate(Function.MIN, nFieldIdx);
+    }
+
+    public static Aggregate max(int nFieldIdx)
+    {
+        return new Aggregate(Function.MAX, nFieldIdx);
+    }
+
+    public Function getFunction()
+    {
+        return m_function;
+    }
+
+    /**
+     * Returns the index of the aggregated field, or -1 for COUNT(*).
+     */
+    public int getFieldIdx()
+    {
+        return m_nFieldIdx;
+    }
+
+    @Override
+    public String toString()
+    {
+        return m_function.name().toLowerCase() + '(' + (m_nFieldIdx < 0 ? "*" : String.valueOf(m_nFieldIdx)) + ')';
+    }
+}
+
+private final RowKeyEncoder m_rowKeyEncoder;
+private final Aggregate[] m_aAggregate;
+private final long m_lMemoryBudgetBytes;
+private final Path m_tempDir;
+
+private final int m_nStride;
+private final int m_nAccumulatorOffset;
+private final int m_nFlagOffset;
+private final int m_nSlotWidth;
+private final FieldType[] m_aFieldType;
+private final boolean[] m_abFloating;
+private final RowInfo m_rowInfoResult;
+
+private final byte[] m_aKey;
+private final byte[] m_aSlot;
+private ByteBuffer m_byteBuffer;
+private int m_nCapacity;
+private int m_nMask;
+private int m_nSize;
+
+private Path[] m_aSpillPath;
+private int m_nSpillCount;
+private long m_lSpilledBytes;
+private long m_lRowCount;
+private boolean m_bFinished;
+
+public HashAggregator(RowKeyEncoder rowKeyEncoder, Aggregate[] aAggregate, Path tempDir)
+{
+    this(rowKeyEncoder, aAggregate, DEFAULT_MEMORY_BUDGET_BYTES, tempDir);
+}
+
+public HashAggregator(RowKeyEncoder rowKeyEncoder, Aggregate[] aAggregate, long lMemoryBudgetBytes, Path tempDir)
+{
+    m_rowKeyEncoder = rowKeyEncoder;
+    m_aAggregate = aAggregate;
+    m_lMemoryBudgetBytes = lMemoryBudgetBytes;
+    m_tempDir = tempDir;
+
+    RowInfo rowInfo = rowKeyEncoder.getRowInfo();
+    m_aFieldType = new FieldType[aAggregate.length];
+    m_abFloating = new boolean[aAggregate.length];
+    FieldInfo[] aFieldInfoResult = Arrays.copyOf(rowKeyEncoder.getSortSpec().projectRowInfo(rowInfo)
+        .getAllFieldInfo(), rowKeyEncoder.getKeyFieldCount() + aAggregate.length);
+    for (int i = 0; i < aAggregate.length; i++)
+    {
+        Aggregate aggregate = aAggregate[i];
+        FieldType fieldType = aggregate.getFieldIdx() < 0 ? null
+            : rowInfo.getFieldInfo(aggregate.getFieldIdx()).getFieldType();
+        FieldType fieldTypeResult = FieldType.LONG;
+        if (aggregate.getFunction() != Aggregate.Function.COUNT)
+        {
+            if (fieldType == null || !isNumeric(fieldType))
+            {
+                throw new UnsupportedOperationException("Unsupported aggregate: " + aggregate + " FieldType: "
+                    + fieldType);
+            }
+            m_abFloating[i] = fieldType == FieldType.FLOAT || fieldType == FieldType.DOUBLE;
+            fieldTypeResult = aggregate.getFunction() != Aggregate.Function.SUM ? fieldType
+                : m_abFloating[i] ? FieldType.DOUBLE : FieldType.LONG;
+        }
+        m_aFieldType[i] = fieldType;
+
+        String sFieldName = aggregate.getFieldIdx() < 0 ? "*" : rowInfo.getFieldInfo(aggregate.getFieldIdx())
+            .getFieldName();
+        aFieldInfoResult[rowKeyEncoder.getKeyFieldCount() + i] = new FieldInfo(aggregate.getFunction().name()
+            .toLowerCase() + '(' + sFieldName + ')', fieldTypeResult);
+    }
+    m_rowInfoResult = new RowInfo(aFieldInfoResult);
+
+    m_nStride = rowKeyEncoder.getMaxKeyWidth();
+    m_nAccumulatorOffset = KEY_OFFSET + m_nStride;
+    m_nFlagOffset = m_nAccumulatorOffset + Long.BYTES * aAggregate.length;
+    m_nSlotWidth = m_nFlagOffset + aAggregate.length;
+    m_aKey = new byte[m_nStride];
+    m_aSlot = new byte[m_nSlotWidth];
+
+    long lCapacity = Long.highestOneBit(Math.max(MIN_CAPACITY, lMemoryBudgetBytes / m_nSlotWidth / 4));
+    allocateTable((int) Math.min(lCapacity, INITIAL_CAPACITY));
+}
+
+public RowKeyEncoder getRowKeyEncoder()
+{
+    return m_rowKeyEncoder;
+}
+
+/**
+ * Returns the RowInfo of the result: the group fields in the order of the SortSpec, then one field per aggregate.
+ */
+public RowInfo getResultRowInfo()
+{
+    return m_rowInfoResult;
+}
+
+public long getRowCount()
+{
+    return m_lRowCount;
+}
+
+/**
+ * Returns the number of groups in the table, which is the number of groups when nothing was spilled.
+ */
+public int getTableGroupCount()
+{
+    return m_nSize;
+}
+
+public int getSpillCount()
+{
+    return m_nSpillCount;
+}
+
+public long getSpilledBytes()
+{
+    return m_lSpilledBytes;
+}
+
+public void add(RowData rowData) throws IOException
+{
+    checkNotFinished();
+    int nLength = m_rowKeyEncoder.encodeInto(rowData, m_aKey, 0);
+    Arrays.fill(m_aKey, nLength, m_nStride, (byte) 0);
+    int nPos = findOrInsert(m_aKey, 0, (int) KeyHash.hash(m_aKey, 0, m_nStride), true);
+
+    for (int i = 0; i < m_aAggregate.length; i++)
+    {
+        int nFieldIdx = m_aAggregate[i].getFieldIdx();
+        FieldData fieldData = nFieldIdx < 0 ? null : rowData.getFieldData(nFieldIdx);
+        if (fieldData != null && fieldData.isNull())
+        {
+            continue;
+        }
+
+        if (m_aAggregate[i].getFunction() == Aggregate.Function.COUNT)
+        {
+            accumulate(nPos, i, 1);
+        }
+        else if (m_abFloating[i])
+        {
+            accumulate(nPos, i, fieldData.getDouble());
+        }
+        else
+        {
+            accumulate(nPos, i, m_aFieldType[i] == FieldType.DATE ? fieldData.getInt() : fieldData.getLong());
+        }
+    }
+    m_lRowCount++;
+}
+
+/**
+ * Adds all the rows of the rowBatch, a batch of the RowInfo of the RowKeyEncoder.
+ */
+public void add(RowBatch rowBatch) throws IOException
+{
+    checkNotFinished();
+    for (int nRowIdx = 0; nRowIdx < rowBatch.getRowCount(); nRowIdx++)
+    {
+        int nLength = m_rowKeyEncoder.encodeInto(rowBatch, nRowIdx, m_aKey, 0);
+        Arrays.fill(m_aKey, nLength, m_nStride, (byte) 0);
+        int nPos = findOrInsert(m_aKey, 0, (int) KeyHash.hash(m_aKey, 0, m_nStride), true);
+
+        for (int i = 0; i < m_aAggregate.length; i++)
+        {
+            int nFieldIdx = m_aAggregate[i].getFieldIdx();
+            ColumnVector columnVector = nFieldIdx < 0 ? null : rowBatch.getColumnVector(nFieldIdx);
+            if (columnVector != null && columnVector.isNull(nRowIdx))
+            {
+                continue;
+            }
+
+            if (m_aAggregate[i].getFunction() == Aggregate.Function.COUNT)
+            {
+                accumulate(nPos, i, 1);
+            }
+            else if (columnVector instanceof ColumnVector.DoubleColumnVector)
+            {
+                accumulate(nPos, i, ((ColumnVector.DoubleColumnVector) columnVector).getDouble(nRowIdx));
+            }
+            else if (columnVector instanceof ColumnVector.FloatColumnVector)
+            {
+                accumulate(nPos, i, ((ColumnVector.FloatColumnVector) columnVector).getFloat(nRowIdx));
+            }
+            else if (columnVector instanceof ColumnVector.LongColumnVector)
+            {
+                accumulate(nPos, i, ((ColumnVector.LongColumnVector) columnVector).getLong(nRowIdx));
+            }
+            else
+            {
+                accumulate(nPos, i, (long) ((ColumnVector.IntColumnVector) columnVector).getInt(nRowIdx));
+            }
+        }
+        m_lRowCount++;
+    }
+}
+
+/**
+ * Ends the input and returns one row per group, in no particular order.
+ */
+public RowBatch getResult() throws IOException
+{
+    checkNotFinished();
+    m_bFinished = true;
+
+    RowBatch rowBatchResult = new RowBatch(m_rowInfoResult, Math.max(m_nSize, 16));
+    if (m_aSpillPath == null)
+    {
+        appendGroups(rowBatchResult);
+        return rowBatchResult;
+    }
+
+    spill();
+    for (int nPartition = 0; nPartition < SPILL_PARTITION_COUNT; nPartition++)
+    {
+        try (RunFileCursor runFileCursor = new RunFileCursor(m_aSpillPath[nPartition], m_nSlotWidth,
+            SPILL_BUFFER_BYTES))
+        {
+            while (runFileCursor.next())
+            {
+                mergeSlot(runFileCursor.getKeyBuffer(), runFileCursor.getKeyOffset());
+            }
+        }
+        Files.deleteIfExists(m_aSpillPath[nPartition]);
+        appendGroups(rowBatchResult);
+        clearTable();
+    }
+    return rowBatchResult;
+}
+
+@Override
+public void close() throws IOException
+{
+    if (m_aSpillPath != null)
+    {
+        for (Path path : m_aSpillPath)
+        {
+            Files.deleteIfExists(path);
+        }
+    }
+    m_byteBuffer = null;
+}
+
+private static boolean isNumeric(FieldType fieldType)
+{
+    return fieldType == FieldType.INTEGER || fieldType == FieldType.LONG || fieldType == FieldType.DATE
+        || fieldType == FieldType.FLOAT || fieldType == FieldType.DOUBLE;
+}
+
+private void allocateTable(int nCapacity)
+{
+    m_byteBuffer = ByteBuffer.allocateDirect(nCapacity * m_nSlotWidth).order(ByteOrder.LITTLE_ENDIAN);
+    m_nCapacity = nCapacity;
+    m_nMask = nCapacity - 1;
+    m_nSize = 0;
+}
+
+/**
+ * Returns the position of the slot of the key, inserting an empty one when the key is new. The table grows or, when
+ * bSpill is set and growing would go over the memory budget, is spilled first.
+ */
+private int findOrInsert(byte[] aKey, int nKeyOffset, int nHash, boolean bSpill) throws IOException
+{
+    int nSlot = nHash & m_nMask;
+    while (true)
+    {
+        int nPos = nSlot * m_nSlotWidth;
+        if (m_byteBuffer.get(nPos) == 0)
+        {
+            break;
+        }
+        if (m_byteBuffer.getInt(nPos + HASH_OFFSET) == nHash && keyEquals(nPos + KEY_OFFSET, aKey, nKeyOffset))
+        {
+            return nPos;
+        }
+        nSlot = (nSlot + 1) & m_nMask;
+    }
+
+    if (4L * (m_nSize + 1) > 3L * m_nCapacity)
+    {
+        if (bSpill && 2L * m_nCapacity * m_nSlotWidth > m_lMemoryBudgetBytes)
+        {
+            spill();
+        }
+        else
+        {
+            grow();
+        }
+        return findOrInsert(aKey, nKeyOffset, nHash, bSpill);
+    }
+
+    int nPos = nSlot * m_nSlotWidth;
+    m_byteBuffer.put(nPos, (byte) 1);
+    m_byteBuffer.putInt(nPos + HASH_OFFSET, nHash);
+    int i = 0;
+    for (; i + Long.BYTES <= m_nStride; i += Long.BYTES)
+    {
+        m_byteBuffer.putLong(nPos + KEY_OFFSET + i, (long) KeyHash.LONG_VIEW.get(aKey, nKeyOffset + i));
+    }
+    for (; i < m_nStride; i++)
+    {
+        m_byteBuffer.put(nPos + KEY_OFFSET + i, aKey[nKeyOffset + i]);
+    }
+    for (int j = 0; j < m_aAggregate.length; j++)
+    {
+        m_byteBuffer.putLong(nPos + m_nAccumulatorOffset + Long.BYTES * j, 0L);
+        m_byteBuffer.put(nPos + m_nFlagOffset + j, (byte) 0);
+    }
+    m_nSize++;
+    return nPos;
+}
+
+private boolean keyEquals(int nPos, byte[] aKey, int nKeyOffset)
+{
+    int i = 0;
+    for (; i + Long.BYTES <= m_nStride; i += Long.BYTES)
+    {
+        if (m_byteBuffer.getLong(nPos + i) != (long) KeyHash.LONG_VIEW.get(aKey, nKeyOffset + i))
+        {
+            return false;
+        }
+    }
+    for (; i < m_nStride; i++)
+    {
+        if (m_byteBuffer.get(nPos + i) != aKey[nKeyOffset + i])
+        {
+            return false;
+        }
+    }
+    return true;
+}
+
+private void accumulate(int nPos, int nAggregateIdx, long lValue)
+{
+    int nAccumulatorPos = nPos + m_nAccumulatorOffset + Long.BYTES * nAggregateIdx;
+    int nFlagPos = nPos + m_nFlagOffset + nAggregateIdx;
+    long lAccumulator = m_byteBuffer.getLong(nAccumulatorPos);
+    boolean bHasValue = m_byteBuffer.get(nFlagPos) != 0;
+    switch (m_aAggregate[nAggregateIdx].getFunction())
+    {
+        case COUNT:
+        case SUM:
+            lAccumulator += lValue;
+            break;
+        case MIN:
+            lAccumulator = bHasValue ? Math.min(lAccumulator, lValue) : lValue;
+            break;
+        case MAX:
+            lAccumulator = bHasValue ? Math.max(lAccumulator, lValue) : lValue;
+            break;
+    }
+    m_byteBuffer.putLong(nAccumulatorPos, lAccumulator);
+    m_byteBuffer.put(nFlagPos, (byte) 1);
+}
+
+private void accumulate(int nPos, int nAggregateIdx, double dValue)
+{
+    int nAccumulatorPos = nPos + m_nAccumulatorOffset + Long.BYTES * nAggregateIdx;
+    int nFlagPos = nPos + m_nFlagOffset + nAggregateIdx;
+    double dAccumulator = Double.longBitsToDouble(m_byteBuffer.getLong(nAccumulatorPos));
+    boolean bHasValue = m_byteBuffer.get(nFlagPos) != 0;
+    switch (m_aAggregate[nAggregateIdx].getFunction())
+    {
+        case SUM:
+            dAccumulator = bHasValue ? dAccumulator + dValue : dValue;
+            break;
+        case MIN:
+            dAccumulator = bHasValue ? Math.min(dAccumulator, dValue) : dValue;
+            break;
+        case MAX:
+            dAccumulator = bHasValue ? Math.max(dAccumulator, dValue) : dValue;
+            break;
+        default:
+            throw new IllegalStateException("Not a floating point aggregate: " + m_aAggregate[nAggregateIdx]);
+    }
+    m_byteBuffer.putLong(nAccumulatorPos, Double.doubleToRawLongBits(dAccumulator));
+    m_byteBuffer.put(nFlagPos, (byte) 1);
+}
+
+/**
+ * Merges a slot read from a spill file into the table.
+ */
+private void mergeSlot(byte[] aSlot, int nOffset) throws IOException
+{
+    int nPos = findOrInsert(aSlot, nOffset + KEY_OFFSET, getSpilledHash(aSlot, nOffset), false);
+    for (int i = 0; i < m_aAggregate.length; i++)
+    {
+        if (aSlot[nOffset + m_nFlagOffset + i] == 0)
+        {
+            continue;
+        }
+
+        long lAccumulator = (long) KeyHash.LONG_VIEW.get(aSlot, nOffset + m_nAccumulatorOffset + Long.BYTES * i);
+        if (m_abFloating[i])
+        {
+            accumulate(nPos, i, Double.longBitsToDouble(lAccumulator));
+        }
+        else
+        {
+            accumulate(nPos, i, lAccumulator);
+        }
+    }
+}
+
+private static int getSpilledHash(byte[] aSlot, int nOffset)
+{
+    return (aSlot[nOffset + HASH_OFFSET] & 0xFF) | (aSlot[nOffset + HASH_OFFSET + 1] & 0xFF) << 8
+        | (aSlot[nOffset + HASH_OFFSET + 2] & 0xFF) << 16 | (aSlot[nOffset + HASH_OFFSET + 3] & 0xFF) << 24;
+}
+
+private void grow() throws IOException
+{
+    ByteBuffer byteBufferOld = m_byteBuffer;
+    int nCapacityOld = m_nCapacity;
+    allocateTable(2 * nCapacityOld);
+    for (int nSlot = 0; nSlot < nCapacityOld; nSlot++)
+    {
+        int nPosOld = nSlot * m_nSlotWidth;
+        if (byteBufferOld.get(nPosOld) == 0)
+        {
+            continue;
+        }
+
+        int nSlotNew = byteBufferOld.getInt(nPosOld + HASH_OFFSET) & m_nMask;
+        while (m_byteBuffer.get(nSlotNew * m_nSlotWidth) != 0)
+        {
+            nSlotNew = (nSlotNew + 1) & m_nMask;
+        }
+        int nPosNew = nSlotNew * m_nSlotWidth;
+        for (int i = 0; i < m_nSlotWidth; i++)
+        {
+            m_byteBuffer.put(nPosNew + i, byteBufferOld.get(nPosOld + i));
+        }
+        m_nSize++;
+    }
+}
+
+/**
+ * Appends all the used slots to the spill file of their partition and empties the table.
+ */
+private void spill() throws IOException
+{
+    SortSpillEvent sortSpillEvent = new SortSpillEvent();
+    sortSpillEvent.begin();
+    long lSpilledBytes = m_lSpilledBytes;
+    int nGroupCount = m_nSize;
+    if (m_aSpillPath == null)
+    {
+        m_aSpillPath = new Path[SPILL_PARTITION_COUNT];
+        for (int i = 0; i < SPILL_PARTITION_COUNT; i++)
+        {
+            m_aSpillPath[i] = Files.createTempFile(m_tempDir, "aggregate-" + i + "-", ".bin");
+        }
+    }
+
+    ByteBuffer[] aByteBuffer = new ByteBuffer[SPILL_PARTITION_COUNT];
+    FileChannel[] aFileChannel = new FileChannel[SPILL_PARTITION_COUNT];
+    try
+    {
+        for (int i = 0; i < SPILL_PARTITION_COUNT; i++)
+        {
+            aByteBuffer[i] = ByteBuffer.allocate(Math.max(1, SPILL_BUFFER_BYTES / m_nSlotWidth) * m_nSlotWidth);
+            aFileChannel[i] = FileChannel.open(m_aSpillPath[i], StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+
+        for (int nSlot = 0; nSlot < m_nCapacity; nSlot++)
+        {
+            int nPos = nSlot * m_nSlotWidth;
+            if (m_byteBuffer.get(nPos) == 0)
+            {
+                continue;
+            }
+
+            // The top bits of the hash pick the partition, the low bits the slot
+            int nPartition = m_byteBuffer.getInt(nPos + HASH_OFFSET) >>> (Integer.SIZE - 4);
+            for (int i = 0; i < m_nSlotWidth; i++)
+            {
+                m_aSlot[i] = m_byteBuffer.get(nPos + i);
+            }
+            if (aByteBuffer[nPartition].remaining() < m_nSlotWidth)
+            {
+                writeFully(aFileChannel[nPartition], aByteBuffer[nPartition]);
+            }
+            aByteBuffer[nPartition].put(m_aSlot);
+            m_lSpilledBytes += m_nSlotWidth;
+        }
+
+        for (int i = 0; i < SPILL_PARTITION_COUNT; i++)
+        {
+            writeFully(aFileChannel[i], aByteBuffer[i]);
+        }
+    }
+    finally
+    {
+        for (FileChannel fileChannel : aFileChannel)
+        {
+            if (fileChannel != null)
+            {
+                fileChannel.close();
+            }
+        }
+    }
+
+    clearTable();
+    m_nSpillCount++;
+
+    sortSpillEvent.end();
+    if (sortSpillEvent.shouldCommit())
+    {
+        sortSpillEvent.m_sSource = getClass().getSimpleName();
+        sortSpillEvent.m_sPath = m_tempDir.toString();
+        sortSpillEvent.m_lRowCount = nGroupCount;
+        sortSpillEvent.m_lByteCount = m_lSpilledBytes - lSpilledBytes;
+        sortSpillEvent.commit();
+    }
+    if (SortMetrics.ENABLED)
+    {
+        SortMetrics.recordSpill(m_lSpilledBytes - lSpilledBytes);
+    }
+}
+
+private void clearTable()
+{
+    for (int nSlot = 0; nSlot < m_nCapacity; nSlot++)
+    {
+        m_byteBuffer.put(nSlot * m_nSlotWidth, (byte) 0);
+    }
+    m_nSize = 0;
+}
+
+/**
+ * Appends a row per used slot of the table to the rowBatchResult.
+ */
+private void appendGroups(RowBatch rowBatchResult)
+{
+    RowData rowDataKey = new RowData(m_rowKeyEncoder.getRowInfo());
+    RowData rowDataResult = new RowData(m_rowInfoResult);
+    SortSpec sortSpec = m_rowKeyEncoder.getSortSpec();
+    int nKeyFieldCount = m_rowKeyEncoder.getKeyFieldCount();
+
+    for (int nSlot = 0; nSlot < m_nCapacity; nSlot++)
+    {
+        int nPos = nSlot * m_nSlotWidth;
+        if (m_byteBuffer.get(nPos) == 0)
+        {
+            continue;
+        }
+
+        for (int i = 0; i < m_nStride; i++)
+        {
+            m_aKey[i] = m_byteBuffer.get(nPos + KEY_OFFSET + i);
+        }
+        m_rowKeyEncoder.decodeInto(m_aKey, 0, rowDataKey);
+        for (int i = 0; i < nKeyFieldCount; i++)
+        {
+            rowDataResult.getFieldData(i).setValue(rowDataKey.getFieldData(sortSpec.getSortField(i).getFieldIdx())
+                .getValue());
+        }
+
+        for (int i = 0; i < m_aAggregate.length; i++)
+        {
+            FieldData fieldData = rowDataResult.getFieldData(nKeyFieldCount + i);
+            long lAccumulator = m_byteBuffer.getLong(nPos + m_nAccumulatorOffset + Long.BYTES * i);
+            boolean bHasValue = m_byteBuffer.get(nPos + m_nFlagOffset + i) != 0;
+            fieldData.setValue(getResultValue(i, lAccumulator, bHasValue, fieldData.getFieldType()));
+        }
+        rowBatchResult.appendRow(rowDataResult);
+    }
+}
+
+private Object getResultValue(int nAggregateIdx, long lAccumulator, boolean bHasValue, FieldType fieldTypeResult)
+{
+    if (m_aAggregate[nAggregateIdx].getFunction() == Aggregate.Function.COUNT)
+    {
+        return lAccumulator;
+    }
+    if (!bHasValue)
+    {
+        return null;
+    }
+
+    double dAccumulator = Double.longBitsToDouble(lAccumulator);
+    switch (fieldTypeResult)
+    {
+        case INTEGER:
+        case DATE:
+            return (int) lAccumulator;
+        case LONG:
+            return lAccumulator;
+        case FLOAT:
+            return (float) dAccumulator;
+        case DOUBLE:
+            return dAccumulator;
+        default:
+            throw new IllegalStateException("Unexpected result type: " + fieldTypeResult);
+    }
+}
+
+private void checkNotFinished()
+{
+    if (m_bFinished)
+    {
+        throw new IllegalStateException("The result has already been returned");
+    }
+}
+
+private static void writeFully(FileChannel fileChannel, ByteBuffer byteBuffer) throws IOException
+{
+    byteBuffer.flip();
+    while (byteBuffer.hasRemaining())
+    {
+        fileChannel.write(byteBuffer);
+    }
+    byteBuffer.clear();
+}
+
+@Override
+public String toString()
+{
+    return getClass().getSimpleName() + '{' + "aggregates=" + Arrays.toString(m_aAggregate) + " capacity="
+        + m_nCapacity + " groupCount=" + m_nSize + " spillCount=" + m_nSpillCount + '}';
+}
+} ///////// End of class
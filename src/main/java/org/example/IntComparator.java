@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: IntComparator.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+/**
+ * IntComparator compares two rows by their row index, which lets an int[] of row indexes be sorted without boxing.
+ */
+@FunctionalInterface
+public interface IntComparator
+{
+
+int compare(int nRowIdx1, int nRowIdx2);
+
+/**
+ * Sorts anRowIdx in [nFrom, nTo) with a stable merge sort.
+ */
+static void sort(int[] anRowIdx, int nFrom, int nTo, IntComparator intComparator)
+{
+    int[] anAux = new int[nTo - nFrom];
+    mergeSort(anRowIdx, anAux, nFrom, nTo, intComparator);
+}
+
+private static void mergeSort(int[] anRowIdx, int[] anAux, int nFrom, int nTo, IntComparator intComparator)
+{
+    if (nTo - nFrom <= 16)
+    {
+        for (int i = nFrom + 1; i < nTo; i++)
+        {
+            int nRowIdx = anRowIdx[i];
+            int j = i;
+            for (; j > nFrom && intComparator.compare(anRowIdx[j - 1], nRowIdx) > 0; j--)
+            {
+                anRowIdx[j] = anRowIdx[j - 1];
+            }
+            anRowIdx[j] = nRowIdx;
+        }
+        return;
+    }
+
+    int nMid = (nFrom + nTo) >>> 1;
+    mergeSort(anRowIdx, anAux, nFrom, nMid, intComparator);
+    mergeSort(anRowIdx, anAux, nMid, nTo, intComparator);
+    if (intComparator.compare(anRowIdx[nMid - 1], anRowIdx[nMid]) <= 0)
+    {
+        return;
+    }
+
+    // anAux is indexed from 0 for the range [nFrom, nTo)
+    System.arraycopy(anRowIdx, nFrom, anAux, 0, nMid - nFrom);
+    int i = 0;
+    int nEnd1 = nMid - nFrom;
+    int j = nMid;
+    int nDest = nFrom;
+    while (i < nEnd1 && j < nTo)
+    {
+        anRowIdx[nDest++] = intComparator.compare(anRowIdx[j], anAux[i]) < 0 ? anRowIdx[j++] : anAux[i++];
+    }
+    System.arraycopy(anAux, i, anRowIdx, nDest, nEnd1 - i);
+}
+} ///////// End of class
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: KeyCursor.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * KeyCursor walks over a sequence of normalized keys, such as the rows of a sorted KeySlab or a sorted run spilled to
+ * disk. The key returned by getKeyBuffer is only valid until the next call to next.
+ */
+public interface KeyCursor extends Closeable
+{
+
+/**
+ * Moves to the next key and returns false when there are no more keys.
+ */
+boolean next() throws IOException;
+
+byte[] getKeyBuffer();
+
+int getKeyOffset();
+
+int getKeyLength();
+
+@Override
+default void close() throws IOException
+{
+}
+} ///////// End of class
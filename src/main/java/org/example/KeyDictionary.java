@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: KeyDictionary.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * KeyDictionary holds the distinct values of a field in key order and replaces each value with its ordinal, a dense
+ * code of 1 to 4 bytes. The values are sorted by their ascending normalized key bytes, so the codes sort like the
+ * values and a key that holds codes sorts like the key that holds the values. Build one with a pre-pass over the rows
+ * of a low cardinality field and hand it to RowKeyEncoder; every value encoded later must be in the dictionary.
+ *
+ * A code is written big endian in getCodeWidth bytes, inverted for a descending field, and is decoded by looking up the
+ * key bytes of the value.
+ */
+public class KeyDictionary
+{
+
+public static final int DEFAULT_MAX_CARDINALITY = 1 << 16;
+
+private final FieldType m_fieldType;
+private final byte[][] m_aaValue;
+private final int m_nCodeWidth;
+private final int m_nMaxValueLength;
+private final ThreadLocal<byte[]> m_threadLocalBuffer;
+
+private KeyDictionary(FieldType fieldType, byte[][] aaValue)
+{
+    m_fieldType = fieldType;
+    m_aaValue = aaValue;
+    m_nCodeWidth = getCodeWidth(aaValue.length);
+
+    int nMaxValueLength = 0;
+    for (byte[] aValue : aaValue)
+    {
+        nMaxValueLength = Math.max(nMaxValueLength, aValue.length);
+    }
+    m_nMaxValueLength = nMaxValueLength;
+    m_threadLocalBuffer = ThreadLocal.withInitial(() -> new byte[m_nMaxValueLength]);
+}
+
+/**
+ * Builds the dictionary of field nFieldIdx of the rowBatch. Returns null when the field has more than nMaxCardinality
+ * distinct non null values.
+ */
+public static KeyDictionary build(RowBatch rowBatch, int nFieldIdx, int nMaxCardinality)
+{
+    ColumnVector columnVector = rowBatch.getColumnVector(nFieldIdx);
+    Set<ByteBuffer> setValue = new HashSet<>();
+    for (int nRowIdx = 0; nRowIdx < rowBatch.getRowCount(); nRowIdx++)
+    {
+        if (columnVector.isNull(nRowIdx))
+        {
+            continue;
+        }
+
+        byte[] aValue = new byte[columnVector.getKeySizeInBytes(nRowIdx)];
+        columnVector.encodeKey(nRowIdx, false, aValue, 0, aValue.length);
+        if (setValue.add(ByteBuffer.wrap(aValue)) && setValue.size() > nMaxCardinality)
+        {
+            return null;
+        }
+    }
+    return new KeyDictionary(columnVector.getFieldType(), toSortedArray(setValue));
+}
+
+/**
+ * Builds the dictionary of field nFieldIdx of the rows. Returns null when the field has more than nMaxCardinality
+ * distinct non null values.
+ */
+public static KeyDictionary build(List<RowData> listRowData, int nFieldIdx, int nMaxCardinality)
+{
+    FieldType fieldType = null;
+    Set<ByteBuffer> setValue = new HashSet<>();
+    for (RowData rowData : listRowData)
+    {
+        FieldData fieldData = rowData.getFieldData(nFieldIdx);
+        fieldType = fieldData.getFieldType();
+        if (fieldData.isNull())
+        {
+            continue;
+        }
+
+        byte[] aValue = new byte[fieldType.getKeySizeInBytes(fieldData)];
+        fieldType.encodeKey(fieldData, false, aValue, 0, aValue.length);
+        if (setValue.add(ByteBuffer.wrap(aValue)) && setValue.size() > nMaxCardinality)
+        {
+            return null;
+        }
+    }
+    return fieldType == null ? null : new KeyDictionary(fieldType, toSortedArray(setValue));
+}
+
+/**
+ * Returns the number of bytes needed for the codes of nCardinality values.
+ */
+public static int getCodeWidth(int nCardinality)
+{
+    int nMaxCode = Math.max(nCardinality - 1, 1);
+    return (Integer.SIZE - Integer.numberOfLeadingZeros(nMaxCode) + 7) / 8;
+}
+
+public FieldType getFieldType()
+{
+    return m_fieldType;
+}
+
+public int getCardinality()
+{
+    return m_aaValue.length;
+}
+
+public int getCodeWidth()
+{
+    return m_nCodeWidth;
+}
+
+/**
+ * Returns the code of the non null value of the fieldData.
+ */
+public int getCode(FieldData fieldData)
+{
+    int nLength = m_fieldType.getKeySizeInBytes(fieldData);
+    if (nLength > m_nMaxValueLength)
+    {
+        throw new IllegalArgumentException("Value is not in the dictionary: " + fieldData.getValue());
+    }
+
+    byte[] aBuffer = m_threadLocalBuffer.get();
+    m_fieldType.encodeKey(fieldData, false, aBuffer, 0, nLength);
+    int nCode = findCode(aBuffer, nLength);
+    if (nCode < 0)
+    {
+        throw new IllegalArgumentException("Value is not in the dictionary: " + fieldData.getValue());
+    }
+    return nCode;
+}
+
+/**
+ * Returns the code of the non null value of row nRowIdx of the columnVector.
+ */
+public int getCode(ColumnVector columnVector, int nRowIdx)
+{
+    int nLength = columnVector.getKeySizeInBytes(nRowIdx);
+    if (nLength > m_nMaxValueLength)
+    {
+        throw new IllegalArgumentException("Value is not in the dictionary: " + columnVector.getValue(nRowIdx));
+    }
+
+    byte[] aBuffer = m_threadLocalBuffer.get();
+    columnVector.encodeKey(nRowIdx, false, aBuffer, 0, nLength);
+    int nCode = findCode(aBuffer, nLength);
+    if (nCode < 0)
+    {
+        throw new IllegalArgumentException("Value is not in the dictionary: " + columnVector.getValue(nRowIdx));
+    }
+    return nCode;
+}
+
+/**
+ * Writes the code into aKey and returns the number of bytes written.
+ */
+public int encodeCode(int nCode, boolean bDescending, byte[] aKey, int nOffset)
+{
+    int nMask = bDescending ? 0xFF : 0;
+    for (int i = 0; i < m_nCodeWidth; i++)
+    {
+        aKey[nOffset + i] = (byte) ((nCode >>> (8 * (m_nCodeWidth - 1 - i))) ^ nMask);
+    }
+    return m_nCodeWidth;
+}
+
+/**
+ * Reads a code written by encodeCode into the fieldData as its value and returns the number of bytes consumed.
+ */
+public int decodeKey(byte[] aKey, int nOffset, boolean bDescending, FieldData fieldData)
+{
+    int nMask = bDescending ? 0xFF : 0;
+    int nCode = 0;
+    for (int i = 0; i < m_nCodeWidth; i++)
+    {
+        nCode = (nCode << 8) | ((aKey[nOffset + i] ^ nMask) & 0xFF);
+    }
+    decodeCode(nCode, fieldData);
+    return m_nCodeWidth;
+}
+
+/**
+ * Sets the value of the code as the value of the fieldData.
+ */
+public void decodeCode(int nCode, FieldData fieldData)
+{
+    if (nCode < 0 || nCode >= m_aaValue.length)
+    {
+        throw new IllegalArgumentException("Invalid dictionary code: " + nCode);
+    }
+
+    m_fieldType.decodeKey(m_aaValue[nCode], 0, false, fieldData);
+}
+
+/**
+ * Returns the code of the value with the key bytes, or -1 when it is not in the dictionary.
+ */
+private int findCode(byte[] aValue, int nLength)
+{
+    int nLow = 0;
+    int nHigh = m_aaValue.length - 1;
+    while (nLow <= nHigh)
+    {
+        int nMid = (nLow + nHigh) >>> 1;
+        int nCompResult = BinaryKeyComparator.compareKeys(m_aaValue[nMid], 0, m_aaValue[nMid].length, aValue, 0,
+            nLength);
+        if (nCompResult == 0)
+        {
+            return nMid;
+        }
+        if (nCompResult < 0)
+        {
+            nLow = nMid + 1;
+        }
+        else
+        {
+            nHigh = nMid - 1;
+        }
+    }
+    return -1;
+}
+
+private static byte[][] toSortedArray(Set<ByteBuffer> setValue)
+{
+    byte[][] aaValue = new byte[setValue.size()][];
+    int i = 0;
+    for (ByteBuffer byteBuffer : setValue)
+    {
+        aaValue[i++] = byteBuffer.array();
+    }
+    Arrays.sort(aaValue, BinaryKeyComparator::compareKeys);
+    return aaValue;
+}
+
+@Override
+public boolean equals(Object o)
+{
+    if (this == o)
+    {
+        return true;
+    }
+    if (o == null || getClass() != o.getClass())
+    {
+        return false;
+    }
+    KeyDictionary that = (KeyDictionary) o;
+    return m_fieldType == that.m_fieldType && Arrays.deepEquals(m_aaValue, that.m_aaValue);
+}
+
+@Override
+public int hashCode()
+{
+    return 31 * m_fieldType.hashCode() + Arrays.deepHashCode(m_aaValue);
+}
+
+@Override
+public String toString()
+{
+    return getClass().getSimpleName() + '{' + "fieldType=" + m_fieldType + " cardinality=" + m_aaValue.length
+        + " codeWidth=" + m_nCodeWidth + '}';
+}
+} ///////// End of class
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: KeyHash.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * KeyHash hashes encoded keys with the single lane form of xxHash64: the bytes are read 8 at a time as little endian
+ * longs, mixed with multiply and rotate, and the result is avalanched. Equal keys have equal hashes, so an encoded key
+ * can be used as a hash key without creating a RowData, and unlike RowData.hashCode nothing is boxed or allocated.
+ */
+public final class KeyHash
+{
+
+static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+private static final long PRIME64_1 = 0x9E3779B185EBCA87L;
+private static final long PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+private static final long PRIME64_3 = 0x165667B19E3779F9L;
+private static final long PRIME64_4 = 0x85EBCA77C2B2AE63L;
+private static final long PRIME64_5 = 0x27D4EB2F165667C5L;
+
+private KeyHash()
+{
+}
+
+public static long hash(byte[] aKey, int nOffset, int nLength)
+{
+    long lHash = PRIME64_5 + nLength;
+    int nPos = nOffset;
+    int nEnd = nOffset + nLength;
+    for (; nPos + Long.BYTES <= nEnd; nPos += Long.BYTES)
+    {
+        long lWord = (long) LONG_VIEW.get(aKey, nPos) * PRIME64_2;
+        lHash ^= Long.rotateLeft(lWord, 31) * PRIME64_1;
+        lHash = Long.rotateLeft(lHash, 27) * PRIME64_1 + PRIME64_4;
+    }
+    for (; nPos < nEnd; nPos++)
+    {
+        lHash ^= (aKey[nPos] & 0xFF) * PRIME64_5;
+        lHash = Long.rotateLeft(lHash, 11) * PRIME64_1;
+    }
+
+    lHash ^= lHash >>> 33;
+    lHash *= PRIME64_2;
+    lHash ^= lHash >>> 29;
+    lHash *= PRIME64_3;
+    lHash ^= lHash >>> 32;
+    return lHash;
+}
+} ///////// End of class
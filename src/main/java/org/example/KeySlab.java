@@ -0,0 +1,435 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: KeySlab.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * KeySlab stores normalized keys back to back in large byte arrays at a fixed stride, instead of one byte[] per row.
+ * Rows are addressed by an int row index. A row never crosses a chunk boundary, and every chunk except the last holds
+ * the same power of two number of rows, so the chunk and the offset of a row are found with a shift and a mask.
+ *
+ * Keys shorter than the stride are padded with zeros. Since normalized keys are prefix free, the padding does not
+ * change their order.
+ */
+public class KeySlab
+{
+
+static final int MAX_CHUNK_BYTES = 1 << 30;
+
+private static final int INSERTION_SORT_THRESHOLD = 16;
+
+private final RowKeyEncoder m_rowKeyEncoder;
+private final int m_nStride;
+private final int m_nRowsPerChunkShift;
+private final int m_nRowsPerChunkMask;
+
+private byte[][] m_aaChunk = new byte[0][];
+private int m_nCapacity;
+private int m_nRowCount;
+
+public KeySlab(RowKeyEncoder rowKeyEncoder, int nInitialCapacity)
+{
+    this(rowKeyEncoder, rowKeyEncoder.getMaxKeyWidth(), nInitialCapacity);
+}
+
+/**
+ * Creates a slab for keys that are appended as bytes. Rows can't be appended as RowData.
+ */
+public KeySlab(int nStride, int nInitialCapacity)
+{
+    this(null, nStride, nInitialCapacity);
+}
+
+private KeySlab(RowKeyEncoder rowKeyEncoder, int nStride, int nInitialCapacity)
+{
+    if (nStride <= 0 || nStride > MAX_CHUNK_BYTES)
+    {
+        throw new IllegalArgumentException("Invalid key stride: " + nStride);
+    }
+
+    m_rowKeyEncoder = rowKeyEncoder;
+    m_nStride = nStride;
+    m_nRowsPerChunkShift = 31 - Integer.numberOfLeadingZeros(MAX_CHUNK_BYTES / nStride);
+    m_nRowsPerChunkMask = (1 << m_nRowsPerChunkShift) - 1;
+    ensureCapacity(nInitialCapacity);
+}
+
+public RowKeyEncoder getRowKeyEncoder()
+{
+    return m_rowKeyEncoder;
+}
+
+public int getStride()
+{
+    return m_nStride;
+}
+
+public int getRowCount()
+{
+    return m_nRowCount;
+}
+
+public int getCapacity()
+{
+    return m_nCapacity;
+}
+
+public int getRowsPerChunk()
+{
+    return m_nRowsPerChunkMask + 1;
+}
+
+public byte[] getChunk(int nRowIdx)
+{
+    return m_aaChunk[nRowIdx >>> m_nRowsPerChunkShift];
+}
+
+public int getOffset(int nRowIdx)
+{
+    return (nRowIdx & m_nRowsPerChunkMask) * m_nStride;
+}
+
+/**
+ * Returns the number of bytes allocated for the chunks.
+ */
+public long getAllocatedBytes()
+{
+    long lBytes = 0;
+    for (byte[] aChunk : m_aaChunk)
+    {
+        lBytes += aChunk.length;
+    }
+    return lBytes;
+}
+
+public void ensureCapacity(int nCapacity)
+{
+    if (nCapacity <= m_nCapacity)
+    {
+        return;
+    }
+
+    int nRowsPerChunk = m_nRowsPerChunkMask + 1;
+    int nChunkCount = (int) (((long) nCapacity + nRowsPerChunk - 1) >>> m_nRowsPerChunkShift);
+    if (nChunkCount > m_aaChunk.length)
+    {
+        m_aaChunk = Arrays.copyOf(m_aaChunk, nChunkCount);
+    }
+
+    // Only the last chunk is sized to the capacity. The chunks before it are always full.
+    for (int i = 0; i < nChunkCount; i++)
+    {
+        int nChunkRows = i < nChunkCount - 1 ? nRowsPerChunk : nCapacity - (i << m_nRowsPerChunkShift);
+        int nChunkBytes = nChunkRows * m_nStride;
+        if (m_aaChunk[i] == null)
+        {
+            m_aaChunk[i] = new byte[nChunkBytes];
+        }
+        else if (m_aaChunk[i].length < nChunkBytes)
+        {
+            m_aaChunk[i] = Arrays.copyOf(m_aaChunk[i], nChunkBytes);
+        }
+    }
+
+    m_nCapacity = nCapacity;
+    if (SortMetrics.ENABLED)
+    {
+        SortMetrics.recordSlabBytes(getAllocatedBytes());
+    }
+}
+
+/**
+ * Encodes the rowData into the next row of the slab and returns its row index.
+ */
+public int append(RowData rowData)
+{
+    int nRowIdx = reserveRow();
+    set(nRowIdx, rowData);
+    return nRowIdx;
+}
+
+/**
+ * Copies an already encoded key of nLength bytes into the next row of the slab and returns its row index.
+ */
+public int appendKey(byte[] aKey, int nOffset, int nLength)
+{
+    int nRowIdx = reserveRow();
+    setKey(nRowIdx, aKey, nOffset, nLength);
+    return nRowIdx;
+}
+
+/**
+ * Copies an already encoded key of nLength bytes into row nRowIdx of the slab.
+ */
+public void setKey(int nRowIdx, byte[] aKey, int nOffset, int nLength)
+{
+    if (nLength > m_nStride)
+    {
+        throw new IllegalArgumentException("Key of " + nLength + " bytes does not fit in the stride " + m_nStride);
+    }
+
+    byte[] aChunk = getChunk(nRowIdx);
+    int nRowOffset = getOffset(nRowIdx);
+    System.arraycopy(aKey, nOffset, aChunk, nRowOffset, nLength);
+    Arrays.fill(aChunk, nRowOffset + nLength, nRowOffset + m_nStride, (byte) 0);
+}
+
+/**
+ * Creates an empty slab with the same encoder and stride as this one.
+ */
+public KeySlab createEmptyCopy(int nInitialCapacity)
+{
+    return new KeySlab(m_rowKeyEncoder, m_nStride, nInitialCapacity);
+}
+
+/**
+ * Sets the number of rows in the slab. Rows that are added this way are filled with copyRow or set.
+ */
+public void setRowCount(int nRowCount)
+{
+    ensureCapacity(nRowCount);
+    m_nRowCount = nRowCount;
+}
+
+public void copyRow(KeySlab keySlabSrc, int nSrcRowIdx, int nRowIdx)
+{
+    System.arraycopy(keySlabSrc.getChunk(nSrcRowIdx), keySlabSrc.getOffset(nSrcRowIdx), getChunk(nRowIdx),
+        getOffset(nRowIdx), m_nStride);
+}
+
+public void set(int nRowIdx, RowData rowData)
+{
+    m_rowKeyEncoder.encodeInto(rowData, this, nRowIdx);
+}
+
+public void copyKey(int nRowIdx, byte[] aDest, int nDestOffset)
+{
+    System.arraycopy(getChunk(nRowIdx), getOffset(nRowIdx), aDest, nDestOffset, m_nStride);
+}
+
+public byte[] getKey(int nRowIdx)
+{
+    byte[] aKey = new byte[m_nStride];
+    copyKey(nRowIdx, aKey, 0);
+    return aKey;
+}
+
+public RowData decode(int nRowIdx, RowData rowDataOut)
+{
+    m_rowKeyEncoder.decodeInto(getChunk(nRowIdx), getOffset(nRowIdx), rowDataOut);
+    return rowDataOut;
+}
+
+public void clear()
+{
+    m_nRowCount = 0;
+}
+
+public int compare(int nRowIdx1, int nRowIdx2)
+{
+    int nOffset1 = getOffset(nRowIdx1);
+    int nOffset2 = getOffset(nRowIdx2);
+    return BinaryKeyComparator.compareKeys(getChunk(nRowIdx1), nOffset1, getChunk(nRowIdx2), nOffset2, m_nStride);
+}
+
+public void swap(int nRowIdx1, int nRowIdx2, byte[] aScratch)
+{
+    byte[] aChunk1 = getChunk(nRowIdx1);
+    byte[] aChunk2 = getChunk(nRowIdx2);
+    int nOffset1 = getOffset(nRowIdx1);
+    int nOffset2 = getOffset(nRowIdx2);
+    System.arraycopy(aChunk1, nOffset1, aScratch, 0, m_nStride);
+    System.arraycopy(aChunk2, nOffset2, aChunk1, nOffset1, m_nStride);
+    System.arraycopy(aScratch, 0, aChunk2, nOffset2, m_nStride);
+}
+
+/**
+ * Sorts the rows of the slab in place.
+ */
+public void sort()
+{
+    sort(0, m_nRowCount);
+}
+
+/**
+ * Sorts the rows in [nFromRowIdx, nToRowIdx) in place with a three way quicksort, which keeps runs of equal keys from
+ * degrading the sort.
+ */
+public void sort(int nFromRowIdx, int nToRowIdx)
+{
+    sort(nFromRowIdx, nToRowIdx, new byte[m_nStride], new byte[m_nStride]);
+}
+
+private void sort(int nFromRowIdx, int nToRowIdx, byte[] aPivot, byte[] aScratch)
+{
+    int nLow = nFromRowIdx;
+    int nHigh = nToRowIdx - 1;
+
+    while (nHigh - nLow >= INSERTION_SORT_THRESHOLD)
+    {
+        copyKey(medianOfThree(nLow, (nLow + nHigh) >>> 1, nHigh), aPivot, 0);
+
+        int nLt = nLow;
+        int nGt = nHigh;
+        int i = nLow;
+        while (i <= nGt)
+        {
+            int nComp = compareWithKey(i, aPivot);
+            if (nComp < 0)
+            {
+                swap(nLt++, i++, aScratch);
+            }
+            else if (nComp > 0)
+            {
+                swap(i, nGt--, aScratch);
+            }
+            else
+            {
+                i++;
+            }
+        }
+
+        // Recurse into the smaller part and loop on the larger one to bound the stack depth
+        if (nLt - nLow < nHigh - nGt)
+        {
+            sort(nLow, nLt, aPivot, aScratch);
+            nLow = nGt + 1;
+        }
+        else
+        {
+            sort(nGt + 1, nHigh + 1, aPivot, aScratch);
+            nHigh = nLt - 1;
+        }
+    }
+
+    for (int i = nLow + 1; i <= nHigh; i++)
+    {
+        for (int j = i; j > nLow && compare(j - 1, j) > 0; j--)
+        {
+            swap(j - 1, j, aScratch);
+        }
+    }
+}
+
+/**
+ * Returns the row indexes of the slab in key order without moving the keys.
+ */
+public int[] sortIndex()
+{
+    int[] anRowIdx = new int[m_nRowCount];
+    for (int i = 0; i < anRowIdx.length; i++)
+    {
+        anRowIdx[i] = i;
+    }
+    sortIndex(anRowIdx, 0, anRowIdx.length);
+    return anRowIdx;
+}
+
+/**
+ * Sorts the row indexes in [nFrom, nTo) of anRowIdx by the keys they point to.
+ */
+public void sortIndex(int[] anRowIdx, int nFrom, int nTo)
+{
+    int nLow = nFrom;
+    int nHigh = nTo - 1;
+
+    while (nHigh - nLow >= INSERTION_SORT_THRESHOLD)
+    {
+        int nMid = (nLow + nHigh) >>> 1;
+        int nPivotRowIdx = anRowIdx[medianOfThreeIndex(anRowIdx, nLow, nMid, nHigh)];
+
+        int nLt = nLow;
+        int nGt = nHigh;
+        int i = nLow;
+        while (i <= nGt)
+        {
+            int nComp = compare(anRowIdx[i], nPivotRowIdx);
+            if (nComp < 0)
+            {
+                swapIndex(anRowIdx, nLt++, i++);
+            }
+            else if (nComp > 0)
+            {
+                swapIndex(anRowIdx, i, nGt--);
+            }
+            else
+            {
+                i++;
+            }
+        }
+
+        if (nLt - nLow < nHigh - nGt)
+        {
+            sortIndex(anRowIdx, nLow, nLt);
+            nLow = nGt + 1;
+        }
+        else
+        {
+            sortIndex(anRowIdx, nGt + 1, nHigh + 1);
+            nHigh = nLt - 1;
+        }
+    }
+
+    for (int i = nLow + 1; i <= nHigh; i++)
+    {
+        int nRowIdx = anRowIdx[i];
+        int j = i;
+        for (; j > nLow && compare(anRowIdx[j - 1], nRowIdx) > 0; j--)
+        {
+            anRowIdx[j] = anRowIdx[j - 1];
+        }
+        anRowIdx[j] = nRowIdx;
+    }
+}
+
+int reserveRow()
+{
+    if (m_nRowCount == m_nCapacity)
+    {
+        ensureCapacity((int) Math.min(Integer.MAX_VALUE - 8, Math.max(16L, (long) m_nCapacity * 3 / 2)));
+    }
+    return m_nRowCount++;
+}
+
+private int compareWithKey(int nRowIdx, byte[] aKey)
+{
+    int nOffset = getOffset(nRowIdx);
+    return BinaryKeyComparator.compareKeys(getChunk(nRowIdx), nOffset, aKey, 0, m_nStride);
+}
+
+private int medianOfThree(int a, int b, int c)
+{
+    if (compare(a, b) < 0)
+    {
+        return compare(b, c) < 0 ? b : (compare(a, c) < 0 ? c : a);
+    }
+    return compare(a, c) < 0 ? a : (compare(b, c) < 0 ? c : b);
+}
+
+private int medianOfThreeIndex(int[] anRowIdx, int a, int b, int c)
+{
+    int nA = anRowIdx[a];
+    int nB = anRowIdx[b];
+    int nC = anRowIdx[c];
+    if (compare(nA, nB) < 0)
+    {
+        return compare(nB, nC) < 0 ? b : (compare(nA, nC) < 0 ? c : a);
+    }
+    return compare(nA, nC) < 0 ? a : (compare(nB, nC) < 0 ? c : b);
+}
+
+private static void swapIndex(int[] anRowIdx, int i, int j)
+{
+    int nTemp = anRowIdx[i];
+    anRowIdx[i] = anRowIdx[j];
+    anRowIdx[j] = nTemp;
+}
+} ///////// End of class
@@ -1,9 +1,7 @@
 package org.example;
 
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 
 public class MainApp
@@ -11,9 +9,14 @@ public class MainApp
 
 private static int largestSize = 0;
 private static int rowByteSize = 0;
-private static List<byte[]> listOfAllRows = new ArrayList<>();
+private static KeySlab keySlab;
+private static RowKeyEncoder rowKeyEncoder;
 
-public static void main(String... args)
+private static final int[] PARALLEL_SORT_THREAD_COUNTS = {1, 2, 4, 8, 16, 32};
+private static final int TOP_K_LIMIT = 100;
+private static final long GENERATOR_SEED = 0x5EED;
+
+public static void main(String... args) throws IOException
 {
     FieldInfo[] fieldInfos = new FieldInfo[3];
     fieldInfos[0] = new FieldInfo("field1", FieldType.INTEGER);
@@ -21,186 +24,162 @@ public static void main(String... args)
     fieldInfos[2] = new FieldInfo("field2", FieldType.LONG);
     RowDataGenerator generator = new RowDataGenerator(fieldInfos, 10_000_000);
 
-    long lStartTime = System.nanoTime();
+    SortPhase sortPhase = SortPhase.start("generate");
     List<RowData> result = generator.generateRowDataList();
+    System.out.println(sortPhase.end(result.size()));
+    List<RowData> listUnsorted = new ArrayList<>(result);
 
-    System.out.println("Data generated in: " + (System.nanoTime() - lStartTime));
+    try (RowBatchGenerator rowBatchGenerator = new RowBatchGenerator(new RowInfo(fieldInfos), result.size(),
+        GENERATOR_SEED))
+    {
+        sortPhase = SortPhase.start("generateRowBatch");
+        RowBatch generatedRowBatch = rowBatchGenerator.generateRowBatch();
+        System.out.println(sortPhase.end(generatedRowBatch.getRowCount()));
 
+        sortPhase = SortPhase.start("generateKeySlab");
+        KeySlab generatedKeySlab = rowBatchGenerator.generateKeySlab(new RowKeyEncoder(new RowInfo(fieldInfos)));
+        System.out.println(sortPhase.end(generatedKeySlab.getRowCount()));
+    }
 
-    lStartTime = System.nanoTime();
+
+    sortPhase = SortPhase.start("sortRowData");
     result.sort(MainApp::compare);
-    System.out.println("Time took to sort row data: " + (System.nanoTime() - lStartTime));
+    System.out.println(sortPhase.end(result.size()));
 //    System.out.println(compare(result.get(0), result.get(1)));
 
+    List<RowData> listToSort = new ArrayList<>(listUnsorted);
+    sortPhase = SortPhase.start("sortRowDataWithGeneratedComparator");
+    listToSort.sort(RowComparatorFactory.getComparator(new RowInfo(fieldInfos)));
+    System.out.println(sortPhase.end(listToSort.size()));
+
 
-    lStartTime = System.nanoTime();
-    rowByteSize = calculateByteArraySize(result.get(0));
+    sortPhase = SortPhase.start("encode");
+    rowKeyEncoder = new RowKeyEncoder(new RowInfo(fieldInfos));
+    rowByteSize = rowKeyEncoder.getMaxKeyWidth();
+    keySlab = new KeySlab(rowKeyEncoder, result.size());
     for (RowData row : result)
     {
         convertRowDataToBytes(row);
     }
-    System.out.println("Time took to sort row data: " + (System.nanoTime() - lStartTime));
+    System.out.println(sortPhase.setByteCount(keySlab.getAllocatedBytes()).end(result.size()));
 
-    lStartTime = System.nanoTime();
-    listOfAllRows.sort(MainApp::memcmp);
-    System.out.println("Time took to sort row data byte array: " + (System.nanoTime() - lStartTime));
-}
+    sortPhase = SortPhase.start("sortKeySlab");
+    new MsdRadixSorter(keySlab).sort();
+    System.out.println(sortPhase.end(keySlab.getRowCount()));
 
-static void convertRowDataToBytes(RowData row)
-{
-    FieldData fieldData;
-    FieldType type;
-    List<byte[]> listOfAllByteArrays = new ArrayList<>();
-    for (int i = 0; i < row.getFieldCount(); i++)
+    sortPhase = SortPhase.start("encodeWithDictionaries");
+    RowKeyEncoder dictionaryKeyEncoder = RowKeyEncoder.withDictionaries(rowKeyEncoder.getRowInfo(), listUnsorted,
+        rowKeyEncoder.getSortSpec(), RowKeyEncoder.UNBOUNDED, KeyDictionary.DEFAULT_MAX_CARDINALITY);
+    KeySlab dictionaryKeySlab = new KeySlab(dictionaryKeyEncoder, listUnsorted.size());
+    for (RowData row : listUnsorted)
     {
-        fieldData = row.getFieldData(i);
-        type = fieldData.getFieldType();
-        if (type == FieldType.INTEGER)
-        {
-            listOfAllByteArrays.add(getIntegerBytes((Integer) fieldData.getValue()));
-        }
-        else if (type == FieldType.LONG)
-        {
-            listOfAllByteArrays.add(getLongBytes((Long) fieldData.getValue()));
-        }
+        dictionaryKeySlab.append(row);
     }
-    listOfAllRows.add(mergeAllByteArrays(listOfAllByteArrays));
-}
-
-static byte[] mergeAllByteArrays(List<byte[]> list)
-{
-    int index = 0;
-    byte[] byteList = new byte[rowByteSize];
-    for (int i = 0; i < list.size(); i++)
+    System.out.println(sortPhase.setByteCount(dictionaryKeySlab.getAllocatedBytes()).end(listUnsorted.size())
+        + " Key width: " + rowByteSize + " -> " + dictionaryKeyEncoder.getMaxKeyWidth());
+
+    sortPhase = SortPhase.start("sortDictionaryKeySlab");
+    new MsdRadixSorter(dictionaryKeySlab).sort();
+    System.out.println(sortPhase.end(dictionaryKeySlab.getRowCount()));
+
+    sortPhase = SortPhase.start("encodePacked");
+    RowKeyEncoder packedKeyEncoder = RowKeyEncoder.withPackedFields(rowKeyEncoder.getRowInfo(), listUnsorted,
+        rowKeyEncoder.getSortSpec(), RowKeyEncoder.UNBOUNDED, KeyDictionary.DEFAULT_MAX_CARDINALITY);
+    KeySlab packedKeySlab = new KeySlab(packedKeyEncoder, listUnsorted.size());
+    for (RowData row : listUnsorted)
     {
-        for (int j = 0; j < list.get(i).length; j++)
-        {
-            byteList[index] = list.get(i)[j];
-        }
+        packedKeySlab.append(row);
     }
-    return byteList;
-}
+    System.out.println(sortPhase.setByteCount(packedKeySlab.getAllocatedBytes()).end(listUnsorted.size())
+        + " Key width: " + rowByteSize + " -> " + packedKeyEncoder.getMaxKeyWidth());
 
-static int calculateByteArraySize(RowData row)
-{
-    int count = 0;
-    FieldType type;
-    for (int i = 0; i < row.getFieldCount(); i++)
-    {
-        type = row.getFieldData(i).getFieldType();
-        if (type == FieldType.INTEGER || type == FieldType.FLOAT)
-        {
-            count += 4;
-        }
-        else if (type == FieldType.LONG || type == FieldType.DOUBLE)
-        {
-            count += 8;
-        }
-    }
-    return count;
-}
+    sortPhase = SortPhase.start("sortPackedKeySlab");
+    new MsdRadixSorter(packedKeySlab).sort();
+    System.out.println(sortPhase.end(packedKeySlab.getRowCount()));
 
-static int compare(RowData r1, RowData r2)
-{
-    for (int i = 0; i < r1.getFieldCount(); i++)
-    {
-        int res = r1.getFieldData(i).compareTo(r2.getFieldData(i));
-        if (res != 0)
-        {
-            return res;
-        }
-    }
+    sortPhase = SortPhase.start("convertToRowBatch");
+    RowBatch rowBatch = RowBatch.fromRowData(rowKeyEncoder.getRowInfo(), listUnsorted);
+    System.out.println(sortPhase.end(rowBatch.getRowCount()));
 
-    return 0;
-}
+    sortPhase = SortPhase.start("sortRowBatch");
+    rowBatch.sort(rowKeyEncoder.getSortSpec());
+    System.out.println(sortPhase.end(rowBatch.getRowCount()));
 
-static byte[] getDoubleBytesForNeg(Double num)
-{
-    byte[] floatBytes = ByteBuffer.allocate(8).order(ByteOrder.BIG_ENDIAN).putDouble(num).array();
-    for (int i = 0; i < 8; i++)
+    sortPhase = SortPhase.start("top" + TOP_K_LIMIT);
+    TopKSorter topKSorter = new TopKSorter(rowKeyEncoder, TOP_K_LIMIT);
+    for (RowData row : listUnsorted)
     {
-        floatBytes[i] = (byte) ~floatBytes[i];
+        topKSorter.add(row);
     }
-    return floatBytes;
-}
+    topKSorter.sort();
+    System.out.println(sortPhase.end(listUnsorted.size()));
 
-static byte[] getDoubleBytesForPos(Double num)
-{
-    byte[] floatBytes = ByteBuffer.allocate(8).order(ByteOrder.BIG_ENDIAN).putDouble(num).array();
-    floatBytes[0] = (byte) ((floatBytes[0] | (1 << 7)));
-    return floatBytes;
-}
+    sortPhase = SortPhase.start("sortWithPlanner");
+    List<RowData> listPlanned = new SortPlanner(rowKeyEncoder).sort(listUnsorted);
+    System.out.println(sortPhase.end(listPlanned.size()));
 
-static byte[] getLongBytes(long num)
-{
-    byte[] longBytes = ByteBuffer.allocate(8).order(ByteOrder.BIG_ENDIAN).putLong(num).array();
-    if (num < 0)
-    {
-        longBytes[0] = (byte) (longBytes[0] & ~(1 << 7));
-    }
-    else
-    {
-        longBytes[0] = (byte) ((longBytes[0] | (1 << 7)));
-    }
-    return longBytes;
-}
+    reportParallelSpeedup(listUnsorted);
 
-static byte[] getFloatBytesForNeg(float num)
-{
-    byte[] floatBytes = ByteBuffer.allocate(4).order(ByteOrder.BIG_ENDIAN).putFloat(num).array();
-    for (int i = 0; i < 4; i++)
+    if (SortMetrics.ENABLED)
     {
-        floatBytes[i] = (byte) ~floatBytes[i];
+        System.out.println(SortMetrics.getInstance());
     }
-    return floatBytes;
-}
-
-static byte[] getFloatBytesForPos(float num)
-{
-    byte[] floatBytes = ByteBuffer.allocate(4).order(ByteOrder.BIG_ENDIAN).putFloat(num).array();
-    floatBytes[0] = (byte) ((floatBytes[0] | (1 << 7)));
-    return floatBytes;
 }
 
-static byte[] getIntegerBytes(int num)
+/**
+ * Sorts the rows as RowData and as a key slab with 1 to 32 threads and prints the time and the speedup over 1 thread.
+ */
+static void reportParallelSpeedup(List<RowData> listUnsorted)
 {
-    byte[] intBytes = ByteBuffer.allocate(4).order(ByteOrder.BIG_ENDIAN).putInt(num).array();
-    if (num < 0)
+    KeySlab keySlabUnsorted = new KeySlab(rowKeyEncoder, listUnsorted.size());
+    for (RowData row : listUnsorted)
     {
-        intBytes[0] = (byte) (intBytes[0] & ~(1 << 7));
+        keySlabUnsorted.append(row);
     }
-    else
+
+    long lRowDataBaseTime = 0;
+    long lKeySlabBaseTime = 0;
+    for (int nThreadCount : PARALLEL_SORT_THREAD_COUNTS)
     {
-        intBytes[0] = (byte) ((intBytes[0] | (1 << 7)));
+        try (ParallelSorter parallelSorter = new ParallelSorter(nThreadCount))
+        {
+            List<RowData> listToSort = new ArrayList<>(listUnsorted);
+            SortPhase sortPhase = SortPhase.start("parallelSortRowData");
+            parallelSorter.sort(listToSort, MainApp::compare);
+            long lRowDataTime = sortPhase.end(listToSort.size()).getElapsedTime();
+
+            sortPhase = SortPhase.start("parallelSortKeySlab");
+            parallelSorter.sort(keySlabUnsorted);
+            long lKeySlabTime = sortPhase.end(keySlabUnsorted.getRowCount()).getElapsedTime();
+
+            if (nThreadCount == 1)
+            {
+                lRowDataBaseTime = lRowDataTime;
+                lKeySlabBaseTime = lKeySlabTime;
+            }
+
+            System.out.printf(
+                "Parallel sort with %d threads. Row data: %d (speedup %.2f) Byte array: %d (speedup %.2f)%n",
+                nThreadCount, lRowDataTime, (double) lRowDataBaseTime / lRowDataTime, lKeySlabTime,
+                (double) lKeySlabBaseTime / lKeySlabTime);
+        }
     }
-    return intBytes;
 }
 
-static byte[] getPaddedString(String str, int size)
+static void convertRowDataToBytes(RowData row)
 {
-    int strLen = str.length();
-    byte[] bytesOut = new byte[size]; // assuming string is ASCII encoded.
-    int i;
-    for (i = 0; i < strLen; i++)
-    {
-        bytesOut[i] = (byte) (str.charAt(i) & 0xFF);
-    }
-    for (; i < size; i++)
-    {
-        bytesOut[i] = (byte) 0;
-    }
-
-    return bytesOut;
+    keySlab.append(row);
 }
 
-static int memcmp(byte[] b1, byte[] b2)
+static int compare(RowData r1, RowData r2)
 {
-    for (int i = 0; i < b1.length; ++i)
+    for (int i = 0; i < r1.getFieldCount(); i++)
     {
-        int b1i = (b1[i] & 0xFF);
-        int b2i = (b2[i] & 0xFF);
-
-        return Integer.compare(b1i, b2i);
+        int res = r1.getFieldData(i).compareTo(r2.getFieldData(i));
+        if (res != 0)
+        {
+            return res;
+        }
     }
 
     return 0;
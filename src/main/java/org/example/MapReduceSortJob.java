@@ -0,0 +1,493 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: MapReduceSortJob.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.apache.hadoop.conf.Configurable;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.DataInputBuffer;
+import org.apache.hadoop.io.DataOutputBuffer;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.WritableComparator;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.Mapper;
+import org.apache.hadoop.mapreduce.Partitioner;
+import org.apache.hadoop.mapreduce.Reducer;
+import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.lib.input.SequenceFileInputFormat;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.SequenceFileOutputFormat;
+import org.apache.hadoop.util.Tool;
+import org.apache.hadoop.util.ToolRunner;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * MapReduceSortJob sorts rows with a MapReduce job in local mode, to measure the shuffle sort on a single machine. The
+ * input is a SequenceFile of NullWritable keys and BytesWritable values that hold rows serialized with RowData.write.
+ * The same rows are sorted twice:
+ *
+ *   encoded - the map output key is the EncodedRowKey of the row, compared in place by EncodedRowKey.Comparator
+ *   rowdata - the map output key is the serialized row, compared by RowDataComparator, which deserializes both rows
+ *
+ * and the time of every job is printed. Both jobs write the sorted rows in the input format.
+ *
+ * With more than one reducer the map output is routed by a RangePartitioner, like TeraSort: its splitters are picked
+ * from a sample of the encoded keys of the input and stored in the configuration, so every reducer gets a key range and
+ * the outputs part-r-00000 and up are the sorted rows when read in order.
+ *
+ * Usage: MapReduceSortJob rowCount workDir [encoded|rowdata|both] [sortBy] [reduceCount], e.g.
+ *
+ *   MapReduceSortJob 1000000 /tmp/sort both "field1 DESC, field2" 4
+ */
+public class MapReduceSortJob extends Configured implements Tool
+{
+
+public static final String ROW_INFO_KEY = "org.example.sort.rowInfo";
+public static final String SORT_BY_KEY = "org.example.sort.sortBy";
+public static final String SPLITTERS_KEY = "org.example.sort.splitters";
+
+private static final String ENCODED = "encoded";
+private static final String ROW_DATA = "rowdata";
+private static final String BOTH = "both";
+
+public static void main(String[] args) throws Exception
+{
+    System.exit(ToolRunner.run(new Configuration(), new MapReduceSortJob(), args));
+}
+
+@Override
+public int run(String[] args) throws Exception
+{
+    if (args.length < 2)
+    {
+        System.err.println("Usage: MapReduceSortJob rowCount workDir [encoded|rowdata|both] [sortBy] [reduceCount]");
+        return 2;
+    }
+
+    long lRowCount = Long.parseLong(args[0]);
+    Path workDir = new Path(args[1]);
+    String sMode = args.length > 2 ? args[2] : BOTH;
+    int nReduceCount = args.length > 4 ? Integer.parseInt(args[4]) : 1;
+
+    Configuration conf = getConf();
+    conf.set("mapreduce.framework.name", "local");
+    conf.set("fs.defaultFS", "file:///");
+
+    FieldInfo[] fieldInfos = new FieldInfo[3];
+    fieldInfos[0] = new FieldInfo("field1", FieldType.INTEGER);
+    fieldInfos[1] = new FieldInfo("field2", FieldType.LONG);
+    fieldInfos[2] = new FieldInfo("field3", FieldType.LONG);
+    RowInfo rowInfo = new RowInfo(fieldInfos);
+    setRowInfo(conf, rowInfo);
+    if (args.length > 3)
+    {
+        conf.set(SORT_BY_KEY, args[3]);
+    }
+
+    Path inputPath = new Path(workDir, "input");
+    long lStartTime = System.nanoTime();
+    List<RowData> listRowData = new RowDataGenerator(fieldInfos, lRowCount).generateRowDataList();
+    writeRows(conf, new Path(inputPath, "rows.seq"), listRowData);
+    System.out.println("Data generated in: " + (System.nanoTime() - lStartTime));
+
+    if (nReduceCount > 1)
+    {
+        RowKeyEncoder rowKeyEncoder = new RowKeyEncoder(rowInfo, getSortSpec(conf, rowInfo));
+        setRangePartitioner(conf, sampleSplitters(rowKeyEncoder, listRowData, nReduceCount));
+    }
+
+    if (sMode.equals(ENCODED) || sMode.equals(BOTH))
+    {
+        if (!runJob(conf, true, inputPath, new Path(workDir, "output-" + ENCODED)))
+        {
+            return 1;
+        }
+    }
+    if (sMode.equals(ROW_DATA) || sMode.equals(BOTH))
+    {
+        if (!runJob(conf, false, inputPath, new Path(workDir, "output-" + ROW_DATA)))
+        {
+            return 1;
+        }
+    }
+    return 0;
+}
+
+/**
+ * Stores the field names and types of the rowInfo in the configuration as name:TYPE pairs.
+ */
+public static void setRowInfo(Configuration conf, RowInfo rowInfo)
+{
+    StringBuilder sb = new StringBuilder();
+    for (FieldInfo fieldInfo : rowInfo.getAllFieldInfo())
+    {
+        if (sb.length() > 0)
+        {
+            sb.append(',');
+        }
+        sb.append(fieldInfo.getFieldName()).append(':').append(fieldInfo.getFieldType().name());
+    }
+    conf.set(ROW_INFO_KEY, sb.toString());
+}
+
+public static RowInfo getRowInfo(Configuration conf)
+{
+    String sRowInfo = conf.get(ROW_INFO_KEY);
+    if (sRowInfo == null || sRowInfo.isEmpty())
+    {
+        throw new IllegalArgumentException("The RowInfo is not set. Key: " + ROW_INFO_KEY);
+    }
+
+    String[] asField = sRowInfo.split(",");
+    FieldInfo[] aFieldInfo = new FieldInfo[asField.length];
+    for (int i = 0; i < asField.length; i++)
+    {
+        int nSeparatorIdx = asField[i].lastIndexOf(':');
+        aFieldInfo[i] = new FieldInfo(asField[i].substring(0, nSeparatorIdx),
+            FieldType.valueOf(asField[i].substring(nSeparatorIdx + 1)));
+    }
+    return new RowInfo(aFieldInfo);
+}
+
+/**
+ * Returns the SortSpec of the configuration, an ascending sort over all the fields when none is set.
+ */
+public static SortSpec getSortSpec(Configuration conf, RowInfo rowInfo)
+{
+    String sSortBy = conf.get(SORT_BY_KEY);
+    return sSortBy != null ? SortSpec.parse(rowInfo, sSortBy) : SortSpec.ascending(rowInfo);
+}
+
+/**
+ * Writes the rows to a SequenceFile in the input format of the jobs.
+ */
+public static void writeRows(Configuration conf, Path path, List<RowData> listRowData) throws IOException
+{
+    DataOutputBuffer dataOutputBuffer = new DataOutputBuffer();
+    BytesWritable bytesWritable = new BytesWritable();
+    try (SequenceFile.Writer writer = SequenceFile.createWriter(conf, SequenceFile.Writer.file(path),
+        SequenceFile.Writer.keyClass(NullWritable.class), SequenceFile.Writer.valueClass(BytesWritable.class)))
+    {
+        for (RowData rowData : listRowData)
+        {
+            dataOutputBuffer.reset();
+            rowData.write(dataOutputBuffer);
+            bytesWritable.set(dataOutputBuffer.getData(), 0, dataOutputBuffer.getLength());
+            writer.append(NullWritable.get(), bytesWritable);
+        }
+    }
+}
+
+/**
+ * Picks the splitters of nReduceCount partitions from the encoded keys of a seeded random sample of the rows.
+ */
+public static RangePartitioner sampleSplitters(RowKeyEncoder rowKeyEncoder, List<RowData> listRowData,
+    int nReduceCount)
+{
+    int nSampleSize = Math.min(RangePartitioner.DEFAULT_SAMPLE_SIZE, listRowData.size());
+    Random random = new Random(nReduceCount);
+    List<byte[]> listSample = new ArrayList<>(nSampleSize);
+    for (int i = 0; i < nSampleSize; i++)
+    {
+        listSample.add(rowKeyEncoder.encode(listRowData.get(random.nextInt(listRowData.size()))));
+    }
+    return RangePartitioner.fromSample(listSample, nReduceCount);
+}
+
+/**
+ * Stores the splitters of the rangePartitioner in the configuration as comma separated base64 strings.
+ */
+public static void setRangePartitioner(Configuration conf, RangePartitioner rangePartitioner)
+{
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < rangePartitioner.getSplitterCount(); i++)
+    {
+        if (sb.length() > 0)
+        {
+            sb.append(',');
+        }
+        sb.append(Base64.getEncoder().encodeToString(rangePartitioner.getSplitter(i)));
+    }
+    conf.set(SPLITTERS_KEY, sb.toString());
+}
+
+public static RangePartitioner getRangePartitioner(Configuration conf)
+{
+    String sSplitters = conf.get(SPLITTERS_KEY);
+    if (sSplitters == null)
+    {
+        throw new IllegalArgumentException("The splitters are not set. Key: " + SPLITTERS_KEY);
+    }
+
+    String[] asSplitter = sSplitters.isEmpty() ? new String[0] : sSplitters.split(",");
+    byte[][] aaSplitter = new byte[asSplitter.length][];
+    for (int i = 0; i < asSplitter.length; i++)
+    {
+        aaSplitter[i] = Base64.getDecoder().decode(asSplitter[i]);
+    }
+    return new RangePartitioner(aaSplitter);
+}
+
+private boolean runJob(Configuration conf, boolean bEncoded, Path inputPath, Path outputPath) throws Exception
+{
+    FileSystem fileSystem = FileSystem.get(conf);
+    fileSystem.delete(outputPath, true);
+
+    String sMode = bEncoded ? ENCODED : ROW_DATA;
+    Job job = Job.getInstance(conf, "sort-" + sMode);
+    job.setJarByClass(MapReduceSortJob.class);
+    job.setInputFormatClass(SequenceFileInputFormat.class);
+    job.setOutputFormatClass(SequenceFileOutputFormat.class);
+    FileInputFormat.addInputPath(job, inputPath);
+    FileOutputFormat.setOutputPath(job, outputPath);
+    job.setOutputKeyClass(NullWritable.class);
+    job.setOutputValueClass(BytesWritable.class);
+    boolean bRangePartitioned = conf.get(SPLITTERS_KEY) != null;
+    job.setNumReduceTasks(bRangePartitioned ? getRangePartitioner(conf).getPartitionCount() : 1);
+
+    if (bEncoded)
+    {
+        job.setMapperClass(EncodedKeyMapper.class);
+        job.setReducerClass(EncodedKeyReducer.class);
+        job.setMapOutputKeyClass(EncodedRowKey.class);
+        job.setMapOutputValueClass(BytesWritable.class);
+        job.setSortComparatorClass(EncodedRowKey.Comparator.class);
+        if (bRangePartitioned)
+        {
+            job.setPartitionerClass(EncodedKeyPartitioner.class);
+        }
+    }
+    else
+    {
+        job.setMapperClass(RowDataKeyMapper.class);
+        job.setReducerClass(RowDataKeyReducer.class);
+        job.setMapOutputKeyClass(BytesWritable.class);
+        job.setMapOutputValueClass(NullWritable.class);
+        job.setSortComparatorClass(RowDataComparator.class);
+        if (bRangePartitioned)
+        {
+            job.setPartitionerClass(RowDataKeyPartitioner.class);
+        }
+    }
+
+    long lStartTime = System.nanoTime();
+    boolean bSucceeded = job.waitForCompletion(false);
+    System.out.println("Time took to sort with " + sMode + " keys: " + (System.nanoTime() - lStartTime)
+        + (bSucceeded ? "" : " (failed)"));
+    return bSucceeded;
+}
+
+/**
+ * Emits the EncodedRowKey of every row with the serialized row as the value.
+ */
+public static class EncodedKeyMapper extends Mapper<NullWritable, BytesWritable, EncodedRowKey, BytesWritable>
+{
+
+    private final DataInputBuffer m_dataInputBuffer = new DataInputBuffer();
+    private final EncodedRowKey m_encodedRowKey = new EncodedRowKey();
+    private RowKeyEncoder m_rowKeyEncoder;
+    private RowData m_rowData;
+
+    @Override
+    protected void setup(Context context)
+    {
+        RowInfo rowInfo = getRowInfo(context.getConfiguration());
+        m_rowKeyEncoder = new RowKeyEncoder(rowInfo, getSortSpec(context.getConfiguration(), rowInfo));
+        m_rowData = new RowData(rowInfo);
+    }
+
+    @Override
+    protected void map(NullWritable key, BytesWritable value, Context context) throws IOException,
+        InterruptedException
+    {
+        m_dataInputBuffer.reset(value.getBytes(), 0, value.getLength());
+        m_rowData.readFields(m_dataInputBuffer);
+        m_encodedRowKey.set(m_rowKeyEncoder, m_rowData);
+        context.write(m_encodedRowKey, value);
+    }
+}
+
+public static class EncodedKeyReducer extends Reducer<EncodedRowKey, BytesWritable, NullWritable, BytesWritable>
+{
+
+    @Override
+    protected void reduce(EncodedRowKey key, Iterable<BytesWritable> values, Context context) throws IOException,
+        InterruptedException
+    {
+        for (BytesWritable value : values)
+        {
+            context.write(NullWritable.get(), value);
+        }
+    }
+}
+
+/**
+ * Emits every serialized row as the key, to be sorted by RowDataComparator.
+ */
+public static class RowDataKeyMapper extends Mapper<NullWritable, BytesWritable, BytesWritable, NullWritable>
+{
+
+    @Override
+    protected void map(NullWritable key, BytesWritable value, Context context) throws IOException,
+        InterruptedException
+    {
+        context.write(value, NullWritable.get());
+    }
+}
+
+public static class RowDataKeyReducer extends Reducer<BytesWritable, NullWritable, NullWritable, BytesWritable>
+{
+
+    @Override
+    protected void reduce(BytesWritable key, Iterable<NullWritable> values, Context context) throws IOException,
+        InterruptedException
+    {
+        for (NullWritable ignored : values)
+        {
+            context.write(NullWritable.get(), key);
+        }
+    }
+}
+
+/**
+ * Routes every EncodedRowKey to the reducer of its key range, with the splitters of the configuration.
+ */
+public static class EncodedKeyPartitioner extends Partitioner<EncodedRowKey, BytesWritable> implements Configurable
+{
+
+    private Configuration m_conf;
+    private RangePartitioner m_rangePartitioner;
+    private long m_lRowSeq;
+
+    @Override
+    public void setConf(Configuration conf)
+    {
+        m_conf = conf;
+        m_rangePartitioner = getRangePartitioner(conf);
+    }
+
+    @Override
+    public Configuration getConf()
+    {
+        return m_conf;
+    }
+
+    @Override
+    public int getPartition(EncodedRowKey key, BytesWritable value, int nPartitionCount)
+    {
+        if (nPartitionCount != m_rangePartitioner.getPartitionCount())
+        {
+            throw new IllegalStateException("Expected " + m_rangePartitioner.getPartitionCount()
+                + " reducers, got " + nPartitionCount);
+        }
+        return m_rangePartitioner.getPartition(key.getBytes(), 0, key.getLength(), m_lRowSeq++);
+    }
+}
+
+/**
+ * Routes every serialized row to the reducer of its key range. The row is read and encoded once to find it.
+ */
+public static class RowDataKeyPartitioner extends Partitioner<BytesWritable, NullWritable> implements Configurable
+{
+
+    private final DataInputBuffer m_dataInputBuffer = new DataInputBuffer();
+    private final EncodedRowKey m_encodedRowKey = new EncodedRowKey();
+    private final EncodedKeyPartitioner m_encodedKeyPartitioner = new EncodedKeyPartitioner();
+    private RowKeyEncoder m_rowKeyEncoder;
+    private RowData m_rowData;
+
+    @Override
+    public void setConf(Configuration conf)
+    {
+        m_encodedKeyPartitioner.setConf(conf);
+        RowInfo rowInfo = getRowInfo(conf);
+        m_rowKeyEncoder = new RowKeyEncoder(rowInfo, getSortSpec(conf, rowInfo));
+        m_rowData = new RowData(rowInfo);
+    }
+
+    @Override
+    public Configuration getConf()
+    {
+        return m_encodedKeyPartitioner.getConf();
+    }
+
+    @Override
+    public int getPartition(BytesWritable key, NullWritable value, int nPartitionCount)
+    {
+        try
+        {
+            m_dataInputBuffer.reset(key.getBytes(), 0, key.getLength());
+            m_rowData.readFields(m_dataInputBuffer);
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException("Row could not be read", e);
+        }
+        m_encodedRowKey.set(m_rowKeyEncoder, m_rowData);
+        return m_encodedKeyPartitioner.getPartition(m_encodedRowKey, null, nPartitionCount);
+    }
+}
+
+/**
+ * The baseline comparator: compares two BytesWritable keys that hold serialized rows by reading both rows with
+ * RowData.readFields and comparing them in the order of the SortSpec of the configuration.
+ */
+public static class RowDataComparator extends WritableComparator
+{
+
+    private final DataInputBuffer m_dataInputBuffer = new DataInputBuffer();
+    private Comparator<RowData> m_comparator;
+    private RowData m_rowData1;
+    private RowData m_rowData2;
+
+    public RowDataComparator()
+    {
+        super(BytesWritable.class);
+    }
+
+    @Override
+    public void setConf(Configuration conf)
+    {
+        super.setConf(conf);
+        RowInfo rowInfo = getRowInfo(conf);
+        m_comparator = RowComparatorFactory.getComparator(rowInfo, getSortSpec(conf, rowInfo));
+        m_rowData1 = new RowData(rowInfo);
+        m_rowData2 = new RowData(rowInfo);
+    }
+
+    @Override
+    public int compare(byte[] aKey1, int nOffset1, int nLength1, byte[] aKey2, int nOffset2, int nLength2)
+    {
+        try
+        {
+            // A serialized BytesWritable is its length as an int followed by the bytes
+            m_dataInputBuffer.reset(aKey1, nOffset1 + Integer.BYTES, nLength1 - Integer.BYTES);
+            m_rowData1.readFields(m_dataInputBuffer);
+            m_dataInputBuffer.reset(aKey2, nOffset2 + Integer.BYTES, nLength2 - Integer.BYTES);
+            m_rowData2.readFields(m_dataInputBuffer);
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException("Row could not be read", e);
+        }
+        return m_comparator.compare(m_rowData1, m_rowData2);
+    }
+}
+} ///////// End of class
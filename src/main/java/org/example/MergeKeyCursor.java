@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: MergeKeyCursor.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * MergeKeyCursor merges sorted KeyCursor inputs into one sorted sequence. The inputs are kept in a binary min heap
+ * ordered by their current key. When two inputs have equal keys, the one that comes first in the list is returned
+ * first.
+ */
+public class MergeKeyCursor implements KeyCursor
+{
+
+private final KeyCursor[] m_aKeyCursor;
+private final int[] m_anHeap;
+private int m_nHeapSize;
+private boolean m_bStarted;
+
+public MergeKeyCursor(List<? extends KeyCursor> listKeyCursor)
+{
+    m_aKeyCursor = listKeyCursor.toArray(new KeyCursor[0]);
+    m_anHeap = new int[m_aKeyCursor.length];
+    if (SortMetrics.ENABLED)
+    {
+        SortMetrics.recordMerge(m_aKeyCursor.length);
+    }
+}
+
+public int getFanIn()
+{
+    return m_aKeyCursor.length;
+}
+
+@Override
+public boolean next() throws IOException
+{
+    if (!m_bStarted)
+    {
+        m_bStarted = true;
+        for (int i = 0; i < m_aKeyCursor.length; i++)
+        {
+            if (m_aKeyCursor[i].next())
+            {
+                m_anHeap[m_nHeapSize++] = i;
+            }
+        }
+        for (int i = m_nHeapSize / 2 - 1; i >= 0; i--)
+        {
+            siftDown(i);
+        }
+        return m_nHeapSize > 0;
+    }
+
+    if (m_nHeapSize == 0)
+    {
+        return false;
+    }
+
+    // Advance the input that supplied the current key and restore the heap
+    if (!m_aKeyCursor[m_anHeap[0]].next())
+    {
+        m_anHeap[0] = m_anHeap[--m_nHeapSize];
+    }
+    if (m_nHeapSize > 0)
+    {
+        siftDown(0);
+    }
+    return m_nHeapSize > 0;
+}
+
+/**
+ * Returns the position in the input list of the cursor that supplied the current key.
+ */
+public int getCurrentInputIdx()
+{
+    return m_anHeap[0];
+}
+
+@Override
+public byte[] getKeyBuffer()
+{
+    return m_aKeyCursor[m_anHeap[0]].getKeyBuffer();
+}
+
+@Override
+public int getKeyOffset()
+{
+    return m_aKeyCursor[m_anHeap[0]].getKeyOffset();
+}
+
+@Override
+public int getKeyLength()
+{
+    return m_aKeyCursor[m_anHeap[0]].getKeyLength();
+}
+
+@Override
+public void close() throws IOException
+{
+    IOException ioException = null;
+    for (KeyCursor keyCursor : m_aKeyCursor)
+    {
+        try
+        {
+            keyCursor.close();
+        }
+        catch (IOException e)
+        {
+            if (ioException == null)
+            {
+                ioException = e;
+            }
+            else
+            {
+                ioException.addSuppressed(e);
+            }
+        }
+    }
+
+    if (ioException != null)
+    {
+        throw ioException;
+    }
+}
+
+private void siftDown(int nPos)
+{
+    int nInputIdx = m_anHeap[nPos];
+    while (true)
+    {
+        int nChild = 2 * nPos + 1;
+        if (nChild >= m_nHeapSize)
+        {
+            break;
+        }
+        if (nChild + 1 < m_nHeapSize && less(m_anHeap[nChild + 1], m_anHeap[nChild]))
+        {
+            nChild++;
+        }
+        if (!less(m_anHeap[nChild], nInputIdx))
+        {
+            break;
+        }
+        m_anHeap[nPos] = m_anHeap[nChild];
+        nPos = nChild;
+    }
+    m_anHeap[nPos] = nInputIdx;
+}
+
+private boolean less(int nInputIdx1, int nInputIdx2)
+{
+    KeyCursor keyCursor1 = m_aKeyCursor[nInputIdx1];
+    KeyCursor keyCursor2 = m_aKeyCursor[nInputIdx2];
+    int nComp = BinaryKeyComparator.compareKeys(keyCursor1.getKeyBuffer(), keyCursor1.getKeyOffset(),
+        keyCursor1.getKeyLength(), keyCursor2.getKeyBuffer(), keyCursor2.getKeyOffset(), keyCursor2.getKeyLength());
+    return nComp < 0 || (nComp == 0 && nInputIdx1 < nInputIdx2);
+}
+} ///////// End of class
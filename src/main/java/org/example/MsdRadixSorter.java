@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: MsdRadixSorter.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * MsdRadixSorter sorts the rows of a KeySlab with a most significant digit radix sort, one key byte per pass. The
+ * normalized keys already order as unsigned byte strings, so no comparison of FieldData is needed.
+ *
+ * Every bucket first counts its bytes at the current position. When all the rows of the bucket have the same byte the
+ * position is skipped without moving any data, which removes the passes over the null markers and the constant high
+ * order bytes of small values. Buckets smaller than INSERTION_SORT_THRESHOLD are finished with an insertion sort that
+ * compares from the current position onwards.
+ *
+ * sort() permutes the rows of the slab in place (American flag sort). sortIndex() leaves the slab untouched and
+ * permutes an int[] of row indexes instead.
+ */
+public class MsdRadixSorter
+{
+
+static final int INSERTION_SORT_THRESHOLD = 32;
+
+private static final int RADIX = 256;
+
+private final KeySlab m_keySlab;
+private final int m_nStride;
+private final int[][] m_aanCount;
+
+public MsdRadixSorter(KeySlab keySlab)
+{
+    m_keySlab = keySlab;
+    m_nStride = keySlab.getStride();
+    m_aanCount = new int[m_nStride][];
+}
+
+/**
+ * Sorts the rows of the slab in place.
+ */
+public void sort()
+{
+    sort(0, m_keySlab.getRowCount());
+}
+
+public void sort(int nFromRowIdx, int nToRowIdx)
+{
+    sortRows(nFromRowIdx, nToRowIdx, 0, new byte[m_nStride], new int[RADIX]);
+}
+
+/**
+ * Returns the row indexes of the slab in key order without moving the keys.
+ */
+public int[] sortIndex()
+{
+    int[] anRowIdx = new int[m_keySlab.getRowCount()];
+    for (int i = 0; i < anRowIdx.length; i++)
+    {
+        anRowIdx[i] = i;
+    }
+    sortIndex(anRowIdx, 0, anRowIdx.length);
+    return anRowIdx;
+}
+
+/**
+ * Sorts the row indexes in [nFrom, nTo) of anRowIdx by the keys they point to.
+ */
+public void sortIndex(int[] anRowIdx, int nFrom, int nTo)
+{
+    sortIndex(anRowIdx, new int[nTo - nFrom], nFrom, nTo, 0);
+}
+
+private void sortRows(int nFrom, int nTo, int nDepth, byte[] aScratch, int[] anNext)
+{
+    while (nTo - nFrom >= INSERTION_SORT_THRESHOLD && nDepth < m_nStride)
+    {
+        int[] anCount = getCount(nDepth);
+        for (int i = nFrom; i < nTo; i++)
+        {
+            anCount[byteAt(i, nDepth)]++;
+        }
+
+        if (isSingleBucket(anCount, nTo - nFrom))
+        {
+            nDepth++;
+            continue;
+        }
+
+        // Turn the counts into bucket end positions and permute the rows into their buckets
+        int[] anEnd = anCount;
+        int nPos = nFrom;
+        for (int b = 0; b < RADIX; b++)
+        {
+            anNext[b] = nPos;
+            nPos += anCount[b];
+            anEnd[b] = nPos;
+        }
+
+        for (int b = 0; b < RADIX; b++)
+        {
+            while (anNext[b] < anEnd[b])
+            {
+                int nByte = byteAt(anNext[b], nDepth);
+                if (nByte == b)
+                {
+                    anNext[b]++;
+                }
+                else
+                {
+                    m_keySlab.swap(anNext[b], anNext[nByte]++, aScratch);
+                }
+            }
+        }
+
+        int nBucketFrom = nFrom;
+        for (int b = 0; b < RADIX; b++)
+        {
+            int nBucketTo = anEnd[b];
+            if (nBucketTo - nBucketFrom > 1)
+            {
+                sortRows(nBucketFrom, nBucketTo, nDepth + 1, aScratch, anNext);
+            }
+            nBucketFrom = nBucketTo;
+        }
+        return;
+    }
+
+    if (nDepth < m_nStride)
+    {
+        for (int i = nFrom + 1; i < nTo; i++)
+        {
+            for (int j = i; j > nFrom && compareFrom(j - 1, j, nDepth) > 0; j--)
+            {
+                m_keySlab.swap(j - 1, j, aScratch);
+            }
+        }
+    }
+}
+
+private void sortIndex(int[] anRowIdx, int[] anAux, int nFrom, int nTo, int nDepth)
+{
+    while (nTo - nFrom >= INSERTION_SORT_THRESHOLD && nDepth < m_nStride)
+    {
+        int[] anCount = getCount(nDepth);
+        for (int i = nFrom; i < nTo; i++)
+        {
+            anCount[byteAt(anRowIdx[i], nDepth)]++;
+        }
+
+        if (isSingleBucket(anCount, nTo - nFrom))
+        {
+            nDepth++;
+            continue;
+        }
+
+        // Turn the counts into bucket end positions and distribute through the auxiliary array
+        int nPos = 0;
+        for (int b = 0; b < RADIX; b++)
+        {
+            nPos += anCount[b];
+            anCount[b] = nPos;
+        }
+
+        for (int i = nTo - 1; i >= nFrom; i--)
+        {
+            int nRowIdx = anRowIdx[i];
+            anAux[--anCount[byteAt(nRowIdx, nDepth)]] = nRowIdx;
+        }
+        System.arraycopy(anAux, 0, anRowIdx, nFrom, nTo - nFrom);
+
+        // anCount now holds the bucket start positions
+        for (int b = 0; b < RADIX; b++)
+        {
+            int nBucketFrom = nFrom + anCount[b];
+            int nBucketTo = b < RADIX - 1 ? nFrom + anCount[b + 1] : nTo;
+            if (nBucketTo - nBucketFrom > 1)
+            {
+                sortIndex(anRowIdx, anAux, nBucketFrom, nBucketTo, nDepth + 1);
+            }
+        }
+        return;
+    }
+
+    if (nDepth < m_nStride)
+    {
+        for (int i = nFrom + 1; i < nTo; i++)
+        {
+            int nRowIdx = anRowIdx[i];
+            int j = i;
+            for (; j > nFrom && compareFrom(anRowIdx[j - 1], nRowIdx, nDepth) > 0; j--)
+            {
+                anRowIdx[j] = anRowIdx[j - 1];
+            }
+            anRowIdx[j] = nRowIdx;
+        }
+    }
+}
+
+/**
+ * Returns the zeroed count array of the depth. A depth is only in use once at a time, so the arrays are reused between
+ * the buckets of the same depth.
+ */
+private int[] getCount(int nDepth)
+{
+    int[] anCount = m_aanCount[nDepth];
+    if (anCount == null)
+    {
+        anCount = new int[RADIX];
+        m_aanCount[nDepth] = anCount;
+    }
+    else
+    {
+        Arrays.fill(anCount, 0);
+    }
+    return anCount;
+}
+
+private static boolean isSingleBucket(int[] anCount, int nRowCount)
+{
+    for (int b = 0; b < RADIX; b++)
+    {
+        if (anCount[b] != 0)
+        {
+            return anCount[b] == nRowCount;
+        }
+    }
+    return true;
+}
+
+private int byteAt(int nRowIdx, int nDepth)
+{
+    return m_keySlab.getChunk(nRowIdx)[m_keySlab.getOffset(nRowIdx) + nDepth] & 0xFF;
+}
+
+private int compareFrom(int nRowIdx1, int nRowIdx2, int nDepth)
+{
+    return BinaryKeyComparator.compareKeys(m_keySlab.getChunk(nRowIdx1), m_keySlab.getOffset(nRowIdx1) + nDepth,
+        m_keySlab.getChunk(nRowIdx2), m_keySlab.getOffset(nRowIdx2) + nDepth, m_nStride - nDepth);
+}
+} ///////// End of class
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: MultiKeyQuickSorter.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+/**
+ * MultiKeyQuickSorter sorts the row indexes of a KeySlab with the multikey quicksort of Bentley and Sedgewick. Each
+ * partition step is a three way partition on a single key byte. The rows that share the pivot byte move on to the next
+ * byte and are never compared on the bytes before it again.
+ *
+ * It suits keys with long common prefixes, such as STRING fields with shared leading text. There, a comparison sort
+ * compares the same prefix over and over, and MSD radix spends a 256 entry count on every byte of the prefix.
+ */
+public class MultiKeyQuickSorter
+{
+
+static final int INSERTION_SORT_THRESHOLD = 16;
+
+private final KeySlab m_keySlab;
+private final int m_nStride;
+
+public MultiKeyQuickSorter(KeySlab keySlab)
+{
+    m_keySlab = keySlab;
+    m_nStride = keySlab.getStride();
+}
+
+/**
+ * Returns the row indexes of the slab in key order without moving the keys.
+ */
+public int[] sortIndex()
+{
+    int[] anRowIdx = new int[m_keySlab.getRowCount()];
+    for (int i = 0; i < anRowIdx.length; i++)
+    {
+        anRowIdx[i] = i;
+    }
+    sortIndex(anRowIdx, 0, anRowIdx.length);
+    return anRowIdx;
+}
+
+/**
+ * Sorts the row indexes in [nFrom, nTo) of anRowIdx by the keys they point to.
+ */
+public void sortIndex(int[] anRowIdx, int nFrom, int nTo)
+{
+    sort(anRowIdx, nFrom, nTo, 0);
+}
+
+private void sort(int[] anRowIdx, int nFrom, int nTo, int nDepth)
+{
+    int nLow = nFrom;
+    int nHigh = nTo;
+    int nPos = nDepth;
+    while (nHigh - nLow > INSERTION_SORT_THRESHOLD && nPos < m_nStride)
+    {
+        int nPivot = medianOfThree(getByte(anRowIdx[nLow], nPos), getByte(anRowIdx[(nLow + nHigh) >>> 1], nPos),
+            getByte(anRowIdx[nHigh - 1], nPos));
+
+        int nLt = nLow;
+        int nGt = nHigh - 1;
+        int i = nLow;
+        while (i <= nGt)
+        {
+            int nByte = getByte(anRowIdx[i], nPos);
+            if (nByte < nPivot)
+            {
+                swap(anRowIdx, nLt++, i++);
+            }
+            else if (nByte > nPivot)
+            {
+                swap(anRowIdx, i, nGt--);
+            }
+            else
+            {
+                i++;
+            }
+        }
+
+        sort(anRowIdx, nLow, nLt, nPos);
+        sort(anRowIdx, nGt + 1, nHigh, nPos);
+
+        // The rows equal to the pivot byte continue with the next byte
+        nLow = nLt;
+        nHigh = nGt + 1;
+        nPos++;
+    }
+
+    if (nPos < m_nStride)
+    {
+        insertionSort(anRowIdx, nLow, nHigh, nPos);
+    }
+}
+
+/**
+ * Sorts rows that are equal before byte nPos by comparing their keys from nPos onwards.
+ */
+private void insertionSort(int[] anRowIdx, int nFrom, int nTo, int nPos)
+{
+    int nLength = m_nStride - nPos;
+    for (int i = nFrom + 1; i < nTo; i++)
+    {
+        int nRowIdx = anRowIdx[i];
+        byte[] aChunk = m_keySlab.getChunk(nRowIdx);
+        int nOffset = m_keySlab.getOffset(nRowIdx) + nPos;
+        int j = i;
+        for (; j > nFrom; j--)
+        {
+            int nPrevRowIdx = anRowIdx[j - 1];
+            if (BinaryKeyComparator.compareKeys(m_keySlab.getChunk(nPrevRowIdx), m_keySlab.getOffset(nPrevRowIdx)
+                + nPos, aChunk, nOffset, nLength) <= 0)
+            {
+                break;
+            }
+            anRowIdx[j] = nPrevRowIdx;
+        }
+        anRowIdx[j] = nRowIdx;
+    }
+}
+
+private int getByte(int nRowIdx, int nPos)
+{
+    return m_keySlab.getChunk(nRowIdx)[m_keySlab.getOffset(nRowIdx) + nPos] & 0xFF;
+}
+
+private static int medianOfThree(int a, int b, int c)
+{
+    return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+}
+
+private static void swap(int[] anRowIdx, int i, int j)
+{
+    int nTemp = anRowIdx[i];
+    anRowIdx[i] = anRowIdx[j];
+    anRowIdx[j] = nTemp;
+}
+} ///////// End of class
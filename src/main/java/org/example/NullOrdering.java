@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: NullOrdering.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+/**
+ * NullOrdering decides whether null values of a sort column are placed before or after all the non null values. The
+ * ordering of nulls is independent of the SortDirection of the column.
+ */
+public enum NullOrdering
+{
+    NULLS_FIRST,
+    NULLS_LAST;
+
+/**
+ * Returns the null ordering that matches FieldData.compareTo, which treats null as larger than any value.
+ */
+public static NullOrdering getDefault(SortDirection direction)
+{
+    return direction.isDescending() ? NULLS_FIRST : NULLS_LAST;
+}
+} ///////// End of class
@@ -0,0 +1,449 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: ParallelParquetLoader.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.io.InputFile;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * ParallelParquetLoader reads the row groups of a Parquet file concurrently. The row groups are listed from the footer
+ * and every one is read by its own ParquetColumnReader, limited to the byte range of the row group, on a fixed size
+ * thread pool. loadKeys encodes every row group straight into its own range of one KeySlab, so the keys need no copy
+ * afterwards; loadRowBatch reads a RowBatch per row group and appends them in order.
+ *
+ * The min/max statistics of the leading sort column are kept for every row group. When they show that the row groups
+ * don't overlap, the row groups are loaded in the order of their ranges and isPartitioned returns true: sorting every
+ * row group on its own then sorts the whole file, which sortKeys does in parallel.
+ */
+public class ParallelParquetLoader implements AutoCloseable
+{
+
+private final InputFile m_inputFile;
+private final RowInfo m_rowInfo;
+private final SortSpec m_sortSpec;
+private final ExecutorService m_executorService;
+
+private final List<RowGroup> m_listRowGroup;
+private final List<BlockMetaData> m_listBlockMetaData;
+private final boolean m_bPartitioned;
+private final long m_lRowCount;
+
+public ParallelParquetLoader(java.nio.file.Path path, RowInfo rowInfo, SortSpec sortSpec) throws IOException
+{
+    this(ParquetColumnReader.toInputFile(path), rowInfo, sortSpec, Runtime.getRuntime().availableProcessors());
+}
+
+public ParallelParquetLoader(InputFile inputFile, RowInfo rowInfo, SortSpec sortSpec, int nThreadCount)
+    throws IOException
+{
+    m_inputFile = inputFile;
+    m_rowInfo = rowInfo;
+    m_sortSpec = sortSpec;
+
+    String sLeadingColumnName = sortSpec.getSortFieldCount() > 0
+        ? ParquetColumnReader.getColumnName(rowInfo.getFieldInfo(sortSpec.getSortField(0).getFieldIdx())) : null;
+
+    List<RowGroup> listRowGroup = new ArrayList<>();
+    try (ParquetFileReader parquetFileReader = ParquetFileReader.open(inputFile))
+    {
+        m_listBlockMetaData = parquetFileReader.getFooter().getBlocks();
+        for (int i = 0; i < m_listBlockMetaData.size(); i++)
+        {
+            listRowGroup.add(new RowGroup(i, m_listBlockMetaData.get(i), sLeadingColumnName));
+        }
+    }
+
+    m_bPartitioned = sortByRange(listRowGroup, sortSpec);
+    long lRowCount = 0;
+    for (RowGroup rowGroup : listRowGroup)
+    {
+        rowGroup.m_lFirstRowIdx = lRowCount;
+        lRowCount += rowGroup.m_lRowCount;
+    }
+    m_lRowCount = lRowCount;
+    m_listRowGroup = Collections.unmodifiableList(listRowGroup);
+    m_executorService = Executors.newFixedThreadPool(nThreadCount);
+}
+
+public RowInfo getRowInfo()
+{
+    return m_rowInfo;
+}
+
+public long getRowCount()
+{
+    return m_lRowCount;
+}
+
+/**
+ * Returns the row groups in load order, with their statistics on the leading sort column.
+ */
+public List<RowGroup> getRowGroups()
+{
+    return m_listRowGroup;
+}
+
+/**
+ * Returns true when the row groups are loaded in the order of the leading sort column and none of their ranges overlap,
+ * so the loaded rows are sorted once every row group is.
+ */
+public boolean isPartitioned()
+{
+    return m_bPartitioned;
+}
+
+/**
+ * Returns the range of an INTEGER, DATE, LONG or BOOLEAN field over all the row groups, as read from the column
+ * statistics in the footer, or null when a row group has no statistics for the column. A column that is all null has
+ * the range [0, 0]. The range can be used to create a packed RowKeyEncoder without a scan of the rows.
+ */
+public FieldRange getFieldRange(int nFieldIdx)
+{
+    FieldInfo fieldInfo = m_rowInfo.getFieldInfo(nFieldIdx);
+    if (!FieldRange.isSupported(fieldInfo.getFieldType()))
+    {
+        throw new UnsupportedOperationException("Not a packable field. FieldType: " + fieldInfo.getFieldType());
+    }
+
+    String sColumnName = ParquetColumnReader.getColumnName(fieldInfo);
+    FieldRange fieldRange = null;
+    for (BlockMetaData blockMetaData : m_listBlockMetaData)
+    {
+        Statistics<?> statistics = null;
+        for (ColumnChunkMetaData columnChunkMetaData : blockMetaData.getColumns())
+        {
+            String[] asPath = columnChunkMetaData.getPath().toArray();
+            if (asPath.length == 1 && asPath[0].equals(sColumnName))
+            {
+                statistics = columnChunkMetaData.getStatistics();
+            }
+        }
+        if (statistics == null || statistics.isEmpty())
+        {
+            return null;
+        }
+        if (!statistics.hasNonNullValue())
+        {
+            continue;
+        }
+
+        FieldRange fieldRangeRowGroup = new FieldRange(toLong(statistics.genericGetMin()),
+            toLong(statistics.genericGetMax()));
+        fieldRange = fieldRange == null ? fieldRangeRowGroup : fieldRange.union(fieldRangeRowGroup);
+    }
+    return fieldRange != null ? fieldRange : new FieldRange(0, 0);
+}
+
+/**
+ * Reads all the row groups in parallel and returns their rows in one RowBatch, in load order.
+ */
+public RowBatch loadRowBatch() throws IOException
+{
+    List<Future<RowBatch>> listFuture = new ArrayList<>();
+    for (RowGroup rowGroup : m_listRowGroup)
+    {
+        listFuture.add(m_executorService.submit(() -> readRowGroup(rowGroup, null)));
+    }
+
+    RowBatch rowBatchOut = new RowBatch(m_rowInfo, toRowCount(m_lRowCount));
+    for (Future<RowBatch> future : listFuture)
+    {
+        rowBatchOut.appendBatch(getResult(future));
+    }
+    return rowBatchOut;
+}
+
+/**
+ * Reads all the row groups in parallel and encodes their rows with the rowKeyEncoder, which must be built on the
+ * RowInfo of this loader. Every row group is written into its own range of the returned slab.
+ */
+public KeySlab loadKeys(RowKeyEncoder rowKeyEncoder) throws IOException
+{
+    KeySlab keySlab = new KeySlab(rowKeyEncoder, toRowCount(m_lRowCount));
+    keySlab.setRowCount(toRowCount(m_lRowCount));
+
+    List<Future<RowBatch>> listFuture = new ArrayList<>();
+    for (RowGroup rowGroup : m_listRowGroup)
+    {
+        listFuture.add(m_executorService.submit(() -> readRowGroup(rowGroup, keySlab)));
+    }
+    for (Future<RowBatch> future : listFuture)
+    {
+        getResult(future);
+    }
+    return keySlab;
+}
+
+/**
+ * Sorts a slab returned by loadKeys. When the input is partitioned, the ranges of the row groups are radix sorted in
+ * parallel and stay in place; otherwise the whole slab is sorted with the radix sort.
+ */
+public void sortKeys(KeySlab keySlab) throws IOException
+{
+    if (!m_bPartitioned)
+    {
+        new MsdRadixSorter(keySlab).sort();
+        return;
+    }
+
+    List<Future<RowBatch>> listFuture = new ArrayList<>();
+    for (RowGroup rowGroup : m_listRowGroup)
+    {
+        int nFromRowIdx = (int) rowGroup.m_lFirstRowIdx;
+        int nToRowIdx = (int) (rowGroup.m_lFirstRowIdx + rowGroup.m_lRowCount);
+        listFuture.add(m_executorService.submit(() ->
+        {
+            new MsdRadixSorter(keySlab).sort(nFromRowIdx, nToRowIdx);
+            return null;
+        }));
+    }
+    for (Future<RowBatch> future : listFuture)
+    {
+        getResult(future);
+    }
+}
+
+@Override
+public void close()
+{
+    m_executorService.shutdown();
+}
+
+/**
+ * Reads one row group into a RowBatch. When keySlab is given, the rows are encoded into it from the first row index of
+ * the row group on.
+ */
+private RowBatch readRowGroup(RowGroup rowGroup, KeySlab keySlab) throws IOException
+{
+    ParquetReadOptions parquetReadOptions = ParquetReadOptions.builder()
+        .withRange(rowGroup.m_lStartingPos, rowGroup.m_lStartingPos + rowGroup.m_lCompressedSize).build();
+    try (ParquetColumnReader parquetColumnReader = new ParquetColumnReader(
+        ParquetFileReader.open(m_inputFile, parquetReadOptions), m_rowInfo))
+    {
+        RowBatch rowBatch = parquetColumnReader.readNextRowGroup();
+        if (rowBatch == null || rowBatch.getRowCount() != rowGroup.m_lRowCount)
+        {
+            throw new IOException("Row group " + rowGroup.m_nOrdinal + " could not be read");
+        }
+
+        if (keySlab != null)
+        {
+            RowKeyEncoder rowKeyEncoder = keySlab.getRowKeyEncoder();
+            int nSlabRowIdx = (int) rowGroup.m_lFirstRowIdx;
+            for (int i = 0; i < rowBatch.getRowCount(); i++)
+            {
+                rowKeyEncoder.encodeInto(rowBatch, i, keySlab, nSlabRowIdx + i);
+            }
+        }
+        return rowBatch;
+    }
+}
+
+/**
+ * Orders the row groups by the leading sort column when their statistics show that no two ranges overlap, and returns
+ * whether they were. Row groups with nulls or without statistics can't be ordered.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+private static boolean sortByRange(List<RowGroup> listRowGroup, SortSpec sortSpec)
+{
+    if (sortSpec.getSortFieldCount() == 0 || listRowGroup.isEmpty())
+    {
+        return false;
+    }
+
+    Comparator comparator = null;
+    for (RowGroup rowGroup : listRowGroup)
+    {
+        if (!rowGroup.hasStatistics() || rowGroup.m_lNullCount != 0)
+        {
+            return false;
+        }
+        comparator = rowGroup.m_comparator;
+    }
+
+    Comparator<Object> valueComparator = sortSpec.getSortField(0).isDescending() ? comparator.reversed() : comparator;
+    RowGroup[] aRowGroup = listRowGroup.toArray(new RowGroup[0]);
+    Arrays.sort(aRowGroup, (rowGroup1, rowGroup2) -> valueComparator.compare(getLow(rowGroup1, sortSpec),
+        getLow(rowGroup2, sortSpec)));
+    for (int i = 1; i < aRowGroup.length; i++)
+    {
+        // Equal bounds are an overlap: the rows would also have to be ordered by the other sort fields
+        if (valueComparator.compare(getHigh(aRowGroup[i - 1], sortSpec), getLow(aRowGroup[i], sortSpec)) >= 0)
+        {
+            return false;
+        }
+    }
+
+    listRowGroup.clear();
+    Collections.addAll(listRowGroup, aRowGroup);
+    return true;
+}
+
+private static Object getLow(RowGroup rowGroup, SortSpec sortSpec)
+{
+    return sortSpec.getSortField(0).isDescending() ? rowGroup.m_max : rowGroup.m_min;
+}
+
+private static Object getHigh(RowGroup rowGroup, SortSpec sortSpec)
+{
+    return sortSpec.getSortField(0).isDescending() ? rowGroup.m_min : rowGroup.m_max;
+}
+
+private static long toLong(Object value)
+{
+    if (value instanceof Boolean)
+    {
+        return (Boolean) value ? 1 : 0;
+    }
+    return ((Number) value).longValue();
+}
+
+private static <T> T getResult(Future<T> future) throws IOException
+{
+    try
+    {
+        return future.get();
+    }
+    catch (InterruptedException e)
+    {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while loading row groups", e);
+    }
+    catch (ExecutionException e)
+    {
+        if (e.getCause() instanceof IOException)
+        {
+            throw (IOException) e.getCause();
+        }
+        throw new IOException("Row group could not be loaded", e.getCause());
+    }
+}
+
+private static int toRowCount(long lRowCount)
+{
+    if (lRowCount > Integer.MAX_VALUE - 8)
+    {
+        throw new UnsupportedOperationException("Too many rows to load at once. Rows: " + lRowCount);
+    }
+    return (int) lRowCount;
+}
+
+/**
+ * A row group of the file with the statistics of the leading sort column.
+ */
+public static class RowGroup
+{
+
+    private final int m_nOrdinal;
+    private final long m_lRowCount;
+    private final long m_lStartingPos;
+    private final long m_lCompressedSize;
+
+    private Object m_min;
+    private Object m_max;
+    private long m_lNullCount = -1;
+    private Comparator<?> m_comparator;
+
+    private long m_lFirstRowIdx;
+
+    RowGroup(int nOrdinal, BlockMetaData blockMetaData, String sLeadingColumnName)
+    {
+        m_nOrdinal = nOrdinal;
+        m_lRowCount = blockMetaData.getRowCount();
+        m_lStartingPos = blockMetaData.getStartingPos();
+        m_lCompressedSize = blockMetaData.getCompressedSize();
+
+        for (ColumnChunkMetaData columnChunkMetaData : blockMetaData.getColumns())
+        {
+            String[] asPath = columnChunkMetaData.getPath().toArray();
+            if (asPath.length == 1 && asPath[0].equals(sLeadingColumnName))
+            {
+                Statistics<?> statistics = columnChunkMetaData.getStatistics();
+                if (statistics != null && statistics.hasNonNullValue() && statistics.isNumNullsSet())
+                {
+                    m_min = statistics.genericGetMin();
+                    m_max = statistics.genericGetMax();
+                    m_lNullCount = statistics.getNumNulls();
+                    m_comparator = statistics.comparator();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the row group in the file.
+     */
+    public int getOrdinal()
+    {
+        return m_nOrdinal;
+    }
+
+    public long getRowCount()
+    {
+        return m_lRowCount;
+    }
+
+    /**
+     * Returns the index of the first row of the row group in the loaded rows.
+     */
+    public long getFirstRowIdx()
+    {
+        return m_lFirstRowIdx;
+    }
+
+    public boolean hasStatistics()
+    {
+        return m_comparator != null;
+    }
+
+    /**
+     * Returns the smallest value of the leading sort column, as read from the statistics, or null without statistics.
+     */
+    public Object getMin()
+    {
+        return m_min;
+    }
+
+    public Object getMax()
+    {
+        return m_max;
+    }
+
+    /**
+     * Returns the number of nulls of the leading sort column, or -1 when it is not known.
+     */
+    public long getNullCount()
+    {
+        return m_lNullCount;
+    }
+
+    @Override
+    public String toString()
+    {
+        return getClass().getSimpleName() + '{' + "ordinal=" + m_nOrdinal + " rowCount=" + m_lRowCount + " min="
+            + m_min + " max=" + m_max + " nullCount=" + m_lNullCount + '}';
+    }
+}
+} ///////// End of class
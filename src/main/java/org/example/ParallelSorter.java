@@ -0,0 +1,465 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: ParallelSorter.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * ParallelSorter is a fork join merge sort. The input is split into as many chunks as the parallelism, every chunk is
+ * sorted by its own worker, and the sorted chunks are combined with a parallel merge that splits each merge in two
+ * around the median of the larger run.
+ *
+ * Chunks of a KeySlab are sorted with MsdRadixSorter on an int[] of row indexes. Arrays and lists of objects are sorted
+ * with the given comparator. The merge is stable, so the object sort gives the same result as List.sort.
+ */
+public class ParallelSorter implements AutoCloseable
+{
+
+static final int SEQUENTIAL_MERGE_THRESHOLD = 8192;
+
+private final int m_nParallelism;
+private final ForkJoinPool m_forkJoinPool;
+
+public ParallelSorter()
+{
+    this(Runtime.getRuntime().availableProcessors());
+}
+
+public ParallelSorter(int nParallelism)
+{
+    if (nParallelism < 1)
+    {
+        throw new IllegalArgumentException("Parallelism must be at least 1. Parallelism: " + nParallelism);
+    }
+
+    m_nParallelism = nParallelism;
+    m_forkJoinPool = new ForkJoinPool(nParallelism);
+}
+
+public int getParallelism()
+{
+    return m_nParallelism;
+}
+
+/**
+ * Returns the row indexes of the slab in key order without moving the keys.
+ */
+public int[] sortIndex(KeySlab keySlab)
+{
+    int nRowCount = keySlab.getRowCount();
+    int[] anRowIdx = new int[nRowCount];
+    for (int i = 0; i < nRowCount; i++)
+    {
+        anRowIdx[i] = i;
+    }
+
+    m_forkJoinPool.invoke(new IndexSortTask(keySlab, anRowIdx, new int[nRowCount], 0, nRowCount,
+        getLeafSize(nRowCount)));
+    return anRowIdx;
+}
+
+/**
+ * Returns a new slab with the rows of keySlab in key order. keySlab is left untouched.
+ */
+public KeySlab sort(KeySlab keySlab)
+{
+    int[] anRowIdx = sortIndex(keySlab);
+
+    KeySlab keySlabOut = keySlab.createEmptyCopy(anRowIdx.length);
+    keySlabOut.setRowCount(anRowIdx.length);
+    m_forkJoinPool.invoke(new GatherTask(keySlab, keySlabOut, anRowIdx, 0, anRowIdx.length,
+        getLeafSize(anRowIdx.length)));
+    return keySlabOut;
+}
+
+public <T> void sort(T[] aElement, Comparator<? super T> comparator)
+{
+    @SuppressWarnings("unchecked")
+    T[] aAux = (T[]) new Object[aElement.length];
+    m_forkJoinPool.invoke(new ObjectSortTask<>(aElement, aAux, comparator, 0, aElement.length,
+        getLeafSize(aElement.length)));
+}
+
+/**
+ * Sorts the list in place, the same as List.sort but in parallel.
+ */
+@SuppressWarnings("unchecked")
+public <T> void sort(List<T> list, Comparator<? super T> comparator)
+{
+    T[] aElement = (T[]) list.toArray();
+    sort(aElement, comparator);
+
+    ListIterator<T> iterator = list.listIterator();
+    for (T element : aElement)
+    {
+        iterator.next();
+        iterator.set(element);
+    }
+}
+
+@Override
+public void close()
+{
+    m_forkJoinPool.shutdown();
+}
+
+private int getLeafSize(int nCount)
+{
+    return Math.max(1, (nCount + m_nParallelism - 1) / m_nParallelism);
+}
+
+private static final class IndexSortTask extends RecursiveAction
+{
+
+    private static final long serialVersionUID = 1963305612907716405L;
+
+    private final KeySlab m_keySlab;
+    private final int[] m_anRowIdx;
+    private final int[] m_anAux;
+    private final int m_nFrom;
+    private final int m_nTo;
+    private final int m_nLeafSize;
+
+    IndexSortTask(KeySlab keySlab, int[] anRowIdx, int[] anAux, int nFrom, int nTo, int nLeafSize)
+    {
+        m_keySlab = keySlab;
+        m_anRowIdx = anRowIdx;
+        m_anAux = anAux;
+        m_nFrom = nFrom;
+        m_nTo = nTo;
+        m_nLeafSize = nLeafSize;
+    }
+
+    @Override
+    protected void compute()
+    {
+        if (m_nTo - m_nFrom <= m_nLeafSize)
+        {
+            new MsdRadixSorter(m_keySlab).sortIndex(m_anRowIdx, m_nFrom, m_nTo);
+            return;
+        }
+
+        int nMid = (m_nFrom + m_nTo) >>> 1;
+        invokeAll(new IndexSortTask(m_keySlab, m_anRowIdx, m_anAux, m_nFrom, nMid, m_nLeafSize),
+            new IndexSortTask(m_keySlab, m_anRowIdx, m_anAux, nMid, m_nTo, m_nLeafSize));
+
+        if (m_keySlab.compare(m_anRowIdx[nMid - 1], m_anRowIdx[nMid]) <= 0)
+        {
+            return; // The two halves are already in order
+        }
+
+        new IndexMergeTask(m_keySlab, m_anRowIdx, m_nFrom, nMid, nMid, m_nTo, m_anAux, m_nFrom).invoke();
+        System.arraycopy(m_anAux, m_nFrom, m_anRowIdx, m_nFrom, m_nTo - m_nFrom);
+    }
+}
+
+private static final class IndexMergeTask extends RecursiveAction
+{
+
+    private static final long serialVersionUID = -3504566283457271049L;
+
+    private final KeySlab m_keySlab;
+    private final int[] m_anSrc;
+    private final int m_nFrom1;
+    private final int m_nTo1;
+    private final int m_nFrom2;
+    private final int m_nTo2;
+    private final int[] m_anDest;
+    private final int m_nDestFrom;
+
+    IndexMergeTask(KeySlab keySlab, int[] anSrc, int nFrom1, int nTo1, int nFrom2, int nTo2, int[] anDest,
+        int nDestFrom)
+    {
+        m_keySlab = keySlab;
+        m_anSrc = anSrc;
+        m_nFrom1 = nFrom1;
+        m_nTo1 = nTo1;
+        m_nFrom2 = nFrom2;
+        m_nTo2 = nTo2;
+        m_anDest = anDest;
+        m_nDestFrom = nDestFrom;
+    }
+
+    @Override
+    protected void compute()
+    {
+        int nLength1 = m_nTo1 - m_nFrom1;
+        int nLength2 = m_nTo2 - m_nFrom2;
+
+        if (nLength1 + nLength2 <= SEQUENTIAL_MERGE_THRESHOLD)
+        {
+            mergeSequential();
+            return;
+        }
+
+        // Equal keys of the first run must stay ahead of the equal keys of the second run
+        int nSplit1;
+        int nSplit2;
+        if (nLength1 >= nLength2)
+        {
+            nSplit1 = (m_nFrom1 + m_nTo1) >>> 1;
+            nSplit2 = lowerBound(m_nFrom2, m_nTo2, m_anSrc[nSplit1]);
+        }
+        else
+        {
+            nSplit2 = (m_nFrom2 + m_nTo2) >>> 1;
+            nSplit1 = upperBound(m_nFrom1, m_nTo1, m_anSrc[nSplit2]);
+        }
+
+        int nDestSplit = m_nDestFrom + (nSplit1 - m_nFrom1) + (nSplit2 - m_nFrom2);
+        invokeAll(new IndexMergeTask(m_keySlab, m_anSrc, m_nFrom1, nSplit1, m_nFrom2, nSplit2, m_anDest, m_nDestFrom),
+            new IndexMergeTask(m_keySlab, m_anSrc, nSplit1, m_nTo1, nSplit2, m_nTo2, m_anDest, nDestSplit));
+    }
+
+    private void mergeSequential()
+    {
+        int i = m_nFrom1;
+        int j = m_nFrom2;
+        int nDest = m_nDestFrom;
+        while (i < m_nTo1 && j < m_nTo2)
+        {
+            m_anDest[nDest++] = m_keySlab.compare(m_anSrc[j], m_anSrc[i]) < 0 ? m_anSrc[j++] : m_anSrc[i++];
+        }
+        System.arraycopy(m_anSrc, i, m_anDest, nDest, m_nTo1 - i);
+        System.arraycopy(m_anSrc, j, m_anDest, nDest + m_nTo1 - i, m_nTo2 - j);
+    }
+
+    private int lowerBound(int nFrom, int nTo, int nRowIdx)
+    {
+        while (nFrom < nTo)
+        {
+            int nMid = (nFrom + nTo) >>> 1;
+            if (m_keySlab.compare(m_anSrc[nMid], nRowIdx) < 0)
+            {
+                nFrom = nMid + 1;
+            }
+            else
+            {
+                nTo = nMid;
+            }
+        }
+        return nFrom;
+    }
+
+    private int upperBound(int nFrom, int nTo, int nRowIdx)
+    {
+        while (nFrom < nTo)
+        {
+            int nMid = (nFrom + nTo) >>> 1;
+            if (m_keySlab.compare(m_anSrc[nMid], nRowIdx) <= 0)
+            {
+                nFrom = nMid + 1;
+            }
+            else
+            {
+                nTo = nMid;
+            }
+        }
+        return nFrom;
+    }
+}
+
+private static final class ObjectSortTask<T> extends RecursiveAction
+{
+
+    private static final long serialVersionUID = 2871542017012993326L;
+
+    private final T[] m_aElement;
+    private final T[] m_aAux;
+    private final Comparator<? super T> m_comparator;
+    private final int m_nFrom;
+    private final int m_nTo;
+    private final int m_nLeafSize;
+
+    ObjectSortTask(T[] aElement, T[] aAux, Comparator<? super T> comparator, int nFrom, int nTo, int nLeafSize)
+    {
+        m_aElement = aElement;
+        m_aAux = aAux;
+        m_comparator = comparator;
+        m_nFrom = nFrom;
+        m_nTo = nTo;
+        m_nLeafSize = nLeafSize;
+    }
+
+    @Override
+    protected void compute()
+    {
+        if (m_nTo - m_nFrom <= m_nLeafSize)
+        {
+            Arrays.sort(m_aElement, m_nFrom, m_nTo, m_comparator);
+            return;
+        }
+
+        int nMid = (m_nFrom + m_nTo) >>> 1;
+        invokeAll(new ObjectSortTask<>(m_aElement, m_aAux, m_comparator, m_nFrom, nMid, m_nLeafSize),
+            new ObjectSortTask<>(m_aElement, m_aAux, m_comparator, nMid, m_nTo, m_nLeafSize));
+
+        if (m_comparator.compare(m_aElement[nMid - 1], m_aElement[nMid]) <= 0)
+        {
+            return; // The two halves are already in order
+        }
+
+        new ObjectMergeTask<>(m_aElement, m_comparator, m_nFrom, nMid, nMid, m_nTo, m_aAux, m_nFrom).invoke();
+        System.arraycopy(m_aAux, m_nFrom, m_aElement, m_nFrom, m_nTo - m_nFrom);
+    }
+}
+
+private static final class ObjectMergeTask<T> extends RecursiveAction
+{
+
+    private static final long serialVersionUID = 6315921475212373860L;
+
+    private final T[] m_aSrc;
+    private final Comparator<? super T> m_comparator;
+    private final int m_nFrom1;
+    private final int m_nTo1;
+    private final int m_nFrom2;
+    private final int m_nTo2;
+    private final T[] m_aDest;
+    private final int m_nDestFrom;
+
+    ObjectMergeTask(T[] aSrc, Comparator<? super T> comparator, int nFrom1, int nTo1, int nFrom2, int nTo2,
+        T[] aDest, int nDestFrom)
+    {
+        m_aSrc = aSrc;
+        m_comparator = comparator;
+        m_nFrom1 = nFrom1;
+        m_nTo1 = nTo1;
+        m_nFrom2 = nFrom2;
+        m_nTo2 = nTo2;
+        m_aDest = aDest;
+        m_nDestFrom = nDestFrom;
+    }
+
+    @Override
+    protected void compute()
+    {
+        int nLength1 = m_nTo1 - m_nFrom1;
+        int nLength2 = m_nTo2 - m_nFrom2;
+
+        if (nLength1 + nLength2 <= SEQUENTIAL_MERGE_THRESHOLD)
+        {
+            mergeSequential();
+            return;
+        }
+
+        // Equal elements of the first run must stay ahead of the equal elements of the second run
+        int nSplit1;
+        int nSplit2;
+        if (nLength1 >= nLength2)
+        {
+            nSplit1 = (m_nFrom1 + m_nTo1) >>> 1;
+            nSplit2 = lowerBound(m_nFrom2, m_nTo2, m_aSrc[nSplit1]);
+        }
+        else
+        {
+            nSplit2 = (m_nFrom2 + m_nTo2) >>> 1;
+            nSplit1 = upperBound(m_nFrom1, m_nTo1, m_aSrc[nSplit2]);
+        }
+
+        int nDestSplit = m_nDestFrom + (nSplit1 - m_nFrom1) + (nSplit2 - m_nFrom2);
+        invokeAll(new ObjectMergeTask<>(m_aSrc, m_comparator, m_nFrom1, nSplit1, m_nFrom2, nSplit2, m_aDest,
+                m_nDestFrom),
+            new ObjectMergeTask<>(m_aSrc, m_comparator, nSplit1, m_nTo1, nSplit2, m_nTo2, m_aDest, nDestSplit));
+    }
+
+    private void mergeSequential()
+    {
+        int i = m_nFrom1;
+        int j = m_nFrom2;
+        int nDest = m_nDestFrom;
+        while (i < m_nTo1 && j < m_nTo2)
+        {
+            m_aDest[nDest++] = m_comparator.compare(m_aSrc[j], m_aSrc[i]) < 0 ? m_aSrc[j++] : m_aSrc[i++];
+        }
+        System.arraycopy(m_aSrc, i, m_aDest, nDest, m_nTo1 - i);
+        System.arraycopy(m_aSrc, j, m_aDest, nDest + m_nTo1 - i, m_nTo2 - j);
+    }
+
+    private int lowerBound(int nFrom, int nTo, T element)
+    {
+        while (nFrom < nTo)
+        {
+            int nMid = (nFrom + nTo) >>> 1;
+            if (m_comparator.compare(m_aSrc[nMid], element) < 0)
+            {
+                nFrom = nMid + 1;
+            }
+            else
+            {
+                nTo = nMid;
+            }
+        }
+        return nFrom;
+    }
+
+    private int upperBound(int nFrom, int nTo, T element)
+    {
+        while (nFrom < nTo)
+        {
+            int nMid = (nFrom + nTo) >>> 1;
+            if (m_comparator.compare(m_aSrc[nMid], element) <= 0)
+            {
+                nFrom = nMid + 1;
+            }
+            else
+            {
+                nTo = nMid;
+            }
+        }
+        return nFrom;
+    }
+}
+
+private static final class GatherTask extends RecursiveAction
+{
+
+    private static final long serialVersionUID = -8290518209766387044L;
+
+    private final KeySlab m_keySlabSrc;
+    private final KeySlab m_keySlabDest;
+    private final int[] m_anRowIdx;
+    private final int m_nFrom;
+    private final int m_nTo;
+    private final int m_nLeafSize;
+
+    GatherTask(KeySlab keySlabSrc, KeySlab keySlabDest, int[] anRowIdx, int nFrom, int nTo, int nLeafSize)
+    {
+        m_keySlabSrc = keySlabSrc;
+        m_keySlabDest = keySlabDest;
+        m_anRowIdx = anRowIdx;
+        m_nFrom = nFrom;
+        m_nTo = nTo;
+        m_nLeafSize = nLeafSize;
+    }
+
+    @Override
+    protected void compute()
+    {
+        if (m_nTo - m_nFrom <= m_nLeafSize)
+        {
+            for (int i = m_nFrom; i < m_nTo; i++)
+            {
+                m_keySlabDest.copyRow(m_keySlabSrc, m_anRowIdx[i], i);
+            }
+            return;
+        }
+
+        int nMid = (m_nFrom + m_nTo) >>> 1;
+        invokeAll(new GatherTask(m_keySlabSrc, m_keySlabDest, m_anRowIdx, m_nFrom, nMid, m_nLeafSize),
+            new GatherTask(m_keySlabSrc, m_keySlabDest, m_anRowIdx, nMid, m_nTo, m_nLeafSize));
+    }
+}
+} ///////// End of class
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: ParquetColumnReader.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReadStore;
+import org.apache.parquet.column.impl.ColumnReadStoreImpl;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.example.data.simple.convert.GroupRecordConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.FileMetaData;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Type;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ParquetColumnReader loads a Parquet file into RowBatch columns or straight into normalized keys. It reads the pages
+ * of every column with the low level ColumnReader API and writes the values into the primitive arrays of the
+ * ColumnVector, so no Group or other object is created per record.
+ *
+ * Only the columns of the RowInfo are read from the file; the others are never decompressed. Every FieldInfo names a
+ * top level, non repeated column: the name of its PrimitiveType when it has one, otherwise its field name. To load only
+ * the sort key columns, pass SortSpec.projectRowInfo and sort with SortSpec.project.
+ */
+public class ParquetColumnReader implements Closeable
+{
+
+private final ParquetFileReader m_parquetFileReader;
+private final RowInfo m_rowInfo;
+private final MessageType m_requestedSchema;
+private final ColumnDescriptor[] m_aColumnDescriptor;
+private final String m_sCreatedBy;
+
+public ParquetColumnReader(InputFile inputFile, RowInfo rowInfo) throws IOException
+{
+    this(ParquetFileReader.open(inputFile), rowInfo);
+}
+
+/**
+ * Reads the columns of the rowInfo with a reader that is already open. The reader is closed with this object.
+ */
+ParquetColumnReader(ParquetFileReader parquetFileReader, RowInfo rowInfo)
+{
+    m_parquetFileReader = parquetFileReader;
+    m_rowInfo = rowInfo;
+
+    FileMetaData fileMetaData = parquetFileReader.getFooter().getFileMetaData();
+    MessageType fileSchema = fileMetaData.getSchema();
+    m_sCreatedBy = fileMetaData.getCreatedBy();
+
+    Map<String, Type> mapType = new LinkedHashMap<>();
+    for (FieldInfo fieldInfo : rowInfo.getAllFieldInfo())
+    {
+        String sColumnName = getColumnName(fieldInfo);
+        if (!fileSchema.containsField(sColumnName))
+        {
+            throw new IllegalArgumentException("Column not found in the Parquet file. Column: " + sColumnName);
+        }
+
+        Type type = fileSchema.getType(sColumnName);
+        if (!type.isPrimitive() || type.isRepetition(Type.Repetition.REPEATED))
+        {
+            throw new UnsupportedOperationException("Only flat columns can be read. Column: " + sColumnName);
+        }
+        mapType.put(sColumnName, type);
+    }
+
+    m_requestedSchema = new MessageType(fileSchema.getName(), new ArrayList<>(mapType.values()));
+    m_aColumnDescriptor = new ColumnDescriptor[rowInfo.getFieldCount()];
+    for (int i = 0; i < m_aColumnDescriptor.length; i++)
+    {
+        m_aColumnDescriptor[i] = m_requestedSchema.getColumnDescription(
+            new String[]{getColumnName(rowInfo.getFieldInfo(i))});
+    }
+    parquetFileReader.setRequestedSchema(m_requestedSchema);
+}
+
+public static ParquetColumnReader open(java.nio.file.Path path, RowInfo rowInfo) throws IOException
+{
+    return new ParquetColumnReader(toInputFile(path), rowInfo);
+}
+
+static InputFile toInputFile(java.nio.file.Path path) throws IOException
+{
+    return HadoopInputFile.fromPath(new Path(path.toUri()), new Configuration());
+}
+
+/**
+ * Returns the RowInfo of all the top level, non repeated columns of the file, with the FieldType of every column given
+ * by FieldType.fromPrimitiveType.
+ */
+public static RowInfo readRowInfo(InputFile inputFile) throws IOException
+{
+    try (ParquetFileReader parquetFileReader = ParquetFileReader.open(inputFile))
+    {
+        MessageType fileSchema = parquetFileReader.getFooter().getFileMetaData().getSchema();
+        List<FieldInfo> listFieldInfo = new ArrayList<>();
+        for (Type type : fileSchema.getFields())
+        {
+            if (type.isPrimitive() && !type.isRepetition(Type.Repetition.REPEATED))
+            {
+                listFieldInfo.add(new FieldInfo(type.getName(), FieldType.fromPrimitiveType(type.asPrimitiveType()),
+                    type.asPrimitiveType()));
+            }
+        }
+        return new RowInfo(listFieldInfo.toArray(FieldInfo.EMPTY_FIELD_INFO_ARRAY));
+    }
+}
+
+static String getColumnName(FieldInfo fieldInfo)
+{
+    return fieldInfo.getPrimitiveType() != null ? fieldInfo.getPrimitiveType().getName() : fieldInfo.getFieldName();
+}
+
+public RowInfo getRowInfo()
+{
+    return m_rowInfo;
+}
+
+/**
+ * Returns the number of rows in the row groups of the file.
+ */
+public long getRowCount()
+{
+    return m_parquetFileReader.getRecordCount();
+}
+
+/**
+ * Reads the next row group into a new RowBatch. Returns null when all the row groups have been read.
+ */
+public RowBatch readNextRowGroup() throws IOException
+{
+    PageReadStore pageReadStore = m_parquetFileReader.readNextRowGroup();
+    if (pageReadStore == null)
+    {
+        return null;
+    }
+
+    RowBatch rowBatch = new RowBatch(m_rowInfo, toRowCount(pageReadStore.getRowCount()));
+    readRowGroup(pageReadStore, rowBatch);
+    return rowBatch;
+}
+
+/**
+ * Appends the rows of the next row group to the rowBatch. Returns false when all the row groups have been read.
+ */
+public boolean readNextRowGroup(RowBatch rowBatch) throws IOException
+{
+    PageReadStore pageReadStore = m_parquetFileReader.readNextRowGroup();
+    if (pageReadStore == null)
+    {
+        return false;
+    }
+
+    readRowGroup(pageReadStore, rowBatch);
+    return true;
+}
+
+/**
+ * Reads all the remaining row groups into one RowBatch.
+ */
+public RowBatch readAll() throws IOException
+{
+    RowBatch rowBatch = new RowBatch(m_rowInfo, toRowCount(getRowCount()));
+    while (readNextRowGroup(rowBatch))
+    {
+        // Every call appends one row group
+    }
+    return rowBatch;
+}
+
+/**
+ * Encodes all the remaining rows into the keySlab with its RowKeyEncoder, which must have been built on the RowInfo of
+ * this reader. Only one row group is held as columns at a time. Returns the number of rows added.
+ */
+public long readKeys(KeySlab keySlab) throws IOException
+{
+    RowKeyEncoder rowKeyEncoder = keySlab.getRowKeyEncoder();
+    if (rowKeyEncoder == null)
+    {
+        throw new IllegalArgumentException("The key slab has no RowKeyEncoder");
+    }
+
+    long lRowCount = 0;
+    RowBatch rowBatch = new RowBatch(m_rowInfo, 0);
+    while (readNextRowGroup(rowBatch))
+    {
+        int nRowCount = rowBatch.getRowCount();
+        int nSlabRowIdx = keySlab.getRowCount();
+        keySlab.setRowCount(nSlabRowIdx + nRowCount);
+        for (int i = 0; i < nRowCount; i++)
+        {
+            rowKeyEncoder.encodeInto(rowBatch, i, keySlab, nSlabRowIdx + i);
+        }
+        lRowCount += nRowCount;
+        rowBatch.clear();
+    }
+    return lRowCount;
+}
+
+@Override
+public void close() throws IOException
+{
+    m_parquetFileReader.close();
+}
+
+private void readRowGroup(PageReadStore pageReadStore, RowBatch rowBatch)
+{
+    int nRowCount = toRowCount(pageReadStore.getRowCount());
+    int nRowIdx = rowBatch.getRowCount();
+    rowBatch.ensureCapacity(nRowIdx + nRowCount);
+
+    ColumnReadStore columnReadStore = new ColumnReadStoreImpl(pageReadStore,
+        new GroupRecordConverter(m_requestedSchema).getRootConverter(), m_requestedSchema, m_sCreatedBy);
+    for (int i = 0; i < m_aColumnDescriptor.length; i++)
+    {
+        rowBatch.getColumnVector(i).readParquetColumn(columnReadStore.getColumnReader(m_aColumnDescriptor[i]), nRowIdx,
+            nRowCount);
+    }
+    rowBatch.setRowCount(nRowIdx + nRowCount);
+}
+
+private static int toRowCount(long lRowCount)
+{
+    if (lRowCount > Integer.MAX_VALUE - 8)
+    {
+        throw new UnsupportedOperationException("Too many rows for a RowBatch. Rows: " + lRowCount);
+    }
+    return (int) lRowCount;
+}
+} ///////// End of class
@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: ParquetRowWriter.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.hadoop.util.HadoopOutputFile;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collections;
+
+/**
+ * ParquetRowWriter writes rows to a Parquet file in the order they are given, typically the output of a sort. Rows come
+ * from a RowBatch, from RowData, or from normalized keys that hold every field of the row. The values are written from
+ * the primitive arrays of the ColumnVector; RowData and keys are first gathered in a RowBatch.
+ *
+ * Every field is a top level column: the PrimitiveType of the FieldInfo when it has one, otherwise the optional column
+ * given by FieldType.toPrimitiveType, named as ParquetColumnReader expects. The row group and page sizes are
+ * configurable, and an existing file is only replaced when asked to. Parquet keeps min/max statistics for every column
+ * chunk and, in the column index, for every page, so on sorted input the ranges of the sort columns are tight and a
+ * reader can skip the row groups and pages outside a range.
+ */
+public class ParquetRowWriter implements Closeable
+{
+
+public static final int DEFAULT_ROW_GROUP_SIZE = ParquetWriter.DEFAULT_BLOCK_SIZE;
+public static final int DEFAULT_PAGE_SIZE = ParquetWriter.DEFAULT_PAGE_SIZE;
+
+private static final int BUFFER_ROW_COUNT = 4096;
+
+private final RowInfo m_rowInfo;
+private final RowBatchWriteSupport m_rowBatchWriteSupport;
+private final ParquetWriter<RowBatch> m_parquetWriter;
+private final RowBatch m_rowBatchBuffer;
+private final RowData m_rowDataDecoded;
+private long m_lRowCount;
+
+public ParquetRowWriter(OutputFile outputFile, RowInfo rowInfo) throws IOException
+{
+    this(outputFile, rowInfo, DEFAULT_ROW_GROUP_SIZE, DEFAULT_PAGE_SIZE, false);
+}
+
+public ParquetRowWriter(OutputFile outputFile, RowInfo rowInfo, long lRowGroupSize, int nPageSize) throws IOException
+{
+    this(outputFile, rowInfo, lRowGroupSize, nPageSize, false);
+}
+
+/**
+ * Creates the file. lRowGroupSize is the target size of a row group in bytes and nPageSize that of a page; smaller
+ * row groups and pages give finer statistics at the cost of more metadata. An existing file is replaced when
+ * bOverwrite is true; otherwise opening it fails.
+ */
+public ParquetRowWriter(OutputFile outputFile, RowInfo rowInfo, long lRowGroupSize, int nPageSize,
+    boolean bOverwrite) throws IOException
+{
+    if (lRowGroupSize <= 0 || nPageSize <= 0 || nPageSize > lRowGroupSize)
+    {
+        throw new IllegalArgumentException("Invalid sizes. Row group size: " + lRowGroupSize + " Page size: "
+            + nPageSize);
+    }
+
+    m_rowInfo = rowInfo;
+    m_rowBatchWriteSupport = new RowBatchWriteSupport(toMessageType(rowInfo));
+    m_parquetWriter = new Builder(outputFile, m_rowBatchWriteSupport)
+        .withRowGroupSize(lRowGroupSize)
+        .withPageSize(nPageSize)
+        .withWriteMode(bOverwrite ? ParquetFileWriter.Mode.OVERWRITE : ParquetFileWriter.Mode.CREATE)
+        .build();
+    m_rowBatchBuffer = new RowBatch(rowInfo, BUFFER_ROW_COUNT);
+    m_rowDataDecoded = new RowData(rowInfo);
+}
+
+public static ParquetRowWriter open(java.nio.file.Path path, RowInfo rowInfo) throws IOException
+{
+    return open(path, rowInfo, false);
+}
+
+/**
+ * Creates the file at the path with the default sizes, replacing an existing file only when bOverwrite is true.
+ */
+public static ParquetRowWriter open(java.nio.file.Path path, RowInfo rowInfo, boolean bOverwrite) throws IOException
+{
+    return new ParquetRowWriter(HadoopOutputFile.fromPath(new Path(path.toUri()), new Configuration()), rowInfo,
+        DEFAULT_ROW_GROUP_SIZE, DEFAULT_PAGE_SIZE, bOverwrite);
+}
+
+/**
+ * Returns the schema of the file: one top level column per field of the rowInfo.
+ */
+public static MessageType toMessageType(RowInfo rowInfo)
+{
+    Type[] aType = new Type[rowInfo.getFieldCount()];
+    for (int i = 0; i < aType.length; i++)
+    {
+        FieldInfo fieldInfo = rowInfo.getFieldInfo(i);
+        PrimitiveType primitiveType = fieldInfo.getPrimitiveType();
+        if (primitiveType == null)
+        {
+            primitiveType = fieldInfo.getFieldType().toPrimitiveType(fieldInfo.getFieldName());
+        }
+        else if (primitiveType.isRepetition(Type.Repetition.REPEATED))
+        {
+            throw new UnsupportedOperationException("Only flat columns can be written. Column: "
+                + primitiveType.getName());
+        }
+        aType[i] = primitiveType;
+    }
+    return new MessageType("row", aType);
+}
+
+public RowInfo getRowInfo()
+{
+    return m_rowInfo;
+}
+
+/**
+ * Returns the number of rows written so far, including the rows still buffered.
+ */
+public long getRowCount()
+{
+    return m_lRowCount + m_rowBatchBuffer.getRowCount();
+}
+
+/**
+ * Writes all the rows of the rowBatch, a batch of the RowInfo of this writer.
+ */
+public void write(RowBatch rowBatch) throws IOException
+{
+    flush();
+    writeRows(rowBatch);
+}
+
+public void write(RowData rowData) throws IOException
+{
+    m_rowBatchBuffer.appendRow(rowData);
+    if (m_rowBatchBuffer.getRowCount() == BUFFER_ROW_COUNT)
+    {
+        flush();
+    }
+}
+
+/**
+ * Decodes and writes all the keys of the keySlab. The keys must hold every field of the RowInfo, as those encoded
+ * with SortSpec.withRemainingFields do.
+ */
+public void write(KeySlab keySlab) throws IOException
+{
+    checkKeyEncoder(keySlab.getRowKeyEncoder());
+    for (int i = 0; i < keySlab.getRowCount(); i++)
+    {
+        write(keySlab.decode(i, m_rowDataDecoded));
+    }
+}
+
+/**
+ * Decodes and writes all the remaining keys of the keyCursor, such as the output of ExternalSorter.sort. The keys must
+ * hold every field of the RowInfo.
+ */
+public void write(KeyCursor keyCursor, RowKeyEncoder rowKeyEncoder) throws IOException
+{
+    checkKeyEncoder(rowKeyEncoder);
+    while (keyCursor.next())
+    {
+        rowKeyEncoder.decodeInto(keyCursor.getKeyBuffer(), keyCursor.getKeyOffset(), m_rowDataDecoded);
+        write(m_rowDataDecoded);
+    }
+}
+
+/**
+ * Writes the buffered rows and the footer, with the statistics of every row group, and closes the file.
+ */
+@Override
+public void close() throws IOException
+{
+    try
+    {
+        flush();
+    }
+    finally
+    {
+        m_parquetWriter.close();
+    }
+}
+
+private void flush() throws IOException
+{
+    if (m_rowBatchBuffer.getRowCount() > 0)
+    {
+        writeRows(m_rowBatchBuffer);
+        m_rowBatchBuffer.clear();
+    }
+}
+
+private void writeRows(RowBatch rowBatch) throws IOException
+{
+    for (int i = 0; i < rowBatch.getRowCount(); i++)
+    {
+        m_rowBatchWriteSupport.m_nRowIdx = i;
+        m_parquetWriter.write(rowBatch);
+    }
+    m_lRowCount += rowBatch.getRowCount();
+}
+
+private void checkKeyEncoder(RowKeyEncoder rowKeyEncoder)
+{
+    if (rowKeyEncoder == null || rowKeyEncoder.getRowInfo().getFieldCount() != m_rowInfo.getFieldCount()
+        || rowKeyEncoder.getKeyFieldCount() != m_rowInfo.getFieldCount())
+    {
+        throw new IllegalArgumentException("The keys must hold every field of the RowInfo. Encoder: " + rowKeyEncoder);
+    }
+}
+
+/**
+ * Writes row m_nRowIdx of the RowBatch given to ParquetWriter.write as one record.
+ */
+private static class RowBatchWriteSupport extends WriteSupport<RowBatch>
+{
+
+    private final MessageType m_messageType;
+    private final String[] m_asColumnName;
+    private RecordConsumer m_recordConsumer;
+    private int m_nRowIdx;
+
+    RowBatchWriteSupport(MessageType messageType)
+    {
+        m_messageType = messageType;
+        m_asColumnName = new String[messageType.getFieldCount()];
+        for (int i = 0; i < m_asColumnName.length; i++)
+        {
+            m_asColumnName[i] = messageType.getFieldName(i);
+        }
+    }
+
+    @Override
+    public WriteContext init(Configuration configuration)
+    {
+        return new WriteContext(m_messageType, Collections.emptyMap());
+    }
+
+    @Override
+    public void prepareForWrite(RecordConsumer recordConsumer)
+    {
+        m_recordConsumer = recordConsumer;
+    }
+
+    @Override
+    public void write(RowBatch rowBatch)
+    {
+        m_recordConsumer.startMessage();
+        for (int i = 0; i < m_asColumnName.length; i++)
+        {
+            rowBatch.getColumnVector(i).writeParquetField(m_nRowIdx, m_recordConsumer, m_asColumnName[i], i);
+        }
+        m_recordConsumer.endMessage();
+    }
+}
+
+private static class Builder extends ParquetWriter.Builder<RowBatch, Builder>
+{
+
+    private final RowBatchWriteSupport m_rowBatchWriteSupport;
+
+    Builder(OutputFile outputFile, RowBatchWriteSupport rowBatchWriteSupport)
+    {
+        super(outputFile);
+        m_rowBatchWriteSupport = rowBatchWriteSupport;
+    }
+
+    @Override
+    protected Builder self()
+    {
+        return this;
+    }
+
+    @Override
+    protected WriteSupport<RowBatch> getWriteSupport(Configuration configuration)
+    {
+        return m_rowBatchWriteSupport;
+    }
+}
+} ///////// End of class
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: PrefixSorter.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * PrefixSorter sorts rows by an abbreviated key. For every row it keeps a pair of longs in one long[]: the first 8
+ * bytes of the normalized key, read as a big endian long, and the row index. The pairs are sorted with an LSD radix
+ * sort on the prefix, so the rows themselves never move and the sort only touches the long[]. Only rows whose prefixes
+ * are equal are compared with the full comparison, and only with each other.
+ *
+ * This pays off for wide rows and long STRING or BINARY fields, where moving or comparing the full key is expensive.
+ * The result is an int[] of row indexes in sorted order, which gather applies at the end.
+ */
+public class PrefixSorter
+{
+
+private static final int RADIX = 256;
+private static final int PREFIX_BYTES = Long.BYTES;
+
+private final RowKeyEncoder m_rowKeyEncoder;
+
+public PrefixSorter(RowKeyEncoder rowKeyEncoder)
+{
+    m_rowKeyEncoder = rowKeyEncoder;
+}
+
+/**
+ * Returns the indexes of the rows in the order of the normalized keys. Ties on the prefix are broken by comparing the
+ * encoded rows.
+ */
+public int[] sortIndex(List<RowData> listRowData)
+{
+    return sortIndex(listRowData, new EncodedRowComparator(m_rowKeyEncoder));
+}
+
+/**
+ * Returns the indexes of the rows in the order of the normalized keys. Ties on the prefix are broken with
+ * tieComparator, which must order the rows the same way as the key bytes of the RowKeyEncoder, such as an
+ * EncodedRowComparator over the same encoder.
+ */
+public int[] sortIndex(List<RowData> listRowData, Comparator<? super RowData> tieComparator)
+{
+    int nRowCount = listRowData.size();
+    long[] alPair = new long[2 * nRowCount];
+    byte[] aKey = new byte[64];
+    for (int i = 0; i < nRowCount; i++)
+    {
+        RowData rowData = listRowData.get(i);
+        int nLength = m_rowKeyEncoder.getEncodedLength(rowData);
+        if (nLength > aKey.length)
+        {
+            aKey = new byte[Math.max(nLength, 2 * aKey.length)];
+        }
+        m_rowKeyEncoder.encodeInto(rowData, aKey, 0);
+
+        alPair[2 * i] = BinaryKeyComparator.getPrefix(aKey, 0, nLength);
+        alPair[2 * i + 1] = i;
+    }
+
+    boolean bPrefixIsKey = m_rowKeyEncoder.isFixedWidth() && m_rowKeyEncoder.getMaxKeyWidth() <= PREFIX_BYTES;
+    return sortPairs(alPair, bPrefixIsKey ? null
+        : (nRowIdx1, nRowIdx2) -> tieComparator.compare(listRowData.get(nRowIdx1), listRowData.get(nRowIdx2)));
+}
+
+/**
+ * Returns the row indexes of the slab in key order. Ties on the prefix are broken by comparing the full keys.
+ */
+public static int[] sortIndex(KeySlab keySlab)
+{
+    int nRowCount = keySlab.getRowCount();
+    int nStride = keySlab.getStride();
+    long[] alPair = new long[2 * nRowCount];
+    for (int i = 0; i < nRowCount; i++)
+    {
+        alPair[2 * i] = BinaryKeyComparator.getPrefix(keySlab.getChunk(i), keySlab.getOffset(i), nStride);
+        alPair[2 * i + 1] = i;
+    }
+
+    return sortPairs(alPair, nStride <= PREFIX_BYTES ? null : keySlab::compare);
+}
+
+/**
+ * Returns the elements of the list in the order of anRowIdx.
+ */
+public static <T> List<T> gather(List<T> list, int[] anRowIdx)
+{
+    List<T> listOut = new ArrayList<>(anRowIdx.length);
+    for (int nRowIdx : anRowIdx)
+    {
+        listOut.add(list.get(nRowIdx));
+    }
+    return listOut;
+}
+
+/**
+ * Sorts the (prefix, row index) pairs and returns the row indexes. tieComparator is null when equal prefixes mean equal
+ * keys.
+ */
+static int[] sortPairs(long[] alPair, IntComparator tieComparator)
+{
+    int nRowCount = alPair.length / 2;
+    radixSortPairs(alPair);
+
+    int[] anRowIdx = new int[nRowCount];
+    for (int i = 0; i < nRowCount; i++)
+    {
+        anRowIdx[i] = (int) alPair[2 * i + 1];
+    }
+
+    if (tieComparator != null)
+    {
+        int nFrom = 0;
+        while (nFrom < nRowCount)
+        {
+            int nTo = nFrom + 1;
+            while (nTo < nRowCount && alPair[2 * nTo] == alPair[2 * nFrom])
+            {
+                nTo++;
+            }
+            if (nTo - nFrom > 1)
+            {
+                IntComparator.sort(anRowIdx, nFrom, nTo, tieComparator);
+            }
+            nFrom = nTo;
+        }
+    }
+
+    return anRowIdx;
+}
+
+/**
+ * Sorts the pairs by the unsigned prefix with one counting pass per byte, from the least significant byte. The counts
+ * of all the bytes are gathered in a single pass, and bytes that are the same in every prefix are skipped.
+ */
+private static void radixSortPairs(long[] alPair)
+{
+    int nRowCount = alPair.length / 2;
+    if (nRowCount < 2)
+    {
+        return;
+    }
+
+    int[][] aanCount = new int[PREFIX_BYTES][RADIX];
+    for (int i = 0; i < nRowCount; i++)
+    {
+        long lPrefix = alPair[2 * i];
+        for (int nByte = 0; nByte < PREFIX_BYTES; nByte++)
+        {
+            aanCount[nByte][(int) (lPrefix >>> (8 * nByte)) & 0xFF]++;
+        }
+    }
+
+    long[] alSrc = alPair;
+    long[] alDest = new long[alPair.length];
+    for (int nByte = 0; nByte < PREFIX_BYTES; nByte++)
+    {
+        int[] anCount = aanCount[nByte];
+        if (anCount[(int) (alSrc[0] >>> (8 * nByte)) & 0xFF] == nRowCount)
+        {
+            continue;
+        }
+
+        int nPos = 0;
+        for (int b = 0; b < RADIX; b++)
+        {
+            int nCount = anCount[b];
+            anCount[b] = nPos;
+            nPos += nCount;
+        }
+
+        for (int i = 0; i < nRowCount; i++)
+        {
+            long lPrefix = alSrc[2 * i];
+            int nDest = 2 * anCount[(int) (lPrefix >>> (8 * nByte)) & 0xFF]++;
+            alDest[nDest] = lPrefix;
+            alDest[nDest + 1] = alSrc[2 * i + 1];
+        }
+
+        long[] alTemp = alSrc;
+        alSrc = alDest;
+        alDest = alTemp;
+    }
+
+    if (alSrc != alPair)
+    {
+        System.arraycopy(alSrc, 0, alPair, 0, alPair.length);
+    }
+}
+} ///////// End of class
@@ -0,0 +1,398 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: RangePartitioner.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * RangePartitioner splits encoded keys into P key ranges, the way TeraSort does. P-1 splitters are picked from a sorted
+ * sample of the keys, and a key goes to the partition found by a binary search of the splitters with memcmp. Every key
+ * of a partition sorts before every key of the next one, so the partitions can be sorted on their own, by threads or by
+ * separate processes, and concatenated with a ConcatKeyCursor.
+ *
+ * A key that fills more than 1/P of the sample shows up as a run of equal splitters. The rows of such a heavy hitter
+ * are spread round robin over the partitions the run covers instead of all going to one of them. Those partitions hold
+ * nothing but the heavy hitter, apart from the first and the last, so the concatenation is still sorted.
+ */
+public class RangePartitioner
+{
+
+public static final int DEFAULT_SAMPLE_SIZE = 100_000;
+
+private static final int IO_BUFFER_BYTES = 1 << 16;
+
+private final byte[][] m_aaSplitter;
+
+/**
+ * Creates a partitioner with splitters in key order. The partition count is one more than the splitter count.
+ */
+public RangePartitioner(byte[][] aaSplitter)
+{
+    for (int i = 1; i < aaSplitter.length; i++)
+    {
+        if (BinaryKeyComparator.compareKeys(aaSplitter[i - 1], aaSplitter[i]) > 0)
+        {
+            throw new IllegalArgumentException("Splitters are not in key order at index " + i);
+        }
+    }
+    m_aaSplitter = aaSplitter;
+}
+
+/**
+ * Picks the splitters of nPartitionCount partitions from a sample of keys. The sample is sorted in place.
+ */
+public static RangePartitioner fromSample(List<byte[]> listSample, int nPartitionCount)
+{
+    if (nPartitionCount <= 0)
+    {
+        throw new IllegalArgumentException("Invalid partition count: " + nPartitionCount);
+    }
+    if (listSample.isEmpty() && nPartitionCount > 1)
+    {
+        throw new IllegalArgumentException("Can't pick splitters from an empty sample");
+    }
+
+    listSample.sort(BinaryKeyComparator::compareKeys);
+    byte[][] aaSplitter = new byte[nPartitionCount - 1][];
+    for (int i = 1; i < nPartitionCount; i++)
+    {
+        aaSplitter[i - 1] = listSample.get((int) ((long) i * listSample.size() / nPartitionCount));
+    }
+    return new RangePartitioner(aaSplitter);
+}
+
+/**
+ * Reads all the keys of the keyCursor and returns a uniform random sample of at most nSampleSize of them. The same
+ * seed and input give the same sample.
+ */
+public static List<byte[]> sample(KeyCursor keyCursor, int nSampleSize, long lSeed) throws IOException
+{
+    Random random = new Random(lSeed);
+    List<byte[]> listSample = new ArrayList<>(nSampleSize);
+    long lKeyCount = 0;
+    while (keyCursor.next())
+    {
+        lKeyCount++;
+        int nSampleIdx;
+        if (listSample.size() < nSampleSize)
+        {
+            nSampleIdx = listSample.size();
+            listSample.add(null);
+        }
+        else
+        {
+            long lRandom = (long) (random.nextDouble() * lKeyCount);
+            if (lRandom >= nSampleSize)
+            {
+                continue;
+            }
+            nSampleIdx = (int) lRandom;
+        }
+
+        int nOffset = keyCursor.getKeyOffset();
+        listSample.set(nSampleIdx, Arrays.copyOfRange(keyCursor.getKeyBuffer(), nOffset,
+            nOffset + keyCursor.getKeyLength()));
+    }
+    return listSample;
+}
+
+public int getPartitionCount()
+{
+    return m_aaSplitter.length + 1;
+}
+
+public int getSplitterCount()
+{
+    return m_aaSplitter.length;
+}
+
+public byte[] getSplitter(int nSplitterIdx)
+{
+    return m_aaSplitter[nSplitterIdx].clone();
+}
+
+/**
+ * Returns the partition of the key. Partition p holds the keys between splitter p-1 and splitter p. A key equal to one
+ * or more splitters goes to one of the partitions on either side of them, picked by lRowSeq, the position of the row in
+ * the input.
+ */
+public int getPartition(byte[] aKey, int nOffset, int nLength, long lRowSeq)
+{
+    int nLower = findLowerBound(aKey, nOffset, nLength);
+    if (nLower == m_aaSplitter.length || compareSplitter(nLower, aKey, nOffset, nLength) != 0)
+    {
+        return nLower;
+    }
+
+    // The key is equal to splitters nLower to nUpper - 1 and may go to partitions nLower to nUpper
+    int nUpper = nLower + 1;
+    while (nUpper < m_aaSplitter.length && compareSplitter(nUpper, aKey, nOffset, nLength) == 0)
+    {
+        nUpper++;
+    }
+    return nLower + (int) Long.remainderUnsigned(lRowSeq, nUpper - nLower + 1);
+}
+
+/**
+ * Appends every key of the keyCursor to the slab of its partition. Keys must fit in nStride bytes.
+ */
+public KeySlab[] partition(KeyCursor keyCursor, int nStride, int nInitialCapacity) throws IOException
+{
+    KeySlab[] aKeySlab = new KeySlab[getPartitionCount()];
+    for (int i = 0; i < aKeySlab.length; i++)
+    {
+        aKeySlab[i] = new KeySlab(nStride, nInitialCapacity);
+    }
+
+    long lRowSeq = 0;
+    while (keyCursor.next())
+    {
+        byte[] aKey = keyCursor.getKeyBuffer();
+        int nOffset = keyCursor.getKeyOffset();
+        int nLength = keyCursor.getKeyLength();
+        aKeySlab[getPartition(aKey, nOffset, nLength, lRowSeq++)].appendKey(aKey, nOffset, nLength);
+    }
+    return aKeySlab;
+}
+
+/**
+ * Writes every key of the keyCursor, padded to nStride bytes, to the file of its partition in the directory and
+ * returns the files in partition order. The files are named partition-00000.bin and up and can be read with a
+ * RunFileCursor once sorted with sortPartitionFile.
+ */
+public List<Path> partition(KeyCursor keyCursor, int nStride, Path dir) throws IOException
+{
+    int nPartitionCount = getPartitionCount();
+    List<Path> listPath = new ArrayList<>(nPartitionCount);
+    FileChannel[] aFileChannel = new FileChannel[nPartitionCount];
+    ByteBuffer[] aByteBuffer = new ByteBuffer[nPartitionCount];
+    int nBufferBytes = Math.max(1, IO_BUFFER_BYTES / nStride) * nStride;
+    try
+    {
+        for (int i = 0; i < nPartitionCount; i++)
+        {
+            Path path = dir.resolve(String.format("partition-%05d.bin", i));
+            listPath.add(path);
+            aFileChannel[i] = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+            aByteBuffer[i] = ByteBuffer.allocate(nBufferBytes);
+        }
+
+        long lRowSeq = 0;
+        while (keyCursor.next())
+        {
+            byte[] aKey = keyCursor.getKeyBuffer();
+            int nOffset = keyCursor.getKeyOffset();
+            int nLength = keyCursor.getKeyLength();
+            if (nLength > nStride)
+            {
+                throw new IllegalArgumentException("Key of " + nLength + " bytes does not fit in the stride "
+                    + nStride);
+            }
+
+            int nPartition = getPartition(aKey, nOffset, nLength, lRowSeq++);
+            ByteBuffer byteBuffer = aByteBuffer[nPartition];
+            if (byteBuffer.remaining() < nStride)
+            {
+                writeFully(aFileChannel[nPartition], byteBuffer);
+            }
+            int nPosition = byteBuffer.position();
+            byteBuffer.put(aKey, nOffset, nLength);
+            Arrays.fill(byteBuffer.array(), nPosition + nLength, nPosition + nStride, (byte) 0);
+            byteBuffer.position(nPosition + nStride);
+        }
+
+        for (int i = 0; i < nPartitionCount; i++)
+        {
+            writeFully(aFileChannel[i], aByteBuffer[i]);
+        }
+    }
+    finally
+    {
+        for (FileChannel fileChannel : aFileChannel)
+        {
+            if (fileChannel != null)
+            {
+                fileChannel.close();
+            }
+        }
+    }
+    return listPath;
+}
+
+/**
+ * Sorts the keys of a partition file in memory and writes them back in key order. Each partition file can be sorted
+ * by its own process.
+ */
+public static void sortPartitionFile(Path path, int nStride) throws IOException
+{
+    long lKeyCount = Files.size(path) / nStride;
+    if (lKeyCount > Integer.MAX_VALUE)
+    {
+        throw new UnsupportedOperationException("Too many keys to sort in memory. Keys: " + lKeyCount);
+    }
+
+    KeySlab keySlab = new KeySlab(nStride, (int) lKeyCount);
+    keySlab.setRowCount((int) lKeyCount);
+    try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ))
+    {
+        for (int nRowIdx = 0; nRowIdx < lKeyCount; nRowIdx += keySlab.getRowsPerChunk())
+        {
+            int nBytes = (int) Math.min(lKeyCount - nRowIdx, keySlab.getRowsPerChunk()) * nStride;
+            ByteBuffer byteBuffer = ByteBuffer.wrap(keySlab.getChunk(nRowIdx), 0, nBytes);
+            while (byteBuffer.hasRemaining())
+            {
+                if (fileChannel.read(byteBuffer) < 0)
+                {
+                    throw new IOException("Unexpected end of partition file " + path);
+                }
+            }
+        }
+    }
+
+    new MsdRadixSorter(keySlab).sort();
+
+    try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING))
+    {
+        for (int nRowIdx = 0; nRowIdx < lKeyCount; nRowIdx += keySlab.getRowsPerChunk())
+        {
+            int nBytes = (int) Math.min(lKeyCount - nRowIdx, keySlab.getRowsPerChunk()) * nStride;
+            ByteBuffer byteBuffer = ByteBuffer.wrap(keySlab.getChunk(nRowIdx), 0, nBytes);
+            while (byteBuffer.hasRemaining())
+            {
+                fileChannel.write(byteBuffer);
+            }
+        }
+    }
+}
+
+/**
+ * Opens the sorted partition files, in partition order, as a single sorted cursor.
+ */
+public static ConcatKeyCursor openPartitionFiles(List<Path> listPath, int nStride) throws IOException
+{
+    List<KeyCursor> listKeyCursor = new ArrayList<>();
+    try
+    {
+        for (Path path : listPath)
+        {
+            listKeyCursor.add(new RunFileCursor(path, nStride, IO_BUFFER_BYTES));
+        }
+    }
+    catch (IOException e)
+    {
+        for (KeyCursor keyCursor : listKeyCursor)
+        {
+            keyCursor.close();
+        }
+        throw e;
+    }
+    return new ConcatKeyCursor(listKeyCursor);
+}
+
+/**
+ * Sorts the partition slabs with nThreadCount threads, one partition per task, and returns them as a single sorted
+ * cursor.
+ */
+public static ConcatKeyCursor sortPartitions(KeySlab[] aKeySlab, int nThreadCount) throws IOException
+{
+    ExecutorService executorService = Executors.newFixedThreadPool(nThreadCount);
+    try
+    {
+        List<Future<?>> listFuture = new ArrayList<>();
+        for (KeySlab keySlab : aKeySlab)
+        {
+            listFuture.add(executorService.submit(() -> new MsdRadixSorter(keySlab).sort()));
+        }
+        for (Future<?> future : listFuture)
+        {
+            future.get();
+        }
+    }
+    catch (InterruptedException e)
+    {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while sorting partitions", e);
+    }
+    catch (ExecutionException e)
+    {
+        throw new IOException("Partition could not be sorted", e.getCause());
+    }
+    finally
+    {
+        executorService.shutdownNow();
+    }
+
+    List<KeyCursor> listKeyCursor = new ArrayList<>(aKeySlab.length);
+    for (KeySlab keySlab : aKeySlab)
+    {
+        listKeyCursor.add(new SlabKeyCursor(keySlab));
+    }
+    return new ConcatKeyCursor(listKeyCursor);
+}
+
+/**
+ * Returns the index of the first splitter that is not less than the key, or the splitter count.
+ */
+private int findLowerBound(byte[] aKey, int nOffset, int nLength)
+{
+    int nLow = 0;
+    int nHigh = m_aaSplitter.length;
+    while (nLow < nHigh)
+    {
+        int nMid = (nLow + nHigh) >>> 1;
+        if (compareSplitter(nMid, aKey, nOffset, nLength) < 0)
+        {
+            nLow = nMid + 1;
+        }
+        else
+        {
+            nHigh = nMid;
+        }
+    }
+    return nLow;
+}
+
+private int compareSplitter(int nSplitterIdx, byte[] aKey, int nOffset, int nLength)
+{
+    byte[] aSplitter = m_aaSplitter[nSplitterIdx];
+    return BinaryKeyComparator.compareKeys(aSplitter, 0, aSplitter.length, aKey, nOffset, nLength);
+}
+
+private static void writeFully(FileChannel fileChannel, ByteBuffer byteBuffer) throws IOException
+{
+    byteBuffer.flip();
+    while (byteBuffer.hasRemaining())
+    {
+        fileChannel.write(byteBuffer);
+    }
+    byteBuffer.clear();
+}
+
+@Override
+public String toString()
+{
+    return getClass().getSimpleName() + '{' + "partitionCount=" + getPartitionCount() + '}';
+}
+} ///////// End of class
@@ -0,0 +1,371 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: RowBatch.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RowBatch holds rows in columnar form: one ColumnVector per field of the RowInfo, with the values in primitive arrays
+ * and the nulls in a validity bitmap. Compared to a List of RowData there is no object per field and no boxing, and
+ * the values of a field are contiguous in memory.
+ *
+ * Rows are appended in order. The sort operators work on the batch directly: getComparator compares two rows by a
+ * SortSpec, RowKeyEncoder.encodeInto encodes a row, and sortIndex / gather sort the batch.
+ */
+public class RowBatch
+{
+
+private final RowInfo m_rowInfo;
+private final ColumnVector[] m_aColumnVector;
+private int m_nRowCount;
+
+public RowBatch(RowInfo rowInfo, int nCapacity)
+{
+    m_rowInfo = rowInfo;
+    m_aColumnVector = new ColumnVector[rowInfo.getFieldCount()];
+    for (int i = 0; i < m_aColumnVector.length; i++)
+    {
+        m_aColumnVector[i] = rowInfo.getFieldInfo(i).getFieldType().allocateColumnVector(nCapacity);
+    }
+}
+
+public static RowBatch fromRowData(RowInfo rowInfo, List<RowData> listRowData)
+{
+    RowBatch rowBatch = new RowBatch(rowInfo, listRowData.size());
+    for (RowData rowData : listRowData)
+    {
+        rowBatch.appendRow(rowData);
+    }
+    return rowBatch;
+}
+
+public RowInfo getRowInfo()
+{
+    return m_rowInfo;
+}
+
+public int getRowCount()
+{
+    return m_nRowCount;
+}
+
+public int getColumnCount()
+{
+    return m_aColumnVector.length;
+}
+
+public ColumnVector getColumnVector(int nFieldIdx)
+{
+    return m_aColumnVector[nFieldIdx];
+}
+
+/**
+ * Sets the number of rows. Rows added this way are filled through the column vectors, in row order for STRING and
+ * BINARY columns.
+ */
+public void setRowCount(int nRowCount)
+{
+    ensureCapacity(nRowCount);
+    m_nRowCount = nRowCount;
+}
+
+public void ensureCapacity(int nCapacity)
+{
+    for (ColumnVector columnVector : m_aColumnVector)
+    {
+        columnVector.ensureCapacity(nCapacity);
+    }
+}
+
+/**
+ * Returns the number of bytes held by the column vectors, including the unused capacity.
+ */
+public long getAllocatedBytes()
+{
+    long lAllocatedBytes = 0;
+    for (ColumnVector columnVector : m_aColumnVector)
+    {
+        lAllocatedBytes += columnVector.getAllocatedBytes();
+    }
+    return lAllocatedBytes;
+}
+
+/**
+ * Appends the values of the rowData as a new row and returns the index of the row. Throws IllegalArgumentException,
+ * without adding a row, when the fields of the rowData do not match the columns of the batch.
+ */
+public int appendRow(RowData rowData)
+{
+    if (rowData.getFieldCount() != m_aColumnVector.length)
+    {
+        throw new IllegalArgumentException("Row has " + rowData.getFieldCount() + " fields, the batch has "
+            + m_aColumnVector.length + " columns");
+    }
+    for (int i = 0; i < m_aColumnVector.length; i++)
+    {
+        checkFieldType(i, rowData.getFieldData(i).getFieldType());
+    }
+
+    int nRowIdx = ensureRowCapacity();
+    try
+    {
+        for (int i = 0; i < m_aColumnVector.length; i++)
+        {
+            m_aColumnVector[i].setFromFieldData(nRowIdx, rowData.getFieldData(i));
+        }
+    }
+    catch (RuntimeException | Error e)
+    {
+        truncate(nRowIdx);
+        throw e;
+    }
+    return m_nRowCount++;
+}
+
+/**
+ * Appends row nSrcRowIdx of srcRowBatch, a batch of the same field types, and returns the index of the new row.
+ */
+public int appendRow(RowBatch srcRowBatch, int nSrcRowIdx)
+{
+    checkColumns(srcRowBatch);
+    return appendRowUnchecked(srcRowBatch, nSrcRowIdx);
+}
+
+/**
+ * Appends all the rows of srcRowBatch, a batch of the same field types.
+ */
+public void appendBatch(RowBatch srcRowBatch)
+{
+    checkColumns(srcRowBatch);
+    ensureCapacity(m_nRowCount + srcRowBatch.m_nRowCount);
+    for (int i = 0; i < srcRowBatch.m_nRowCount; i++)
+    {
+        appendRowUnchecked(srcRowBatch, i);
+    }
+}
+
+/**
+ * Copies the values of row nRowIdx into the fields of rowDataOut.
+ */
+public RowData getRow(int nRowIdx, RowData rowDataOut)
+{
+    for (int i = 0; i < m_aColumnVector.length; i++)
+    {
+        m_aColumnVector[i].copyToFieldData(nRowIdx, rowDataOut.getFieldData(i));
+    }
+    return rowDataOut;
+}
+
+public RowData getRow(int nRowIdx)
+{
+    return getRow(nRowIdx, new RowData(m_rowInfo));
+}
+
+public List<RowData> toRowData()
+{
+    List<RowData> listRowData = new ArrayList<>(m_nRowCount);
+    for (int i = 0; i < m_nRowCount; i++)
+    {
+        listRowData.add(getRow(i));
+    }
+    return listRowData;
+}
+
+public void clear()
+{
+    for (ColumnVector columnVector : m_aColumnVector)
+    {
+        columnVector.reset();
+    }
+    m_nRowCount = 0;
+}
+
+/**
+ * Returns a comparator of row indexes of this batch in the order of the sortSpec. STRING values are compared by their
+ * UTF-8 bytes, which is the order of the normalized keys.
+ */
+public IntComparator getComparator(SortSpec sortSpec)
+{
+    int nSortFieldCount = sortSpec.getSortFieldCount();
+    ColumnVector[] aColumnVector = new ColumnVector[nSortFieldCount];
+    boolean[] abDescending = new boolean[nSortFieldCount];
+    boolean[] abNullsFirst = new boolean[nSortFieldCount];
+    for (int i = 0; i < nSortFieldCount; i++)
+    {
+        SortField sortField = sortSpec.getSortField(i);
+        aColumnVector[i] = m_aColumnVector[sortField.getFieldIdx()];
+        abDescending[i] = sortField.isDescending();
+        abNullsFirst[i] = sortField.isNullsFirst();
+    }
+
+    return (nRowIdx1, nRowIdx2) ->
+    {
+        for (int i = 0; i < aColumnVector.length; i++)
+        {
+            ColumnVector columnVector = aColumnVector[i];
+            boolean bNull1 = columnVector.isNull(nRowIdx1);
+            boolean bNull2 = columnVector.isNull(nRowIdx2);
+
+            int nCompResult;
+            if (bNull1 || bNull2)
+            {
+                nCompResult = Boolean.compare(bNull1, bNull2);
+                if (abNullsFirst[i])
+                {
+                    nCompResult = -nCompResult;
+                }
+            }
+            else
+            {
+                nCompResult = columnVector.compareValues(nRowIdx1, nRowIdx2);
+                if (abDescending[i])
+                {
+                    nCompResult = -nCompResult;
+                }
+            }
+
+            if (nCompResult != 0)
+            {
+                return nCompResult;
+            }
+        }
+        return 0;
+    };
+}
+
+/**
+ * Returns the row indexes of the batch in the order of the sortSpec. The sort is stable. Fixed width keys are encoded
+ * into a KeySlab and radix sorted; otherwise the rows are sorted by key prefix and ties are compared column by column.
+ */
+public int[] sortIndex(SortSpec sortSpec)
+{
+    RowKeyEncoder rowKeyEncoder = new RowKeyEncoder(m_rowInfo, sortSpec);
+    if (rowKeyEncoder.isFixedWidth())
+    {
+        KeySlab keySlab = new KeySlab(rowKeyEncoder, m_nRowCount);
+        keySlab.setRowCount(m_nRowCount);
+        for (int i = 0; i < m_nRowCount; i++)
+        {
+            rowKeyEncoder.encodeInto(this, i, keySlab, i);
+        }
+        return new MsdRadixSorter(keySlab).sortIndex();
+    }
+
+    long[] alPair = new long[2 * m_nRowCount];
+    byte[] aKey = new byte[64];
+    for (int i = 0; i < m_nRowCount; i++)
+    {
+        int nLength = rowKeyEncoder.getEncodedLength(this, i);
+        if (nLength > aKey.length)
+        {
+            aKey = new byte[Math.max(nLength, 2 * aKey.length)];
+        }
+        rowKeyEncoder.encodeInto(this, i, aKey, 0);
+
+        alPair[2 * i] = BinaryKeyComparator.getPrefix(aKey, 0, nLength);
+        alPair[2 * i + 1] = i;
+    }
+    return PrefixSorter.sortPairs(alPair, getComparator(sortSpec));
+}
+
+/**
+ * Returns a new batch with the rows of this batch in the order of anRowIdx.
+ */
+public RowBatch gather(int[] anRowIdx)
+{
+    RowBatch rowBatchOut = new RowBatch(m_rowInfo, anRowIdx.length);
+    for (int nRowIdx : anRowIdx)
+    {
+        rowBatchOut.appendRow(this, nRowIdx);
+    }
+    return rowBatchOut;
+}
+
+public RowBatch sort(SortSpec sortSpec)
+{
+    return gather(sortIndex(sortSpec));
+}
+
+private int appendRowUnchecked(RowBatch srcRowBatch, int nSrcRowIdx)
+{
+    int nRowIdx = ensureRowCapacity();
+    try
+    {
+        for (int i = 0; i < m_aColumnVector.length; i++)
+        {
+            m_aColumnVector[i].copyFrom(srcRowBatch.m_aColumnVector[i], nSrcRowIdx, nRowIdx);
+        }
+    }
+    catch (RuntimeException | Error e)
+    {
+        truncate(nRowIdx);
+        throw e;
+    }
+    return m_nRowCount++;
+}
+
+private void checkColumns(RowBatch srcRowBatch)
+{
+    if (srcRowBatch.m_rowInfo == m_rowInfo)
+    {
+        return;
+    }
+    if (srcRowBatch.m_aColumnVector.length != m_aColumnVector.length)
+    {
+        throw new IllegalArgumentException("Batch has " + srcRowBatch.m_aColumnVector.length + " columns, this batch"
+            + " has " + m_aColumnVector.length);
+    }
+    for (int i = 0; i < m_aColumnVector.length; i++)
+    {
+        checkFieldType(i, srcRowBatch.m_aColumnVector[i].getFieldType());
+    }
+}
+
+private void checkFieldType(int nFieldIdx, FieldType fieldType)
+{
+    if (fieldType != m_aColumnVector[nFieldIdx].getFieldType())
+    {
+        throw new IllegalArgumentException("Field " + nFieldIdx + " is " + fieldType + ", the column of the batch is "
+            + m_aColumnVector[nFieldIdx].getFieldType());
+    }
+}
+
+/**
+ * Makes room for one more row and returns its index. The row is only counted once all its values are set.
+ */
+private int ensureRowCapacity()
+{
+    // A batch without columns only counts its rows
+    if (m_aColumnVector.length > 0 && m_nRowCount == m_aColumnVector[0].getCapacity())
+    {
+        ensureCapacity(Math.max(16, m_nRowCount + 1));
+    }
+    return m_nRowCount;
+}
+
+/**
+ * Drops the values of a row that could not be appended.
+ */
+private void truncate(int nRowCount)
+{
+    for (ColumnVector columnVector : m_aColumnVector)
+    {
+        columnVector.truncate(nRowCount);
+    }
+}
+
+@Override
+public String toString()
+{
+    return getClass().getSimpleName() + '{' + "rowCount=" + m_nRowCount + " columnCount=" + m_aColumnVector.length
+        + '}';
+}
+} ///////// End of class
@@ -0,0 +1,675 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: RowBatchGenerator.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * RowBatchGenerator generates rows of any FieldType straight into a RowBatch or a KeySlab, with no object per row.
+ * Every field has a FieldSpec with its Distribution, number of distinct values, fraction of nulls and, for STRING and
+ * BINARY, a length profile.
+ *
+ * The value of a field in a row only depends on the seed, the row index and the field index: each (row, field) pair
+ * seeds a SplitMix64 generator of its own. So any range of rows can be generated on its own, the rows are the same for
+ * every parallelism, and chunks of CHUNK_ROWS rows are generated in parallel with a ForkJoinPool.
+ *
+ * A field value is derived from a rank in a way that keeps the order of the ranks, as in the benchmarks: rank r is
+ * the int r for INTEGER, r days after 1970-01-01 for DATE, r * 1_000_003 for LONG, r / 7 for DOUBLE and FLOAT, r != 0
+ * for BOOLEAN, and for STRING and BINARY the zero padded digits of r followed by a suffix picked by r, so a rank always
+ * maps to the same value.
+ */
+public class RowBatchGenerator implements AutoCloseable
+{
+
+/**
+ * Rows per parallel task. It is a multiple of 64, so no two tasks write the same word of a validity bitmap.
+ */
+public static final int CHUNK_ROWS = 1 << 16;
+
+private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+private static final long DATE_CARDINALITY = 36_525;
+private static final int FEW_DISTINCT_CARDINALITY = 16;
+private static final byte[] DIGITS = "0123456789".getBytes();
+private static final byte[] LETTERS = "abcdefghijklmnopqrstuvwxyz".getBytes();
+
+public enum Distribution
+{
+    UNIFORM,
+    /**
+     * Ascending by row index.
+     */
+    SORTED,
+    REVERSE_SORTED,
+    /**
+     * 16 distinct values unless the cardinality is set.
+     */
+    FEW_DISTINCT,
+    /**
+     * Rank k - 1 is drawn with a probability proportional to 1 / k^s, s being the Zipf exponent.
+     */
+    ZIPF
+}
+
+public enum LengthProfile
+{
+    /**
+     * Every value has the maximum length.
+     */
+    FIXED,
+    UNIFORM,
+    /**
+     * Most values are close to the minimum length, a few are much longer.
+     */
+    SKEWED
+}
+
+private final RowInfo m_rowInfo;
+private final FieldSpec[] m_aFieldSpec;
+private final FieldType[] m_aFieldType;
+private final long[] m_alCardinality;
+private final int[] m_anDigitCount;
+private final ZipfSampler[] m_aZipfSampler;
+private final long m_lRowCount;
+private final long m_lSeed;
+private final int m_nParallelism;
+private final ForkJoinPool m_forkJoinPool;
+
+/**
+ * Creates a generator of uniformly distributed values over the full range of every type, except for DATE and BOOLEAN.
+ */
+public RowBatchGenerator(RowInfo rowInfo, long lRowCount, long lSeed)
+{
+    this(rowInfo, uniform(rowInfo.getFieldCount()), lRowCount, lSeed, Runtime.getRuntime().availableProcessors());
+}
+
+public RowBatchGenerator(RowInfo rowInfo, FieldSpec[] aFieldSpec, long lRowCount, long lSeed, int nParallelism)
+{
+    if (aFieldSpec.length != rowInfo.getFieldCount())
+    {
+        throw new IllegalArgumentException("Expected " + rowInfo.getFieldCount() + " FieldSpecs. Count: "
+            + aFieldSpec.length);
+    }
+    if (lRowCount < 0)
+    {
+        throw new IllegalArgumentException("Invalid row count: " + lRowCount);
+    }
+    if (nParallelism < 1)
+    {
+        throw new IllegalArgumentException("Parallelism must be at least 1. Parallelism: " + nParallelism);
+    }
+
+    m_rowInfo = rowInfo;
+    m_aFieldSpec = aFieldSpec.clone();
+    m_lRowCount = lRowCount;
+    m_lSeed = lSeed;
+    m_nParallelism = nParallelism;
+    m_forkJoinPool = new ForkJoinPool(nParallelism);
+
+    int nFieldCount = aFieldSpec.length;
+    m_aFieldType = new FieldType[nFieldCount];
+    m_alCardinality = new long[nFieldCount];
+    m_anDigitCount = new int[nFieldCount];
+    m_aZipfSampler = new ZipfSampler[nFieldCount];
+    for (int i = 0; i < nFieldCount; i++)
+    {
+        m_aFieldType[i] = rowInfo.getFieldInfo(i).getFieldType();
+        m_alCardinality[i] = getCardinality(m_aFieldType[i], aFieldSpec[i], lRowCount);
+        m_anDigitCount[i] = m_alCardinality[i] == 0 ? 20 : Long.toString(m_alCardinality[i] - 1).length();
+        if (aFieldSpec[i].getDistribution() == Distribution.ZIPF)
+        {
+            m_aZipfSampler[i] = new ZipfSampler(m_alCardinality[i], aFieldSpec[i].getZipfExponent());
+        }
+    }
+}
+
+/**
+ * Returns nFieldCount FieldSpecs of uniformly distributed values.
+ */
+public static FieldSpec[] uniform(int nFieldCount)
+{
+    FieldSpec[] aFieldSpec = new FieldSpec[nFieldCount];
+    for (int i = 0; i < nFieldCount; i++)
+    {
+        aFieldSpec[i] = new FieldSpec(Distribution.UNIFORM);
+    }
+    return aFieldSpec;
+}
+
+public RowInfo getRowInfo()
+{
+    return m_rowInfo;
+}
+
+public long getRowCount()
+{
+    return m_lRowCount;
+}
+
+public int getParallelism()
+{
+    return m_nParallelism;
+}
+
+/**
+ * Generates all the rows into a new RowBatch. Fixed width columns are filled chunk by chunk in parallel. STRING and
+ * BINARY columns have to be filled in row order, so each of them is filled by a task of its own.
+ */
+public RowBatch generateRowBatch()
+{
+    int nRowCount = toRowCount(m_lRowCount);
+    RowBatch rowBatch = new RowBatch(m_rowInfo, nRowCount);
+    rowBatch.setRowCount(nRowCount);
+
+    int nChunkCount = getChunkCount(nRowCount);
+    int nFieldCount = m_aFieldType.length;
+    m_forkJoinPool.invoke(new RangeTask(0, nFieldCount * nChunkCount, nTaskIdx ->
+    {
+        int nFieldIdx = nTaskIdx / nChunkCount;
+        int nChunkIdx = nTaskIdx % nChunkCount;
+        ColumnVector columnVector = rowBatch.getColumnVector(nFieldIdx);
+        if (!m_aFieldType[nFieldIdx].isFixedLength())
+        {
+            if (nChunkIdx == 0)
+            {
+                fillColumn(columnVector, nFieldIdx, 0, 0, nRowCount, new RowRandom());
+            }
+            return;
+        }
+
+        int nFirstRowIdx = nChunkIdx * CHUNK_ROWS;
+        int nChunkRows = Math.min(CHUNK_ROWS, nRowCount - nFirstRowIdx);
+        fillColumn(columnVector, nFieldIdx, nFirstRowIdx, nFirstRowIdx, nChunkRows, new RowRandom());
+    }));
+    return rowBatch;
+}
+
+/**
+ * Generates nRowCount rows, starting at row lFirstRowIdx, into a new RowBatch on the calling thread.
+ */
+public RowBatch generateRowBatch(long lFirstRowIdx, int nRowCount)
+{
+    RowBatch rowBatch = new RowBatch(m_rowInfo, nRowCount);
+    generateInto(rowBatch, lFirstRowIdx, nRowCount);
+    return rowBatch;
+}
+
+/**
+ * Appends nRowCount rows, starting at row lFirstRowIdx, to the rowBatch on the calling thread.
+ */
+public void generateInto(RowBatch rowBatch, long lFirstRowIdx, int nRowCount)
+{
+    if (lFirstRowIdx < 0 || lFirstRowIdx + nRowCount > m_lRowCount)
+    {
+        throw new IndexOutOfBoundsException("Rows " + lFirstRowIdx + " to " + (lFirstRowIdx + nRowCount)
+            + " are out of range. Row count: " + m_lRowCount);
+    }
+
+    int nDestRowIdx = rowBatch.getRowCount();
+    rowBatch.setRowCount(nDestRowIdx + nRowCount);
+    RowRandom rowRandom = new RowRandom();
+    for (int nFieldIdx = 0; nFieldIdx < m_aFieldType.length; nFieldIdx++)
+    {
+        fillColumn(rowBatch.getColumnVector(nFieldIdx), nFieldIdx, lFirstRowIdx, nDestRowIdx, nRowCount, rowRandom);
+    }
+}
+
+/**
+ * Generates all the rows and encodes them into a new KeySlab, chunk by chunk in parallel. Each task generates its
+ * chunk into a RowBatch of its thread that is reused for every chunk.
+ */
+public KeySlab generateKeySlab(RowKeyEncoder rowKeyEncoder)
+{
+    int nRowCount = toRowCount(m_lRowCount);
+    KeySlab keySlab = new KeySlab(rowKeyEncoder, nRowCount);
+    keySlab.setRowCount(nRowCount);
+
+    ThreadLocal<RowBatch> threadLocalRowBatch = ThreadLocal.withInitial(() -> new RowBatch(m_rowInfo, CHUNK_ROWS));
+    m_forkJoinPool.invoke(new RangeTask(0, getChunkCount(nRowCount), nChunkIdx ->
+    {
+        int nFirstRowIdx = nChunkIdx * CHUNK_ROWS;
+        int nChunkRows = Math.min(CHUNK_ROWS, nRowCount - nFirstRowIdx);
+        RowBatch rowBatch = threadLocalRowBatch.get();
+        rowBatch.clear();
+        generateInto(rowBatch, nFirstRowIdx, nChunkRows);
+        for (int i = 0; i < nChunkRows; i++)
+        {
+            rowKeyEncoder.encodeInto(rowBatch, i, keySlab, nFirstRowIdx + i);
+        }
+    }));
+    return keySlab;
+}
+
+private void fillColumn(ColumnVector columnVector, int nFieldIdx, long lFirstRowIdx, int nDestRowIdx, int nRowCount,
+    RowRandom rowRandom)
+{
+    FieldSpec fieldSpec = m_aFieldSpec[nFieldIdx];
+    double dNullFraction = fieldSpec.getNullFraction();
+    byte[] aScratch = new byte[Math.max(m_anDigitCount[nFieldIdx], fieldSpec.getMaxLength())
+        + FieldType.INT96.getFieldSizeInBytes()];
+    for (int i = 0; i < nRowCount; i++)
+    {
+        long lRowIdx = lFirstRowIdx + i;
+        rowRandom.reset(m_lSeed + GOLDEN_GAMMA * (lRowIdx * m_aFieldType.length + nFieldIdx + 1));
+        if (dNullFraction > 0 && rowRandom.nextDouble() < dNullFraction)
+        {
+            columnVector.setNull(nDestRowIdx + i);
+            continue;
+        }
+        setValue(columnVector, nFieldIdx, nDestRowIdx + i, getRank(nFieldIdx, lRowIdx, rowRandom), aScratch);
+    }
+}
+
+/**
+ * Returns the rank of the value of field nFieldIdx in row lRowIdx. A rank of a field with no cardinality is any long.
+ */
+private long getRank(int nFieldIdx, long lRowIdx, RowRandom rowRandom)
+{
+    long lCardinality = m_alCardinality[nFieldIdx];
+    switch (m_aFieldSpec[nFieldIdx].getDistribution())
+    {
+        case SORTED:
+            return lCardinality == 0 ? lRowIdx : (long) ((double) lRowIdx / m_lRowCount * lCardinality);
+        case REVERSE_SORTED:
+            long lReverseRowIdx = m_lRowCount - 1 - lRowIdx;
+            return lCardinality == 0 ? lReverseRowIdx
+                : (long) ((double) lReverseRowIdx / m_lRowCount * lCardinality);
+        case ZIPF:
+            return m_aZipfSampler[nFieldIdx].sample(rowRandom) - 1;
+        default:
+            return lCardinality == 0 ? rowRandom.nextLong() : rowRandom.nextLong(lCardinality);
+    }
+}
+
+private void setValue(ColumnVector columnVector, int nFieldIdx, int nRowIdx, long lRank, byte[] aScratch)
+{
+    switch (m_aFieldType[nFieldIdx])
+    {
+        case INTEGER:
+        case DATE:
+            ((ColumnVector.IntColumnVector) columnVector).setInt(nRowIdx, (int) lRank);
+            break;
+        case LONG:
+            ((ColumnVector.LongColumnVector) columnVector).setLong(nRowIdx, lRank * 1_000_003L);
+            break;
+        case DOUBLE:
+            ((ColumnVector.DoubleColumnVector) columnVector).setDouble(nRowIdx, lRank / 7.0);
+            break;
+        case FLOAT:
+            ((ColumnVector.FloatColumnVector) columnVector).setFloat(nRowIdx, lRank / 7.0f);
+            break;
+        case BOOLEAN:
+            ((ColumnVector.BooleanColumnVector) columnVector).setBoolean(nRowIdx, lRank != 0);
+            break;
+        case INT96:
+            Arrays.fill(aScratch, 0, Integer.BYTES, (byte) 0);
+            for (int i = 0; i < Long.BYTES; i++)
+            {
+                aScratch[Integer.BYTES + i] = (byte) (lRank >>> (8 * (Long.BYTES - 1 - i)));
+            }
+            ((ColumnVector.FixedBinaryColumnVector) columnVector).setBytes(nRowIdx, aScratch, 0,
+                FieldType.INT96.getFieldSizeInBytes());
+            break;
+        case STRING:
+        case BINARY:
+            int nLength = putBytes(nFieldIdx, lRank, aScratch);
+            ((ColumnVector.BinaryColumnVector) columnVector).setBytes(nRowIdx, aScratch, 0, nLength);
+            break;
+        default:
+            throw new UnsupportedOperationException("Unsupported FieldType: " + m_aFieldType[nFieldIdx]);
+    }
+}
+
+/**
+ * Writes the zero padded unsigned digits of the rank, followed by letters picked by the rank up to the length the
+ * LengthProfile picks for the rank, and returns the number of bytes written.
+ */
+private int putBytes(int nFieldIdx, long lRank, byte[] aScratch)
+{
+    int nDigitCount = m_anDigitCount[nFieldIdx];
+    long lValue = lRank;
+    for (int i = nDigitCount - 1; i >= 0; i--)
+    {
+        aScratch[i] = DIGITS[(int) Long.remainderUnsigned(lValue, 10)];
+        lValue = Long.divideUnsigned(lValue, 10);
+    }
+
+    FieldSpec fieldSpec = m_aFieldSpec[nFieldIdx];
+    long lHash = RowRandom.mix(m_lSeed ^ RowRandom.mix(lRank + GOLDEN_GAMMA * (nFieldIdx + 1)));
+    int nMinLength = fieldSpec.getMinLength();
+    int nLengthRange = fieldSpec.getMaxLength() - nMinLength;
+    double dFraction = (lHash >>> 11) * 0x1.0p-53;
+    int nLength;
+    switch (fieldSpec.getLengthProfile())
+    {
+        case FIXED:
+            nLength = fieldSpec.getMaxLength();
+            break;
+        case SKEWED:
+            nLength = nMinLength + (int) (nLengthRange * dFraction * dFraction * dFraction * dFraction);
+            break;
+        default:
+            nLength = nMinLength + (int) (dFraction * (nLengthRange + 1));
+            break;
+    }
+
+    nLength = Math.max(nLength, nDigitCount);
+    for (int i = nDigitCount; i < nLength; i++)
+    {
+        lHash = RowRandom.mix(lHash + GOLDEN_GAMMA);
+        aScratch[i] = LETTERS[(int) Long.remainderUnsigned(lHash, LETTERS.length)];
+    }
+    return nLength;
+}
+
+private static long getCardinality(FieldType fieldType, FieldSpec fieldSpec, long lRowCount)
+{
+    if (fieldType == FieldType.BOOLEAN)
+    {
+        return 2;
+    }
+    if (fieldSpec.getCardinality() > 0)
+    {
+        return fieldSpec.getCardinality();
+    }
+
+    switch (fieldSpec.getDistribution())
+    {
+        case FEW_DISTINCT:
+            return FEW_DISTINCT_CARDINALITY;
+        case ZIPF:
+            return Math.max(1, lRowCount);
+        default:
+            return fieldType == FieldType.DATE ? DATE_CARDINALITY : 0;
+    }
+}
+
+private static int getChunkCount(int nRowCount)
+{
+    return (nRowCount + CHUNK_ROWS - 1) / CHUNK_ROWS;
+}
+
+private static int toRowCount(long lRowCount)
+{
+    if (lRowCount > Integer.MAX_VALUE - 8)
+    {
+        throw new UnsupportedOperationException("Too many rows to generate at once. Rows: " + lRowCount
+            + ". Generate them in ranges with generateRowBatch(lFirstRowIdx, nRowCount).");
+    }
+    return (int) lRowCount;
+}
+
+@Override
+public void close()
+{
+    m_forkJoinPool.shutdown();
+}
+
+@Override
+public String toString()
+{
+    return getClass().getSimpleName() + '{' + "rowCount=" + m_lRowCount + " fieldSpecs="
+        + Arrays.toString(m_aFieldSpec) + " seed=" + m_lSeed + '}';
+}
+
+/**
+ * How the values of a field are generated. The cardinality is the number of distinct values. It is the full range of
+ * the type when it is 0, except for DATE, which gets 100 years of days, FEW_DISTINCT, which gets 16 values, and ZIPF,
+ * which gets as many values as rows.
+ */
+public static class FieldSpec
+{
+
+    private final Distribution m_distribution;
+    private long m_lCardinality;
+    private double m_dZipfExponent = 1.0;
+    private double m_dNullFraction;
+    private LengthProfile m_lengthProfile = LengthProfile.UNIFORM;
+    private int m_nMinLength = 8;
+    private int m_nMaxLength = 24;
+
+    public FieldSpec(Distribution distribution)
+    {
+        m_distribution = distribution;
+    }
+
+    public Distribution getDistribution()
+    {
+        return m_distribution;
+    }
+
+    public long getCardinality()
+    {
+        return m_lCardinality;
+    }
+
+    public FieldSpec setCardinality(long lCardinality)
+    {
+        if (lCardinality < 0)
+        {
+            throw new IllegalArgumentException("Invalid cardinality: " + lCardinality);
+        }
+        m_lCardinality = lCardinality;
+        return this;
+    }
+
+    public double getZipfExponent()
+    {
+        return m_dZipfExponent;
+    }
+
+    public FieldSpec setZipfExponent(double dZipfExponent)
+    {
+        if (!(dZipfExponent > 0))
+        {
+            throw new IllegalArgumentException("Invalid Zipf exponent: " + dZipfExponent);
+        }
+        m_dZipfExponent = dZipfExponent;
+        return this;
+    }
+
+    public double getNullFraction()
+    {
+        return m_dNullFraction;
+    }
+
+    public FieldSpec setNullFraction(double dNullFraction)
+    {
+        if (!(dNullFraction >= 0 && dNullFraction <= 1))
+        {
+            throw new IllegalArgumentException("Invalid null fraction: " + dNullFraction);
+        }
+        m_dNullFraction = dNullFraction;
+        return this;
+    }
+
+    public LengthProfile getLengthProfile()
+    {
+        return m_lengthProfile;
+    }
+
+    public int getMinLength()
+    {
+        return m_nMinLength;
+    }
+
+    public int getMaxLength()
+    {
+        return m_nMaxLength;
+    }
+
+    /**
+     * Sets the lengths of STRING and BINARY values. A value is never shorter than the digits of its rank.
+     */
+    public FieldSpec setLength(LengthProfile lengthProfile, int nMinLength, int nMaxLength)
+    {
+        if (nMinLength < 0 || nMaxLength < nMinLength)
+        {
+            throw new IllegalArgumentException("Invalid length range: " + nMinLength + " to " + nMaxLength);
+        }
+        m_lengthProfile = lengthProfile;
+        m_nMinLength = nMinLength;
+        m_nMaxLength = nMaxLength;
+        return this;
+    }
+
+    @Override
+    public String toString()
+    {
+        return getClass().getSimpleName() + '{' + "distribution=" + m_distribution + " cardinality=" + m_lCardinality
+            + " nullFraction=" + m_dNullFraction + '}';
+    }
+}
+
+/**
+ * A SplitMix64 generator, reseeded for every (row, field) pair.
+ */
+private static final class RowRandom
+{
+
+    private long m_lState;
+
+    void reset(long lSeed)
+    {
+        m_lState = mix(lSeed);
+    }
+
+    long nextLong()
+    {
+        m_lState += GOLDEN_GAMMA;
+        return mix(m_lState);
+    }
+
+    /**
+     * Returns a long in [0, lBound). The modulo bias is below 2^-32 for the cardinalities used here.
+     */
+    long nextLong(long lBound)
+    {
+        return Long.remainderUnsigned(nextLong(), lBound);
+    }
+
+    double nextDouble()
+    {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    static long mix(long lValue)
+    {
+        long z = lValue;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
+
+/**
+ * Samples integers in [1, n] from a Zipf distribution by rejection inversion, as described by Hormann and Derflinger.
+ * It takes constant time and space whatever n is.
+ */
+private static final class ZipfSampler
+{
+
+    private final long m_lCount;
+    private final double m_dExponent;
+    private final double m_dHIntegralX1;
+    private final double m_dHIntegralCount;
+    private final double m_dS;
+
+    ZipfSampler(long lCount, double dExponent)
+    {
+        m_lCount = lCount;
+        m_dExponent = dExponent;
+        m_dHIntegralX1 = hIntegral(1.5) - 1.0;
+        m_dHIntegralCount = hIntegral(lCount + 0.5);
+        m_dS = 2.0 - hIntegralInverse(hIntegral(2.5) - h(2.0));
+    }
+
+    long sample(RowRandom rowRandom)
+    {
+        while (true)
+        {
+            double dU = m_dHIntegralCount + rowRandom.nextDouble() * (m_dHIntegralX1 - m_dHIntegralCount);
+            double dX = hIntegralInverse(dU);
+            long lK = Math.max(1, Math.min(m_lCount, (long) (dX + 0.5)));
+            if (lK - dX <= m_dS || dU >= hIntegral(lK + 0.5) - h(lK))
+            {
+                return lK;
+            }
+        }
+    }
+
+    private double h(double dX)
+    {
+        return Math.exp(-m_dExponent * Math.log(dX));
+    }
+
+    private double hIntegral(double dX)
+    {
+        double dLogX = Math.log(dX);
+        return helper2((1.0 - m_dExponent) * dLogX) * dLogX;
+    }
+
+    private double hIntegralInverse(double dX)
+    {
+        double dT = Math.max(-1.0, dX * (1.0 - m_dExponent));
+        return Math.exp(helper1(dT) * dX);
+    }
+
+    /**
+     * Returns log(1 + x) / x, also for x close to 0.
+     */
+    private static double helper1(double dX)
+    {
+        return Math.abs(dX) > 1e-8 ? Math.log1p(dX) / dX : 1.0 - dX * (0.5 - dX * (1.0 / 3.0 - 0.25 * dX));
+    }
+
+    /**
+     * Returns (exp(x) - 1) / x, also for x close to 0.
+     */
+    private static double helper2(double dX)
+    {
+        return Math.abs(dX) > 1e-8 ? Math.expm1(dX) / dX : 1.0 + dX * 0.5 * (1.0 + dX / 3.0 * (1.0 + 0.25 * dX));
+    }
+}
+
+private static final class RangeTask extends RecursiveAction
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final int m_nFrom;
+    private final int m_nTo;
+    private final IntConsumer m_intConsumer;
+
+    RangeTask(int nFrom, int nTo, IntConsumer intConsumer)
+    {
+        m_nFrom = nFrom;
+        m_nTo = nTo;
+        m_intConsumer = intConsumer;
+    }
+
+    @Override
+    protected void compute()
+    {
+        if (m_nTo - m_nFrom == 1)
+        {
+            m_intConsumer.accept(m_nFrom);
+            return;
+        }
+        if (m_nTo > m_nFrom)
+        {
+            int nMid = (m_nFrom + m_nTo) >>> 1;
+            invokeAll(new RangeTask(m_nFrom, nMid, m_intConsumer), new RangeTask(nMid, m_nTo, m_intConsumer));
+        }
+    }
+}
+} ///////// End of class
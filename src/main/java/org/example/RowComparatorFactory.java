@@ -0,0 +1,344 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: RowComparatorFactory.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * RowComparatorFactory builds a RowData comparator specialized for one RowInfo and SortSpec. The generic comparison
+ * loops over the fields and calls compareTo on whatever FieldData subclass is there, which makes the call site
+ * megamorphic and keeps the JIT from inlining it. Here the comparison is composed from method handles, one per sort
+ * field, each bound to the exact FieldData subclass of its field type and chained without a loop.
+ *
+ * A handle held in an instance field is not a constant to the JIT, which then calls it through the generic invokeExact
+ * path. So every schema gets a class of its own, a copy of SchemaRowComparator renamed and defined with
+ * Lookup.defineClass, that holds the handle in a static final field. The JIT inlines a constant handle, and the whole
+ * chain is compiled as one unrolled, monomorphic comparison.
+ *
+ * Comparators are cached per schema: the field types of the sort fields and the SortSpec. The classes are never
+ * unloaded, so there should be a bounded number of schemas. The rows must have the FieldData classes allocated by the
+ * FieldType of each field, as RowData(RowInfo) does.
+ */
+public final class RowComparatorFactory
+{
+
+private static final ConcurrentMap<SchemaKey, Comparator<RowData>> COMPARATOR_CACHE = new ConcurrentHashMap<>();
+
+private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+/**
+ * The handles of the comparator classes being defined, by class name, until their static initializer takes them.
+ */
+private static final ConcurrentMap<String, MethodHandle> PENDING_METHOD_HANDLES = new ConcurrentHashMap<>();
+private static final AtomicInteger COMPARATOR_CLASS_COUNT = new AtomicInteger();
+private static final String TEMPLATE_CLASS_NAME = SchemaRowComparator.class.getName().replace('.', '/');
+private static final byte[] TEMPLATE_CLASS_FILE;
+
+private static final MethodHandle GET_FIELD_DATA;
+private static final MethodHandle NEGATE;
+private static final MethodHandle IS_NON_ZERO;
+private static final MethodHandle IS_EITHER_NULL;
+private static final MethodHandle COMPARE_NULL;
+
+static
+{
+    try
+    {
+        GET_FIELD_DATA = LOOKUP.findVirtual(RowData.class, "getFieldData",
+            MethodType.methodType(FieldData.class, int.class));
+        NEGATE = LOOKUP.findStatic(RowComparatorFactory.class, "negate", MethodType.methodType(int.class, int.class));
+        IS_NON_ZERO = LOOKUP.findStatic(RowComparatorFactory.class, "isNonZero",
+            MethodType.methodType(boolean.class, int.class));
+        IS_EITHER_NULL = LOOKUP.findStatic(RowComparatorFactory.class, "isEitherNull",
+            MethodType.methodType(boolean.class, boolean.class, boolean.class));
+        COMPARE_NULL = LOOKUP.findStatic(RowComparatorFactory.class, "compareNull",
+            MethodType.methodType(int.class, boolean.class, boolean.class, boolean.class));
+    }
+    catch (ReflectiveOperationException e)
+    {
+        throw new ExceptionInInitializerError(e);
+    }
+
+    try (InputStream inputStream = SchemaRowComparator.class.getResourceAsStream(
+        SchemaRowComparator.class.getSimpleName() + ".class"))
+    {
+        if (inputStream == null)
+        {
+            throw new ExceptionInInitializerError("Class file not found: " + TEMPLATE_CLASS_NAME);
+        }
+        TEMPLATE_CLASS_FILE = inputStream.readAllBytes();
+    }
+    catch (IOException e)
+    {
+        throw new ExceptionInInitializerError(e);
+    }
+}
+
+private RowComparatorFactory()
+{
+}
+
+/**
+ * Returns the specialized comparator of an ascending sort over all the fields, the order of RowData.compareTo.
+ */
+public static Comparator<RowData> getComparator(RowInfo rowInfo)
+{
+    return getComparator(rowInfo, SortSpec.ascending(rowInfo));
+}
+
+public static Comparator<RowData> getComparator(RowInfo rowInfo, SortSpec sortSpec)
+{
+    return COMPARATOR_CACHE.computeIfAbsent(new SchemaKey(rowInfo, sortSpec),
+        schemaKey -> defineComparator(createMethodHandle(rowInfo, sortSpec)));
+}
+
+/**
+ * Called by the static initializer of a comparator class to take the handle it was defined for.
+ */
+static MethodHandle takeMethodHandle(Class<?> comparatorClass)
+{
+    MethodHandle methodHandle = PENDING_METHOD_HANDLES.remove(comparatorClass.getName());
+    if (methodHandle == null)
+    {
+        throw new IllegalStateException("No comparison handle for class: " + comparatorClass.getName());
+    }
+    return methodHandle;
+}
+
+/**
+ * Defines a copy of SchemaRowComparator whose static final handle is methodHandle and returns an instance of it.
+ */
+@SuppressWarnings("unchecked")
+private static Comparator<RowData> defineComparator(MethodHandle methodHandle)
+{
+    String sClassName = TEMPLATE_CLASS_NAME + "$$" + COMPARATOR_CLASS_COUNT.incrementAndGet();
+    String sBinaryName = sClassName.replace('/', '.');
+    PENDING_METHOD_HANDLES.put(sBinaryName, methodHandle);
+    try
+    {
+        Class<?> comparatorClass = LOOKUP.defineClass(renameClass(TEMPLATE_CLASS_FILE, TEMPLATE_CLASS_NAME,
+            sClassName));
+        return (Comparator<RowData>) comparatorClass.getDeclaredConstructor().newInstance();
+    }
+    catch (ReflectiveOperationException | IOException e)
+    {
+        throw new IllegalStateException("Comparator class can't be defined: " + sBinaryName, e);
+    }
+    finally
+    {
+        PENDING_METHOD_HANDLES.remove(sBinaryName);
+    }
+}
+
+/**
+ * Returns the class file with sOldName, the internal name of the class, replaced by sNewName in the constant pool, as a
+ * name and within descriptors. Only the constant pool is parsed; the rest of the class file refers to it by index and
+ * is copied unchanged.
+ */
+static byte[] renameClass(byte[] aClassFile, String sOldName, String sNewName) throws IOException
+{
+    DataInputStream dataInputStream = new DataInputStream(new ByteArrayInputStream(aClassFile));
+    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(aClassFile.length + sNewName.length());
+    DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream);
+
+    // magic, minor_version, major_version
+    dataOutputStream.writeLong(dataInputStream.readLong());
+    int nConstantCount = dataInputStream.readUnsignedShort();
+    dataOutputStream.writeShort(nConstantCount);
+    for (int i = 1; i < nConstantCount; i++)
+    {
+        int nTag = dataInputStream.readUnsignedByte();
+        dataOutputStream.writeByte(nTag);
+        switch (nTag)
+        {
+            case 1: // Utf8
+                String sValue = dataInputStream.readUTF();
+                dataOutputStream.writeUTF(sValue.equals(sOldName) ? sNewName
+                    : sValue.replace('L' + sOldName + ';', 'L' + sNewName + ';'));
+                break;
+            case 7: // Class
+            case 8: // String
+            case 16: // MethodType
+            case 19: // Module
+            case 20: // Package
+                dataOutputStream.writeShort(dataInputStream.readUnsignedShort());
+                break;
+            case 15: // MethodHandle
+                dataOutputStream.writeByte(dataInputStream.readUnsignedByte());
+                dataOutputStream.writeShort(dataInputStream.readUnsignedShort());
+                break;
+            case 3: // Integer
+            case 4: // Float
+            case 9: // Fieldref
+            case 10: // Methodref
+            case 11: // InterfaceMethodref
+            case 12: // NameAndType
+            case 17: // Dynamic
+            case 18: // InvokeDynamic
+                dataOutputStream.writeInt(dataInputStream.readInt());
+                break;
+            case 5: // Long
+            case 6: // Double
+                dataOutputStream.writeLong(dataInputStream.readLong());
+                i++; // Takes two entries
+                break;
+            default:
+                throw new IOException("Unknown constant pool tag: " + nTag);
+        }
+    }
+    dataInputStream.transferTo(dataOutputStream);
+    dataOutputStream.flush();
+    return byteArrayOutputStream.toByteArray();
+}
+
+/**
+ * Returns a (RowData, RowData)int handle that compares the sort fields in order and returns the first non zero result.
+ */
+static MethodHandle createMethodHandle(RowInfo rowInfo, SortSpec sortSpec)
+{
+    int nSortFieldCount = sortSpec.getSortFieldCount();
+    if (nSortFieldCount == 0)
+    {
+        return MethodHandles.dropArguments(MethodHandles.constant(int.class, 0), 0, RowData.class, RowData.class);
+    }
+
+    MethodHandle methodHandle = createFieldMethodHandle(rowInfo, sortSpec.getSortField(nSortFieldCount - 1));
+    for (int i = nSortFieldCount - 2; i >= 0; i--)
+    {
+        // (int nCompResult, RowData, RowData) -> nCompResult != 0 ? nCompResult : next(RowData, RowData)
+        MethodHandle select = MethodHandles.guardWithTest(IS_NON_ZERO,
+            MethodHandles.dropArguments(MethodHandles.identity(int.class), 1, RowData.class, RowData.class),
+            MethodHandles.dropArguments(methodHandle, 0, int.class));
+        methodHandle = MethodHandles.foldArguments(select, createFieldMethodHandle(rowInfo, sortSpec.getSortField(i)));
+    }
+    return methodHandle;
+}
+
+/**
+ * Returns a (RowData, RowData)int handle that compares one sort field through the compareTo and isNull of the exact
+ * FieldData subclass of the field.
+ */
+private static MethodHandle createFieldMethodHandle(RowInfo rowInfo, SortField sortField)
+{
+    FieldType fieldType = rowInfo.getFieldInfo(sortField.getFieldIdx()).getFieldType();
+    Class<? extends FieldData> fieldDataClass = fieldType.allocateFieldData().getClass();
+
+    MethodHandle compareTo;
+    MethodHandle isNull;
+    try
+    {
+        compareTo = LOOKUP.findVirtual(fieldDataClass, "compareTo", MethodType.methodType(int.class, FieldData.class))
+            .asType(MethodType.methodType(int.class, fieldDataClass, fieldDataClass));
+        isNull = LOOKUP.findVirtual(fieldDataClass, "isNull", MethodType.methodType(boolean.class));
+    }
+    catch (ReflectiveOperationException e)
+    {
+        throw new IllegalStateException("FieldData class can't be compared. FieldType: " + fieldType, e);
+    }
+
+    MethodHandle compareField;
+    if (!sortField.isDescending() && !sortField.isNullsFirst())
+    {
+        // FieldData.compareTo already orders ascending with the nulls last
+        compareField = compareTo;
+    }
+    else
+    {
+        MethodHandle compareValue = sortField.isDescending() ? MethodHandles.filterReturnValue(compareTo, NEGATE)
+            : compareTo;
+        MethodHandle compareNull = MethodHandles.filterArguments(
+            MethodHandles.insertArguments(COMPARE_NULL, 2, sortField.isNullsFirst()), 0, isNull, isNull);
+        MethodHandle isEitherNull = MethodHandles.filterArguments(IS_EITHER_NULL, 0, isNull, isNull);
+        compareField = MethodHandles.guardWithTest(isEitherNull, compareNull, compareValue);
+    }
+
+    MethodHandle getFieldData = MethodHandles.insertArguments(GET_FIELD_DATA, 1, sortField.getFieldIdx())
+        .asType(MethodType.methodType(fieldDataClass, RowData.class));
+    return MethodHandles.filterArguments(compareField, 0, getFieldData, getFieldData);
+}
+
+private static int negate(int nCompResult)
+{
+    return -nCompResult;
+}
+
+private static boolean isNonZero(int nCompResult)
+{
+    return nCompResult != 0;
+}
+
+private static boolean isEitherNull(boolean bNull1, boolean bNull2)
+{
+    return bNull1 || bNull2;
+}
+
+private static int compareNull(boolean bNull1, boolean bNull2, boolean bNullsFirst)
+{
+    int nCompResult = Boolean.compare(bNull1, bNull2);
+    return bNullsFirst ? -nCompResult : nCompResult;
+}
+
+/**
+ * The part of a RowInfo and SortSpec that a generated comparator depends on.
+ */
+private static final class SchemaKey
+{
+
+    private final FieldType[] m_aFieldType;
+    private final SortSpec m_sortSpec;
+
+    SchemaKey(RowInfo rowInfo, SortSpec sortSpec)
+    {
+        m_aFieldType = new FieldType[rowInfo.getFieldCount()];
+        for (int i = 0; i < m_aFieldType.length; i++)
+        {
+            m_aFieldType[i] = rowInfo.getFieldInfo(i).getFieldType();
+        }
+        m_sortSpec = sortSpec;
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (obj == this)
+        {
+            return true;
+        }
+
+        if (!(obj instanceof SchemaKey))
+        {
+            return false;
+        }
+
+        SchemaKey schemaKey = (SchemaKey) obj;
+        return Arrays.equals(m_aFieldType, schemaKey.m_aFieldType) && m_sortSpec.equals(schemaKey.m_sortSpec);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(Arrays.hashCode(m_aFieldType), m_sortSpec);
+    }
+}
+} ///////// End of class
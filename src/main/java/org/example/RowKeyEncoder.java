@@ -0,0 +1,813 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: RowKeyEncoder.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * RowKeyEncoder converts the sort fields of a RowData into a normalized key, a byte sequence whose unsigned
+ * lexicographic order (memcmp) is the order defined by the SortSpec.
+ *
+ * Every sort field is written as a null marker byte followed by the value bytes produced by FieldType.encodeKey. The
+ * marker is not affected by the SortDirection, so NULLS FIRST / NULLS LAST hold for both directions. It is taken from
+ * FieldData.isNull, which is a flag of its own, so every value of the type, Integer.MAX_VALUE included, is encoded as a
+ * value. A null fixed length field is padded with zeros so that every row has the same key width.
+ *
+ * STRING and BINARY fields have a variable length. When nMaxVariableKeyBytes is given, the encoded bytes of every such
+ * field are limited to it, which gives the key a maximum width that can be used as a fixed stride. STRING values are
+ * ordered by their UTF-8 bytes, i.e. by code point.
+ *
+ * A sort field that has a KeyDictionary is written as its dictionary code instead of its value. The codes have the
+ * order of the values, so the key order is unchanged, and a STRING field becomes a fixed length field of 1 to 4 bytes.
+ *
+ * A packed encoder is given a FieldRange for every sort field, or a KeyDictionary, whose codes range over the
+ * cardinality. It writes no marker bytes: each field is the code of its value, value - min or max - value for DESC, in
+ * the fewest bits that hold the codes and one more code for null, and the fields are written back to back in a big
+ * endian bit layout. The key is as wide as the sum of the bits rounded up to whole bytes and is still memcmp
+ * comparable. A value outside the range cannot be encoded.
+ */
+public class RowKeyEncoder
+{
+
+public static final byte NULL_FIRST_MARKER = 0x00;
+public static final byte NOT_NULL_MARKER = 0x01;
+public static final byte NULL_LAST_MARKER = 0x02;
+
+public static final int UNBOUNDED = -1;
+
+private final RowInfo m_rowInfo;
+private final SortSpec m_sortSpec;
+
+private final int[] m_anFieldIdx;
+private final FieldType[] m_aFieldType;
+private final boolean[] m_abDescending;
+private final byte[] m_abNullMarker;
+private final KeyDictionary[] m_aDictionary;
+private final int[] m_anValueWidth;
+private final FieldRange[] m_aFieldRange;
+private final int[] m_anBitCount;
+
+private final int m_nMaxVariableKeyBytes;
+private final int m_nFixedKeyWidth;
+private final int m_nVariableFieldCount;
+
+public RowKeyEncoder(RowInfo rowInfo)
+{
+    this(rowInfo, SortSpec.ascending(rowInfo));
+}
+
+public RowKeyEncoder(RowInfo rowInfo, SortSpec sortSpec)
+{
+    this(rowInfo, sortSpec, UNBOUNDED);
+}
+
+public RowKeyEncoder(RowInfo rowInfo, SortSpec sortSpec, int nMaxVariableKeyBytes)
+{
+    this(rowInfo, sortSpec, nMaxVariableKeyBytes, new KeyDictionary[sortSpec.getSortFieldCount()]);
+}
+
+/**
+ * Creates an encoder that writes sort field i as its code in aDictionary[i] when that is not null.
+ */
+public RowKeyEncoder(RowInfo rowInfo, SortSpec sortSpec, int nMaxVariableKeyBytes, KeyDictionary[] aDictionary)
+{
+    this(rowInfo, sortSpec, nMaxVariableKeyBytes, aDictionary, null);
+}
+
+/**
+ * Creates a packed encoder. Sort field i is packed as its code in aDictionary[i] when that is not null, otherwise
+ * within aFieldRange[i].
+ */
+public RowKeyEncoder(RowInfo rowInfo, SortSpec sortSpec, KeyDictionary[] aDictionary, FieldRange[] aFieldRange)
+{
+    this(rowInfo, sortSpec, UNBOUNDED, aDictionary, aFieldRange);
+}
+
+private RowKeyEncoder(RowInfo rowInfo, SortSpec sortSpec, int nMaxVariableKeyBytes, KeyDictionary[] aDictionary,
+    FieldRange[] aFieldRange)
+{
+    if (aDictionary.length != sortSpec.getSortFieldCount()
+        || aFieldRange != null && aFieldRange.length != sortSpec.getSortFieldCount())
+    {
+        throw new IllegalArgumentException("Expected one dictionary and range per sort field. Dictionaries: "
+            + aDictionary.length + " Ranges: " + (aFieldRange != null ? aFieldRange.length : 0) + " SortSpec: "
+            + sortSpec);
+    }
+
+    m_rowInfo = rowInfo;
+    m_sortSpec = sortSpec;
+    m_nMaxVariableKeyBytes = nMaxVariableKeyBytes;
+
+    int nSortFieldCount = sortSpec.getSortFieldCount();
+    m_anFieldIdx = new int[nSortFieldCount];
+    m_aFieldType = new FieldType[nSortFieldCount];
+    m_abDescending = new boolean[nSortFieldCount];
+    m_abNullMarker = new byte[nSortFieldCount];
+    m_aDictionary = aDictionary.clone();
+    m_anValueWidth = new int[nSortFieldCount];
+
+    int nFixedKeyWidth = 0;
+    int nVariableFieldCount = 0;
+    for (int i = 0; i < nSortFieldCount; i++)
+    {
+        SortField sortField = sortSpec.getSortField(i);
+        m_anFieldIdx[i] = sortField.getFieldIdx();
+        m_aFieldType[i] = rowInfo.getFieldInfo(sortField.getFieldIdx()).getFieldType();
+        m_abDescending[i] = sortField.isDescending();
+        m_abNullMarker[i] = sortField.isNullsFirst() ? NULL_FIRST_MARKER : NULL_LAST_MARKER;
+
+        if (m_aDictionary[i] != null && m_aDictionary[i].getFieldType() != m_aFieldType[i])
+        {
+            throw new IllegalArgumentException("Dictionary of sort field " + i + " is not a dictionary of "
+                + m_aFieldType[i] + " values: " + m_aDictionary[i]);
+        }
+
+        m_anValueWidth[i] = m_aDictionary[i] != null ? m_aDictionary[i].getCodeWidth()
+            : m_aFieldType[i].isFixedLength() ? m_aFieldType[i].getFieldSizeInBytes() : UNBOUNDED;
+        nFixedKeyWidth += Byte.BYTES;
+        if (m_anValueWidth[i] != UNBOUNDED)
+        {
+            nFixedKeyWidth += m_anValueWidth[i];
+        }
+        else
+        {
+            nVariableFieldCount++;
+        }
+    }
+
+    if (aFieldRange == null)
+    {
+        m_aFieldRange = null;
+        m_anBitCount = null;
+        m_nFixedKeyWidth = nFixedKeyWidth;
+        m_nVariableFieldCount = nVariableFieldCount;
+        return;
+    }
+
+    m_aFieldRange = new FieldRange[nSortFieldCount];
+    m_anBitCount = new int[nSortFieldCount];
+    int nBitCount = 0;
+    for (int i = 0; i < nSortFieldCount; i++)
+    {
+        if (m_aDictionary[i] != null)
+        {
+            m_aFieldRange[i] = new FieldRange(0, Math.max(m_aDictionary[i].getCardinality() - 1, 0));
+        }
+        else if (aFieldRange[i] != null && FieldRange.isSupported(m_aFieldType[i]))
+        {
+            m_aFieldRange[i] = aFieldRange[i];
+        }
+        else
+        {
+            throw new IllegalArgumentException("Sort field " + i + " of type " + m_aFieldType[i]
+                + " has neither a dictionary nor a range to pack it");
+        }
+        m_anBitCount[i] = m_aFieldRange[i].getBitCount();
+        nBitCount += m_anBitCount[i];
+    }
+    m_nFixedKeyWidth = (nBitCount + Byte.SIZE - 1) / Byte.SIZE;
+    m_nVariableFieldCount = 0;
+}
+
+/**
+ * Creates an encoder with a KeyDictionary for every sort field of the rowBatch that has at most nMaxCardinality
+ * distinct values and whose codes are narrower than its values.
+ */
+public static RowKeyEncoder withDictionaries(RowBatch rowBatch, SortSpec sortSpec, int nMaxVariableKeyBytes,
+    int nMaxCardinality)
+{
+    KeyDictionary[] aDictionary = new KeyDictionary[sortSpec.getSortFieldCount()];
+    for (int i = 0; i < aDictionary.length; i++)
+    {
+        int nFieldIdx = sortSpec.getSortField(i).getFieldIdx();
+        if (isDictionaryCandidate(rowBatch.getRowInfo().getFieldInfo(nFieldIdx).getFieldType()))
+        {
+            aDictionary[i] = filterDictionary(KeyDictionary.build(rowBatch, nFieldIdx, nMaxCardinality));
+        }
+    }
+    return new RowKeyEncoder(rowBatch.getRowInfo(), sortSpec, nMaxVariableKeyBytes, aDictionary);
+}
+
+/**
+ * Creates an encoder with a KeyDictionary for every sort field of the rows that has at most nMaxCardinality distinct
+ * values and whose codes are narrower than its values.
+ */
+public static RowKeyEncoder withDictionaries(RowInfo rowInfo, List<RowData> listRowData, SortSpec sortSpec,
+    int nMaxVariableKeyBytes, int nMaxCardinality)
+{
+    KeyDictionary[] aDictionary = new KeyDictionary[sortSpec.getSortFieldCount()];
+    for (int i = 0; i < aDictionary.length; i++)
+    {
+        int nFieldIdx = sortSpec.getSortField(i).getFieldIdx();
+        if (isDictionaryCandidate(rowInfo.getFieldInfo(nFieldIdx).getFieldType()))
+        {
+            aDictionary[i] = filterDictionary(KeyDictionary.build(listRowData, nFieldIdx, nMaxCardinality));
+        }
+    }
+    return new RowKeyEncoder(rowInfo, sortSpec, nMaxVariableKeyBytes, aDictionary);
+}
+
+/**
+ * Creates a packed encoder when every sort field of the rowBatch is packable: an INTEGER, DATE, LONG or BOOLEAN field
+ * packed within the range of its values, or a field that has at most nMaxCardinality distinct values packed as its
+ * dictionary code. Otherwise returns the encoder of withDictionaries.
+ */
+public static RowKeyEncoder withPackedFields(RowBatch rowBatch, SortSpec sortSpec, int nMaxVariableKeyBytes,
+    int nMaxCardinality)
+{
+    KeyDictionary[] aDictionary = new KeyDictionary[sortSpec.getSortFieldCount()];
+    FieldRange[] aFieldRange = new FieldRange[sortSpec.getSortFieldCount()];
+    boolean bPackable = true;
+    for (int i = 0; i < aDictionary.length; i++)
+    {
+        int nFieldIdx = sortSpec.getSortField(i).getFieldIdx();
+        if (FieldRange.isSupported(rowBatch.getRowInfo().getFieldInfo(nFieldIdx).getFieldType()))
+        {
+            aFieldRange[i] = toPackableRange(FieldRange.scan(rowBatch, nFieldIdx));
+        }
+        if (aFieldRange[i] == null && isDictionaryCandidate(rowBatch.getRowInfo().getFieldInfo(nFieldIdx)
+            .getFieldType()))
+        {
+            aDictionary[i] = KeyDictionary.build(rowBatch, nFieldIdx, nMaxCardinality);
+        }
+        bPackable &= aFieldRange[i] != null || aDictionary[i] != null;
+    }
+    return createPackedOrDictionary(rowBatch.getRowInfo(), sortSpec, nMaxVariableKeyBytes, aDictionary, aFieldRange,
+        bPackable);
+}
+
+/**
+ * Creates a packed encoder when every sort field of the rows is packable, otherwise returns the encoder of
+ * withDictionaries. See withPackedFields(RowBatch, SortSpec, int, int).
+ */
+public static RowKeyEncoder withPackedFields(RowInfo rowInfo, List<RowData> listRowData, SortSpec sortSpec,
+    int nMaxVariableKeyBytes, int nMaxCardinality)
+{
+    KeyDictionary[] aDictionary = new KeyDictionary[sortSpec.getSortFieldCount()];
+    FieldRange[] aFieldRange = new FieldRange[sortSpec.getSortFieldCount()];
+    boolean bPackable = true;
+    for (int i = 0; i < aDictionary.length; i++)
+    {
+        int nFieldIdx = sortSpec.getSortField(i).getFieldIdx();
+        if (FieldRange.isSupported(rowInfo.getFieldInfo(nFieldIdx).getFieldType()))
+        {
+            aFieldRange[i] = toPackableRange(FieldRange.scan(listRowData, nFieldIdx));
+        }
+        if (aFieldRange[i] == null && isDictionaryCandidate(rowInfo.getFieldInfo(nFieldIdx).getFieldType()))
+        {
+            aDictionary[i] = KeyDictionary.build(listRowData, nFieldIdx, nMaxCardinality);
+        }
+        bPackable &= aFieldRange[i] != null || aDictionary[i] != null;
+    }
+    return createPackedOrDictionary(rowInfo, sortSpec, nMaxVariableKeyBytes, aDictionary, aFieldRange, bPackable);
+}
+
+/**
+ * Returns the range to pack a field with, a single value when all its values are null, or null when it is too wide.
+ */
+private static FieldRange toPackableRange(FieldRange fieldRange)
+{
+    if (fieldRange == null)
+    {
+        return new FieldRange(0, 0);
+    }
+    return fieldRange.isPackable() ? fieldRange : null;
+}
+
+private static RowKeyEncoder createPackedOrDictionary(RowInfo rowInfo, SortSpec sortSpec, int nMaxVariableKeyBytes,
+    KeyDictionary[] aDictionary, FieldRange[] aFieldRange, boolean bPackable)
+{
+    if (bPackable)
+    {
+        return new RowKeyEncoder(rowInfo, sortSpec, aDictionary, aFieldRange);
+    }
+
+    for (int i = 0; i < aDictionary.length; i++)
+    {
+        aDictionary[i] = filterDictionary(aDictionary[i]);
+    }
+    return new RowKeyEncoder(rowInfo, sortSpec, nMaxVariableKeyBytes, aDictionary);
+}
+
+/**
+ * Returns false for the fields whose values are never wider than a code, so that the pre-pass is skipped for them.
+ */
+private static boolean isDictionaryCandidate(FieldType fieldType)
+{
+    return !fieldType.isFixedLength() || fieldType.getFieldSizeInBytes() > KeyDictionary.getCodeWidth(1);
+}
+
+/**
+ * Returns the dictionary when its codes are narrower than the values of its field, otherwise null.
+ */
+private static KeyDictionary filterDictionary(KeyDictionary dictionary)
+{
+    if (dictionary == null)
+    {
+        return null;
+    }
+
+    FieldType fieldType = dictionary.getFieldType();
+    return !fieldType.isFixedLength() || dictionary.getCodeWidth() < fieldType.getFieldSizeInBytes() ? dictionary
+        : null;
+}
+
+public RowInfo getRowInfo()
+{
+    return m_rowInfo;
+}
+
+public SortSpec getSortSpec()
+{
+    return m_sortSpec;
+}
+
+public int getKeyFieldCount()
+{
+    return m_anFieldIdx.length;
+}
+
+/**
+ * Returns the KeyDictionary of the sort field, or null when the field is encoded by value.
+ */
+public KeyDictionary getDictionary(int nSortFieldIdx)
+{
+    return m_aDictionary[nSortFieldIdx];
+}
+
+/**
+ * Returns true when the fields are bit packed instead of written as marker and value bytes.
+ */
+public boolean isPacked()
+{
+    return m_aFieldRange != null;
+}
+
+/**
+ * Returns the FieldRange a packed sort field is packed within, or null when the encoder is not packed.
+ */
+public FieldRange getFieldRange(int nSortFieldIdx)
+{
+    return m_aFieldRange != null ? m_aFieldRange[nSortFieldIdx] : null;
+}
+
+public boolean isFixedWidth()
+{
+    return m_nVariableFieldCount == 0;
+}
+
+/**
+ * Returns true when the keys have a maximum width, which is when no variable width field is unbounded.
+ */
+public boolean hasMaxKeyWidth()
+{
+    return m_nVariableFieldCount == 0 || m_nMaxVariableKeyBytes != UNBOUNDED;
+}
+
+/**
+ * Returns the width of the largest key this encoder can produce. Keys of a fixed width encoder all have this width.
+ */
+public int getMaxKeyWidth()
+{
+    if (m_nVariableFieldCount > 0 && m_nMaxVariableKeyBytes == UNBOUNDED)
+    {
+        throw new UnsupportedOperationException("Key width is unbounded. SortSpec: " + m_sortSpec);
+    }
+
+    return m_nFixedKeyWidth + m_nVariableFieldCount * Math.max(m_nMaxVariableKeyBytes, 0);
+}
+
+/**
+ * Returns the number of bytes encodeInto writes for the rowData.
+ */
+public int getEncodedLength(RowData rowData)
+{
+    if (isFixedWidth())
+    {
+        return m_nFixedKeyWidth;
+    }
+
+    int nLength = m_nFixedKeyWidth;
+    for (int i = 0; i < m_anFieldIdx.length; i++)
+    {
+        if (m_anValueWidth[i] == UNBOUNDED)
+        {
+            FieldData fieldData = rowData.getFieldData(m_anFieldIdx[i]);
+            if (!fieldData.isNull())
+            {
+                nLength += m_aFieldType[i].getKeySizeInBytes(fieldData);
+            }
+        }
+    }
+
+    return nLength;
+}
+
+public byte[] encode(RowData rowData)
+{
+    byte[] aKey = new byte[getEncodedLength(rowData)];
+    encodeInto(rowData, aKey, 0);
+    return aKey;
+}
+
+/**
+ * Writes the key of the rowData at nOffset of aKey and returns the number of bytes written.
+ */
+public int encodeInto(RowData rowData, byte[] aKey, int nOffset)
+{
+    if (m_aFieldRange != null)
+    {
+        Arrays.fill(aKey, nOffset, nOffset + m_nFixedKeyWidth, (byte) 0);
+        int nBitPos = 0;
+        for (int i = 0; i < m_anFieldIdx.length; i++)
+        {
+            FieldData fieldData = rowData.getFieldData(m_anFieldIdx[i]);
+            long lCode = fieldData.isNull() ? getNullCode(i) : toCode(i, m_aDictionary[i] != null
+                ? m_aDictionary[i].getCode(fieldData) : FieldRange.getLong(fieldData));
+            SortableBytes.putBits(lCode, m_anBitCount[i], aKey, nOffset, nBitPos);
+            nBitPos += m_anBitCount[i];
+        }
+        if (SortMetrics.ENABLED)
+        {
+            SortMetrics.countEncoded(m_nFixedKeyWidth);
+        }
+        return m_nFixedKeyWidth;
+    }
+
+    int nPos = nOffset;
+    for (int i = 0; i < m_anFieldIdx.length; i++)
+    {
+        FieldType fieldType = m_aFieldType[i];
+        FieldData fieldData = rowData.getFieldData(m_anFieldIdx[i]);
+
+        if (fieldData.isNull())
+        {
+            nPos = putNull(i, aKey, nPos);
+            continue;
+        }
+
+        aKey[nPos++] = NOT_NULL_MARKER;
+        if (m_aDictionary[i] != null)
+        {
+            nPos += m_aDictionary[i].encodeCode(m_aDictionary[i].getCode(fieldData), m_abDescending[i], aKey, nPos);
+            continue;
+        }
+        nPos += fieldType.encodeKey(fieldData, m_abDescending[i], aKey, nPos, getLimit(aKey, nPos));
+    }
+
+    if (SortMetrics.ENABLED)
+    {
+        SortMetrics.countEncoded(nPos - nOffset);
+    }
+    return nPos - nOffset;
+}
+
+/**
+ * Writes the key of the rowData into row nRowIdx of the keySlab, padding it with zeros up to the stride. Nothing is
+ * allocated.
+ */
+public int encodeInto(RowData rowData, KeySlab keySlab, int nRowIdx)
+{
+    byte[] aChunk = keySlab.getChunk(nRowIdx);
+    int nOffset = keySlab.getOffset(nRowIdx);
+    int nLength = encodeInto(rowData, aChunk, nOffset);
+    Arrays.fill(aChunk, nOffset + nLength, nOffset + keySlab.getStride(), (byte) 0);
+    return nLength;
+}
+
+/**
+ * Returns the number of bytes encodeInto writes for row nRowIdx of the rowBatch.
+ */
+public int getEncodedLength(RowBatch rowBatch, int nRowIdx)
+{
+    if (isFixedWidth())
+    {
+        return m_nFixedKeyWidth;
+    }
+
+    int nLength = m_nFixedKeyWidth;
+    for (int i = 0; i < m_anFieldIdx.length; i++)
+    {
+        if (m_anValueWidth[i] == UNBOUNDED)
+        {
+            ColumnVector columnVector = rowBatch.getColumnVector(m_anFieldIdx[i]);
+            if (!columnVector.isNull(nRowIdx))
+            {
+                nLength += columnVector.getKeySizeInBytes(nRowIdx);
+            }
+        }
+    }
+
+    return nLength;
+}
+
+/**
+ * Writes the key of row nRowIdx of the rowBatch at nOffset of aKey and returns the number of bytes written. The values
+ * are read from the column vectors directly, so the key is the same as for the RowData of the row but nothing is boxed.
+ */
+public int encodeInto(RowBatch rowBatch, int nRowIdx, byte[] aKey, int nOffset)
+{
+    if (m_aFieldRange != null)
+    {
+        Arrays.fill(aKey, nOffset, nOffset + m_nFixedKeyWidth, (byte) 0);
+        int nBitPos = 0;
+        for (int i = 0; i < m_anFieldIdx.length; i++)
+        {
+            ColumnVector columnVector = rowBatch.getColumnVector(m_anFieldIdx[i]);
+            long lCode = columnVector.isNull(nRowIdx) ? getNullCode(i) : toCode(i, m_aDictionary[i] != null
+                ? m_aDictionary[i].getCode(columnVector, nRowIdx) : FieldRange.getLong(columnVector, nRowIdx));
+            SortableBytes.putBits(lCode, m_anBitCount[i], aKey, nOffset, nBitPos);
+            nBitPos += m_anBitCount[i];
+        }
+        if (SortMetrics.ENABLED)
+        {
+            SortMetrics.countEncoded(m_nFixedKeyWidth);
+        }
+        return m_nFixedKeyWidth;
+    }
+
+    int nPos = nOffset;
+    for (int i = 0; i < m_anFieldIdx.length; i++)
+    {
+        ColumnVector columnVector = rowBatch.getColumnVector(m_anFieldIdx[i]);
+        if (columnVector.isNull(nRowIdx))
+        {
+            nPos = putNull(i, aKey, nPos);
+            continue;
+        }
+
+        aKey[nPos++] = NOT_NULL_MARKER;
+        if (m_aDictionary[i] != null)
+        {
+            nPos += m_aDictionary[i].encodeCode(m_aDictionary[i].getCode(columnVector, nRowIdx), m_abDescending[i],
+                aKey, nPos);
+            continue;
+        }
+        nPos += columnVector.encodeKey(nRowIdx, m_abDescending[i], aKey, nPos, getLimit(aKey, nPos));
+    }
+
+    if (SortMetrics.ENABLED)
+    {
+        SortMetrics.countEncoded(nPos - nOffset);
+    }
+    return nPos - nOffset;
+}
+
+/**
+ * Writes the key of row nRowIdx of the rowBatch into row nSlabRowIdx of the keySlab, padding it with zeros up to the
+ * stride.
+ */
+public int encodeInto(RowBatch rowBatch, int nRowIdx, KeySlab keySlab, int nSlabRowIdx)
+{
+    byte[] aChunk = keySlab.getChunk(nSlabRowIdx);
+    int nOffset = keySlab.getOffset(nSlabRowIdx);
+    int nLength = encodeInto(rowBatch, nRowIdx, aChunk, nOffset);
+    Arrays.fill(aChunk, nOffset + nLength, nOffset + keySlab.getStride(), (byte) 0);
+    return nLength;
+}
+
+/**
+ * Reads a key written by encodeInto into the sort fields of rowDataOut and returns the number of bytes consumed. Fields
+ * that are not part of the SortSpec are left unchanged.
+ */
+public int decodeInto(byte[] aKey, int nOffset, RowData rowDataOut)
+{
+    if (m_aFieldRange != null)
+    {
+        int nBitPos = 0;
+        for (int i = 0; i < m_anFieldIdx.length; i++)
+        {
+            FieldData fieldData = rowDataOut.getFieldData(m_anFieldIdx[i]);
+            long lCode = SortableBytes.getBits(aKey, nOffset, nBitPos, m_anBitCount[i]);
+            nBitPos += m_anBitCount[i];
+            if (lCode == getNullCode(i))
+            {
+                fieldData.setValue(null);
+            }
+            else if (m_aDictionary[i] != null)
+            {
+                m_aDictionary[i].decodeCode((int) toValue(i, lCode), fieldData);
+            }
+            else
+            {
+                FieldRange.setLong(fieldData, toValue(i, lCode));
+            }
+        }
+        return m_nFixedKeyWidth;
+    }
+
+    int nPos = nOffset;
+    for (int i = 0; i < m_anFieldIdx.length; i++)
+    {
+        FieldType fieldType = m_aFieldType[i];
+        FieldData fieldData = rowDataOut.getFieldData(m_anFieldIdx[i]);
+
+        if (aKey[nPos++] != NOT_NULL_MARKER)
+        {
+            fieldData.setValue(null);
+            if (m_anValueWidth[i] != UNBOUNDED)
+            {
+                nPos += m_anValueWidth[i];
+            }
+            continue;
+        }
+
+        nPos += m_aDictionary[i] != null ? m_aDictionary[i].decodeKey(aKey, nPos, m_abDescending[i], fieldData)
+            : fieldType.decodeKey(aKey, nPos, m_abDescending[i], fieldData);
+    }
+
+    return nPos - nOffset;
+}
+
+public RowData decode(byte[] aKey)
+{
+    RowData rowDataOut = new RowData(m_rowInfo);
+    decodeInto(aKey, 0, rowDataOut);
+    return rowDataOut;
+}
+
+/**
+ * Returns the number of bytes of the first nFieldCount sort fields of the key at nOffset. This prefix is the key of
+ * those fields alone, so keys with equal leading fields have equal prefixes, byte for byte. A packed key only has a
+ * prefix where the bits of the fields end on a byte boundary.
+ */
+public int getPrefixLength(byte[] aKey, int nOffset, int nFieldCount)
+{
+    if (m_aFieldRange != null)
+    {
+        return getPackedPrefixLength(nFieldCount);
+    }
+
+    int nPos = nOffset;
+    for (int i = 0; i < nFieldCount; i++)
+    {
+        if (m_anValueWidth[i] != UNBOUNDED)
+        {
+            nPos += Byte.BYTES + m_anValueWidth[i];
+        }
+        else if (aKey[nPos++] == NOT_NULL_MARKER)
+        {
+            nPos += SortableBytes.skipVariableBytes(aKey, nPos, m_abDescending[i]);
+        }
+    }
+    return nPos - nOffset;
+}
+
+/**
+ * Returns true when one of the first nFieldCount sort fields of the key at nOffset is null.
+ */
+public boolean hasNull(byte[] aKey, int nOffset, int nFieldCount)
+{
+    if (m_aFieldRange != null)
+    {
+        int nBitPos = 0;
+        for (int i = 0; i < nFieldCount; i++)
+        {
+            if (SortableBytes.getBits(aKey, nOffset, nBitPos, m_anBitCount[i]) == getNullCode(i))
+            {
+                return true;
+            }
+            nBitPos += m_anBitCount[i];
+        }
+        return false;
+    }
+
+    int nPos = nOffset;
+    for (int i = 0; i < nFieldCount; i++)
+    {
+        if (aKey[nPos++] != NOT_NULL_MARKER)
+        {
+            return true;
+        }
+
+        nPos += m_anValueWidth[i] != UNBOUNDED ? m_anValueWidth[i]
+            : SortableBytes.skipVariableBytes(aKey, nPos, m_abDescending[i]);
+    }
+    return false;
+}
+
+/**
+ * Returns true when the first nFieldCount sort fields of both encoders have the same type, direction, null ordering,
+ * dictionary and packing, so that the key prefixes of the two encoders can be compared byte for byte.
+ */
+public boolean hasSameLeadingFields(RowKeyEncoder rowKeyEncoder, int nFieldCount)
+{
+    if (nFieldCount > getKeyFieldCount() || nFieldCount > rowKeyEncoder.getKeyFieldCount()
+        || isPacked() != rowKeyEncoder.isPacked())
+    {
+        return false;
+    }
+    if (isPacked() && (!Arrays.equals(m_aFieldRange, 0, nFieldCount, rowKeyEncoder.m_aFieldRange, 0, nFieldCount)
+        || !isPackedPrefix(nFieldCount) || !rowKeyEncoder.isPackedPrefix(nFieldCount)))
+    {
+        return false;
+    }
+
+    for (int i = 0; i < nFieldCount; i++)
+    {
+        if (m_aFieldType[i] != rowKeyEncoder.m_aFieldType[i] || m_abDescending[i] != rowKeyEncoder.m_abDescending[i]
+            || m_abNullMarker[i] != rowKeyEncoder.m_abNullMarker[i]
+            || !Objects.equals(m_aDictionary[i], rowKeyEncoder.m_aDictionary[i]))
+        {
+            return false;
+        }
+    }
+    return true;
+}
+
+/**
+ * Returns the packed code of null for sort field nSortFieldIdx, the smallest or the largest code.
+ */
+private long getNullCode(int nSortFieldIdx)
+{
+    FieldRange fieldRange = m_aFieldRange[nSortFieldIdx];
+    return m_abNullMarker[nSortFieldIdx] == NULL_FIRST_MARKER ? 0 : fieldRange.getMax() - fieldRange.getMin() + 1;
+}
+
+/**
+ * Returns the packed code of a value of sort field nSortFieldIdx, a dictionary code for a dictionary field. The codes
+ * of NULLS FIRST fields start at 1.
+ */
+private long toCode(int nSortFieldIdx, long lValue)
+{
+    FieldRange fieldRange = m_aFieldRange[nSortFieldIdx];
+    if (!fieldRange.contains(lValue))
+    {
+        throw new IllegalArgumentException("Value " + lValue + " of sort field " + nSortFieldIdx + " is out of "
+            + fieldRange);
+    }
+
+    long lCode = m_abDescending[nSortFieldIdx] ? fieldRange.getMax() - lValue : lValue - fieldRange.getMin();
+    return m_abNullMarker[nSortFieldIdx] == NULL_FIRST_MARKER ? lCode + 1 : lCode;
+}
+
+private long toValue(int nSortFieldIdx, long lCode)
+{
+    FieldRange fieldRange = m_aFieldRange[nSortFieldIdx];
+    long lOffset = m_abNullMarker[nSortFieldIdx] == NULL_FIRST_MARKER ? lCode - 1 : lCode;
+    return m_abDescending[nSortFieldIdx] ? fieldRange.getMax() - lOffset : fieldRange.getMin() + lOffset;
+}
+
+/**
+ * Returns true when the bits of the first nFieldCount fields of the packed key end on a byte boundary.
+ */
+private boolean isPackedPrefix(int nFieldCount)
+{
+    if (nFieldCount == m_anBitCount.length)
+    {
+        return true;
+    }
+
+    int nBitCount = 0;
+    for (int i = 0; i < nFieldCount; i++)
+    {
+        nBitCount += m_anBitCount[i];
+    }
+    return nBitCount % Byte.SIZE == 0;
+}
+
+private int getPackedPrefixLength(int nFieldCount)
+{
+    if (!isPackedPrefix(nFieldCount))
+    {
+        throw new UnsupportedOperationException("The first " + nFieldCount + " packed fields do not end on a byte"
+            + " boundary. SortSpec: " + m_sortSpec);
+    }
+
+    int nBitCount = 0;
+    for (int i = 0; i < nFieldCount; i++)
+    {
+        nBitCount += m_anBitCount[i];
+    }
+    return nFieldCount == m_anBitCount.length ? m_nFixedKeyWidth : nBitCount / Byte.SIZE;
+}
+
+/**
+ * Writes the null marker of sort field nSortFieldIdx, followed by the zero padding of a fixed length field.
+ */
+private int putNull(int nSortFieldIdx, byte[] aKey, int nPos)
+{
+    aKey[nPos++] = m_abNullMarker[nSortFieldIdx];
+    if (m_anValueWidth[nSortFieldIdx] != UNBOUNDED)
+    {
+        int nFieldSize = m_anValueWidth[nSortFieldIdx];
+        Arrays.fill(aKey, nPos, nPos + nFieldSize, (byte) 0);
+        nPos += nFieldSize;
+    }
+    return nPos;
+}
+
+private int getLimit(byte[] aKey, int nPos)
+{
+    return m_nMaxVariableKeyBytes == UNBOUNDED ? aKey.length : nPos + m_nMaxVariableKeyBytes;
+}
+} ///////// End of class
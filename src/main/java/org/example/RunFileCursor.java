@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: RunFileCursor.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * RunFileCursor reads a run file written by ExternalSorter. A run file is nothing but keys of the same stride written
+ * back to back. The file is read through a FileChannel into a heap buffer that holds a whole number of keys.
+ */
+public class RunFileCursor implements KeyCursor
+{
+
+private final FileChannel m_fileChannel;
+private final int m_nStride;
+private final ByteBuffer m_byteBuffer;
+private final byte[] m_aBuffer;
+
+private int m_nKeyOffset;
+private int m_nBufferedBytes;
+private boolean m_bEnd;
+
+public RunFileCursor(Path path, int nStride, int nBufferBytes) throws IOException
+{
+    m_fileChannel = FileChannel.open(path, StandardOpenOption.READ);
+    m_nStride = nStride;
+    m_aBuffer = new byte[Math.max(1, nBufferBytes / nStride) * nStride];
+    m_byteBuffer = ByteBuffer.wrap(m_aBuffer);
+    m_nKeyOffset = -nStride;
+}
+
+@Override
+public boolean next() throws IOException
+{
+    if (m_bEnd)
+    {
+        return false;
+    }
+
+    m_nKeyOffset += m_nStride;
+    if (m_nKeyOffset + m_nStride <= m_nBufferedBytes)
+    {
+        return true;
+    }
+
+    // Move the bytes of a partially read key to the front and refill the buffer
+    int nRemaining = m_nBufferedBytes - m_nKeyOffset;
+    System.arraycopy(m_aBuffer, m_nKeyOffset, m_aBuffer, 0, nRemaining);
+    m_byteBuffer.clear().position(nRemaining);
+    int nRead;
+    do
+    {
+        nRead = m_fileChannel.read(m_byteBuffer);
+    } while (nRead >= 0 && m_byteBuffer.hasRemaining());
+
+    m_nBufferedBytes = m_byteBuffer.position();
+    m_nKeyOffset = 0;
+    m_bEnd = m_nBufferedBytes < m_nStride;
+    return !m_bEnd;
+}
+
+@Override
+public byte[] getKeyBuffer()
+{
+    return m_aBuffer;
+}
+
+@Override
+public int getKeyOffset()
+{
+    return m_nKeyOffset;
+}
+
+@Override
+public int getKeyLength()
+{
+    return m_nStride;
+}
+
+@Override
+public void close() throws IOException
+{
+    m_fileChannel.close();
+}
+} ///////// End of class
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: SchemaRowComparator.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Comparator;
+
+/**
+ * SchemaRowComparator is the template of the comparators made by RowComparatorFactory and is never used as is. For
+ * every schema the factory defines a copy of this class under a name of its own, whose static initializer takes the
+ * comparison handle of that schema. The handle is a static final field, so the JIT treats it as a constant and inlines
+ * the whole chain of field comparisons into compare.
+ *
+ * The class must not refer to itself other than by its name, which is the only thing the factory changes.
+ */
+final class SchemaRowComparator implements Comparator<RowData>
+{
+
+private static final MethodHandle COMPARE_HANDLE = RowComparatorFactory.takeMethodHandle(SchemaRowComparator.class);
+
+@Override
+public int compare(RowData rowData1, RowData rowData2)
+{
+    try
+    {
+        return (int) COMPARE_HANDLE.invokeExact(rowData1, rowData2);
+    }
+    catch (RuntimeException | Error e)
+    {
+        throw e;
+    }
+    catch (Throwable t)
+    {
+        throw new IllegalStateException(t);
+    }
+}
+} ///////// End of class
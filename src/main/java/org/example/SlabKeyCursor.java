@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: SlabKeyCursor.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+/**
+ * SlabKeyCursor walks over the rows of a KeySlab, either in row order or in the order of an int[] of row indexes such
+ * as the one returned by MsdRadixSorter.sortIndex.
+ */
+public class SlabKeyCursor implements KeyCursor
+{
+
+private final KeySlab m_keySlab;
+private final int[] m_anRowIdx;
+private final int m_nRowCount;
+
+private int m_nPos = -1;
+private int m_nRowIdx = -1;
+
+public SlabKeyCursor(KeySlab keySlab)
+{
+    this(keySlab, null);
+}
+
+public SlabKeyCursor(KeySlab keySlab, int[] anRowIdx)
+{
+    m_keySlab = keySlab;
+    m_anRowIdx = anRowIdx;
+    m_nRowCount = anRowIdx != null ? anRowIdx.length : keySlab.getRowCount();
+}
+
+@Override
+public boolean next()
+{
+    if (m_nPos + 1 >= m_nRowCount)
+    {
+        m_nPos = m_nRowCount;
+        return false;
+    }
+
+    m_nPos++;
+    m_nRowIdx = m_anRowIdx != null ? m_anRowIdx[m_nPos] : m_nPos;
+    return true;
+}
+
+/**
+ * Returns the row index in the slab of the current key.
+ */
+public int getRowIdx()
+{
+    return m_nRowIdx;
+}
+
+@Override
+public byte[] getKeyBuffer()
+{
+    return m_keySlab.getChunk(m_nRowIdx);
+}
+
+@Override
+public int getKeyOffset()
+{
+    return m_keySlab.getOffset(m_nRowIdx);
+}
+
+@Override
+public int getKeyLength()
+{
+    return m_keySlab.getStride();
+}
+} ///////// End of class
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: SortComponent.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.apache.camel.Endpoint;
+import org.apache.camel.support.DefaultComponent;
+
+import java.util.Map;
+
+/**
+ * SortComponent creates the sort: endpoints, sort:name?options. A route sends rows to the endpoint and another route
+ * consumes the sorted batches from it. Camel shares an endpoint by its URI, so both routes must use the same URI,
+ * options included. Please refer to SortEndpoint for the options.
+ */
+public class SortComponent extends DefaultComponent
+{
+
+@Override
+protected Endpoint createEndpoint(String sUri, String sRemaining, Map<String, Object> mapParameter) throws Exception
+{
+    SortEndpoint sortEndpoint = new SortEndpoint(sUri, this, sRemaining);
+    setProperties(sortEndpoint, mapParameter);
+    return sortEndpoint;
+}
+} ///////// End of class
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: SortConsumer.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.support.DefaultConsumer;
+
+/**
+ * SortConsumer feeds the sorted batches of its SortEndpoint into a route. Every batch is one message with the sorted
+ * RowBatch as body and the HEADER_ROW_COUNT and HEADER_FLUSH_REASON headers.
+ */
+public class SortConsumer extends DefaultConsumer
+{
+
+private final SortEndpoint m_sortEndpoint;
+
+public SortConsumer(SortEndpoint sortEndpoint, Processor processor)
+{
+    super(sortEndpoint, processor);
+    m_sortEndpoint = sortEndpoint;
+}
+
+/**
+ * Processes the sorted batch on the calling thread. An error of the route is thrown, so that the endpoint keeps the
+ * rows of the batch.
+ */
+void emit(RowBatch rowBatch, SortEndpoint.FlushReason flushReason) throws Exception
+{
+    Exchange exchange = createExchange(false);
+    try
+    {
+        exchange.getIn().setBody(rowBatch);
+        exchange.getIn().setHeader(SortEndpoint.HEADER_ROW_COUNT, rowBatch.getRowCount());
+        exchange.getIn().setHeader(SortEndpoint.HEADER_FLUSH_REASON, flushReason.name());
+        getProcessor().process(exchange);
+        if (exchange.getException() != null)
+        {
+            throw exchange.getException();
+        }
+    }
+    finally
+    {
+        releaseExchange(exchange, false);
+    }
+}
+
+@Override
+protected void doStart() throws Exception
+{
+    super.doStart();
+    m_sortEndpoint.setConsumer(this);
+}
+
+@Override
+protected void doStop() throws Exception
+{
+    m_sortEndpoint.removeConsumer(this);
+    super.doStop();
+}
+} ///////// End of class
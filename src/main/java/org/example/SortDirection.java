@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: SortDirection.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+/**
+ * SortDirection is the direction in which a single sort column is ordered.
+ */
+public enum SortDirection
+{
+    ASC,
+    DESC;
+
+public boolean isDescending()
+{
+    return this == DESC;
+}
+} ///////// End of class
@@ -0,0 +1,595 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: SortEndpoint.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.apache.camel.Consumer;
+import org.apache.camel.Processor;
+import org.apache.camel.Producer;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.Metadata;
+import org.apache.camel.spi.UriEndpoint;
+import org.apache.camel.spi.UriParam;
+import org.apache.camel.spi.UriPath;
+import org.apache.camel.support.DefaultEndpoint;
+
+import java.util.Collection;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SortEndpoint buffers the rows sent to it in a RowBatch and emits them sorted, as one RowBatch message per flush, to
+ * the route that consumes from it. The message body sent to the endpoint is a RowData, a RowBatch or a Collection of
+ * them. A flush sorts the buffer with RowBatch.sort, which radix sorts the normalized keys, and happens when
+ *
+ *  - batchSize rows are buffered,
+ *  - the buffer holds memoryBudget bytes,
+ *  - every flushInterval milliseconds, so no row waits longer than that, or
+ *  - the consumer stops.
+ *
+ * Flushes on size and memory run on the thread of the sending route, which is blocked until the sorted batch has been
+ * processed by the consuming route; other senders wait for the flush as well. A slow consumer so slows down the
+ * ingestion instead of letting the buffered rows grow. When the consuming route fails, the flush fails with its error,
+ * which goes back to the sender or, for timed flushes, to the exception handler of the consumer, and the rows stay in
+ * the buffer for the next flush. Until a flush succeeds, the buffer is not sorted again for every row added: a size
+ * flush is only retried once another batchSize rows are buffered, there is no memory flush, and once the buffer holds
+ * memoryBudget bytes the rows sent are rejected with an IllegalStateException. Timed and manual flushes retry as usual.
+ *
+ * The throughput of the endpoint is available with the getters and, when JMX is enabled, as the attributes of the
+ * managed endpoint.
+ */
+@ManagedResource(description = "Managed SortEndpoint")
+@UriEndpoint(firstVersion = "1.0", scheme = "sort", title = "Sort", syntax = "sort:name")
+public class SortEndpoint extends DefaultEndpoint
+{
+
+public static final String HEADER_ROW_COUNT = "CamelSortRowCount";
+public static final String HEADER_FLUSH_REASON = "CamelSortFlushReason";
+
+public static final int DEFAULT_BATCH_SIZE = 100_000;
+public static final long DEFAULT_MEMORY_BUDGET_BYTES = 64L << 20;
+public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1000;
+
+private static final int INITIAL_CAPACITY = 1024;
+private static final int MEMORY_CHECK_ROWS = 1024;
+
+/**
+ * Why a batch was emitted, set in the HEADER_FLUSH_REASON header.
+ */
+public enum FlushReason
+{
+    SIZE,
+    MEMORY,
+    TIME,
+    MANUAL,
+    SHUTDOWN
+}
+
+@UriPath(description = "Name of the sort buffer")
+@Metadata(required = true)
+private final String m_sName;
+
+@UriParam(name = "sortBy", description = "ORDER BY list as parsed by SortSpec.parse. All the fields ascending when not"
+    + " set")
+private String m_sSortBy;
+
+@UriParam(name = "rowInfo", description = "RowInfo of the rows. Taken from the field types of the first row when not"
+    + " set")
+private RowInfo m_rowInfo;
+
+@UriParam(name = "batchSize", defaultValue = "100000", description = "Number of rows that triggers a flush")
+private int m_nBatchSize = DEFAULT_BATCH_SIZE;
+
+@UriParam(name = "memoryBudget", defaultValue = "67108864", description = "Bytes of buffered rows that trigger a"
+    + " flush")
+private long m_lMemoryBudget = DEFAULT_MEMORY_BUDGET_BYTES;
+
+@UriParam(name = "flushInterval", defaultValue = "1000", description = "Milliseconds between time based flushes, 0 to"
+    + " disable them")
+private long m_lFlushInterval = DEFAULT_FLUSH_INTERVAL_MILLIS;
+
+private SortConsumer m_sortConsumer;
+private ScheduledExecutorService m_scheduledExecutorService;
+private SortSpec m_sortSpec;
+private RowBatch m_rowBatch;
+
+private volatile long m_lStartTime;
+private volatile long m_lRowsReceived;
+private volatile long m_lRowsEmitted;
+private volatile long m_lBatchesEmitted;
+private volatile long m_lSortTime;
+private volatile long m_lEmitTime;
+private volatile long m_lSizeFlushCount;
+private volatile long m_lMemoryFlushCount;
+private volatile long m_lTimeFlushCount;
+private volatile long m_lFailedFlushCount;
+private volatile int m_nBufferedRows;
+private volatile boolean m_bFlushFailed;
+private long m_lRetryRowCount;
+
+public SortEndpoint(String sUri, SortComponent sortComponent, String sName)
+{
+    super(sUri, sortComponent);
+    m_sName = sName;
+}
+
+@Override
+public Producer createProducer()
+{
+    return new SortProducer(this);
+}
+
+@Override
+public Consumer createConsumer(Processor processor) throws Exception
+{
+    SortConsumer sortConsumer = new SortConsumer(this, processor);
+    configureConsumer(sortConsumer);
+    return sortConsumer;
+}
+
+public String getName()
+{
+    return m_sName;
+}
+
+public String getSortBy()
+{
+    return m_sSortBy;
+}
+
+public void setSortBy(String sSortBy)
+{
+    m_sSortBy = sSortBy;
+}
+
+public RowInfo getRowInfo()
+{
+    return m_rowInfo;
+}
+
+public void setRowInfo(RowInfo rowInfo)
+{
+    m_rowInfo = rowInfo;
+}
+
+@ManagedAttribute(description = "Number of rows that triggers a flush")
+public int getBatchSize()
+{
+    return m_nBatchSize;
+}
+
+public void setBatchSize(int nBatchSize)
+{
+    if (nBatchSize <= 0)
+    {
+        throw new IllegalArgumentException("Batch size must be positive. Batch size: " + nBatchSize);
+    }
+    m_nBatchSize = nBatchSize;
+}
+
+@ManagedAttribute(description = "Bytes of buffered rows that trigger a flush")
+public long getMemoryBudget()
+{
+    return m_lMemoryBudget;
+}
+
+public void setMemoryBudget(long lMemoryBudget)
+{
+    if (lMemoryBudget <= 0)
+    {
+        throw new IllegalArgumentException("Memory budget must be positive. Memory budget: " + lMemoryBudget);
+    }
+    m_lMemoryBudget = lMemoryBudget;
+}
+
+@ManagedAttribute(description = "Milliseconds between time based flushes")
+public long getFlushInterval()
+{
+    return m_lFlushInterval;
+}
+
+public void setFlushInterval(long lFlushInterval)
+{
+    if (lFlushInterval < 0)
+    {
+        throw new IllegalArgumentException("Flush interval must not be negative. Flush interval: " + lFlushInterval);
+    }
+    m_lFlushInterval = lFlushInterval;
+}
+
+@ManagedAttribute(description = "Rows received")
+public long getRowsReceived()
+{
+    return m_lRowsReceived;
+}
+
+@ManagedAttribute(description = "Rows emitted in sorted batches")
+public long getRowsEmitted()
+{
+    return m_lRowsEmitted;
+}
+
+@ManagedAttribute(description = "Sorted batches emitted")
+public long getBatchesEmitted()
+{
+    return m_lBatchesEmitted;
+}
+
+@ManagedAttribute(description = "Rows waiting for the next flush")
+public int getBufferedRows()
+{
+    return m_nBufferedRows;
+}
+
+@ManagedAttribute(description = "Total time spent sorting in milliseconds")
+public long getSortTimeMillis()
+{
+    return TimeUnit.NANOSECONDS.toMillis(m_lSortTime);
+}
+
+@ManagedAttribute(description = "Total time the consuming route took to process the sorted batches in milliseconds")
+public long getEmitTimeMillis()
+{
+    return TimeUnit.NANOSECONDS.toMillis(m_lEmitTime);
+}
+
+@ManagedAttribute(description = "Flushes because batchSize rows were buffered")
+public long getSizeFlushCount()
+{
+    return m_lSizeFlushCount;
+}
+
+@ManagedAttribute(description = "Flushes because the memory budget was reached")
+public long getMemoryFlushCount()
+{
+    return m_lMemoryFlushCount;
+}
+
+@ManagedAttribute(description = "Flushes because the flush interval passed")
+public long getTimeFlushCount()
+{
+    return m_lTimeFlushCount;
+}
+
+@ManagedAttribute(description = "Flushes that failed because the consuming route failed")
+public long getFailedFlushCount()
+{
+    return m_lFailedFlushCount;
+}
+
+/**
+ * Returns true when the last flush failed, so the buffered rows wait for a retry.
+ */
+@ManagedAttribute(description = "Whether the last flush failed")
+public boolean isFlushFailed()
+{
+    return m_bFlushFailed;
+}
+
+/**
+ * Returns the rows emitted per second since the endpoint started.
+ */
+@ManagedAttribute(description = "Rows emitted per second since the endpoint started")
+public double getThroughput()
+{
+    long lElapsedTime = System.nanoTime() - m_lStartTime;
+    return lElapsedTime > 0 ? m_lRowsEmitted * 1e9 / lElapsedTime : 0.0;
+}
+
+/**
+ * Returns the rows sorted per second of sort time.
+ */
+@ManagedAttribute(description = "Rows sorted per second of sort time")
+public double getSortThroughput()
+{
+    long lSortTime = m_lSortTime;
+    return lSortTime > 0 ? m_lRowsEmitted * 1e9 / lSortTime : 0.0;
+}
+
+@ManagedOperation(description = "Sorts and emits the buffered rows")
+public void flush() throws Exception
+{
+    flush(FlushReason.MANUAL);
+}
+
+@ManagedOperation(description = "Resets the counters")
+public synchronized void resetStatistics()
+{
+    m_lStartTime = System.nanoTime();
+    m_lRowsReceived = 0;
+    m_lRowsEmitted = 0;
+    m_lBatchesEmitted = 0;
+    m_lSortTime = 0;
+    m_lEmitTime = 0;
+    m_lSizeFlushCount = 0;
+    m_lMemoryFlushCount = 0;
+    m_lTimeFlushCount = 0;
+    m_lFailedFlushCount = 0;
+}
+
+/**
+ * Adds the rows of a message body: a RowData, a RowBatch or a Collection of them. Flushes when the buffer is full.
+ */
+synchronized void add(Object oBody) throws Exception
+{
+    if (m_sortConsumer == null)
+    {
+        throw new IllegalStateException("No consumer on endpoint: " + getEndpointUri());
+    }
+
+    if (oBody instanceof RowData)
+    {
+        RowData rowData = (RowData) oBody;
+        checkRowData(rowData);
+        RowBatch rowBatch = getRowBatch(rowData);
+        checkMemoryBudget();
+        rowBatch.appendRow(rowData);
+        onRowAdded();
+    }
+    else if (oBody instanceof RowBatch)
+    {
+        RowBatch srcRowBatch = (RowBatch) oBody;
+        checkRowInfo(srcRowBatch.getRowInfo());
+        for (int i = 0; i < srcRowBatch.getRowCount(); i++)
+        {
+            RowBatch rowBatch = getRowBatch(srcRowBatch.getRowInfo());
+            checkMemoryBudget();
+            rowBatch.appendRow(srcRowBatch, i);
+            onRowAdded();
+        }
+    }
+    else if (oBody instanceof Collection)
+    {
+        for (Object oElement : (Collection<?>) oBody)
+        {
+            add(oElement);
+        }
+    }
+    else
+    {
+        throw new IllegalArgumentException("Body must be a RowData, a RowBatch or a Collection of them. Body: "
+            + (oBody == null ? null : oBody.getClass().getName()));
+    }
+}
+
+synchronized void setConsumer(SortConsumer sortConsumer)
+{
+    if (m_sortConsumer != null && m_sortConsumer != sortConsumer)
+    {
+        throw new IllegalStateException("Endpoint already has a consumer: " + getEndpointUri());
+    }
+    m_sortConsumer = sortConsumer;
+}
+
+/**
+ * Emits the buffered rows to the consumer before it is removed.
+ */
+synchronized void removeConsumer(SortConsumer sortConsumer) throws Exception
+{
+    if (m_sortConsumer == sortConsumer)
+    {
+        try
+        {
+            flush(FlushReason.SHUTDOWN);
+        }
+        finally
+        {
+            m_sortConsumer = null;
+        }
+    }
+}
+
+@Override
+protected void doStart() throws Exception
+{
+    super.doStart();
+    m_lStartTime = System.nanoTime();
+    if (m_lFlushInterval > 0)
+    {
+        m_scheduledExecutorService = getCamelContext().getExecutorServiceManager().newSingleThreadScheduledExecutor(
+            this, "SortFlush[" + m_sName + "]");
+        m_scheduledExecutorService.scheduleWithFixedDelay(this::flushOnTimer, m_lFlushInterval, m_lFlushInterval,
+            TimeUnit.MILLISECONDS);
+    }
+}
+
+@Override
+protected void doStop() throws Exception
+{
+    if (m_scheduledExecutorService != null)
+    {
+        getCamelContext().getExecutorServiceManager().shutdown(m_scheduledExecutorService);
+        m_scheduledExecutorService = null;
+    }
+    super.doStop();
+}
+
+private RowBatch getRowBatch(RowData rowData)
+{
+    if (m_rowBatch == null && m_rowInfo == null)
+    {
+        FieldInfo[] aFieldInfo = new FieldInfo[rowData.getFieldCount()];
+        for (int i = 0; i < aFieldInfo.length; i++)
+        {
+            aFieldInfo[i] = new FieldInfo("field" + (i + 1), rowData.getFieldData(i).getFieldType());
+        }
+        return getRowBatch(new RowInfo(aFieldInfo));
+    }
+    return getRowBatch(m_rowInfo);
+}
+
+/**
+ * Returns the buffer, created for the rowInfo of the first rows received.
+ */
+private RowBatch getRowBatch(RowInfo rowInfo)
+{
+    if (m_rowBatch == null)
+    {
+        m_rowInfo = rowInfo;
+        m_sortSpec = m_sSortBy != null ? SortSpec.parse(rowInfo, m_sSortBy) : SortSpec.ascending(rowInfo);
+        m_rowBatch = new RowBatch(rowInfo, Math.min(m_nBatchSize, INITIAL_CAPACITY));
+    }
+    return m_rowBatch;
+}
+
+/**
+ * Checks that rows of rowInfo fit the buffer: the same number of fields, of the same types. The names may differ, the
+ * buffer takes those of the first rows or of the rowInfo of the endpoint.
+ */
+private void checkRowInfo(RowInfo rowInfo)
+{
+    if (m_rowInfo == null)
+    {
+        return;
+    }
+
+    boolean bMatch = rowInfo.getFieldCount() == m_rowInfo.getFieldCount();
+    for (int i = 0; bMatch && i < rowInfo.getFieldCount(); i++)
+    {
+        bMatch = rowInfo.getFieldInfo(i).getFieldType() == m_rowInfo.getFieldInfo(i).getFieldType();
+    }
+    if (!bMatch)
+    {
+        throw new IllegalArgumentException("RowBatch does not match the rows of endpoint " + getEndpointUri()
+            + ". Expected: " + m_rowInfo + " Actual: " + rowInfo);
+    }
+}
+
+/**
+ * Checks that the rowData fits the buffer, as checkRowInfo does for a RowBatch.
+ */
+private void checkRowData(RowData rowData)
+{
+    if (m_rowInfo == null)
+    {
+        return;
+    }
+
+    boolean bMatch = rowData.getFieldCount() == m_rowInfo.getFieldCount();
+    for (int i = 0; bMatch && i < rowData.getFieldCount(); i++)
+    {
+        bMatch = rowData.getFieldData(i).getFieldType() == m_rowInfo.getFieldInfo(i).getFieldType();
+    }
+    if (!bMatch)
+    {
+        throw new IllegalArgumentException("RowData does not match the rows of endpoint " + getEndpointUri()
+            + ". Expected: " + m_rowInfo + " Actual: " + rowData);
+    }
+}
+
+/**
+ * Rejects a row while the rows of a failed flush fill the memory budget, so the buffer can't grow without bound.
+ */
+private void checkMemoryBudget()
+{
+    if (m_bFlushFailed && m_rowBatch.getAllocatedBytes() >= m_lMemoryBudget)
+    {
+        throw new IllegalStateException("Buffer of endpoint " + getEndpointUri() + " is over its memory budget after"
+            + " a failed flush. Buffered rows: " + m_rowBatch.getRowCount());
+    }
+}
+
+private void onRowAdded() throws Exception
+{
+    m_lRowsReceived++;
+    int nRowCount = m_rowBatch.getRowCount();
+    m_nBufferedRows = nRowCount;
+    if (m_bFlushFailed)
+    {
+        if (nRowCount >= m_lRetryRowCount)
+        {
+            flush(FlushReason.SIZE);
+        }
+    }
+    else if (nRowCount >= m_nBatchSize)
+    {
+        flush(FlushReason.SIZE);
+    }
+    else if (nRowCount % MEMORY_CHECK_ROWS == 0 && m_rowBatch.getAllocatedBytes() >= m_lMemoryBudget)
+    {
+        flush(FlushReason.MEMORY);
+    }
+}
+
+private synchronized void flush(FlushReason flushReason) throws Exception
+{
+    if (m_rowBatch == null || m_rowBatch.getRowCount() == 0 || m_sortConsumer == null)
+    {
+        return;
+    }
+
+    long lStartTime = System.nanoTime();
+    RowBatch rowBatchSorted = m_rowBatch.sort(m_sortSpec);
+    long lSortEndTime = System.nanoTime();
+
+    // The sorted batch is a copy, so the next rows go to a new buffer, also those the consuming route sends back here
+    RowBatch rowBatchFlushed = m_rowBatch;
+    m_rowBatch = new RowBatch(m_rowInfo, Math.min(m_nBatchSize, INITIAL_CAPACITY));
+    m_nBufferedRows = 0;
+    try
+    {
+        m_sortConsumer.emit(rowBatchSorted, flushReason);
+    }
+    catch (Exception e)
+    {
+        // Nothing was emitted, so the rows go back into the buffer ahead of any added since, for the next flush
+        rowBatchFlushed.appendBatch(m_rowBatch);
+        m_rowBatch = rowBatchFlushed;
+        m_nBufferedRows = m_rowBatch.getRowCount();
+        m_bFlushFailed = true;
+        m_lRetryRowCount = (long) m_rowBatch.getRowCount() + m_nBatchSize;
+        m_lFailedFlushCount++;
+        throw e;
+    }
+
+    m_bFlushFailed = false;
+    m_lSortTime += lSortEndTime - lStartTime;
+    m_lEmitTime += System.nanoTime() - lSortEndTime;
+    m_lRowsEmitted += rowBatchSorted.getRowCount();
+    m_lBatchesEmitted++;
+    if (flushReason == FlushReason.SIZE)
+    {
+        m_lSizeFlushCount++;
+    }
+    else if (flushReason == FlushReason.MEMORY)
+    {
+        m_lMemoryFlushCount++;
+    }
+    else if (flushReason == FlushReason.TIME)
+    {
+        m_lTimeFlushCount++;
+    }
+}
+
+private void flushOnTimer()
+{
+    SortConsumer sortConsumer = m_sortConsumer;
+    try
+    {
+        flush(FlushReason.TIME);
+    }
+    catch (Exception e)
+    {
+        // The timer must keep running, the error goes to the exception handler of the consumer
+        if (sortConsumer != null)
+        {
+            sortConsumer.getExceptionHandler().handleException("Error flushing sort endpoint", e);
+        }
+    }
+}
+
+@Override
+public String toString()
+{
+    return getClass().getSimpleName() + '{' + "name=" + m_sName + " sortBy=" + m_sSortBy + " batchSize="
+        + m_nBatchSize + " memoryBudget=" + m_lMemoryBudget + " flushInterval=" + m_lFlushInterval + '}';
+}
+} ///////// End of class
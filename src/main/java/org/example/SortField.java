@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: SortField.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * SortField contains the index of a field in the RowInfo along with the SortDirection and NullOrdering that are used
+ * when the field takes part in a sort key.
+ */
+public class SortField implements Serializable
+{
+
+private static final long serialVersionUID = -2386419402714263880L;
+
+private final int m_nFieldIdx;
+private final SortDirection m_direction;
+private final NullOrdering m_nullOrdering;
+
+public SortField(int nFieldIdx)
+{
+    this(nFieldIdx, SortDirection.ASC);
+}
+
+public SortField(int nFieldIdx, SortDirection direction)
+{
+    this(nFieldIdx, direction, NullOrdering.getDefault(direction));
+}
+
+public SortField(int nFieldIdx, SortDirection direction, NullOrdering nullOrdering)
+{
+    m_nFieldIdx = nFieldIdx;
+    m_direction = direction;
+    m_nullOrdering = nullOrdering;
+}
+
+public int getFieldIdx()
+{
+    return m_nFieldIdx;
+}
+
+public SortDirection getDirection()
+{
+    return m_direction;
+}
+
+public NullOrdering getNullOrdering()
+{
+    return m_nullOrdering;
+}
+
+public boolean isDescending()
+{
+    return m_direction.isDescending();
+}
+
+public boolean isNullsFirst()
+{
+    return m_nullOrdering == NullOrdering.NULLS_FIRST;
+}
+
+@Override
+public String toString()
+{
+    return "SortField{" + "m_nFieldIdx=" + m_nFieldIdx + ", m_direction=" + m_direction + ", m_nullOrdering="
+        + m_nullOrdering + '}';
+}
+
+@Override
+public boolean equals(Object obj)
+{
+    if (obj == this)
+    {
+        return true;
+    }
+
+    if (!(obj instanceof SortField))
+    {
+        return false;
+    }
+
+    SortField that = (SortField) obj;
+    return m_nFieldIdx == that.m_nFieldIdx && m_direction == that.m_direction
+        && m_nullOrdering == that.m_nullOrdering;
+}
+
+@Override
+public int hashCode()
+{
+    return Objects.hash(m_nFieldIdx, m_direction, m_nullOrdering);
+}
+} ///////// End of class
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: SortMergeJoin.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * SortMergeJoin joins two inputs of normalized keys that are sorted on the join key, such as a SlabKeyCursor over a
+ * sorted KeySlab or the cursor returned by ExternalSorter.sort. The join key is the first nKeyFieldCount sort fields of
+ * each side, which must have the same types, directions and null ordering. Both cursors advance in one pass and keys
+ * are matched by comparing the bytes of their join key prefixes, so no RowData is created.
+ *
+ * The right rows with the current join key, the duplicate group, are copied into a buffer and joined with every left
+ * row that has the same key. Output rows are handed to a JoinHandler as the encoded left and right keys; decode them
+ * with the RowKeyEncoder of each side when the fields are needed. As in SQL, a null in the join key matches nothing.
+ */
+public class SortMergeJoin
+{
+
+/**
+ * INNER returns every pair of matching rows, LEFT also the left rows without a match, SEMI the left rows with at least
+ * one match and ANTI the left rows without a match. SEMI, ANTI and unmatched LEFT rows have no right key.
+ */
+public enum JoinType
+{
+    INNER,
+    LEFT,
+    SEMI,
+    ANTI
+}
+
+/**
+ * Receives the output rows of the join. The arrays are only valid during the call. aRightKey is null when the row has
+ * no right side.
+ */
+@FunctionalInterface
+public interface JoinHandler
+{
+    void onRow(byte[] aLeftKey, int nLeftOffset, int nLeftLength, byte[] aRightKey, int nRightOffset, int nRightLength)
+        throws IOException;
+}
+
+private final RowKeyEncoder m_leftRowKeyEncoder;
+private final RowKeyEncoder m_rightRowKeyEncoder;
+private final int m_nKeyFieldCount;
+private final JoinType m_joinType;
+
+private byte[] m_aGroupKey = new byte[64];
+private int m_nGroupKeyLength = -1;
+private byte[] m_aGroupData = new byte[1024];
+private int[] m_anGroupOffset = new int[17];
+private int m_nGroupRowCount;
+
+private long m_lLeftRowCount;
+private long m_lRightRowCount;
+private long m_lOutputRowCount;
+private int m_nMaxGroupRowCount;
+
+public SortMergeJoin(RowKeyEncoder leftRowKeyEncoder, RowKeyEncoder rightRowKeyEncoder, int nKeyFieldCount,
+    JoinType joinType)
+{
+    if (nKeyFieldCount <= 0 || !leftRowKeyEncoder.hasSameLeadingFields(rightRowKeyEncoder, nKeyFieldCount))
+    {
+        throw new IllegalArgumentException("The first " + nKeyFieldCount + " sort fields of both sides must have the"
+            + " same type, direction and null ordering");
+    }
+
+    m_leftRowKeyEncoder = leftRowKeyEncoder;
+    m_rightRowKeyEncoder = rightRowKeyEncoder;
+    m_nKeyFieldCount = nKeyFieldCount;
+    m_joinType = joinType;
+}
+
+public JoinType getJoinType()
+{
+    return m_joinType;
+}
+
+public long getLeftRowCount()
+{
+    return m_lLeftRowCount;
+}
+
+public long getRightRowCount()
+{
+    return m_lRightRowCount;
+}
+
+public long getOutputRowCount()
+{
+    return m_lOutputRowCount;
+}
+
+/**
+ * Returns the number of rows of the largest duplicate group of the right side that was buffered.
+ */
+public int getMaxGroupRowCount()
+{
+    return m_nMaxGroupRowCount;
+}
+
+/**
+ * Joins all the remaining keys of both cursors and returns the number of output rows. Throws IllegalStateException
+ * when the left input turns out not to be sorted on the join key.
+ */
+public long join(KeyCursor leftKeyCursor, KeyCursor rightKeyCursor, JoinHandler joinHandler) throws IOException
+{
+    long lOutputRowCount = 0;
+    m_nGroupKeyLength = -1;
+    m_nGroupRowCount = 0;
+
+    boolean bRightHasKey = nextRight(rightKeyCursor);
+    while (leftKeyCursor.next())
+    {
+        m_lLeftRowCount++;
+        byte[] aLeftKey = leftKeyCursor.getKeyBuffer();
+        int nLeftOffset = leftKeyCursor.getKeyOffset();
+        int nLeftLength = leftKeyCursor.getKeyLength();
+
+        int nMatchCount = 0;
+        if (!m_leftRowKeyEncoder.hasNull(aLeftKey, nLeftOffset, m_nKeyFieldCount))
+        {
+            int nPrefixLength = m_leftRowKeyEncoder.getPrefixLength(aLeftKey, nLeftOffset, m_nKeyFieldCount);
+            int nCompResult = m_nGroupKeyLength < 0 ? 1 : BinaryKeyComparator.compareKeys(aLeftKey, nLeftOffset,
+                nPrefixLength, m_aGroupKey, 0, m_nGroupKeyLength);
+            if (nCompResult < 0)
+            {
+                throw new IllegalStateException("Left input is not sorted on the join key. Row: " + m_lLeftRowCount);
+            }
+            if (nCompResult > 0)
+            {
+                bRightHasKey = loadGroup(aLeftKey, nLeftOffset, nPrefixLength, rightKeyCursor, bRightHasKey);
+            }
+            nMatchCount = m_nGroupRowCount;
+        }
+
+        switch (m_joinType)
+        {
+            case INNER:
+            case LEFT:
+                for (int i = 0; i < nMatchCount; i++)
+                {
+                    joinHandler.onRow(aLeftKey, nLeftOffset, nLeftLength, m_aGroupData, m_anGroupOffset[i],
+                        m_anGroupOffset[i + 1] - m_anGroupOffset[i]);
+                }
+                lOutputRowCount += nMatchCount;
+                if (nMatchCount == 0 && m_joinType == JoinType.LEFT)
+                {
+                    joinHandler.onRow(aLeftKey, nLeftOffset, nLeftLength, null, 0, 0);
+                    lOutputRowCount++;
+                }
+                break;
+            case SEMI:
+            case ANTI:
+                if ((nMatchCount > 0) == (m_joinType == JoinType.SEMI))
+                {
+                    joinHandler.onRow(aLeftKey, nLeftOffset, nLeftLength, null, 0, 0);
+                    lOutputRowCount++;
+                }
+                break;
+            default:
+                throw new UnsupportedOperationException("Unsupported join type: " + m_joinType);
+        }
+    }
+
+    m_lOutputRowCount += lOutputRowCount;
+    return lOutputRowCount;
+}
+
+/**
+ * Makes the join key of the left row the current group and buffers the right rows with that key. The right rows with a
+ * smaller or a null key are skipped. Returns whether the right cursor is on a key, the first one of a later group.
+ */
+private boolean loadGroup(byte[] aLeftKey, int nLeftOffset, int nPrefixLength, KeyCursor rightKeyCursor,
+    boolean bRightHasKey) throws IOException
+{
+    if (nPrefixLength > m_aGroupKey.length)
+    {
+        m_aGroupKey = new byte[Math.max(nPrefixLength, 2 * m_aGroupKey.length)];
+    }
+    System.arraycopy(aLeftKey, nLeftOffset, m_aGroupKey, 0, nPrefixLength);
+    m_nGroupKeyLength = nPrefixLength;
+    m_nGroupRowCount = 0;
+
+    while (bRightHasKey)
+    {
+        byte[] aRightKey = rightKeyCursor.getKeyBuffer();
+        int nRightOffset = rightKeyCursor.getKeyOffset();
+        if (!m_rightRowKeyEncoder.hasNull(aRightKey, nRightOffset, m_nKeyFieldCount))
+        {
+            int nCompResult = BinaryKeyComparator.compareKeys(aRightKey, nRightOffset,
+                m_rightRowKeyEncoder.getPrefixLength(aRightKey, nRightOffset, m_nKeyFieldCount), m_aGroupKey, 0,
+                m_nGroupKeyLength);
+            if (nCompResult > 0)
+            {
+                break;
+            }
+            if (nCompResult == 0)
+            {
+                appendGroupRow(aRightKey, nRightOffset, rightKeyCursor.getKeyLength());
+            }
+        }
+        bRightHasKey = nextRight(rightKeyCursor);
+    }
+
+    m_nMaxGroupRowCount = Math.max(m_nMaxGroupRowCount, m_nGroupRowCount);
+    return bRightHasKey;
+}
+
+private void appendGroupRow(byte[] aKey, int nOffset, int nLength)
+{
+    if (m_nGroupRowCount + 2 > m_anGroupOffset.length)
+    {
+        m_anGroupOffset = Arrays.copyOf(m_anGroupOffset, 2 * m_anGroupOffset.length);
+    }
+
+    int nStart = m_anGroupOffset[m_nGroupRowCount];
+    if (nStart + nLength > m_aGroupData.length)
+    {
+        m_aGroupData = Arrays.copyOf(m_aGroupData, Math.max(nStart + nLength, 2 * m_aGroupData.length));
+    }
+    System.arraycopy(aKey, nOffset, m_aGroupData, nStart, nLength);
+    m_anGroupOffset[++m_nGroupRowCount] = nStart + nLength;
+}
+
+private boolean nextRight(KeyCursor rightKeyCursor) throws IOException
+{
+    if (rightKeyCursor.next())
+    {
+        m_lRightRowCount++;
+        return true;
+    }
+    return false;
+}
+
+@Override
+public String toString()
+{
+    return getClass().getSimpleName() + '{' + "joinType=" + m_joinType + " keyFieldCount=" + m_nKeyFieldCount + '}';
+}
+} ///////// End of class
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: SortMetrics.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SortMetrics counts what the sort pipeline does: key comparisons, encoded rows and bytes, spills, merges and the
+ * largest KeySlab, plus the rows and time of every SortPhase. It is off unless the JVM is started with
+ * -Dorg.example.sort.metrics=true. ENABLED is a static final, so when it is off the JIT drops the counting code from
+ * the hot paths and nothing is counted. When it is on, the counters are the MBean org.example:type=SortMetrics and
+ * every phase is an org.example:type=SortPhase MBean.
+ *
+ * The JFR events SortPhaseEvent and SortSpillEvent are emitted either way, whenever a recording enables them.
+ */
+public final class SortMetrics implements SortMetricsMBean
+{
+
+public static final String ENABLED_PROPERTY = "org.example.sort.metrics";
+public static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+static final String OBJECT_NAME = "org.example:type=SortMetrics";
+static final String PHASE_OBJECT_NAME_PREFIX = "org.example:type=SortPhase,name=";
+
+private static final SortMetrics INSTANCE = new SortMetrics();
+
+static
+{
+    if (ENABLED)
+    {
+        register(INSTANCE, OBJECT_NAME);
+    }
+}
+
+private final LongAdder m_comparisonCount = new LongAdder();
+private final LongAdder m_encodedRowCount = new LongAdder();
+private final LongAdder m_encodedByteCount = new LongAdder();
+private final LongAdder m_spillCount = new LongAdder();
+private final LongAdder m_spilledBytes = new LongAdder();
+private final LongAdder m_mergeCount = new LongAdder();
+private final AtomicLong m_maxMergeFanIn = new AtomicLong();
+private final AtomicLong m_peakSlabBytes = new AtomicLong();
+private final Map<String, SortPhaseStats> m_mapPhaseStats = new ConcurrentHashMap<>();
+
+private SortMetrics()
+{
+}
+
+public static SortMetrics getInstance()
+{
+    return INSTANCE;
+}
+
+static void countComparison()
+{
+    INSTANCE.m_comparisonCount.increment();
+}
+
+static void countEncoded(int nByteCount)
+{
+    INSTANCE.m_encodedRowCount.increment();
+    INSTANCE.m_encodedByteCount.add(nByteCount);
+}
+
+static void recordSpill(long lBytes)
+{
+    INSTANCE.m_spillCount.increment();
+    INSTANCE.m_spilledBytes.add(lBytes);
+}
+
+static void recordMerge(int nFanIn)
+{
+    INSTANCE.m_mergeCount.increment();
+    INSTANCE.m_maxMergeFanIn.accumulateAndGet(nFanIn, Math::max);
+}
+
+static void recordSlabBytes(long lBytes)
+{
+    INSTANCE.m_peakSlabBytes.accumulateAndGet(lBytes, Math::max);
+}
+
+static void recordPhase(String sName, long lRowCount, long lTimeNanos)
+{
+    INSTANCE.m_mapPhaseStats.computeIfAbsent(sName, SortMetrics::createPhaseStats).record(lRowCount, lTimeNanos);
+}
+
+/**
+ * Returns the stats of the phase with the name, or null when it hasn't run with metrics enabled.
+ */
+public SortPhaseStats getPhaseStats(String sName)
+{
+    return m_mapPhaseStats.get(sName);
+}
+
+public Collection<SortPhaseStats> getAllPhaseStats()
+{
+    return Collections.unmodifiableCollection(m_mapPhaseStats.values());
+}
+
+@Override
+public long getComparisonCount()
+{
+    return m_comparisonCount.sum();
+}
+
+@Override
+public long getEncodedRowCount()
+{
+    return m_encodedRowCount.sum();
+}
+
+@Override
+public long getEncodedByteCount()
+{
+    return m_encodedByteCount.sum();
+}
+
+@Override
+public long getSpillCount()
+{
+    return m_spillCount.sum();
+}
+
+@Override
+public long getSpilledBytes()
+{
+    return m_spilledBytes.sum();
+}
+
+@Override
+public long getMergeCount()
+{
+    return m_mergeCount.sum();
+}
+
+@Override
+public int getMaxMergeFanIn()
+{
+    return (int) m_maxMergeFanIn.get();
+}
+
+/**
+ * Returns the most bytes allocated by a single KeySlab.
+ */
+@Override
+public long getPeakSlabBytes()
+{
+    return m_peakSlabBytes.get();
+}
+
+@Override
+public void resetStatistics()
+{
+    m_comparisonCount.reset();
+    m_encodedRowCount.reset();
+    m_encodedByteCount.reset();
+    m_spillCount.reset();
+    m_spilledBytes.reset();
+    m_mergeCount.reset();
+    m_maxMergeFanIn.set(0);
+    m_peakSlabBytes.set(0);
+    for (SortPhaseStats sortPhaseStats : m_mapPhaseStats.values())
+    {
+        sortPhaseStats.resetStatistics();
+    }
+}
+
+private static SortPhaseStats createPhaseStats(String sName)
+{
+    SortPhaseStats sortPhaseStats = new SortPhaseStats(sName);
+    register(sortPhaseStats, PHASE_OBJECT_NAME_PREFIX + ObjectName.quote(sName));
+    return sortPhaseStats;
+}
+
+private static void register(Object mbean, String sObjectName)
+{
+    MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+    try
+    {
+        ObjectName objectName = new ObjectName(sObjectName);
+        if (!mBeanServer.isRegistered(objectName))
+        {
+            mBeanServer.registerMBean(mbean, objectName);
+        }
+    }
+    catch (JMException e)
+    {
+        throw new IllegalStateException("MBean could not be registered: " + sObjectName, e);
+    }
+}
+
+@Override
+public String toString()
+{
+    return getClass().getSimpleName() + '{' + "comparisonCount=" + getComparisonCount() + " encodedRowCount="
+        + getEncodedRowCount() + " encodedByteCount=" + getEncodedByteCount() + " spillCount=" + getSpillCount()
+        + " spilledBytes=" + getSpilledBytes() + " mergeCount=" + getMergeCount() + " maxMergeFanIn="
+        + getMaxMergeFanIn() + " peakSlabBytes=" + getPeakSlabBytes() + '}';
+}
+} ///////// End of class
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: SortMetricsMBean.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+/**
+ * The JMX interface of SortMetrics.
+ */
+public interface SortMetricsMBean
+{
+
+long getComparisonCount();
+
+long getEncodedRowCount();
+
+long getEncodedByteCount();
+
+long getSpillCount();
+
+long getSpilledBytes();
+
+long getMergeCount();
+
+int getMaxMergeFanIn();
+
+long getPeakSlabBytes();
+
+void resetStatistics();
+} ///////// End of class
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: SortPhase.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+/**
+ * SortPhase times one step of the sort pipeline, such as encoding rows or sorting a KeySlab. Start it with start and
+ * finish it with end or close. A finished phase is committed as a SortPhaseEvent when JFR records that event and is
+ * added to the SortPhaseStats of its name when SortMetrics is enabled, e.g.
+ *
+ *   try (SortPhase sortPhase = SortPhase.start("encode"))
+ *   {
+ *       ...
+ *       sortPhase.setRowCount(nRowCount);
+ *   }
+ */
+public class SortPhase implements AutoCloseable
+{
+
+private final String m_sName;
+private final SortPhaseEvent m_sortPhaseEvent;
+private final long m_lStartTime;
+
+private long m_lRowCount;
+private long m_lByteCount;
+private long m_lElapsedTime = -1;
+
+private SortPhase(String sName)
+{
+    m_sName = sName;
+    m_sortPhaseEvent = new SortPhaseEvent();
+    m_sortPhaseEvent.begin();
+    m_lStartTime = System.nanoTime();
+}
+
+public static SortPhase start(String sName)
+{
+    return new SortPhase(sName);
+}
+
+public String getName()
+{
+    return m_sName;
+}
+
+public SortPhase setRowCount(long lRowCount)
+{
+    m_lRowCount = lRowCount;
+    return this;
+}
+
+public SortPhase setByteCount(long lByteCount)
+{
+    m_lByteCount = lByteCount;
+    return this;
+}
+
+/**
+ * Sets the row count and finishes the phase. Returns this phase, to be printed.
+ */
+public SortPhase end(long lRowCount)
+{
+    m_lRowCount = lRowCount;
+    close();
+    return this;
+}
+
+/**
+ * Returns the time from the start to the end of the phase, or to now while the phase runs.
+ */
+public long getElapsedTime()
+{
+    return m_lElapsedTime >= 0 ? m_lElapsedTime : System.nanoTime() - m_lStartTime;
+}
+
+public double getThroughput()
+{
+    long lElapsedTime = getElapsedTime();
+    return lElapsedTime > 0 ? m_lRowCount * 1e9 / lElapsedTime : 0.0;
+}
+
+/**
+ * Finishes the phase. Only the first call has an effect.
+ */
+@Override
+public void close()
+{
+    if (m_lElapsedTime >= 0)
+    {
+        return;
+    }
+
+    m_lElapsedTime = System.nanoTime() - m_lStartTime;
+    m_sortPhaseEvent.end();
+    if (m_sortPhaseEvent.shouldCommit())
+    {
+        m_sortPhaseEvent.m_sPhase = m_sName;
+        m_sortPhaseEvent.m_lRowCount = m_lRowCount;
+        m_sortPhaseEvent.m_lByteCount = m_lByteCount;
+        m_sortPhaseEvent.commit();
+    }
+    if (SortMetrics.ENABLED)
+    {
+        SortMetrics.recordPhase(m_sName, m_lRowCount, m_lElapsedTime);
+    }
+}
+
+@Override
+public String toString()
+{
+    return String.format("%s: %d ns, %d rows, %.0f rows/s", m_sName, getElapsedTime(), m_lRowCount,
+        getThroughput());
+}
+} ///////// End of class
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: SortPhaseEvent.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JFR event for a SortPhase. Its start time and duration are the start and the end of the phase.
+ */
+@Name("org.example.SortPhase")
+@Label("Sort Phase")
+@Category("Sort")
+@Description("A phase of the sort pipeline, such as encoding or sorting")
+class SortPhaseEvent extends Event
+{
+
+@Name("phase")
+@Label("Phase")
+String m_sPhase;
+
+@Name("rowCount")
+@Label("Rows")
+long m_lRowCount;
+
+@Name("byteCount")
+@Label("Bytes")
+@DataAmount
+long m_lByteCount;
+} ///////// End of class
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: SortPhaseStats.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+/**
+ * SortPhaseStats adds up the rows and the time of every run of a named SortPhase. SortMetrics registers one per phase
+ * name as the MBean org.example:type=SortPhase,name=&lt;name&gt;.
+ */
+public class SortPhaseStats implements SortPhaseStatsMBean
+{
+
+private final String m_sName;
+
+private long m_lCount;
+private long m_lRowCount;
+private long m_lTotalTimeNanos;
+private long m_lLastRowCount;
+private long m_lLastTimeNanos;
+
+SortPhaseStats(String sName)
+{
+    m_sName = sName;
+}
+
+synchronized void record(long lRowCount, long lTimeNanos)
+{
+    m_lCount++;
+    m_lRowCount += lRowCount;
+    m_lTotalTimeNanos += lTimeNanos;
+    m_lLastRowCount = lRowCount;
+    m_lLastTimeNanos = lTimeNanos;
+}
+
+@Override
+public String getName()
+{
+    return m_sName;
+}
+
+@Override
+public synchronized long getCount()
+{
+    return m_lCount;
+}
+
+@Override
+public synchronized long getRowCount()
+{
+    return m_lRowCount;
+}
+
+@Override
+public synchronized long getTotalTimeNanos()
+{
+    return m_lTotalTimeNanos;
+}
+
+/**
+ * Returns the rows per second over all the runs of the phase.
+ */
+@Override
+public synchronized double getThroughput()
+{
+    return m_lTotalTimeNanos > 0 ? m_lRowCount * 1e9 / m_lTotalTimeNanos : 0.0;
+}
+
+@Override
+public synchronized long getLastRowCount()
+{
+    return m_lLastRowCount;
+}
+
+@Override
+public synchronized long getLastTimeNanos()
+{
+    return m_lLastTimeNanos;
+}
+
+/**
+ * Returns the rows per second of the last run of the phase.
+ */
+@Override
+public synchronized double getLastThroughput()
+{
+    return m_lLastTimeNanos > 0 ? m_lLastRowCount * 1e9 / m_lLastTimeNanos : 0.0;
+}
+
+@Override
+public synchronized void resetStatistics()
+{
+    m_lCount = 0;
+    m_lRowCount = 0;
+    m_lTotalTimeNanos = 0;
+    m_lLastRowCount = 0;
+    m_lLastTimeNanos = 0;
+}
+
+@Override
+public synchronized String toString()
+{
+    return getClass().getSimpleName() + '{' + "name=" + m_sName + " count=" + m_lCount + " rowCount=" + m_lRowCount
+        + " totalTimeNanos=" + m_lTotalTimeNanos + '}';
+}
+} ///////// End of class
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: SortPhaseStatsMBean.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+/**
+ * The JMX interface of SortPhaseStats.
+ */
+public interface SortPhaseStatsMBean
+{
+
+String getName();
+
+long getCount();
+
+long getRowCount();
+
+long getTotalTimeNanos();
+
+double getThroughput();
+
+long getLastRowCount();
+
+long getLastTimeNanos();
+
+double getLastThroughput();
+
+void resetStatistics();
+} ///////// End of class
@@ -0,0 +1,401 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: SortPlanner.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * SortPlanner picks the sort algorithm for a list of rows and runs it. It first checks in a single pass whether the
+ * rows are already in order or in reverse order, which needs no sort at all. Otherwise it encodes an evenly spaced
+ * sample of SAMPLE_SIZE rows and looks at how presorted the sample is, how many distinct keys it has and how long the
+ * common prefixes of neighbouring keys are. Together with the row count, the key width, the memory budget and the
+ * parallelism these pick one of the Algorithms. The plan is logged with the reasons for every decision.
+ *
+ * Whatever the algorithm, the sort is stable: rows with equal keys keep their input order. The quicksorts of the keys
+ * are not stable on their own, so their result has every run of equal keys put back in input order.
+ */
+public class SortPlanner
+{
+
+private static final Logger LOG = LoggerFactory.getLogger(SortPlanner.class);
+
+public static final int SAMPLE_SIZE = 1024;
+
+/**
+ * Below this many rows, encoding the keys costs more than it saves.
+ */
+static final int SMALL_ROW_COUNT = 1 << 12;
+static final int PARALLEL_ROW_COUNT = 1 << 20;
+static final double NEARLY_SORTED_FRACTION = 0.9;
+static final double LOW_CARDINALITY_FRACTION = 0.05;
+static final double LONG_COMMON_PREFIX_BYTES = 8.0;
+
+public enum Algorithm
+{
+    /**
+     * The rows are already in order.
+     */
+    NONE,
+    /**
+     * Every row sorts strictly before the previous one, so the rows only need to be reversed.
+     */
+    REVERSE,
+    /**
+     * List.sort on the RowData objects, which finds and merges presorted runs.
+     */
+    TIM_SORT,
+    /**
+     * The three way quicksort of KeySlab, for keys with many duplicates.
+     */
+    SLAB_QUICKSORT,
+    MSD_RADIX,
+    MULTIKEY_QUICKSORT,
+    PARALLEL,
+    EXTERNAL
+}
+
+private final RowKeyEncoder m_rowKeyEncoder;
+private final Comparator<RowData> m_comparator;
+private final long m_lMemoryBudgetBytes;
+private final int m_nParallelism;
+private final Path m_tempDir;
+
+public SortPlanner(RowKeyEncoder rowKeyEncoder)
+{
+    this(rowKeyEncoder, ExternalSorter.DEFAULT_MEMORY_BUDGET_BYTES, Runtime.getRuntime().availableProcessors(),
+        Paths.get(System.getProperty("java.io.tmpdir")));
+}
+
+public SortPlanner(RowKeyEncoder rowKeyEncoder, long lMemoryBudgetBytes, int nParallelism, Path tempDir)
+{
+    if (nParallelism < 1)
+    {
+        throw new IllegalArgumentException("Parallelism must be at least 1. Parallelism: " + nParallelism);
+    }
+
+    m_rowKeyEncoder = rowKeyEncoder;
+    m_comparator = RowComparatorFactory.getComparator(rowKeyEncoder.getRowInfo(), rowKeyEncoder.getSortSpec());
+    m_lMemoryBudgetBytes = lMemoryBudgetBytes;
+    m_nParallelism = nParallelism;
+    m_tempDir = tempDir;
+}
+
+/**
+ * Plans the sort of the rows, logs the plan and returns the rows in order. The result is the input list itself when
+ * it is already sorted and a new list otherwise.
+ */
+public List<RowData> sort(List<RowData> listRowData) throws IOException
+{
+    SortPlan sortPlan = plan(listRowData);
+    LOG.info("{}", sortPlan);
+    return execute(sortPlan, listRowData);
+}
+
+/**
+ * Returns the plan for sorting the rows, without sorting them.
+ */
+public SortPlan plan(List<RowData> listRowData)
+{
+    int nRowCount = listRowData.size();
+    List<String> listReason = new ArrayList<>();
+
+    Algorithm presorted = checkPresorted(listRowData);
+    if (presorted != null)
+    {
+        listReason.add(presorted == Algorithm.NONE ? "rows are already in order"
+            : "rows are in strictly descending order");
+        return new SortPlan(presorted, nRowCount, null, listReason);
+    }
+    if (nRowCount < SMALL_ROW_COUNT)
+    {
+        listReason.add(nRowCount + " rows is below " + SMALL_ROW_COUNT + ", encoding keys does not pay off");
+        return new SortPlan(Algorithm.TIM_SORT, nRowCount, null, listReason);
+    }
+    if (!m_rowKeyEncoder.hasMaxKeyWidth())
+    {
+        listReason.add("key width is unbounded, so keys don't fit a KeySlab");
+        return new SortPlan(Algorithm.TIM_SORT, nRowCount, null, listReason);
+    }
+
+    SampleStats sampleStats = new SampleStats(listRowData, m_rowKeyEncoder);
+    long lSlabBytes = (long) nRowCount * (m_rowKeyEncoder.getMaxKeyWidth() + 2 * Integer.BYTES);
+    if (lSlabBytes > m_lMemoryBudgetBytes)
+    {
+        listReason.add("keys and row indexes need " + lSlabBytes + " bytes, over the memory budget of "
+            + m_lMemoryBudgetBytes);
+        if (m_rowKeyEncoder.getKeyFieldCount() == m_rowKeyEncoder.getRowInfo().getFieldCount())
+        {
+            listReason.add("the key holds every field, so rows can be decoded from the sorted runs");
+            return new SortPlan(Algorithm.EXTERNAL, nRowCount, sampleStats, listReason);
+        }
+        listReason.add("the rows have fields outside the key, which an external sort of the keys would lose");
+        return new SortPlan(Algorithm.TIM_SORT, nRowCount, sampleStats, listReason);
+    }
+    if (sampleStats.m_dAscendingFraction >= NEARLY_SORTED_FRACTION)
+    {
+        listReason.add(String.format("%.0f%% of the sampled neighbours are in order, TimSort merges the runs",
+            100 * sampleStats.m_dAscendingFraction));
+        return new SortPlan(Algorithm.TIM_SORT, nRowCount, sampleStats, listReason);
+    }
+    if (nRowCount >= PARALLEL_ROW_COUNT && m_nParallelism > 1)
+    {
+        listReason.add(nRowCount + " rows is at least " + PARALLEL_ROW_COUNT + " and " + m_nParallelism
+            + " threads are available");
+        return new SortPlan(Algorithm.PARALLEL, nRowCount, sampleStats, listReason);
+    }
+    if (sampleStats.m_dDistinctFraction <= LOW_CARDINALITY_FRACTION)
+    {
+        listReason.add(String.format("only %.1f%% of the sampled keys are distinct, equal keys end in one partition",
+            100 * sampleStats.m_dDistinctFraction));
+        return new SortPlan(Algorithm.SLAB_QUICKSORT, nRowCount, sampleStats, listReason);
+    }
+    if (sampleStats.m_dAvgCommonPrefix >= LONG_COMMON_PREFIX_BYTES)
+    {
+        listReason.add(String.format("neighbouring keys share %.1f bytes on average, which are compared once",
+            sampleStats.m_dAvgCommonPrefix));
+        return new SortPlan(Algorithm.MULTIKEY_QUICKSORT, nRowCount, sampleStats, listReason);
+    }
+
+    listReason.add("keys are distinct and diverge early, radix passes touch few bytes");
+    return new SortPlan(Algorithm.MSD_RADIX, nRowCount, sampleStats, listReason);
+}
+
+/**
+ * Runs the plan on the rows it was made for.
+ */
+public List<RowData> execute(SortPlan sortPlan, List<RowData> listRowData) throws IOException
+{
+    try (SortPhase sortPhase = SortPhase.start("plannedSort." + sortPlan.getAlgorithm()))
+    {
+        sortPhase.setRowCount(listRowData.size());
+        switch (sortPlan.getAlgorithm())
+        {
+            case NONE:
+                return listRowData;
+            case REVERSE:
+                List<RowData> listReversed = new ArrayList<>(listRowData);
+                Collections.reverse(listReversed);
+                return listReversed;
+            case TIM_SORT:
+                List<RowData> listSorted = new ArrayList<>(listRowData);
+                listSorted.sort(m_comparator);
+                return listSorted;
+            case SLAB_QUICKSORT:
+            case MULTIKEY_QUICKSORT:
+                KeySlab keySlab = encode(listRowData);
+                int[] anRowIdx = sortPlan.getAlgorithm() == Algorithm.SLAB_QUICKSORT ? keySlab.sortIndex()
+                    : new MultiKeyQuickSorter(keySlab).sortIndex();
+                return PrefixSorter.gather(listRowData, restoreInputOrder(keySlab, anRowIdx));
+            case MSD_RADIX:
+                return PrefixSorter.gather(listRowData, new MsdRadixSorter(encode(listRowData)).sortIndex());
+            case PARALLEL:
+                try (ParallelSorter parallelSorter = new ParallelSorter(m_nParallelism))
+                {
+                    return PrefixSorter.gather(listRowData, parallelSorter.sortIndex(encode(listRowData)));
+                }
+            case EXTERNAL:
+                return sortExternal(listRowData);
+            default:
+                throw new UnsupportedOperationException("Unsupported algorithm: " + sortPlan.getAlgorithm());
+        }
+    }
+}
+
+/**
+ * Returns NONE when the rows are in order, REVERSE when every row sorts strictly before the previous one and null
+ * otherwise. Equal neighbours rule out REVERSE, as reversing them would not be stable. Stops at the first pair of rows
+ * that rules out both.
+ */
+Algorithm checkPresorted(List<RowData> listRowData)
+{
+    boolean bAscending = true;
+    boolean bDescending = true;
+    RowData rowDataPrev = null;
+    for (RowData rowData : listRowData)
+    {
+        if (rowDataPrev != null)
+        {
+            int nComp = m_comparator.compare(rowDataPrev, rowData);
+            bAscending &= nComp <= 0;
+            bDescending &= nComp > 0;
+            if (!bAscending && !bDescending)
+            {
+                return null;
+            }
+        }
+        rowDataPrev = rowData;
+    }
+    return bAscending ? Algorithm.NONE : Algorithm.REVERSE;
+}
+
+/**
+ * Sorts the row indexes of every run of equal keys ascending, which turns the result of an unstable sort of the slab
+ * into that of a stable one.
+ */
+static int[] restoreInputOrder(KeySlab keySlab, int[] anRowIdx)
+{
+    int nRunStart = 0;
+    for (int i = 1; i <= anRowIdx.length; i++)
+    {
+        if (i == anRowIdx.length || keySlab.compare(anRowIdx[i - 1], anRowIdx[i]) != 0)
+        {
+            if (i - nRunStart > 1)
+            {
+                Arrays.sort(anRowIdx, nRunStart, i);
+            }
+            nRunStart = i;
+        }
+    }
+    return anRowIdx;
+}
+
+private KeySlab encode(List<RowData> listRowData)
+{
+    KeySlab keySlab = new KeySlab(m_rowKeyEncoder, listRowData.size());
+    for (RowData rowData : listRowData)
+    {
+        keySlab.append(rowData);
+    }
+    return keySlab;
+}
+
+private List<RowData> sortExternal(List<RowData> listRowData) throws IOException
+{
+    List<RowData> listSorted = new ArrayList<>(listRowData.size());
+    try (ExternalSorter externalSorter = new ExternalSorter(m_rowKeyEncoder, m_lMemoryBudgetBytes, m_tempDir))
+    {
+        for (RowData rowData : listRowData)
+        {
+            externalSorter.add(rowData);
+        }
+        try (KeyCursor keyCursor = externalSorter.sort())
+        {
+            while (keyCursor.next())
+            {
+                listSorted.add(externalSorter.decode(keyCursor, new RowData(m_rowKeyEncoder.getRowInfo())));
+            }
+        }
+    }
+    return listSorted;
+}
+
+/**
+ * What the planner learned from an evenly spaced sample of the rows.
+ */
+static final class SampleStats
+{
+
+    final int m_nSampleSize;
+    final double m_dAscendingFraction;
+    final double m_dDistinctFraction;
+    final double m_dAvgCommonPrefix;
+
+    SampleStats(List<RowData> listRowData, RowKeyEncoder rowKeyEncoder)
+    {
+        int nRowCount = listRowData.size();
+        m_nSampleSize = Math.min(SAMPLE_SIZE, nRowCount);
+        byte[][] aaKey = new byte[m_nSampleSize][];
+        for (int i = 0; i < m_nSampleSize; i++)
+        {
+            aaKey[i] = rowKeyEncoder.encode(listRowData.get((int) ((long) i * nRowCount / m_nSampleSize)));
+        }
+
+        int nAscendingCount = 0;
+        for (int i = 1; i < m_nSampleSize; i++)
+        {
+            if (BinaryKeyComparator.compareKeys(aaKey[i - 1], aaKey[i]) <= 0)
+            {
+                nAscendingCount++;
+            }
+        }
+
+        Arrays.sort(aaKey, BinaryKeyComparator::compareKeys);
+        int nDistinctCount = m_nSampleSize > 0 ? 1 : 0;
+        long lCommonPrefixBytes = 0;
+        for (int i = 1; i < m_nSampleSize; i++)
+        {
+            int nCommonPrefix = Arrays.mismatch(aaKey[i - 1], aaKey[i]);
+            if (nCommonPrefix >= 0)
+            {
+                nDistinctCount++;
+                lCommonPrefixBytes += nCommonPrefix;
+            }
+            else
+            {
+                lCommonPrefixBytes += aaKey[i].length;
+            }
+        }
+
+        int nPairCount = Math.max(1, m_nSampleSize - 1);
+        m_dAscendingFraction = (double) nAscendingCount / nPairCount;
+        m_dDistinctFraction = (double) nDistinctCount / Math.max(1, m_nSampleSize);
+        m_dAvgCommonPrefix = (double) lCommonPrefixBytes / nPairCount;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("sampleSize=%d ascending=%.2f distinct=%.3f avgCommonPrefix=%.1f", m_nSampleSize,
+            m_dAscendingFraction, m_dDistinctFraction, m_dAvgCommonPrefix);
+    }
+}
+
+/**
+ * The algorithm the planner picked, with the reasons for it.
+ */
+public static final class SortPlan
+{
+
+    private final Algorithm m_algorithm;
+    private final int m_nRowCount;
+    private final SampleStats m_sampleStats;
+    private final List<String> m_listReason;
+
+    SortPlan(Algorithm algorithm, int nRowCount, SampleStats sampleStats, List<String> listReason)
+    {
+        m_algorithm = algorithm;
+        m_nRowCount = nRowCount;
+        m_sampleStats = sampleStats;
+        m_listReason = Collections.unmodifiableList(listReason);
+    }
+
+    public Algorithm getAlgorithm()
+    {
+        return m_algorithm;
+    }
+
+    public int getRowCount()
+    {
+        return m_nRowCount;
+    }
+
+    public List<String> getReasons()
+    {
+        return m_listReason;
+    }
+
+    @Override
+    public String toString()
+    {
+        return getClass().getSimpleName() + '{' + "algorithm=" + m_algorithm + " rowCount=" + m_nRowCount
+            + (m_sampleStats != null ? " " + m_sampleStats : "") + " reasons=" + m_listReason + '}';
+    }
+}
+} ///////// End of class
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: SortProducer.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.support.DefaultProducer;
+
+/**
+ * SortProducer adds the rows of the message body to the buffer of its SortEndpoint. When that fills the buffer, the
+ * call returns once the sorted batch has been processed by the consuming route.
+ */
+public class SortProducer extends DefaultProducer
+{
+
+private final SortEndpoint m_sortEndpoint;
+
+public SortProducer(SortEndpoint sortEndpoint)
+{
+    super(sortEndpoint);
+    m_sortEndpoint = sortEndpoint;
+}
+
+@Override
+public void process(Exchange exchange) throws Exception
+{
+    m_sortEndpoint.add(exchange.getIn().getBody());
+}
+} ///////// End of class
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: SortSpec.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * SortSpec is the ordered list of SortField that make up a sort key, the equivalent of an ORDER BY clause.
+ */
+public class SortSpec implements Serializable
+{
+
+private static final long serialVersionUID = 8117024385617290032L;
+
+private final SortField[] m_aSortField;
+
+@SuppressWarnings("unused")
+public SortSpec(SortField sortField)
+{
+    this(new SortField[]{sortField}); // Convert into an array with single element
+}
+
+public SortSpec(SortField[] aSortField)
+{
+    m_aSortField = aSortField;
+}
+
+/**
+ * Creates a SortSpec that sorts on all the fields of the RowInfo in ascending order, which is the order used by
+ * RowData.compareTo.
+ */
+public static SortSpec ascending(RowInfo rowInfo)
+{
+    SortField[] aSortField = new SortField[rowInfo.getFieldCount()];
+    for (int i = 0; i < aSortField.length; i++)
+    {
+        aSortField[i] = new SortField(i);
+    }
+
+    return new SortSpec(aSortField);
+}
+
+/**
+ * Parses an ORDER BY list such as "field1 DESC, field3 NULLS FIRST, 2". Every item is a field name, alias or index of
+ * the rowInfo, optionally followed by ASC or DESC and by NULLS FIRST or NULLS LAST. Keywords are case insensitive.
+ */
+public static SortSpec parse(RowInfo rowInfo, String sOrderBy)
+{
+    ArrayList<SortField> listSortField = new ArrayList<>();
+    for (String sItem : sOrderBy.split(","))
+    {
+        String[] asToken = sItem.trim().split("\\s+");
+        int nFieldIdx = rowInfo.getFieldInfoIdx(asToken[0]);
+        if (nFieldIdx < 0 && asToken[0].matches("\\d+"))
+        {
+            nFieldIdx = Integer.parseInt(asToken[0]);
+        }
+        if (nFieldIdx < 0 || nFieldIdx >= rowInfo.getFieldCount())
+        {
+            throw new IllegalArgumentException("Unknown sort field: " + asToken[0]);
+        }
+
+        int nPos = 1;
+        SortDirection direction = SortDirection.ASC;
+        if (nPos < asToken.length && (asToken[nPos].equalsIgnoreCase("ASC") || asToken[nPos].equalsIgnoreCase("DESC")))
+        {
+            direction = SortDirection.valueOf(asToken[nPos++].toUpperCase());
+        }
+
+        NullOrdering nullOrdering = NullOrdering.getDefault(direction);
+        if (nPos + 1 < asToken.length && asToken[nPos].equalsIgnoreCase("NULLS"))
+        {
+            nullOrdering = NullOrdering.valueOf("NULLS_" + asToken[nPos + 1].toUpperCase());
+            nPos += 2;
+        }
+
+        if (nPos != asToken.length)
+        {
+            throw new IllegalArgumentException("Invalid sort field: " + sItem.trim());
+        }
+        listSortField.add(new SortField(nFieldIdx, direction, nullOrdering));
+    }
+
+    return new SortSpec(listSortField.toArray(new SortField[0]));
+}
+
+/**
+ * Returns a SortSpec with the fields of this one followed by the remaining fields of the RowInfo in ascending order.
+ * The added fields only break ties, so the order is unchanged, but a key encoded with it holds the whole row.
+ */
+public SortSpec withRemainingFields(RowInfo rowInfo)
+{
+    boolean[] abSortField = new boolean[rowInfo.getFieldCount()];
+    for (SortField sortField : m_aSortField)
+    {
+        abSortField[sortField.getFieldIdx()] = true;
+    }
+
+    ArrayList<SortField> listSortField = new ArrayList<>();
+    Collections.addAll(listSortField, m_aSortField);
+    for (int i = 0; i < abSortField.length; i++)
+    {
+        if (!abSortField[i])
+        {
+            listSortField.add(new SortField(i));
+        }
+    }
+
+    return new SortSpec(listSortField.toArray(new SortField[0]));
+}
+
+/**
+ * Returns a RowInfo with only the sort fields of the rowInfo, in sort order. Use it with project() to load and sort
+ * just the key columns.
+ */
+public RowInfo projectRowInfo(RowInfo rowInfo)
+{
+    FieldInfo[] aFieldInfo = new FieldInfo[m_aSortField.length];
+    for (int i = 0; i < aFieldInfo.length; i++)
+    {
+        aFieldInfo[i] = rowInfo.getFieldInfo(m_aSortField[i].getFieldIdx());
+    }
+    return new RowInfo(aFieldInfo);
+}
+
+/**
+ * Returns the SortSpec for the RowInfo returned by projectRowInfo: sort field i refers to field i, with the same
+ * direction and null ordering.
+ */
+public SortSpec project()
+{
+    SortField[] aSortField = new SortField[m_aSortField.length];
+    for (int i = 0; i < aSortField.length; i++)
+    {
+        aSortField[i] = new SortField(i, m_aSortField[i].getDirection(), m_aSortField[i].getNullOrdering());
+    }
+    return new SortSpec(aSortField);
+}
+
+public int getSortFieldCount()
+{
+    return m_aSortField.length;
+}
+
+public SortField getSortField(int nSortFieldIdx)
+{
+    return m_aSortField[nSortFieldIdx];
+}
+
+public SortField[] getAllSortField()
+{
+    return m_aSortField;
+}
+
+@Override
+public String toString()
+{
+    return getClass().getSimpleName() + '{' + "sortFieldCount=" + getSortFieldCount() + " " + Arrays.toString(
+        m_aSortField) + '}';
+}
+
+@Override
+public boolean equals(Object o)
+{
+    if (this == o)
+    {
+        return true;
+    }
+    if (!(o instanceof SortSpec))
+    {
+        return false;
+    }
+    SortSpec sortSpec = (SortSpec) o;
+    return Arrays.equals(m_aSortField, sortSpec.m_aSortField);
+}
+
+@Override
+public int hashCode()
+{
+    return Arrays.hashCode(m_aSortField);
+}
+} ///////// End of class
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: SortSpillEvent.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JFR event for a spill to disk by ExternalSorter or HashAggregator. It lasts from the start of the spill, including
+ * the sort of a run, to the last write.
+ */
+@Name("org.example.SortSpill")
+@Label("Sort Spill")
+@Category("Sort")
+@Description("Keys or aggregates written to temp files")
+class SortSpillEvent extends Event
+{
+
+@Name("source")
+@Label("Source")
+String m_sSource;
+
+@Name("path")
+@Label("Path")
+String m_sPath;
+
+@Name("rowCount")
+@Label("Rows")
+long m_lRowCount;
+
+@Name("byteCount")
+@Label("Bytes")
+@DataAmount
+long m_lByteCount;
+} ///////// End of class
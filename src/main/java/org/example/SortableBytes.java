@@ -0,0 +1,428 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: SortableBytes.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * SortableBytes converts primitive values to and from big endian byte sequences whose unsigned lexicographic order is
+ * the same as the natural order of the values. When bDescending is set, every byte is inverted so that the order is
+ * reversed.
+ *
+ * Variable length values are written with every 0x00 byte escaped as 0x00 0xFF and are terminated by 0x00 0x01. This
+ * keeps the encoding prefix free, so that a shorter value sorts before every longer value it is a prefix of.
+ */
+public final class SortableBytes
+{
+
+public static final int ESCAPE_BYTE = 0x00;
+public static final int ESCAPED_ZERO = 0xFF;
+public static final int TERMINATOR = 0x01;
+public static final int TERMINATOR_LENGTH = 2;
+
+private SortableBytes()
+{
+}
+
+private static int mask(boolean bDescending)
+{
+    return bDescending ? 0xFF : 0x00;
+}
+
+public static int putBoolean(boolean bValue, boolean bDescending, byte[] aDest, int nOffset)
+{
+    aDest[nOffset] = (byte) ((bValue ? 1 : 0) ^ mask(bDescending));
+    return Byte.BYTES;
+}
+
+public static int putInt(int nValue, boolean bDescending, byte[] aDest, int nOffset)
+{
+    int nSortable = nValue ^ Integer.MIN_VALUE;
+    if (bDescending)
+    {
+        nSortable = ~nSortable;
+    }
+    putRawInt(nSortable, aDest, nOffset);
+    return Integer.BYTES;
+}
+
+public static int putLong(long lValue, boolean bDescending, byte[] aDest, int nOffset)
+{
+    long lSortable = lValue ^ Long.MIN_VALUE;
+    if (bDescending)
+    {
+        lSortable = ~lSortable;
+    }
+    putRawLong(lSortable, aDest, nOffset);
+    return Long.BYTES;
+}
+
+/**
+ * Writes the float such that -Infinity < negative values < -0.0 < 0.0 < positive values < Infinity < NaN, which is the
+ * order of Float.compare.
+ */
+public static int putFloat(float fValue, boolean bDescending, byte[] aDest, int nOffset)
+{
+    int nBits = Float.floatToIntBits(fValue);
+    nBits ^= (nBits >> 31) | Integer.MIN_VALUE;
+    if (bDescending)
+    {
+        nBits = ~nBits;
+    }
+    putRawInt(nBits, aDest, nOffset);
+    return Float.BYTES;
+}
+
+/**
+ * Writes the double in the order of Double.compare. See putFloat.
+ */
+public static int putDouble(double dValue, boolean bDescending, byte[] aDest, int nOffset)
+{
+    long lBits = Double.doubleToLongBits(dValue);
+    lBits ^= (lBits >> 63) | Long.MIN_VALUE;
+    if (bDescending)
+    {
+        lBits = ~lBits;
+    }
+    putRawLong(lBits, aDest, nOffset);
+    return Double.BYTES;
+}
+
+/**
+ * Copies nLength bytes as they are. Used for values that are already binary comparable and have a fixed length.
+ */
+public static int putFixedBytes(byte[] aSrc, int nSrcOffset, int nLength, boolean bDescending, byte[] aDest,
+    int nOffset)
+{
+    int nMask = mask(bDescending);
+    for (int i = 0; i < nLength; i++)
+    {
+        aDest[nOffset + i] = (byte) (aSrc[nSrcOffset + i] ^ nMask);
+    }
+    return nLength;
+}
+
+/**
+ * Writes the bytes with escaping and the terminator. nLimit is the exclusive index in aDest beyond which the value must
+ * not be written.
+ */
+public static int putVariableBytes(byte[] aSrc, int nSrcOffset, int nLength, boolean bDescending, byte[] aDest,
+    int nOffset, int nLimit)
+{
+    int nMask = mask(bDescending);
+    int nPos = nOffset;
+    for (int i = 0; i < nLength; i++)
+    {
+        int b = aSrc[nSrcOffset + i] & 0xFF;
+        nPos = putEscapedByte(b, nMask, aDest, nPos, nLimit);
+    }
+    return putTerminator(nMask, aDest, nPos, nLimit) - nOffset;
+}
+
+/**
+ * Writes the UTF-8 bytes of the string with escaping and the terminator without allocating an intermediate byte array.
+ * Unpaired surrogates are written as '?', the same as String.getBytes.
+ */
+public static int putString(String sValue, boolean bDescending, byte[] aDest, int nOffset, int nLimit)
+{
+    int nMask = mask(bDescending);
+    int nPos = nOffset;
+    int nLength = sValue.length();
+    for (int i = 0; i < nLength; i++)
+    {
+        char c = sValue.charAt(i);
+        if (c < 0x80)
+        {
+            nPos = putEscapedByte(c, nMask, aDest, nPos, nLimit);
+        }
+        else if (c < 0x800)
+        {
+            nPos = putEscapedByte(0xC0 | (c >> 6), nMask, aDest, nPos, nLimit);
+            nPos = putEscapedByte(0x80 | (c & 0x3F), nMask, aDest, nPos, nLimit);
+        }
+        else if (Character.isSurrogate(c))
+        {
+            int nCodePoint = '?';
+            if (Character.isHighSurrogate(c) && i + 1 < nLength && Character.isLowSurrogate(sValue.charAt(i + 1)))
+            {
+                nCodePoint = Character.toCodePoint(c, sValue.charAt(++i));
+                nPos = putEscapedByte(0xF0 | (nCodePoint >> 18), nMask, aDest, nPos, nLimit);
+                nPos = putEscapedByte(0x80 | ((nCodePoint >> 12) & 0x3F), nMask, aDest, nPos, nLimit);
+                nPos = putEscapedByte(0x80 | ((nCodePoint >> 6) & 0x3F), nMask, aDest, nPos, nLimit);
+                nPos = putEscapedByte(0x80 | (nCodePoint & 0x3F), nMask, aDest, nPos, nLimit);
+            }
+            else
+            {
+                nPos = putEscapedByte(nCodePoint, nMask, aDest, nPos, nLimit);
+            }
+        }
+        else
+        {
+            nPos = putEscapedByte(0xE0 | (c >> 12), nMask, aDest, nPos, nLimit);
+            nPos = putEscapedByte(0x80 | ((c >> 6) & 0x3F), nMask, aDest, nPos, nLimit);
+            nPos = putEscapedByte(0x80 | (c & 0x3F), nMask, aDest, nPos, nLimit);
+        }
+    }
+    return putTerminator(nMask, aDest, nPos, nLimit) - nOffset;
+}
+
+/**
+ * Returns the number of bytes putVariableBytes writes for the given bytes.
+ */
+public static int getVariableBytesLength(byte[] aSrc, int nSrcOffset, int nLength)
+{
+    int nEncodedLength = nLength + TERMINATOR_LENGTH;
+    for (int i = 0; i < nLength; i++)
+    {
+        if (aSrc[nSrcOffset + i] == 0)
+        {
+            nEncodedLength++;
+        }
+    }
+    return nEncodedLength;
+}
+
+/**
+ * Returns the number of bytes putString writes for the given string.
+ */
+public static int getStringLength(String sValue)
+{
+    int nEncodedLength = TERMINATOR_LENGTH;
+    int nLength = sValue.length();
+    for (int i = 0; i < nLength; i++)
+    {
+        char c = sValue.charAt(i);
+        if (c == 0)
+        {
+            nEncodedLength += 2;
+        }
+        else if (c < 0x80)
+        {
+            nEncodedLength += 1;
+        }
+        else if (c < 0x800)
+        {
+            nEncodedLength += 2;
+        }
+        else if (Character.isHighSurrogate(c) && i + 1 < nLength && Character.isLowSurrogate(sValue.charAt(i + 1)))
+        {
+            nEncodedLength += 4;
+            i++;
+        }
+        else if (Character.isSurrogate(c))
+        {
+            nEncodedLength += 1;
+        }
+        else
+        {
+            nEncodedLength += 3;
+        }
+    }
+    return nEncodedLength;
+}
+
+public static boolean getBoolean(byte[] aSrc, int nOffset, boolean bDescending)
+{
+    return ((aSrc[nOffset] ^ mask(bDescending)) & 0xFF) != 0;
+}
+
+public static int getInt(byte[] aSrc, int nOffset, boolean bDescending)
+{
+    int nSortable = getRawInt(aSrc, nOffset);
+    if (bDescending)
+    {
+        nSortable = ~nSortable;
+    }
+    return nSortable ^ Integer.MIN_VALUE;
+}
+
+public static long getLong(byte[] aSrc, int nOffset, boolean bDescending)
+{
+    long lSortable = getRawLong(aSrc, nOffset);
+    if (bDescending)
+    {
+        lSortable = ~lSortable;
+    }
+    return lSortable ^ Long.MIN_VALUE;
+}
+
+public static float getFloat(byte[] aSrc, int nOffset, boolean bDescending)
+{
+    int nBits = getRawInt(aSrc, nOffset);
+    if (bDescending)
+    {
+        nBits = ~nBits;
+    }
+    nBits ^= (~nBits >> 31) | Integer.MIN_VALUE;
+    return Float.intBitsToFloat(nBits);
+}
+
+public static double getDouble(byte[] aSrc, int nOffset, boolean bDescending)
+{
+    long lBits = getRawLong(aSrc, nOffset);
+    if (bDescending)
+    {
+        lBits = ~lBits;
+    }
+    lBits ^= (~lBits >> 63) | Long.MIN_VALUE;
+    return Double.longBitsToDouble(lBits);
+}
+
+public static byte[] getFixedBytes(byte[] aSrc, int nOffset, int nLength, boolean bDescending)
+{
+    byte[] aValue = new byte[nLength];
+    putFixedBytes(aSrc, nOffset, nLength, bDescending, aValue, 0);
+    return aValue;
+}
+
+/**
+ * Reads a value written by putVariableBytes or putString into baos and returns the number of encoded bytes consumed,
+ * including the terminator.
+ */
+public static int getVariableBytes(byte[] aSrc, int nOffset, boolean bDescending, ByteArrayOutputStream baos)
+{
+    int nMask = mask(bDescending);
+    int nPos = nOffset;
+    while (true)
+    {
+        int b = (aSrc[nPos++] ^ nMask) & 0xFF;
+        if (b != ESCAPE_BYTE)
+        {
+            baos.write(b);
+            continue;
+        }
+
+        int nNext = (aSrc[nPos++] ^ nMask) & 0xFF;
+        if (nNext == ESCAPED_ZERO)
+        {
+            baos.write(0);
+        }
+        else if (nNext == TERMINATOR)
+        {
+            return nPos - nOffset;
+        }
+        else
+        {
+            throw new IllegalArgumentException("Invalid escape sequence in sort key at offset: " + (nPos - 2));
+        }
+    }
+}
+
+/**
+ * Returns the number of encoded bytes, including the terminator, of the variable length value at nOffset.
+ */
+public static int skipVariableBytes(byte[] aSrc, int nOffset, boolean bDescending)
+{
+    int nMask = mask(bDescending);
+    int nPos = nOffset;
+    while (true)
+    {
+        if (((aSrc[nPos++] ^ nMask) & 0xFF) == ESCAPE_BYTE && ((aSrc[nPos++] ^ nMask) & 0xFF) == TERMINATOR)
+        {
+            return nPos - nOffset;
+        }
+    }
+}
+
+public static void putRawInt(int nValue, byte[] aDest, int nOffset)
+{
+    aDest[nOffset] = (byte) (nValue >>> 24);
+    aDest[nOffset + 1] = (byte) (nValue >>> 16);
+    aDest[nOffset + 2] = (byte) (nValue >>> 8);
+    aDest[nOffset + 3] = (byte) nValue;
+}
+
+public static void putRawLong(long lValue, byte[] aDest, int nOffset)
+{
+    putRawInt((int) (lValue >>> 32), aDest, nOffset);
+    putRawInt((int) lValue, aDest, nOffset + 4);
+}
+
+public static int getRawInt(byte[] aSrc, int nOffset)
+{
+    return ((aSrc[nOffset] & 0xFF) << 24) | ((aSrc[nOffset + 1] & 0xFF) << 16) | ((aSrc[nOffset + 2] & 0xFF) << 8)
+        | (aSrc[nOffset + 3] & 0xFF);
+}
+
+public static long getRawLong(byte[] aSrc, int nOffset)
+{
+    return ((long) getRawInt(aSrc, nOffset) << 32) | (getRawInt(aSrc, nOffset + 4) & 0xFFFFFFFFL);
+}
+
+/**
+ * ORs the low nBitCount bits of lValue, most significant first, into aDest starting nBitPos bits after nOffset. The
+ * destination bits must be zero.
+ */
+public static void putBits(long lValue, int nBitCount, byte[] aDest, int nOffset, int nBitPos)
+{
+    int nRemaining = nBitCount;
+    int nPos = nBitPos;
+    while (nRemaining > 0)
+    {
+        int nFree = Byte.SIZE - (nPos & 7);
+        int nTake = Math.min(nFree, nRemaining);
+        int nBits = (int) (lValue >>> (nRemaining - nTake)) & ((1 << nTake) - 1);
+        aDest[nOffset + (nPos >>> 3)] |= (byte) (nBits << (nFree - nTake));
+        nRemaining -= nTake;
+        nPos += nTake;
+    }
+}
+
+/**
+ * Reads nBitCount bits written by putBits.
+ */
+public static long getBits(byte[] aSrc, int nOffset, int nBitPos, int nBitCount)
+{
+    long lValue = 0;
+    int nRemaining = nBitCount;
+    int nPos = nBitPos;
+    while (nRemaining > 0)
+    {
+        int nAvailable = Byte.SIZE - (nPos & 7);
+        int nTake = Math.min(nAvailable, nRemaining);
+        int nBits = ((aSrc[nOffset + (nPos >>> 3)] & 0xFF) >>> (nAvailable - nTake)) & ((1 << nTake) - 1);
+        lValue = (lValue << nTake) | nBits;
+        nRemaining -= nTake;
+        nPos += nTake;
+    }
+    return lValue;
+}
+
+private static int putEscapedByte(int b, int nMask, byte[] aDest, int nPos, int nLimit)
+{
+    if (b == ESCAPE_BYTE)
+    {
+        checkLimit(nPos + 2, nLimit);
+        aDest[nPos] = (byte) (ESCAPE_BYTE ^ nMask);
+        aDest[nPos + 1] = (byte) (ESCAPED_ZERO ^ nMask);
+        return nPos + 2;
+    }
+
+    checkLimit(nPos + 1, nLimit);
+    aDest[nPos] = (byte) (b ^ nMask);
+    return nPos + 1;
+}
+
+private static int putTerminator(int nMask, byte[] aDest, int nPos, int nLimit)
+{
+    checkLimit(nPos + TERMINATOR_LENGTH, nLimit);
+    aDest[nPos] = (byte) (ESCAPE_BYTE ^ nMask);
+    aDest[nPos + 1] = (byte) (TERMINATOR ^ nMask);
+    return nPos + TERMINATOR_LENGTH;
+}
+
+private static void checkLimit(int nEnd, int nLimit)
+{
+    if (nEnd > nLimit)
+    {
+        throw new IllegalArgumentException("Variable length value does not fit in the sort key. Limit: " + nLimit);
+    }
+}
+} ///////// End of class
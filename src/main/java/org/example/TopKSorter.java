@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: TopKSorter.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * TopKSorter keeps the first rows of a stream in the order of a RowKeyEncoder, the equivalent of ORDER BY ... LIMIT
+ * nLimit OFFSET nOffset. Only nOffset + nLimit keys are held, in a KeySlab, with a binary max heap of slab row indexes
+ * on top: the root is the largest key kept. Once the heap is full, a new row is encoded into a spare slab row and
+ * compared with the root only; most rows are rejected there. An accepted row takes the place of the root and is sifted
+ * down, so memory is O(K) and time O(n log K).
+ *
+ * The result is stable: of equal keys, the rows added first are kept and returned first. Only the fields of the
+ * SortSpec of the RowKeyEncoder are kept; to get whole rows back with decode, use an encoder built with
+ * SortSpec.withRemainingFields.
+ */
+public class TopKSorter
+{
+
+private final RowKeyEncoder m_rowKeyEncoder;
+private final int m_nLimit;
+private final int m_nOffset;
+private final int m_nCapacity;
+
+private final KeySlab m_keySlab;
+private final int[] m_anHeap;
+private final long[] m_alSequence;
+private int m_nHeapSize;
+private int m_nSpareRowIdx;
+
+private long m_lRowCount;
+private long m_lRejectedCount;
+private boolean m_bSorted;
+
+public TopKSorter(RowKeyEncoder rowKeyEncoder, int nLimit)
+{
+    this(rowKeyEncoder, nLimit, 0);
+}
+
+public TopKSorter(RowKeyEncoder rowKeyEncoder, int nLimit, int nOffset)
+{
+    if (nLimit < 0 || nOffset < 0 || (long) nLimit + nOffset > Integer.MAX_VALUE - 8)
+    {
+        throw new IllegalArgumentException("Invalid limit or offset. Limit: " + nLimit + " Offset: " + nOffset);
+    }
+
+    m_rowKeyEncoder = rowKeyEncoder;
+    m_nLimit = nLimit;
+    m_nOffset = nOffset;
+    m_nCapacity = nLimit + nOffset;
+
+    // One row more than the capacity: a candidate is encoded into the spare row before it is compared with the root
+    m_keySlab = new KeySlab(rowKeyEncoder, m_nCapacity + 1);
+    m_keySlab.setRowCount(m_nCapacity + 1);
+    m_anHeap = new int[m_nCapacity];
+    m_alSequence = new long[m_nCapacity + 1];
+}
+
+public RowKeyEncoder getRowKeyEncoder()
+{
+    return m_rowKeyEncoder;
+}
+
+public int getLimit()
+{
+    return m_nLimit;
+}
+
+public int getOffset()
+{
+    return m_nOffset;
+}
+
+/**
+ * Returns the number of rows added.
+ */
+public long getRowCount()
+{
+    return m_lRowCount;
+}
+
+/**
+ * Returns the number of rows that were dropped by the comparison with the largest key kept.
+ */
+public long getRejectedCount()
+{
+    return m_lRejectedCount;
+}
+
+public void add(RowData rowData)
+{
+    checkNotSorted();
+    m_rowKeyEncoder.encodeInto(rowData, m_keySlab, m_nSpareRowIdx);
+    offerSpareRow();
+}
+
+/**
+ * Adds row nRowIdx of the rowBatch, a batch of the RowInfo of the RowKeyEncoder.
+ */
+public void add(RowBatch rowBatch, int nRowIdx)
+{
+    checkNotSorted();
+    m_rowKeyEncoder.encodeInto(rowBatch, nRowIdx, m_keySlab, m_nSpareRowIdx);
+    offerSpareRow();
+}
+
+/**
+ * Adds all the rows of the rowBatch.
+ */
+public void add(RowBatch rowBatch)
+{
+    for (int i = 0; i < rowBatch.getRowCount(); i++)
+    {
+        add(rowBatch, i);
+    }
+}
+
+/**
+ * Adds a key that was encoded by the RowKeyEncoder of this sorter.
+ */
+public void addKey(byte[] aKey, int nOffset, int nLength)
+{
+    checkNotSorted();
+    m_keySlab.setKey(m_nSpareRowIdx, aKey, nOffset, nLength);
+    offerSpareRow();
+}
+
+/**
+ * Ends the input and returns a cursor over the kept keys in sorted order, without the first nOffset keys. The
+ * SlabKeyCursor.getRowIdx of the cursor is the row in the slab returned by getKeySlab.
+ */
+public SlabKeyCursor sort()
+{
+    checkNotSorted();
+    m_bSorted = true;
+
+    // Heap sort: every step moves the largest remaining key behind the heap, leaving the rows in ascending order
+    int nResultCount = m_nHeapSize;
+    while (m_nHeapSize > 1)
+    {
+        int nRootRowIdx = m_anHeap[0];
+        m_anHeap[0] = m_anHeap[--m_nHeapSize];
+        m_anHeap[m_nHeapSize] = nRootRowIdx;
+        siftDown(0);
+    }
+    m_nHeapSize = 0;
+
+    int nFrom = Math.min(m_nOffset, nResultCount);
+    return new SlabKeyCursor(m_keySlab, Arrays.copyOfRange(m_anHeap, nFrom, nResultCount));
+}
+
+public KeySlab getKeySlab()
+{
+    return m_keySlab;
+}
+
+/**
+ * Decodes the current key of a cursor returned by sort into rowDataOut.
+ */
+public RowData decode(KeyCursor keyCursor, RowData rowDataOut)
+{
+    m_rowKeyEncoder.decodeInto(keyCursor.getKeyBuffer(), keyCursor.getKeyOffset(), rowDataOut);
+    return rowDataOut;
+}
+
+/**
+ * Keeps the key in the spare row if it is among the first m_nCapacity keys so far.
+ */
+private void offerSpareRow()
+{
+    long lSequence = m_lRowCount++;
+    if (m_nHeapSize < m_nCapacity)
+    {
+        // While the heap fills up it holds slab rows 0 to m_nHeapSize - 1 and the spare row is the next one
+        m_alSequence[m_nSpareRowIdx] = lSequence;
+        m_anHeap[m_nHeapSize] = m_nSpareRowIdx;
+        siftUp(m_nHeapSize++);
+        m_nSpareRowIdx = m_nHeapSize;
+        return;
+    }
+
+    // The candidate came after every kept row, so it loses ties with the root
+    if (m_nCapacity == 0 || m_keySlab.compare(m_nSpareRowIdx, m_anHeap[0]) >= 0)
+    {
+        m_lRejectedCount++;
+        return;
+    }
+
+    int nRootRowIdx = m_anHeap[0];
+    m_alSequence[m_nSpareRowIdx] = lSequence;
+    m_anHeap[0] = m_nSpareRowIdx;
+    m_nSpareRowIdx = nRootRowIdx;
+    siftDown(0);
+}
+
+private void siftUp(int nPos)
+{
+    int nRowIdx = m_anHeap[nPos];
+    while (nPos > 0)
+    {
+        int nParent = (nPos - 1) >>> 1;
+        if (compareRows(m_anHeap[nParent], nRowIdx) >= 0)
+        {
+            break;
+        }
+        m_anHeap[nPos] = m_anHeap[nParent];
+        nPos = nParent;
+    }
+    m_anHeap[nPos] = nRowIdx;
+}
+
+private void siftDown(int nPos)
+{
+    int nRowIdx = m_anHeap[nPos];
+    int nHalf = m_nHeapSize >>> 1;
+    while (nPos < nHalf)
+    {
+        int nChild = 2 * nPos + 1;
+        if (nChild + 1 < m_nHeapSize && compareRows(m_anHeap[nChild + 1], m_anHeap[nChild]) > 0)
+        {
+            nChild++;
+        }
+        if (compareRows(nRowIdx, m_anHeap[nChild]) >= 0)
+        {
+            break;
+        }
+        m_anHeap[nPos] = m_anHeap[nChild];
+        nPos = nChild;
+    }
+    m_anHeap[nPos] = nRowIdx;
+}
+
+/**
+ * Compares two slab rows by key and then by the order they were added in.
+ */
+private int compareRows(int nRowIdx1, int nRowIdx2)
+{
+    int nCompResult = m_keySlab.compare(nRowIdx1, nRowIdx2);
+    return nCompResult != 0 ? nCompResult : Long.compare(m_alSequence[nRowIdx1], m_alSequence[nRowIdx2]);
+}
+
+private void checkNotSorted()
+{
+    if (m_bSorted)
+    {
+        throw new IllegalStateException("The sorter has already been sorted");
+    }
+}
+
+@Override
+public String toString()
+{
+    return getClass().getSimpleName() + '{' + "limit=" + m_nLimit + " offset=" + m_nOffset + " rowCount="
+        + m_lRowCount + " rejectedCount=" + m_lRejectedCount + '}';
+}
+} ///////// End of class
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: BinaryKeyComparatorTest.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BinaryKeyComparatorTest
+{
+
+@Test
+public void testMatchesUnsignedLexicographicOrder()
+{
+    Random random = new Random(5);
+    for (int n = 0; n < 100000; n++)
+    {
+        byte[] aKey1 = randomKey(random);
+        byte[] aKey2 = random.nextInt(4) == 0 ? aKey1.clone() : randomKey(random);
+        if (aKey2.length > 0 && random.nextBoolean())
+        {
+            // Differ in a single byte so that the word loop and the tail loop both see long equal prefixes
+            aKey2 = Arrays.copyOf(aKey1, aKey1.length);
+            if (aKey2.length > 0)
+            {
+                aKey2[random.nextInt(aKey2.length)] ^= (byte) (1 << random.nextInt(8));
+            }
+        }
+
+        int nExpected = Integer.signum(Arrays.compareUnsigned(aKey1, aKey2));
+        assertEquals(nExpected, Integer.signum(BinaryKeyComparator.compareKeys(aKey1, aKey2)));
+        assertEquals(nExpected, Integer.signum(BinaryKeyComparator.INSTANCE.compare(aKey1, aKey2)));
+
+        if (aKey1.length == aKey2.length)
+        {
+            byte[] aShifted = new byte[aKey2.length + 3];
+            System.arraycopy(aKey2, 0, aShifted, 3, aKey2.length);
+            assertEquals(nExpected, Integer.signum(BinaryKeyComparator.compareKeys(aKey1, 0, aShifted, 3,
+                aKey1.length)));
+        }
+
+        long lPrefix1 = BinaryKeyComparator.getPrefix(aKey1, 0, aKey1.length);
+        long lPrefix2 = BinaryKeyComparator.getPrefix(aKey2, 0, aKey2.length);
+        int nPrefixComp = Long.compareUnsigned(lPrefix1, lPrefix2);
+        assertTrue(nPrefixComp == 0 || Integer.signum(nPrefixComp) == nExpected);
+    }
+}
+
+@Test
+public void testShorterPrefixIsSmaller()
+{
+    byte[] aKey = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+    assertTrue(BinaryKeyComparator.compareKeys(Arrays.copyOf(aKey, 9), aKey) < 0);
+    assertTrue(BinaryKeyComparator.compareKeys(aKey, new byte[0]) > 0);
+    assertEquals(0, BinaryKeyComparator.compareKeys(new byte[0], new byte[0]));
+}
+
+@Test
+public void testHighBitIsUnsigned()
+{
+    for (int nLength = 1; nLength <= 17; nLength++)
+    {
+        byte[] aLow = new byte[nLength];
+        byte[] aHigh = new byte[nLength];
+        aLow[nLength - 1] = 0x7F;
+        aHigh[nLength - 1] = (byte) 0x80;
+        assertTrue(BinaryKeyComparator.compareKeys(aLow, aHigh) < 0);
+    }
+}
+
+private static byte[] randomKey(Random random)
+{
+    byte[] aKey = new byte[random.nextInt(40)];
+    for (int i = 0; i < aKey.length; i++)
+    {
+        // Few distinct bytes make equal prefixes common
+        aKey[i] = (byte) (random.nextInt(3) * 0x7F);
+    }
+    return aKey;
+}
+} ///////// End of class
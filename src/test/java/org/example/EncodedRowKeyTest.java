@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: EncodedRowKeyTest.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.apache.hadoop.io.DataInputBuffer;
+import org.apache.hadoop.io.DataOutputBuffer;
+import org.apache.hadoop.io.WritableComparator;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EncodedRowKeyTest
+{
+
+private static final RowInfo ROW_INFO = TestRows.rowInfo(FieldType.INTEGER, FieldType.STRING, FieldType.DOUBLE,
+    FieldType.LONG);
+
+@Test
+public void testRawOrderIsKeyAndRowOrder() throws IOException
+{
+    List<RowData> listRowData = TestRows.randomRows(ROW_INFO, 2000, 40, 0.1, 1);
+    assertSameOrder(listRowData, SortSpec.parse(ROW_INFO, "f1 DESC, f0 NULLS FIRST, f2").withRemainingFields(ROW_INFO),
+        24);
+}
+
+@Test
+public void testLongKeys() throws IOException
+{
+    // Keys of more than 127 bytes have a length prefix of several bytes
+    Random random = new Random(2);
+    List<RowData> listRowData = TestRows.randomRows(ROW_INFO, 1000, 40, 0.1, 3);
+    for (RowData rowData : listRowData)
+    {
+        char[] acValue = new char[100 + random.nextInt(200)];
+        Arrays.fill(acValue, 'k');
+        acValue[acValue.length - 1] = (char) ('a' + random.nextInt(26));
+        rowData.getFieldData(1).setValue(new String(acValue));
+    }
+    assertSameOrder(listRowData, SortSpec.parse(ROW_INFO, "f1, f3 DESC").withRemainingFields(ROW_INFO), 320);
+}
+
+@Test
+public void testComparatorIsRegistered()
+{
+    assertTrue(WritableComparator.get(EncodedRowKey.class) instanceof EncodedRowKey.Comparator);
+}
+
+/**
+ * Checks, for consecutive and random pairs of rows, that the Comparator on the serialized keys, compareTo and the
+ * reference order of the decoded rows agree, and that every key is read back to the row it was set from.
+ */
+private static void assertSameOrder(List<RowData> listRowData, SortSpec sortSpec, int nMaxVariableBytes)
+    throws IOException
+{
+    RowKeyEncoder rowKeyEncoder = new RowKeyEncoder(ROW_INFO, sortSpec, nMaxVariableBytes);
+    int nRowCount = listRowData.size();
+    EncodedRowKey[] aKey = new EncodedRowKey[nRowCount];
+    byte[][] aaSerialized = new byte[nRowCount][];
+    RowData[] aRowDataDecoded = new RowData[nRowCount];
+    DataOutputBuffer dataOutputBuffer = new DataOutputBuffer();
+    DataInputBuffer dataInputBuffer = new DataInputBuffer();
+    for (int i = 0; i < nRowCount; i++)
+    {
+        EncodedRowKey encodedRowKey = new EncodedRowKey();
+        encodedRowKey.set(rowKeyEncoder, listRowData.get(i));
+        dataOutputBuffer.reset();
+        encodedRowKey.write(dataOutputBuffer);
+        aaSerialized[i] = Arrays.copyOf(dataOutputBuffer.getData(), dataOutputBuffer.getLength());
+
+        aKey[i] = new EncodedRowKey();
+        dataInputBuffer.reset(aaSerialized[i], aaSerialized[i].length);
+        aKey[i].readFields(dataInputBuffer);
+        assertEquals(encodedRowKey, aKey[i]);
+
+        aRowDataDecoded[i] = new RowData(ROW_INFO);
+        aKey[i].decodeInto(rowKeyEncoder, aRowDataDecoded[i]);
+        assertEquals(listRowData.get(i), aRowDataDecoded[i]);
+    }
+
+    EncodedRowKey.Comparator comparator = new EncodedRowKey.Comparator();
+    Comparator<RowData> referenceComparator = TestRows.referenceComparator(sortSpec);
+    Random random = new Random(nRowCount);
+    for (int i = 1; i < 4 * nRowCount; i++)
+    {
+        int nRowIdx1 = i < nRowCount ? i - 1 : random.nextInt(nRowCount);
+        int nRowIdx2 = i < nRowCount ? i : random.nextInt(nRowCount);
+        byte[] aSerialized1 = aaSerialized[nRowIdx1];
+        byte[] aSerialized2 = aaSerialized[nRowIdx2];
+        int nExpected = Integer.signum(referenceComparator.compare(aRowDataDecoded[nRowIdx1],
+            aRowDataDecoded[nRowIdx2]));
+        assertEquals(nExpected, Integer.signum(aKey[nRowIdx1].compareTo(aKey[nRowIdx2])));
+        assertEquals(nExpected, Integer.signum(comparator.compare(aSerialized1, 0, aSerialized1.length, aSerialized2,
+            0, aSerialized2.length)));
+    }
+}
+} ///////// End of class
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: ExternalSorterTest.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ExternalSorterTest
+{
+
+private static final RowInfo ROW_INFO = TestRows.rowInfo(FieldType.LONG, FieldType.STRING, FieldType.DATE);
+
+@Rule
+public TemporaryFolder m_temporaryFolder = new TemporaryFolder();
+
+@Test
+public void testSortInMemory() throws IOException
+{
+    assertSorted(1L << 30, ExternalSorter.DEFAULT_MAX_FAN_IN, 0, 0);
+}
+
+@Test
+public void testSortWithSpilledRuns() throws IOException
+{
+    assertSorted(64 << 10, ExternalSorter.DEFAULT_MAX_FAN_IN, 2, ExternalSorter.DEFAULT_MAX_FAN_IN);
+}
+
+@Test
+public void testSortWithIntermediateMerges() throws IOException
+{
+    // More runs than the fan in are spilled, so they are merged down to at most 4
+    assertSorted(16 << 10, 4, 2, 4);
+}
+
+@Test(expected = IllegalStateException.class)
+public void testAddAfterSortFails() throws IOException
+{
+    RowKeyEncoder rowKeyEncoder = new RowKeyEncoder(ROW_INFO, SortSpec.ascending(ROW_INFO), 24);
+    try (ExternalSorter externalSorter = new ExternalSorter(rowKeyEncoder, m_temporaryFolder.getRoot().toPath()))
+    {
+        externalSorter.sort();
+        externalSorter.add(new RowData(ROW_INFO));
+    }
+}
+
+private void assertSorted(long lMemoryBudgetBytes, int nMaxFanIn, int nMinRunCount, int nMaxRunCount)
+    throws IOException
+{
+    List<RowData> listRowData = TestRows.randomRows(ROW_INFO, 30000, 2000, 0.05, 8);
+    SortSpec sortSpec = SortSpec.parse(ROW_INFO, "f2 DESC, f1, f0");
+    List<RowData> listExpected = new ArrayList<>(listRowData);
+    listExpected.sort(TestRows.referenceComparator(sortSpec));
+
+    File tempDir = m_temporaryFolder.newFolder();
+    List<RowData> listSorted = new ArrayList<>();
+    try (ExternalSorter externalSorter = new ExternalSorter(new RowKeyEncoder(ROW_INFO, sortSpec, 24),
+        lMemoryBudgetBytes, tempDir.toPath(), nMaxFanIn))
+    {
+        for (RowData rowData : listRowData)
+        {
+            externalSorter.add(rowData);
+        }
+        KeyCursor keyCursor = externalSorter.sort();
+        while (keyCursor.next())
+        {
+            listSorted.add(externalSorter.decode(keyCursor, new RowData(ROW_INFO)));
+        }
+
+        assertEquals(listRowData.size(), externalSorter.getRowCount());
+        assertTrue(externalSorter.getRunCount() >= nMinRunCount);
+        assertTrue(externalSorter.getRunCount() <= nMaxRunCount);
+    }
+
+    assertEquals(listExpected, listSorted);
+    assertEquals(0, Objects.requireNonNull(tempDir.list()).length);
+}
+} ///////// End of class
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: FieldRangeTest.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FieldRangeTest
+{
+
+private static final RowInfo ROW_INFO = TestRows.rowInfo(FieldType.INTEGER, FieldType.DATE, FieldType.LONG,
+    FieldType.BOOLEAN, FieldType.STRING);
+
+@Test
+public void testBitCount()
+{
+    assertEquals(1, new FieldRange(5, 5).getBitCount());
+    assertEquals(2, new FieldRange(0, 1).getBitCount());
+    assertEquals(11, new FieldRange(-50, 1000).getBitCount());
+    assertEquals(64, new FieldRange(Long.MIN_VALUE + 1, Long.MAX_VALUE).getBitCount());
+    assertFalse(new FieldRange(Long.MIN_VALUE, Long.MAX_VALUE).isPackable());
+    assertEquals(new FieldRange(-3, 9), new FieldRange(-3, 2).union(new FieldRange(4, 9)));
+}
+
+@Test(expected = IllegalArgumentException.class)
+public void testInvalidRangeRejected()
+{
+    new FieldRange(2, 1);
+}
+
+@Test
+public void testPackedKeysSortLikeValues()
+{
+    List<RowData> listRowData = randomRows(3000, 1);
+    for (String sOrderBy : new String[]{"f0, f1, f2, f3, f4",
+        "f3 DESC, f2 DESC NULLS LAST, f4, f0 NULLS FIRST, f1 DESC"})
+    {
+        SortSpec sortSpec = SortSpec.parse(ROW_INFO, sOrderBy);
+        RowKeyEncoder rowKeyEncoder = RowKeyEncoder.withPackedFields(ROW_INFO, listRowData, sortSpec, 24,
+            KeyDictionary.DEFAULT_MAX_CARDINALITY);
+        assertTrue(rowKeyEncoder.isPacked());
+        for (int i = 0; i < sortSpec.getSortFieldCount(); i++)
+        {
+            // Only the STRING field is packed as its dictionary code
+            assertEquals(sortSpec.getSortField(i).getFieldIdx() == 4, rowKeyEncoder.getDictionary(i) != null);
+        }
+        assertTrue(rowKeyEncoder.getMaxKeyWidth() <= 8);
+
+        Comparator<RowData> comparator = TestRows.referenceComparator(sortSpec);
+        for (int i = 1; i < listRowData.size(); i++)
+        {
+            RowData rowData1 = listRowData.get(i - 1);
+            RowData rowData2 = listRowData.get(i);
+            assertEquals(rowData1 + " " + rowData2, Integer.signum(comparator.compare(rowData1, rowData2)),
+                Integer.signum(Arrays.compareUnsigned(rowKeyEncoder.encode(rowData1), rowKeyEncoder.encode(rowData2))));
+        }
+    }
+}
+
+@Test
+public void testRoundTrip()
+{
+    List<RowData> listRowData = randomRows(2000, 2);
+    RowBatch rowBatch = new RowBatch(ROW_INFO, listRowData.size());
+    for (RowData rowData : listRowData)
+    {
+        rowBatch.appendRow(rowData);
+    }
+    RowKeyEncoder rowKeyEncoder = RowKeyEncoder.withPackedFields(rowBatch, SortSpec.parse(ROW_INFO, "f2 DESC")
+        .withRemainingFields(ROW_INFO), 24, KeyDictionary.DEFAULT_MAX_CARDINALITY);
+    assertTrue(rowKeyEncoder.isPacked());
+    for (int i = 0; i < listRowData.size(); i++)
+    {
+        byte[] aKey = new byte[rowKeyEncoder.getMaxKeyWidth()];
+        int nLength = rowKeyEncoder.encodeInto(rowBatch, i, aKey, 0);
+        assertEquals(listRowData.get(i), rowKeyEncoder.decode(Arrays.copyOf(aKey, nLength)));
+    }
+}
+
+@Test
+public void testUnpackableFieldFallsBack()
+{
+    List<RowData> listRowData = randomRows(1000, 3);
+    listRowData.add(TestRows.row(ROW_INFO, 0, 0, Long.MIN_VALUE, false, "a"));
+    listRowData.add(TestRows.row(ROW_INFO, 0, 0, Long.MAX_VALUE, false, "a"));
+    // The LONG field spans the whole range and has too many values for a dictionary, so the key cannot be packed
+    RowKeyEncoder rowKeyEncoder = RowKeyEncoder.withPackedFields(ROW_INFO, listRowData, SortSpec.ascending(ROW_INFO),
+        24, 100);
+    assertFalse(rowKeyEncoder.isPacked());
+    assertNull(rowKeyEncoder.getDictionary(2));
+    assertNotNull(rowKeyEncoder.getDictionary(4));
+}
+
+/**
+ * Returns rows with narrow ranges of values, a STRING of few distinct values and nulls.
+ */
+private static List<RowData> randomRows(int nRowCount, long lSeed)
+{
+    Random random = new Random(lSeed);
+    List<RowData> listRowData = new ArrayList<>(nRowCount);
+    for (int i = 0; i < nRowCount; i++)
+    {
+        RowData rowData = TestRows.row(ROW_INFO, random.nextInt(1051) - 50, 18000 + random.nextInt(1000),
+            1_000_000_000_000L + random.nextInt(1_000_000), random.nextBoolean(), "s" + random.nextInt(12));
+        for (int j = 0; j < ROW_INFO.getFieldCount(); j++)
+        {
+            if (random.nextInt(10) == 0)
+            {
+                rowData.getFieldData(j).setValue(null);
+            }
+        }
+        listRowData.add(rowData);
+    }
+    return listRowData;
+}
+} ///////// End of class
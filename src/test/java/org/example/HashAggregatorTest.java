@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: HashAggregatorTest.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HashAggregatorTest
+{
+
+private static final RowInfo ROW_INFO = TestRows.rowInfo(FieldType.INTEGER, FieldType.LONG, FieldType.DOUBLE);
+private static final HashAggregator.Aggregate[] AGGREGATES = {HashAggregator.Aggregate.count(),
+    HashAggregator.Aggregate.count(1), HashAggregator.Aggregate.sum(1), HashAggregator.Aggregate.min(1),
+    HashAggregator.Aggregate.max(1), HashAggregator.Aggregate.sum(2), HashAggregator.Aggregate.min(2),
+    HashAggregator.Aggregate.max(2)};
+
+@Rule
+public TemporaryFolder m_temporaryFolder = new TemporaryFolder();
+
+@Test
+public void testInMemory() throws IOException
+{
+    List<RowData> listRowData = randomRows(50000, 500, 1);
+    try (HashAggregator hashAggregator = new HashAggregator(new RowKeyEncoder(ROW_INFO, SortSpec.parse(ROW_INFO,
+        "f0")), AGGREGATES, m_temporaryFolder.getRoot().toPath()))
+    {
+        for (RowData rowData : listRowData)
+        {
+            hashAggregator.add(rowData);
+        }
+        assertEquals(referenceAggregate(listRowData), result(hashAggregator));
+        assertEquals(0, hashAggregator.getSpillCount());
+        assertEquals(listRowData.size(), hashAggregator.getRowCount());
+    }
+}
+
+@Test
+public void testSpilled() throws IOException
+{
+    List<RowData> listRowData = randomRows(100000, 30000, 2);
+    RowBatch rowBatch = new RowBatch(ROW_INFO, listRowData.size());
+    for (RowData rowData : listRowData)
+    {
+        rowBatch.appendRow(rowData);
+    }
+    try (HashAggregator hashAggregator = new HashAggregator(new RowKeyEncoder(ROW_INFO, SortSpec.parse(ROW_INFO,
+        "f0")), AGGREGATES, 64 << 10, m_temporaryFolder.getRoot().toPath()))
+    {
+        hashAggregator.add(rowBatch);
+        assertEquals(referenceAggregate(listRowData), result(hashAggregator));
+        assertTrue(hashAggregator.getSpillCount() > 0);
+    }
+    assertEquals(0, m_temporaryFolder.getRoot().list().length);
+}
+
+@Test(expected = UnsupportedOperationException.class)
+public void testNonNumericSumRejected()
+{
+    RowInfo rowInfo = TestRows.rowInfo(FieldType.INTEGER, FieldType.STRING);
+    new HashAggregator(new RowKeyEncoder(rowInfo, SortSpec.parse(rowInfo, "f0")), new HashAggregator.Aggregate[]
+        {HashAggregator.Aggregate.sum(1)}, m_temporaryFolder.getRoot().toPath());
+}
+
+/**
+ * Returns rows of a group key in [0, nGroupCount) or null and values with nulls. The doubles are whole numbers, so
+ * that their sums do not depend on the order of the additions.
+ */
+private static List<RowData> randomRows(int nRowCount, int nGroupCount, long lSeed)
+{
+    Random random = new Random(lSeed);
+    List<RowData> listRowData = new ArrayList<>(nRowCount);
+    for (int i = 0; i < nRowCount; i++)
+    {
+        Integer nGroup = random.nextInt(50) == 0 ? null : random.nextInt(nGroupCount);
+        Long lValue = random.nextInt(10) == 0 ? null : random.nextLong() >> 20;
+        Double dValue = random.nextInt(10) == 0 ? null : (double) (random.nextInt(2000) - 1000);
+        listRowData.add(TestRows.row(ROW_INFO, nGroup, lValue, dValue));
+    }
+    return listRowData;
+}
+
+private static Map<Object, List<Object>> result(HashAggregator hashAggregator) throws IOException
+{
+    RowBatch rowBatch = hashAggregator.getResult();
+    Map<Object, List<Object>> mapResult = new HashMap<>();
+    for (int i = 0; i < rowBatch.getRowCount(); i++)
+    {
+        RowData rowData = rowBatch.getRow(i, new RowData(rowBatch.getRowInfo()));
+        List<Object> listValue = new ArrayList<>();
+        for (int j = 1; j < rowData.getFieldCount(); j++)
+        {
+            listValue.add(rowData.getFieldData(j).getValue());
+        }
+        assertEquals(null, mapResult.put(rowData.getFieldData(0).getValue(), listValue));
+    }
+    return mapResult;
+}
+
+private static Map<Object, List<Object>> referenceAggregate(List<RowData> listRowData)
+{
+    Map<Object, List<RowData>> mapGroup = new HashMap<>();
+    for (RowData rowData : listRowData)
+    {
+        mapGroup.computeIfAbsent(rowData.getFieldData(0).getValue(), oKey -> new ArrayList<>()).add(rowData);
+    }
+
+    Map<Object, List<Object>> mapResult = new HashMap<>();
+    for (Map.Entry<Object, List<RowData>> entry : mapGroup.entrySet())
+    {
+        long lCount = 0;
+        Long lSum = null;
+        Long lMin = null;
+        Long lMax = null;
+        Double dSum = null;
+        Double dMin = null;
+        Double dMax = null;
+        for (RowData rowData : entry.getValue())
+        {
+            Long lValue = (Long) rowData.getFieldData(1).getValue();
+            if (lValue != null)
+            {
+                lCount++;
+                lSum = lSum == null ? lValue : lSum + lValue;
+                lMin = lMin == null ? lValue : Math.min(lMin, lValue);
+                lMax = lMax == null ? lValue : Math.max(lMax, lValue);
+            }
+            Double dValue = (Double) rowData.getFieldData(2).getValue();
+            if (dValue != null)
+            {
+                dSum = dSum == null ? dValue : dSum + dValue;
+                dMin = dMin == null ? dValue : Math.min(dMin, dValue);
+                dMax = dMax == null ? dValue : Math.max(dMax, dValue);
+            }
+        }
+        mapResult.put(entry.getKey(), Arrays.asList((long) entry.getValue().size(), lCount, lSum, lMin, lMax, dSum,
+            dMin, dMax));
+    }
+    return mapResult;
+}
+} ///////// End of class
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: KeyDictionaryTest.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class KeyDictionaryTest
+{
+
+private static final RowInfo ROW_INFO = TestRows.rowInfo(FieldType.STRING, FieldType.LONG, FieldType.DOUBLE,
+    FieldType.INTEGER, FieldType.BINARY);
+
+@Test
+public void testDictionaryKeysSortLikeValues()
+{
+    List<RowData> listRowData = TestRows.randomRows(ROW_INFO, 3000, 40, 0.1, 1);
+    for (String sOrderBy : new String[]{"f0, f1, f2, f3, f4",
+        "f1 DESC, f0 DESC NULLS LAST, f4 NULLS FIRST, f2, f3 DESC"})
+    {
+        SortSpec sortSpec = SortSpec.parse(ROW_INFO, sOrderBy);
+        RowKeyEncoder rowKeyEncoder = RowKeyEncoder.withDictionaries(ROW_INFO, listRowData, sortSpec, 24,
+            KeyDictionary.DEFAULT_MAX_CARDINALITY);
+        for (int i = 0; i < sortSpec.getSortFieldCount(); i++)
+        {
+            assertNotNull(sOrderBy + " " + i, rowKeyEncoder.getDictionary(i));
+        }
+        assertTrue(rowKeyEncoder.getMaxKeyWidth() < new RowKeyEncoder(ROW_INFO, sortSpec, 24).getMaxKeyWidth());
+
+        Comparator<RowData> comparator = TestRows.referenceComparator(sortSpec);
+        for (int i = 1; i < listRowData.size(); i++)
+        {
+            RowData rowData1 = listRowData.get(i - 1);
+            RowData rowData2 = listRowData.get(i);
+            assertEquals(rowData1 + " " + rowData2, Integer.signum(comparator.compare(rowData1, rowData2)),
+                Integer.signum(Arrays.compareUnsigned(rowKeyEncoder.encode(rowData1), rowKeyEncoder.encode(rowData2))));
+        }
+    }
+}
+
+@Test
+public void testRoundTrip()
+{
+    List<RowData> listRowData = TestRows.randomRows(ROW_INFO, 2000, 30, 0.1, 2);
+    RowBatch rowBatch = new RowBatch(ROW_INFO, listRowData.size());
+    for (RowData rowData : listRowData)
+    {
+        rowBatch.appendRow(rowData);
+    }
+    SortSpec sortSpec = SortSpec.parse(ROW_INFO, "f3 DESC, f0").withRemainingFields(ROW_INFO);
+    RowKeyEncoder rowKeyEncoder = RowKeyEncoder.withDictionaries(rowBatch, sortSpec, 24,
+        KeyDictionary.DEFAULT_MAX_CARDINALITY);
+    for (int i = 0; i < listRowData.size(); i++)
+    {
+        byte[] aKey = new byte[rowKeyEncoder.getMaxKeyWidth()];
+        int nLength = rowKeyEncoder.encodeInto(rowBatch, i, aKey, 0);
+        assertEquals(listRowData.get(i), rowKeyEncoder.decode(Arrays.copyOf(aKey, nLength)));
+    }
+}
+
+@Test
+public void testHighCardinalityFieldHasNoDictionary()
+{
+    List<RowData> listRowData = TestRows.randomRows(ROW_INFO, 2000, 1000, 0.0, 3);
+    RowKeyEncoder rowKeyEncoder = RowKeyEncoder.withDictionaries(ROW_INFO, listRowData, SortSpec.ascending(ROW_INFO),
+        24, 100);
+    for (int i = 0; i < ROW_INFO.getFieldCount(); i++)
+    {
+        assertNull(rowKeyEncoder.getDictionary(i));
+    }
+    assertNull(KeyDictionary.build(listRowData, 0, 100));
+}
+
+@Test(expected = IllegalArgumentException.class)
+public void testValueNotInDictionaryRejected()
+{
+    List<RowData> listRowData = TestRows.randomRows(ROW_INFO, 100, 5, 0.0, 4);
+    KeyDictionary keyDictionary = KeyDictionary.build(listRowData, 0, KeyDictionary.DEFAULT_MAX_CARDINALITY);
+    keyDictionary.getCode(TestRows.row(ROW_INFO, "not in the dictionary").getFieldData(0));
+}
+} ///////// End of class
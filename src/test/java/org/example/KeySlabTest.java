@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: KeySlabTest.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class KeySlabTest
+{
+
+private static final RowInfo ROW_INFO = TestRows.rowInfo(FieldType.BOOLEAN, FieldType.INTEGER, FieldType.DATE,
+    FieldType.LONG, FieldType.DOUBLE);
+
+@Test
+public void testSortInPlace()
+{
+    for (int nCardinality : new int[]{2, 10, 100000})
+    {
+        List<RowData> listRowData = TestRows.randomRows(ROW_INFO, 20000, nCardinality, 0.1, nCardinality);
+        KeySlab keySlab = encode(listRowData);
+        keySlab.sort();
+        assertEquals(sorted(listRowData), decode(keySlab));
+    }
+}
+
+@Test
+public void testSortIndexLeavesKeysInPlace()
+{
+    List<RowData> listRowData = TestRows.randomRows(ROW_INFO, 20000, 50, 0.1, 3);
+    KeySlab keySlab = encode(listRowData);
+    int[] anRowIdx = keySlab.sortIndex();
+
+    List<RowData> listSorted = new ArrayList<>();
+    for (int i = 0; i < anRowIdx.length; i++)
+    {
+        assertArrayEquals(keySlab.getRowKeyEncoder().encode(listRowData.get(i)), keySlab.getKey(i));
+        listSorted.add(listRowData.get(anRowIdx[i]));
+    }
+    assertEquals(sorted(listRowData), listSorted);
+}
+
+@Test
+public void testSortOfRange()
+{
+    List<RowData> listRowData = TestRows.randomRows(ROW_INFO, 1000, 1000, 0.0, 4);
+    KeySlab keySlab = encode(listRowData);
+    keySlab.sort(100, 900);
+
+    List<RowData> listExpected = new ArrayList<>(listRowData.subList(0, 100));
+    listExpected.addAll(sorted(listRowData.subList(100, 900)));
+    listExpected.addAll(listRowData.subList(900, 1000));
+    assertEquals(listExpected, decode(keySlab));
+}
+
+static KeySlab encode(List<RowData> listRowData)
+{
+    KeySlab keySlab = new KeySlab(new RowKeyEncoder(ROW_INFO), 16);
+    for (RowData rowData : listRowData)
+    {
+        keySlab.append(rowData);
+    }
+    return keySlab;
+}
+
+static List<RowData> decode(KeySlab keySlab)
+{
+    List<RowData> listRowData = new ArrayList<>(keySlab.getRowCount());
+    for (int i = 0; i < keySlab.getRowCount(); i++)
+    {
+        listRowData.add(keySlab.decode(i, new RowData(ROW_INFO)));
+    }
+    return listRowData;
+}
+
+static List<RowData> sorted(List<RowData> listRowData)
+{
+    List<RowData> listSorted = new ArrayList<>(listRowData);
+    listSorted.sort(TestRows.referenceComparator(SortSpec.ascending(ROW_INFO)));
+    return listSorted;
+}
+} ///////// End of class
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: MergeKeyCursorTest.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class MergeKeyCursorTest
+{
+
+private static final RowInfo ROW_INFO = TestRows.rowInfo(FieldType.INTEGER, FieldType.LONG);
+
+@Test
+public void testMergeOfSortedInputs() throws IOException
+{
+    RowKeyEncoder rowKeyEncoder = new RowKeyEncoder(ROW_INFO);
+    List<RowData> listRowData = TestRows.randomRows(ROW_INFO, 6000, 200, 0.1, 1);
+    KeySlab keySlab = TestRows.keySlab(rowKeyEncoder, listRowData);
+    List<KeyCursor> listKeyCursor = new ArrayList<>();
+    for (int i = 0; i < 3; i++)
+    {
+        KeySlab keySlabInput = TestRows.keySlab(rowKeyEncoder, listRowData.subList(i * 2000, (i + 1) * 2000));
+        listKeyCursor.add(new SlabKeyCursor(keySlabInput, keySlabInput.sortIndex()));
+    }
+
+    List<byte[]> listKey = new ArrayList<>();
+    try (MergeKeyCursor mergeKeyCursor = new MergeKeyCursor(listKeyCursor))
+    {
+        while (mergeKeyCursor.next())
+        {
+            int nOffset = mergeKeyCursor.getKeyOffset();
+            listKey.add(Arrays.copyOfRange(mergeKeyCursor.getKeyBuffer(), nOffset,
+                nOffset + mergeKeyCursor.getKeyLength()));
+        }
+    }
+    assertArrayEquals(TestRows.sortedKeys(keySlab), listKey.toArray(new byte[0][]));
+}
+
+@Test
+public void testCloseKeepsFirstException()
+{
+    IOException ioException1 = new IOException("first");
+    IOException ioException2 = new IOException("second");
+    MergeKeyCursor mergeKeyCursor = new MergeKeyCursor(Arrays.asList(failingCursor(ioException1),
+        failingCursor(null), failingCursor(ioException2)));
+    try
+    {
+        mergeKeyCursor.close();
+        fail("Failure of close not thrown");
+    }
+    catch (IOException e)
+    {
+        assertSame(ioException1, e);
+        assertEquals(1, e.getSuppressed().length);
+        assertSame(ioException2, e.getSuppressed()[0]);
+    }
+}
+
+/**
+ * Returns an empty cursor whose close throws ioException, or succeeds when it is null.
+ */
+private static KeyCursor failingCursor(IOException ioException)
+{
+    return new KeyCursor()
+    {
+        @Override
+        public boolean next()
+        {
+            return false;
+        }
+
+        @Override
+        public byte[] getKeyBuffer()
+        {
+            return new byte[0];
+        }
+
+        @Override
+        public int getKeyOffset()
+        {
+            return 0;
+        }
+
+        @Override
+        public int getKeyLength()
+        {
+            return 0;
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            if (ioException != null)
+            {
+                throw ioException;
+            }
+        }
+    };
+}
+} ///////// End of class
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: MsdRadixSorterTest.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MsdRadixSorterTest
+{
+
+private static final RowInfo ROW_INFO = TestRows.rowInfo(FieldType.STRING, FieldType.INTEGER, FieldType.LONG);
+
+@Test
+public void testSortInPlace()
+{
+    for (int nCardinality : new int[]{1, 3, 40, 100000})
+    {
+        KeySlab keySlab = keySlab("f0, f1 DESC, f2", nCardinality);
+        byte[][] aaExpected = TestRows.sortedKeys(keySlab);
+        new MsdRadixSorter(keySlab).sort();
+        assertArrayEquals(aaExpected, TestRows.keys(keySlab, null));
+    }
+}
+
+@Test
+public void testSortIndexIsStable()
+{
+    for (int nCardinality : new int[]{1, 3, 40, 100000})
+    {
+        KeySlab keySlab = keySlab("f1, f0 DESC NULLS FIRST", nCardinality);
+        byte[][] aaUnsorted = TestRows.keys(keySlab, null);
+        int[] anRowIdx = new MsdRadixSorter(keySlab).sortIndex();
+        assertArrayEquals(TestRows.sortedKeys(keySlab), TestRows.keys(keySlab, anRowIdx));
+        assertArrayEquals(aaUnsorted, TestRows.keys(keySlab, null));
+        assertTrue(TestRows.isStable(keySlab, anRowIdx));
+    }
+}
+
+@Test
+public void testSortOfRange()
+{
+    KeySlab keySlab = keySlab("f0", 1000);
+    byte[][] aaKey = TestRows.keys(keySlab, null);
+    new MsdRadixSorter(keySlab).sort(1000, 9000);
+    byte[][] aaSorted = TestRows.keys(keySlab, null);
+    for (int i = 0; i < aaKey.length; i++)
+    {
+        if (i < 1000 || i >= 9000)
+        {
+            assertArrayEquals(aaKey[i], aaSorted[i]);
+        }
+        else if (i > 1000)
+        {
+            assertTrue(BinaryKeyComparator.compareKeys(aaSorted[i - 1], aaSorted[i]) <= 0);
+        }
+    }
+}
+
+private static KeySlab keySlab(String sOrderBy, int nCardinality)
+{
+    List<RowData> listRowData = TestRows.randomRows(ROW_INFO, 10000, nCardinality, 0.05, nCardinality);
+    return TestRows.keySlab(new RowKeyEncoder(ROW_INFO, SortSpec.parse(ROW_INFO, sOrderBy), 12), listRowData);
+}
+} ///////// End of class
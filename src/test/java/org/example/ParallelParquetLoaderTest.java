@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: ParallelParquetLoaderTest.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.hadoop.util.HadoopOutputFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelParquetLoaderTest
+{
+
+private static final RowInfo ROW_INFO = TestRows.rowInfo(FieldType.LONG, FieldType.INTEGER, FieldType.STRING,
+    FieldType.DATE, FieldType.BOOLEAN, FieldType.INTEGER);
+
+@Rule
+public TemporaryFolder m_temporaryFolder = new TemporaryFolder();
+
+@Test
+public void testPartitionedRowGroups() throws IOException
+{
+    // Ascending f0 without nulls, so the row groups have disjoint ranges and load in reverse for a descending sort
+    List<RowData> listRowData = TestRows.randomRows(ROW_INFO, 20000, 1000, 0.1, 1);
+    for (int i = 0; i < listRowData.size(); i++)
+    {
+        listRowData.get(i).getFieldData(0).setValue(i * 3L);
+    }
+    SortSpec sortSpec = SortSpec.parse(ROW_INFO, "f0 DESC").withRemainingFields(ROW_INFO);
+    try (ParallelParquetLoader parallelParquetLoader = new ParallelParquetLoader(
+        ParquetColumnReader.toInputFile(write(listRowData)), ROW_INFO, sortSpec, 3))
+    {
+        assertTrue(parallelParquetLoader.isPartitioned());
+        List<ParallelParquetLoader.RowGroup> listRowGroup = parallelParquetLoader.getRowGroups();
+        assertTrue(listRowGroup.size() > 1);
+        long lFirstRowIdx = 0;
+        for (int i = 0; i < listRowGroup.size(); i++)
+        {
+            ParallelParquetLoader.RowGroup rowGroup = listRowGroup.get(i);
+            assertEquals(listRowGroup.size() - 1 - i, rowGroup.getOrdinal());
+            assertEquals(lFirstRowIdx, rowGroup.getFirstRowIdx());
+            assertEquals(0, rowGroup.getNullCount());
+            lFirstRowIdx += rowGroup.getRowCount();
+        }
+        assertEquals(listRowData.size(), parallelParquetLoader.getRowCount());
+
+        RowKeyEncoder rowKeyEncoder = new RowKeyEncoder(ROW_INFO, sortSpec, 24);
+        KeySlab keySlab = parallelParquetLoader.loadKeys(rowKeyEncoder);
+        parallelParquetLoader.sortKeys(keySlab);
+        assertArrayEquals(TestRows.sortedKeys(TestRows.keySlab(rowKeyEncoder, listRowData)),
+            TestRows.keys(keySlab, null));
+    }
+}
+
+@Test
+public void testOverlappingRowGroups() throws IOException
+{
+    List<RowData> listRowData = TestRows.randomRows(ROW_INFO, 20000, 1000, 0.1, 2);
+    SortSpec sortSpec = SortSpec.parse(ROW_INFO, "f1, f2 DESC NULLS FIRST").withRemainingFields(ROW_INFO);
+    try (ParallelParquetLoader parallelParquetLoader = new ParallelParquetLoader(
+        ParquetColumnReader.toInputFile(write(listRowData)), ROW_INFO, sortSpec, 3))
+    {
+        assertFalse(parallelParquetLoader.isPartitioned());
+        assertTrue(parallelParquetLoader.getRowGroups().size() > 1);
+        assertEquals(listRowData, parallelParquetLoader.loadRowBatch().toRowData());
+
+        RowKeyEncoder rowKeyEncoder = new RowKeyEncoder(ROW_INFO, sortSpec, 24);
+        KeySlab keySlab = parallelParquetLoader.loadKeys(rowKeyEncoder);
+        parallelParquetLoader.sortKeys(keySlab);
+        assertArrayEquals(TestRows.sortedKeys(TestRows.keySlab(rowKeyEncoder, listRowData)),
+            TestRows.keys(keySlab, null));
+    }
+}
+
+@Test
+public void testFieldRange() throws IOException
+{
+    List<RowData> listRowData = TestRows.randomRows(ROW_INFO, 10000, 1000, 0.1, 3);
+    for (RowData rowData : listRowData)
+    {
+        rowData.getFieldData(5).setValue(null);
+    }
+    try (ParallelParquetLoader parallelParquetLoader = new ParallelParquetLoader(
+        ParquetColumnReader.toInputFile(write(listRowData)), ROW_INFO, SortSpec.parse(ROW_INFO, "f0"), 2))
+    {
+        assertTrue(parallelParquetLoader.getRowGroups().size() > 1);
+        for (int nFieldIdx : new int[]{0, 1, 3, 4})
+        {
+            assertEquals(scanRange(listRowData, nFieldIdx), parallelParquetLoader.getFieldRange(nFieldIdx));
+        }
+        // A column that is all null
+        assertEquals(new FieldRange(0, 0), parallelParquetLoader.getFieldRange(5));
+    }
+}
+
+@Test(expected = UnsupportedOperationException.class)
+public void testFieldRangeOfStringRejected() throws IOException
+{
+    try (ParallelParquetLoader parallelParquetLoader = new ParallelParquetLoader(
+        ParquetColumnReader.toInputFile(write(TestRows.randomRows(ROW_INFO, 100, 10, 0.1, 4))), ROW_INFO,
+        SortSpec.parse(ROW_INFO, "f0"), 1))
+    {
+        parallelParquetLoader.getFieldRange(2);
+    }
+}
+
+/**
+ * Returns the range of the non null values of the field, with BOOLEAN values as 0 and 1.
+ */
+private static FieldRange scanRange(List<RowData> listRowData, int nFieldIdx)
+{
+    FieldRange fieldRange = null;
+    for (RowData rowData : listRowData)
+    {
+        Object value = rowData.getFieldData(nFieldIdx).getValue();
+        if (value == null)
+        {
+            continue;
+        }
+        long lValue = value instanceof Boolean ? ((Boolean) value ? 1 : 0) : ((Number) value).longValue();
+        fieldRange = fieldRange == null ? new FieldRange(lValue, lValue) : fieldRange.union(new FieldRange(lValue,
+            lValue));
+    }
+    return fieldRange;
+}
+
+/**
+ * Writes the rows in order to a new file with small row groups.
+ */
+private Path write(List<RowData> listRowData) throws IOException
+{
+    Path path = m_temporaryFolder.newFolder().toPath().resolve("rows.parquet");
+    try (ParquetRowWriter parquetRowWriter = new ParquetRowWriter(HadoopOutputFile.fromPath(
+        new org.apache.hadoop.fs.Path(path.toUri()), new Configuration()), ROW_INFO, 32 << 10, 4 << 10))
+    {
+        for (RowData rowData : listRowData)
+        {
+            parquetRowWriter.write(rowData);
+        }
+    }
+    return path;
+}
+} ///////// End of class
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: ParallelSorterTest.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelSorterTest
+{
+
+private static final RowInfo ROW_INFO = TestRows.rowInfo(FieldType.INTEGER, FieldType.STRING, FieldType.DOUBLE);
+
+@Test
+public void testSortIndexOfKeySlab()
+{
+    KeySlab keySlab = TestRows.keySlab(new RowKeyEncoder(ROW_INFO, SortSpec.ascending(ROW_INFO), 16),
+        TestRows.randomRows(ROW_INFO, 100000, 500, 0.05, 6));
+    byte[][] aaExpected = TestRows.sortedKeys(keySlab);
+    for (int nParallelism : new int[]{1, 2, 3, 8})
+    {
+        try (ParallelSorter parallelSorter = new ParallelSorter(nParallelism))
+        {
+            int[] anRowIdx = parallelSorter.sortIndex(keySlab);
+            assertArrayEquals(aaExpected, TestRows.keys(keySlab, anRowIdx));
+            assertTrue(TestRows.isStable(keySlab, anRowIdx));
+            assertArrayEquals(aaExpected, TestRows.keys(parallelSorter.sort(keySlab), null));
+        }
+    }
+}
+
+@Test
+public void testSortOfListIsListSort()
+{
+    List<RowData> listRowData = TestRows.randomRows(ROW_INFO, 100000, 30, 0.05, 7);
+    Comparator<RowData> comparator = TestRows.referenceComparator(SortSpec.parse(ROW_INFO, "f0 DESC"));
+    List<RowData> listExpected = new ArrayList<>(listRowData);
+    listExpected.sort(comparator);
+    for (int nParallelism : new int[]{1, 4})
+    {
+        List<RowData> listSorted = new ArrayList<>(listRowData);
+        try (ParallelSorter parallelSorter = new ParallelSorter(nParallelism))
+        {
+            parallelSorter.sort(listSorted, comparator);
+        }
+
+        // Ties are only on f0, so the same objects in the same positions show the sort is stable
+        assertEquals(listExpected.size(), listSorted.size());
+        for (int i = 0; i < listExpected.size(); i++)
+        {
+            assertSame(listExpected.get(i), listSorted.get(i));
+        }
+    }
+}
+
+@Test(expected = IllegalArgumentException.class)
+public void testParallelismMustBePositive()
+{
+    new ParallelSorter(0).close();
+}
+} ///////// End of class
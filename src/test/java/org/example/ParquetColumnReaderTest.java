@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: ParquetColumnReaderTest.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.hadoop.util.HadoopOutputFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ParquetColumnReaderTest
+{
+
+private static final RowInfo ROW_INFO = TestRows.rowInfo(TestRows.ALL_FIELD_TYPES);
+
+@Rule
+public TemporaryFolder m_temporaryFolder = new TemporaryFolder();
+
+@Test
+public void testRoundTripOfEveryType() throws IOException
+{
+    List<RowData> listRowData = TestRows.randomRows(ROW_INFO, 5000, 500, 0.1, 1);
+    Path path = write(listRowData);
+
+    RowInfo rowInfo = ParquetColumnReader.readRowInfo(ParquetColumnReader.toInputFile(path));
+    assertEquals(ROW_INFO.getFieldCount(), rowInfo.getFieldCount());
+    for (int i = 0; i < ROW_INFO.getFieldCount(); i++)
+    {
+        assertEquals(ROW_INFO.getFieldInfo(i).getFieldName(), rowInfo.getFieldInfo(i).getFieldName());
+        assertEquals(ROW_INFO.getFieldInfo(i).getFieldType(), rowInfo.getFieldInfo(i).getFieldType());
+    }
+
+    List<RowData> listRead = new ArrayList<>();
+    int nRowGroupCount = 0;
+    try (ParquetColumnReader parquetColumnReader = ParquetColumnReader.open(path, ROW_INFO))
+    {
+        assertEquals(listRowData.size(), parquetColumnReader.getRowCount());
+        RowBatch rowBatch;
+        while ((rowBatch = parquetColumnReader.readNextRowGroup()) != null)
+        {
+            listRead.addAll(rowBatch.toRowData());
+            nRowGroupCount++;
+        }
+        assertNull(parquetColumnReader.readNextRowGroup());
+    }
+    assertTrue("Row groups: " + nRowGroupCount, nRowGroupCount > 1);
+    assertEquals(listRowData, listRead);
+}
+
+@Test
+public void testProjectedKeys() throws IOException
+{
+    List<RowData> listRowData = TestRows.randomRows(ROW_INFO, 3000, 200, 0.1, 2);
+    Path path = write(listRowData);
+
+    // Only the key columns are read, in the order of the projected RowInfo
+    SortSpec sortSpec = SortSpec.parse(ROW_INFO, "f6 DESC, f1 NULLS FIRST, f4");
+    RowInfo rowInfoProjected = sortSpec.projectRowInfo(ROW_INFO);
+    RowKeyEncoder rowKeyEncoder = new RowKeyEncoder(rowInfoProjected, sortSpec.project(), 24);
+    KeySlab keySlab = new KeySlab(rowKeyEncoder, listRowData.size());
+    try (ParquetColumnReader parquetColumnReader = ParquetColumnReader.open(path, rowInfoProjected))
+    {
+        assertEquals(listRowData.size(), parquetColumnReader.readKeys(keySlab));
+    }
+
+    List<RowData> listProjected = new ArrayList<>();
+    for (RowData rowData : listRowData)
+    {
+        RowData rowDataProjected = new RowData(rowInfoProjected);
+        for (int i = 0; i < rowInfoProjected.getFieldCount(); i++)
+        {
+            rowDataProjected.getFieldData(i).setValue(rowData.getFieldData(sortSpec.getSortField(i).getFieldIdx())
+                .getValue());
+        }
+        listProjected.add(rowDataProjected);
+    }
+    assertArrayEquals(TestRows.sortedKeys(TestRows.keySlab(rowKeyEncoder, listProjected)),
+        TestRows.sortedKeys(keySlab));
+}
+
+@Test
+public void testExistingFileReplacedOnlyOnRequest() throws IOException
+{
+    Path path = write(TestRows.randomRows(ROW_INFO, 100, 10, 0.1, 3));
+    try
+    {
+        ParquetRowWriter.open(path, ROW_INFO).close();
+        fail("Existing file replaced");
+    }
+    catch (IOException e)
+    {
+        // Expected: the file is created only when it does not exist
+    }
+
+    List<RowData> listRowData = TestRows.randomRows(ROW_INFO, 10, 10, 0.1, 4);
+    try (ParquetRowWriter parquetRowWriter = ParquetRowWriter.open(path, ROW_INFO, true))
+    {
+        for (RowData rowData : listRowData)
+        {
+            parquetRowWriter.write(rowData);
+        }
+    }
+    try (ParquetColumnReader parquetColumnReader = ParquetColumnReader.open(path, ROW_INFO))
+    {
+        assertEquals(listRowData, parquetColumnReader.readAll().toRowData());
+    }
+}
+
+/**
+ * Writes the rows to a new file with small row groups and pages, so the file has several of each.
+ */
+private Path write(List<RowData> listRowData) throws IOException
+{
+    Path path = m_temporaryFolder.getRoot().toPath().resolve("rows.parquet");
+    try (ParquetRowWriter parquetRowWriter = new ParquetRowWriter(HadoopOutputFile.fromPath(
+        new org.apache.hadoop.fs.Path(path.toUri()), new Configuration()), ROW_INFO, 32 << 10, 4 << 10))
+    {
+        for (RowData rowData : listRowData)
+        {
+            parquetRowWriter.write(rowData);
+        }
+        assertEquals(listRowData.size(), parquetRowWriter.getRowCount());
+    }
+    return path;
+}
+} ///////// End of class
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: PrefixSorterTest.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class PrefixSorterTest
+{
+
+private static final RowInfo ROW_INFO = TestRows.rowInfo(FieldType.STRING, FieldType.INTEGER, FieldType.LONG);
+
+@Test
+public void testLongSharedPrefixes()
+{
+    // The first 8 key bytes of most rows are equal, so the order comes from the ties
+    List<RowData> listRowData = sharedPrefixRows(20000, 1);
+    SortSpec sortSpec = SortSpec.parse(ROW_INFO, "f0 DESC, f1 NULLS FIRST").withRemainingFields(ROW_INFO);
+    RowKeyEncoder rowKeyEncoder = new RowKeyEncoder(ROW_INFO, sortSpec, 32);
+    byte[][] aaExpected = referenceKeys(rowKeyEncoder, listRowData, sortSpec);
+
+    assertArrayEquals(aaExpected, keys(rowKeyEncoder, listRowData, new PrefixSorter(rowKeyEncoder)
+        .sortIndex(listRowData)));
+    assertArrayEquals(aaExpected, keys(rowKeyEncoder, listRowData, new PrefixSorter(rowKeyEncoder)
+        .sortIndex(listRowData, new EncodedRowComparator(rowKeyEncoder))));
+
+    KeySlab keySlab = TestRows.keySlab(rowKeyEncoder, listRowData);
+    assertArrayEquals(TestRows.sortedKeys(keySlab), TestRows.keys(keySlab, PrefixSorter.sortIndex(keySlab)));
+}
+
+@Test
+public void testKeyWithinPrefix()
+{
+    // A fixed width key of at most 8 bytes is sorted on the prefix alone, ties included
+    RowInfo rowInfo = TestRows.rowInfo(FieldType.INTEGER, FieldType.BOOLEAN);
+    List<RowData> listRowData = TestRows.randomRows(rowInfo, 20000, 50, 0.1, 2);
+    SortSpec sortSpec = SortSpec.parse(rowInfo, "f1 DESC, f0");
+    RowKeyEncoder rowKeyEncoder = new RowKeyEncoder(rowInfo, sortSpec);
+    assertArrayEquals(referenceKeys(rowKeyEncoder, listRowData, sortSpec), keys(rowKeyEncoder, listRowData,
+        new PrefixSorter(rowKeyEncoder).sortIndex(listRowData)));
+}
+
+/**
+ * Returns rows whose STRING values share a 12 character prefix and repeat, with nulls.
+ */
+private static List<RowData> sharedPrefixRows(int nRowCount, long lSeed)
+{
+    Random random = new Random(lSeed);
+    List<RowData> listRowData = new ArrayList<>(nRowCount);
+    for (int i = 0; i < nRowCount; i++)
+    {
+        String sValue = random.nextInt(20) == 0 ? null : "shared-pref-" + random.nextInt(300);
+        Integer nValue = random.nextInt(20) == 0 ? null : random.nextInt(10);
+        listRowData.add(TestRows.row(ROW_INFO, sValue, nValue, (long) random.nextInt(5)));
+    }
+    return listRowData;
+}
+
+private static byte[][] referenceKeys(RowKeyEncoder rowKeyEncoder, List<RowData> listRowData, SortSpec sortSpec)
+{
+    List<RowData> listSorted = new ArrayList<>(listRowData);
+    listSorted.sort(TestRows.referenceComparator(sortSpec));
+    byte[][] aaKey = new byte[listSorted.size()][];
+    for (int i = 0; i < aaKey.length; i++)
+    {
+        aaKey[i] = rowKeyEncoder.encode(listSorted.get(i));
+    }
+    return aaKey;
+}
+
+private static byte[][] keys(RowKeyEncoder rowKeyEncoder, List<RowData> listRowData, int[] anRowIdx)
+{
+    int[] anSorted = anRowIdx.clone();
+    Arrays.sort(anSorted);
+    for (int i = 0; i < anSorted.length; i++)
+    {
+        if (anSorted[i] != i)
+        {
+            throw new AssertionError("Not a permutation of the rows: " + i);
+        }
+    }
+
+    byte[][] aaKey = new byte[anRowIdx.length][];
+    for (int i = 0; i < aaKey.length; i++)
+    {
+        aaKey[i] = rowKeyEncoder.encode(listRowData.get(anRowIdx[i]));
+    }
+    return aaKey;
+}
+} ///////// End of class
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: RangePartitionerTest.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RangePartitionerTest
+{
+
+private static final RowInfo ROW_INFO = TestRows.rowInfo(FieldType.INTEGER, FieldType.LONG);
+private static final SortSpec SORT_SPEC = SortSpec.parse(ROW_INFO, "f0 DESC, f1 NULLS FIRST");
+
+@Rule
+public TemporaryFolder m_temporaryFolder = new TemporaryFolder();
+
+@Test
+public void testPartitionsAreKeyRanges() throws IOException
+{
+    KeySlab keySlab = keySlab(TestRows.randomRows(ROW_INFO, 20000, 5000, 0.05, 1));
+    RangePartitioner rangePartitioner = RangePartitioner.fromSample(RangePartitioner.sample(new SlabKeyCursor(keySlab),
+        1000, 7), 8);
+    assertEquals(8, rangePartitioner.getPartitionCount());
+
+    KeySlab[] aKeySlab = rangePartitioner.partition(new SlabKeyCursor(keySlab), keySlab.getStride(), 16);
+    assertPartitionsOrdered(aKeySlab);
+    assertArrayEquals(TestRows.sortedKeys(keySlab), keys(RangePartitioner.sortPartitions(aKeySlab, 2)));
+}
+
+@Test
+public void testHeavyHitterIsSpread() throws IOException
+{
+    // Half of the rows have the same key, which covers several splitters of the sample
+    List<RowData> listRowData = TestRows.randomRows(ROW_INFO, 10000, 3000, 0.0, 2);
+    for (int i = 0; i < listRowData.size(); i += 2)
+    {
+        listRowData.set(i, TestRows.row(ROW_INFO, 42, 42L));
+    }
+    KeySlab keySlab = keySlab(listRowData);
+    RangePartitioner rangePartitioner = RangePartitioner.fromSample(RangePartitioner.sample(new SlabKeyCursor(keySlab),
+        2000, 3), 8);
+
+    KeySlab[] aKeySlab = rangePartitioner.partition(new SlabKeyCursor(keySlab), keySlab.getStride(), 16);
+    assertPartitionsOrdered(aKeySlab);
+    for (KeySlab keySlabPartition : aKeySlab)
+    {
+        assertTrue(keySlabPartition.getRowCount() < listRowData.size() / 4);
+    }
+    assertArrayEquals(TestRows.sortedKeys(keySlab), keys(RangePartitioner.sortPartitions(aKeySlab, 2)));
+}
+
+@Test
+public void testPartitionFiles() throws IOException
+{
+    KeySlab keySlab = keySlab(TestRows.randomRows(ROW_INFO, 20000, 5000, 0.05, 4));
+    RangePartitioner rangePartitioner = RangePartitioner.fromSample(RangePartitioner.sample(new SlabKeyCursor(keySlab),
+        500, 5), 4);
+    List<Path> listPath = rangePartitioner.partition(new SlabKeyCursor(keySlab), keySlab.getStride(),
+        m_temporaryFolder.getRoot().toPath());
+    assertEquals(4, listPath.size());
+    for (Path path : listPath)
+    {
+        RangePartitioner.sortPartitionFile(path, keySlab.getStride());
+    }
+    try (ConcatKeyCursor concatKeyCursor = RangePartitioner.openPartitionFiles(listPath, keySlab.getStride()))
+    {
+        assertArrayEquals(TestRows.sortedKeys(keySlab), keys(concatKeyCursor));
+    }
+}
+
+@Test(expected = IllegalArgumentException.class)
+public void testUnorderedSplittersRejected()
+{
+    new RangePartitioner(new byte[][]{{2}, {1}});
+}
+
+private static KeySlab keySlab(List<RowData> listRowData)
+{
+    return TestRows.keySlab(new RowKeyEncoder(ROW_INFO, SORT_SPEC), listRowData);
+}
+
+private static byte[][] keys(KeyCursor keyCursor) throws IOException
+{
+    List<byte[]> listKey = new ArrayList<>();
+    while (keyCursor.next())
+    {
+        int nOffset = keyCursor.getKeyOffset();
+        listKey.add(Arrays.copyOfRange(keyCursor.getKeyBuffer(), nOffset, nOffset + keyCursor.getKeyLength()));
+    }
+    return listKey.toArray(new byte[0][]);
+}
+
+/**
+ * Checks that no key of a partition sorts after a key of a later partition.
+ */
+private static void assertPartitionsOrdered(KeySlab[] aKeySlab)
+{
+    byte[] aMaxKey = null;
+    for (KeySlab keySlab : aKeySlab)
+    {
+        byte[][] aaKey = TestRows.sortedKeys(keySlab);
+        if (aaKey.length == 0)
+        {
+            continue;
+        }
+        assertTrue(aMaxKey == null || Arrays.compareUnsigned(aMaxKey, aaKey[0]) <= 0);
+        aMaxKey = aaKey[aaKey.length - 1];
+    }
+}
+} ///////// End of class
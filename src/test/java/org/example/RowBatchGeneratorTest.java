@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: RowBatchGeneratorTest.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class RowBatchGeneratorTest
+{
+
+private static final RowInfo ROW_INFO = TestRows.rowInfo(TestRows.ALL_FIELD_TYPES);
+private static final long ROW_COUNT = 2L * RowBatchGenerator.CHUNK_ROWS + 1234;
+private static final long SEED = 42;
+
+@Test
+public void testSameRowsForAnyParallelism()
+{
+    try (RowBatchGenerator rowBatchGenerator1 = generator(SEED, 1);
+         RowBatchGenerator rowBatchGenerator4 = generator(SEED, 4))
+    {
+        RowBatch rowBatch4 = rowBatchGenerator4.generateRowBatch();
+        assertEquals(ROW_COUNT, rowBatch4.getRowCount());
+        assertSameRows(rowBatchGenerator1.generateRowBatch(), 0, rowBatch4);
+
+        RowKeyEncoder rowKeyEncoder = new RowKeyEncoder(ROW_INFO, SortSpec.ascending(ROW_INFO), 24);
+        assertArrayEquals(TestRows.keys(rowBatchGenerator1.generateKeySlab(rowKeyEncoder), null),
+            TestRows.keys(rowBatchGenerator4.generateKeySlab(rowKeyEncoder), null));
+    }
+}
+
+@Test
+public void testRangeMatchesFullBatch()
+{
+    try (RowBatchGenerator rowBatchGenerator = generator(SEED, 4))
+    {
+        RowBatch rowBatch = rowBatchGenerator.generateRowBatch();
+        assertEquals(ROW_COUNT, rowBatch.getRowCount());
+
+        // Ranges at the start, across a chunk boundary and at the end
+        long[] alFirstRowIdx = {0, RowBatchGenerator.CHUNK_ROWS - 500, ROW_COUNT - 700};
+        for (long lFirstRowIdx : alFirstRowIdx)
+        {
+            assertSameRows(rowBatch, (int) lFirstRowIdx, rowBatchGenerator.generateRowBatch(lFirstRowIdx, 700));
+        }
+    }
+}
+
+@Test
+public void testSeedChangesRows()
+{
+    try (RowBatchGenerator rowBatchGenerator1 = generator(SEED, 1);
+         RowBatchGenerator rowBatchGenerator2 = generator(SEED + 1, 1))
+    {
+        assertNotEquals(rowBatchGenerator1.generateRowBatch(0, 100).toRowData(),
+            rowBatchGenerator2.generateRowBatch(0, 100).toRowData());
+    }
+}
+
+/**
+ * Returns a generator of ROW_COUNT rows of every FieldType, with every Distribution and LengthProfile and nulls.
+ */
+private static RowBatchGenerator generator(long lSeed, int nParallelism)
+{
+    RowBatchGenerator.Distribution[] aDistribution = RowBatchGenerator.Distribution.values();
+    RowBatchGenerator.LengthProfile[] aLengthProfile = RowBatchGenerator.LengthProfile.values();
+    RowBatchGenerator.FieldSpec[] aFieldSpec = new RowBatchGenerator.FieldSpec[ROW_INFO.getFieldCount()];
+    for (int i = 0; i < aFieldSpec.length; i++)
+    {
+        aFieldSpec[i] = new RowBatchGenerator.FieldSpec(aDistribution[i % aDistribution.length])
+            .setNullFraction(0.1)
+            .setLength(aLengthProfile[i % aLengthProfile.length], 4, 20);
+    }
+    return new RowBatchGenerator(ROW_INFO, aFieldSpec, ROW_COUNT, lSeed, nParallelism);
+}
+
+/**
+ * Checks that the rows of rowBatchRange are those of rowBatch from row nFirstRowIdx on.
+ */
+private static void assertSameRows(RowBatch rowBatch, int nFirstRowIdx, RowBatch rowBatchRange)
+{
+    RowData rowData = new RowData(ROW_INFO);
+    RowData rowDataRange = new RowData(ROW_INFO);
+    for (int i = 0; i < rowBatchRange.getRowCount(); i++)
+    {
+        assertEquals("Row " + (nFirstRowIdx + i), rowBatch.getRow(nFirstRowIdx + i, rowData),
+            rowBatchRange.getRow(i, rowDataRange));
+    }
+}
+} ///////// End of class
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: RowBatchTest.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.apache.parquet.io.api.Binary;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RowBatchTest
+{
+
+@Test
+public void testRoundTripOfEveryFieldType()
+{
+    RowInfo rowInfo = TestRows.rowInfo(TestRows.ALL_FIELD_TYPES);
+    List<RowData> listRowData = TestRows.randomRows(rowInfo, 5000, 100, 0.1, 9);
+    RowBatch rowBatch = RowBatch.fromRowData(rowInfo, listRowData);
+    assertEquals(listRowData.size(), rowBatch.getRowCount());
+    assertEquals(listRowData, rowBatch.toRowData());
+}
+
+@Test
+public void testRowsOutliveClear()
+{
+    RowInfo rowInfo = TestRows.rowInfo(FieldType.BINARY, FieldType.INT96, FieldType.STRING);
+    RowBatch rowBatch = new RowBatch(rowInfo, 4);
+    rowBatch.appendRow(TestRows.row(rowInfo, Binary.fromString("aaaa"), Binary.fromString("aaaaaaaaaaaa"), "aaaa"));
+    RowData rowData = rowBatch.getRow(0);
+
+    rowBatch.clear();
+    rowBatch.appendRow(TestRows.row(rowInfo, Binary.fromString("zzzz"), Binary.fromString("zzzzzzzzzzzz"), "zzzz"));
+    assertEquals("aaaa", ((Binary) rowData.getFieldData(0).getValue()).toStringUsingUTF8());
+    assertEquals("aaaaaaaaaaaa", ((Binary) rowData.getFieldData(1).getValue()).toStringUsingUTF8());
+    assertEquals("aaaa", rowData.getFieldData(2).getValue());
+}
+
+@Test
+public void testSortIsStable()
+{
+    RowInfo rowInfo = TestRows.rowInfo(FieldType.STRING, FieldType.INTEGER, FieldType.LONG);
+    List<RowData> listRowData = TestRows.randomRows(rowInfo, 20000, 20, 0.1, 10);
+    for (int i = 0; i < listRowData.size(); i++)
+    {
+        // A unique payload shows where every row ended up
+        listRowData.get(i).getFieldData(2).setValue((long) i);
+    }
+    RowBatch rowBatch = RowBatch.fromRowData(rowInfo, listRowData);
+
+    for (String sOrderBy : new String[]{"f1 DESC", "f0, f1 NULLS FIRST", "f0 DESC"})
+    {
+        SortSpec sortSpec = SortSpec.parse(rowInfo, sOrderBy);
+        List<RowData> listExpected = new ArrayList<>(listRowData);
+        listExpected.sort(TestRows.referenceComparator(sortSpec));
+        assertEquals(sOrderBy, listExpected, rowBatch.sort(sortSpec).toRowData());
+    }
+}
+
+@Test
+public void testComparatorMatchesKeyOrder()
+{
+    RowInfo rowInfo = TestRows.rowInfo(TestRows.ALL_FIELD_TYPES);
+    SortSpec sortSpec = SortSpec.parse(rowInfo, "f6 DESC, f4, f0 DESC NULLS LAST, f1, f2 DESC, f3, f5, f7, f8");
+    RowBatch rowBatch = RowBatch.fromRowData(rowInfo, TestRows.randomRows(rowInfo, 3000, 3, 0.2, 11));
+    IntComparator intComparator = rowBatch.getComparator(sortSpec);
+    RowKeyEncoder rowKeyEncoder = new RowKeyEncoder(rowInfo, sortSpec);
+    Comparator<byte[]> keyComparator = Arrays::compareUnsigned;
+    for (int i = 1; i < rowBatch.getRowCount(); i++)
+    {
+        int nExpected = Integer.signum(keyComparator.compare(rowKeyEncoder.encode(rowBatch.getRow(i - 1)),
+            rowKeyEncoder.encode(rowBatch.getRow(i))));
+        assertEquals(nExpected, Integer.signum(intComparator.compare(i - 1, i)));
+    }
+    assertTrue(rowBatch.getRowCount() > 1);
+}
+
+@Test
+public void testFailedAppendAddsNoRow()
+{
+    RowInfo rowInfo = TestRows.rowInfo(FieldType.STRING, FieldType.INTEGER);
+    RowBatch rowBatch = new RowBatch(rowInfo, 4);
+
+    // A row of other field types is rejected before anything is written
+    RowInfo rowInfoOther = TestRows.rowInfo(FieldType.STRING, FieldType.LONG);
+    try
+    {
+        rowBatch.appendRow(TestRows.row(rowInfoOther, "a", 1L));
+        fail("Row of other field types appended");
+    }
+    catch (IllegalArgumentException e)
+    {
+        assertEquals(0, rowBatch.getRowCount());
+    }
+
+    // The STRING value is written before the INTEGER value fails, and is rolled back
+    FieldData fieldDataFailing = new FieldData.IntegerFieldData()
+    {
+        @Override
+        public int getInt()
+        {
+            throw new IllegalStateException("Value can't be read");
+        }
+    };
+    fieldDataFailing.setValue(1);
+    try
+    {
+        rowBatch.appendRow(new RowData(new FieldData[]{TestRows.row(rowInfo, "b", 2).getFieldData(0),
+            fieldDataFailing}));
+        fail("Failure of the value not thrown");
+    }
+    catch (IllegalStateException e)
+    {
+        assertEquals(0, rowBatch.getRowCount());
+    }
+
+    rowBatch.appendRow(TestRows.row(rowInfo, "c", 3));
+    assertEquals(Collections.singletonList(TestRows.row(rowInfo, "c", 3)), rowBatch.toRowData());
+}
+
+@Test
+public void testBatchWithoutColumns()
+{
+    RowInfo rowInfo = TestRows.rowInfo();
+    RowBatch rowBatch = new RowBatch(rowInfo, 0);
+    for (int i = 0; i < 20; i++)
+    {
+        rowBatch.appendRow(new RowData(rowInfo));
+    }
+    assertEquals(20, rowBatch.getRowCount());
+}
+} ///////// End of class
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: RowComparatorFactoryTest.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class RowComparatorFactoryTest
+{
+
+private static final RowInfo ROW_INFO = TestRows.rowInfo(TestRows.ALL_FIELD_TYPES);
+
+@Test
+public void testMatchesReferenceOrder()
+{
+    List<RowData> listRowData = TestRows.randomRows(ROW_INFO, 3000, 3, 0.2, 12);
+    for (String sOrderBy : new String[]{"f0, f1, f2, f3, f4, f5, f6, f7, f8",
+        "f4 DESC, f0 NULLS FIRST, f6 DESC NULLS LAST, f1 DESC, f2, f3 DESC, f5 DESC, f7 DESC, f8 DESC", "f6",
+        "f8 DESC"})
+    {
+        SortSpec sortSpec = SortSpec.parse(ROW_INFO, sOrderBy);
+        Comparator<RowData> comparator = RowComparatorFactory.getComparator(ROW_INFO, sortSpec);
+        Comparator<RowData> referenceComparator = TestRows.referenceComparator(sortSpec);
+        for (int i = 1; i < listRowData.size(); i++)
+        {
+            RowData rowData1 = listRowData.get(i - 1);
+            RowData rowData2 = listRowData.get(i);
+            assertEquals(sOrderBy, Integer.signum(referenceComparator.compare(rowData1, rowData2)),
+                Integer.signum(comparator.compare(rowData1, rowData2)));
+        }
+    }
+}
+
+@Test
+public void testOneClassPerSchema()
+{
+    Comparator<RowData> comparator = RowComparatorFactory.getComparator(ROW_INFO, SortSpec.parse(ROW_INFO, "f1, f0"));
+    Comparator<RowData> comparatorDesc = RowComparatorFactory.getComparator(ROW_INFO,
+        SortSpec.parse(ROW_INFO, "f1 DESC, f0"));
+
+    assertSame(comparator, RowComparatorFactory.getComparator(ROW_INFO, SortSpec.parse(ROW_INFO, "f1, f0")));
+    assertNotSame(comparator.getClass(), comparatorDesc.getClass());
+    assertSame(SchemaRowComparator.class.getPackage(), comparator.getClass().getPackage());
+}
+
+@Test
+public void testEmptySortSpec()
+{
+    Comparator<RowData> comparator = RowComparatorFactory.getComparator(ROW_INFO, new SortSpec(new SortField[0]));
+    List<RowData> listRowData = TestRows.randomRows(ROW_INFO, 2, 10, 0.0, 13);
+    assertEquals(0, comparator.compare(listRowData.get(0), listRowData.get(1)));
+}
+
+} ///////// End of class
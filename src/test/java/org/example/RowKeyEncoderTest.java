@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: RowKeyEncoderTest.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RowKeyEncoderTest
+{
+
+@Test
+public void testRoundTripOfEveryFieldType()
+{
+    RowInfo rowInfo = TestRows.rowInfo(TestRows.ALL_FIELD_TYPES);
+    RowKeyEncoder rowKeyEncoder = new RowKeyEncoder(rowInfo);
+    for (RowData rowData : TestRows.randomRows(rowInfo, 2000, 50, 0.1, 1))
+    {
+        assertEquals(rowData, rowKeyEncoder.decode(rowKeyEncoder.encode(rowData)));
+    }
+}
+
+@Test
+public void testLargestValuesAreNotNull()
+{
+    RowInfo rowInfo = TestRows.rowInfo(FieldType.INTEGER, FieldType.LONG, FieldType.DOUBLE, FieldType.FLOAT,
+        FieldType.DATE, FieldType.BOOLEAN);
+    RowData rowDataMax = TestRows.row(rowInfo, Integer.MAX_VALUE, Long.MAX_VALUE, Double.MAX_VALUE, Float.MAX_VALUE,
+        Integer.MIN_VALUE, false);
+    RowData rowDataNull = new RowData(rowInfo);
+    for (int i = 0; i < rowInfo.getFieldCount(); i++)
+    {
+        assertFalse(rowDataMax.getFieldData(i).isNull());
+        assertTrue(rowDataNull.getFieldData(i).isNull());
+        assertNotEquals(rowDataNull.getFieldData(i), rowDataMax.getFieldData(i));
+    }
+
+    RowKeyEncoder rowKeyEncoder = new RowKeyEncoder(rowInfo);
+    byte[] aKeyMax = rowKeyEncoder.encode(rowDataMax);
+    byte[] aKeyNull = rowKeyEncoder.encode(rowDataNull);
+    assertTrue(Arrays.compareUnsigned(aKeyMax, aKeyNull) < 0);
+    assertEquals(rowDataMax, rowKeyEncoder.decode(aKeyMax));
+    assertNull(rowKeyEncoder.decode(aKeyNull).getFieldData(0).getValue());
+}
+
+@Test
+public void testKeyOrderIsSortSpecOrder()
+{
+    RowInfo rowInfo = TestRows.rowInfo(TestRows.ALL_FIELD_TYPES);
+    assertKeyOrder(rowInfo, SortSpec.ascending(rowInfo), 3);
+    assertKeyOrder(rowInfo, SortSpec.parse(rowInfo, "f4 DESC, f0 NULLS FIRST, f6 DESC NULLS LAST, f1 DESC, f2, f3 DESC,"
+        + " f5 DESC, f7 DESC, f8 DESC"), 3);
+    assertKeyOrder(rowInfo, SortSpec.parse(rowInfo, "f6, f7 DESC, f2 DESC NULLS LAST"), 20);
+}
+
+@Test
+public void testNullOrderingHoldsForBothDirections()
+{
+    RowInfo rowInfo = TestRows.rowInfo(FieldType.INTEGER);
+    RowData rowDataNull = new RowData(rowInfo);
+    RowData rowDataMin = TestRows.row(rowInfo, Integer.MIN_VALUE);
+    for (String sOrderBy : new String[]{"f0 NULLS FIRST", "f0 DESC NULLS FIRST", "f0 NULLS LAST", "f0 DESC NULLS LAST"})
+    {
+        RowKeyEncoder rowKeyEncoder = new RowKeyEncoder(rowInfo, SortSpec.parse(rowInfo, sOrderBy));
+        int nComp = Arrays.compareUnsigned(rowKeyEncoder.encode(rowDataNull), rowKeyEncoder.encode(rowDataMin));
+        assertEquals(sOrderBy, sOrderBy.endsWith("FIRST"), nComp < 0);
+    }
+}
+
+private static void assertKeyOrder(RowInfo rowInfo, SortSpec sortSpec, int nCardinality)
+{
+    RowKeyEncoder rowKeyEncoder = new RowKeyEncoder(rowInfo, sortSpec);
+    Comparator<RowData> comparator = TestRows.referenceComparator(sortSpec);
+    List<RowData> listRowData = TestRows.randomRows(rowInfo, 3000, nCardinality, 0.2, 2);
+    for (int i = 1; i < listRowData.size(); i++)
+    {
+        RowData rowData1 = listRowData.get(i - 1);
+        RowData rowData2 = listRowData.get(i);
+        int nExpected = Integer.signum(comparator.compare(rowData1, rowData2));
+        int nActual = Integer.signum(Arrays.compareUnsigned(rowKeyEncoder.encode(rowData1),
+            rowKeyEncoder.encode(rowData2)));
+        assertEquals(rowData1 + " " + rowData2, nExpected, nActual);
+    }
+}
+} ///////// End of class
@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: SortEndpointTest.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SortEndpointTest extends CamelTestSupport
+{
+
+private static final String ENDPOINT_URI = "sort:test?batchSize=100&flushInterval=0&sortBy=field1";
+private static final String MEMORY_ENDPOINT_URI = "sort:memory?batchSize=1000000&memoryBudget=4096&flushInterval=0"
+    + "&sortBy=field1";
+private static final String TIME_ENDPOINT_URI = "sort:time?batchSize=1000000&flushInterval=50&sortBy=field1";
+private static final String BUDGET_ENDPOINT_URI = "sort:budget?batchSize=100&memoryBudget=8192&flushInterval=0"
+    + "&sortBy=field1";
+private static final RowInfo ROW_INFO = TestRows.rowInfo(FieldType.INTEGER, FieldType.LONG);
+
+private final List<RowData> m_listRowData = new ArrayList<>();
+private final List<String> m_listFlushReason = new ArrayList<>();
+private volatile int m_nFailures;
+private volatile int m_nAttempts;
+
+@Override
+protected RouteBuilder createRouteBuilder()
+{
+    return new RouteBuilder()
+    {
+        @Override
+        public void configure()
+        {
+            for (String sUri : new String[]{ENDPOINT_URI, MEMORY_ENDPOINT_URI, TIME_ENDPOINT_URI, BUDGET_ENDPOINT_URI})
+            {
+                from(sUri).process(exchange -> {
+                    m_nAttempts++;
+                    if (m_nFailures > 0)
+                    {
+                        m_nFailures--;
+                        throw new IllegalStateException("Consumer failure");
+                    }
+                    RowBatch rowBatch = exchange.getIn().getBody(RowBatch.class);
+                    assertEquals(rowBatch.getRowCount(), (int) exchange.getIn().getHeader(SortEndpoint.HEADER_ROW_COUNT,
+                        Integer.class));
+                    synchronized (m_listRowData)
+                    {
+                        m_listFlushReason.add(exchange.getIn().getHeader(SortEndpoint.HEADER_FLUSH_REASON,
+                            String.class));
+                        for (int i = 0; i < rowBatch.getRowCount(); i++)
+                        {
+                            m_listRowData.add(rowBatch.getRow(i, new RowData(rowBatch.getRowInfo())));
+                        }
+                    }
+                });
+            }
+        }
+    };
+}
+
+@Test
+public void testSizeFlush() throws Exception
+{
+    SortEndpoint sortEndpoint = getMandatoryEndpoint(ENDPOINT_URI, SortEndpoint.class);
+    sendRows(ENDPOINT_URI, 250);
+    assertEquals(250, sortEndpoint.getRowsReceived());
+    assertEquals(200, sortEndpoint.getRowsEmitted());
+    assertEquals(2, sortEndpoint.getBatchesEmitted());
+    assertEquals(2, sortEndpoint.getSizeFlushCount());
+    assertEquals(0, sortEndpoint.getMemoryFlushCount());
+    assertEquals(0, sortEndpoint.getTimeFlushCount());
+    assertEquals(50, sortEndpoint.getBufferedRows());
+    assertEquals(Arrays.asList("SIZE", "SIZE"), m_listFlushReason);
+    assertBatchesSorted(100);
+
+    sortEndpoint.flush();
+    assertEquals(250, sortEndpoint.getRowsEmitted());
+    assertEquals(3, sortEndpoint.getBatchesEmitted());
+    assertEquals("MANUAL", m_listFlushReason.get(2));
+    assertEquals(0, sortEndpoint.getBufferedRows());
+
+    sortEndpoint.resetStatistics();
+    assertEquals(0, sortEndpoint.getRowsReceived());
+    assertEquals(0, sortEndpoint.getBatchesEmitted());
+    assertEquals(0, sortEndpoint.getSizeFlushCount());
+}
+
+@Test
+public void testMemoryFlush() throws Exception
+{
+    // The budget is checked every 1024 rows, and 1024 rows of an INTEGER and a LONG take more than 4 KB
+    SortEndpoint sortEndpoint = getMandatoryEndpoint(MEMORY_ENDPOINT_URI, SortEndpoint.class);
+    sendRows(MEMORY_ENDPOINT_URI, 1500);
+    assertEquals(1, sortEndpoint.getMemoryFlushCount());
+    assertEquals(0, sortEndpoint.getSizeFlushCount());
+    assertEquals(1024, sortEndpoint.getRowsEmitted());
+    assertEquals(1500 - 1024, sortEndpoint.getBufferedRows());
+    assertEquals(Collections.singletonList("MEMORY"), m_listFlushReason);
+    assertBatchesSorted(1024);
+}
+
+@Test
+public void testTimeFlush() throws Exception
+{
+    SortEndpoint sortEndpoint = getMandatoryEndpoint(TIME_ENDPOINT_URI, SortEndpoint.class);
+    sendRows(TIME_ENDPOINT_URI, 10);
+    long lDeadline = System.currentTimeMillis() + 10_000;
+    while (sortEndpoint.getRowsEmitted() < 10 && System.currentTimeMillis() < lDeadline)
+    {
+        Thread.sleep(10);
+    }
+    assertEquals(10, sortEndpoint.getRowsEmitted());
+    assertEquals(1, sortEndpoint.getTimeFlushCount());
+    assertEquals(0, sortEndpoint.getSizeFlushCount());
+    synchronized (m_listRowData)
+    {
+        assertEquals(Collections.singletonList("TIME"), m_listFlushReason);
+    }
+    assertBatchesSorted(10);
+}
+
+@Test
+public void testFailedFlushBacksOff() throws Exception
+{
+    SortEndpoint sortEndpoint = getMandatoryEndpoint(BUDGET_ENDPOINT_URI, SortEndpoint.class);
+    m_nFailures = Integer.MAX_VALUE;
+    sendRows(BUDGET_ENDPOINT_URI, 99);
+    assertSendFails(BUDGET_ENDPOINT_URI, IllegalStateException.class);
+    assertTrue(sortEndpoint.isFlushFailed());
+    assertEquals(1, m_nAttempts);
+
+    // No retry for every row added, only once another batchSize rows are buffered
+    sendRows(BUDGET_ENDPOINT_URI, 99);
+    assertEquals(1, m_nAttempts);
+    assertSendFails(BUDGET_ENDPOINT_URI, IllegalStateException.class);
+    assertEquals(2, m_nAttempts);
+    assertEquals(2, sortEndpoint.getFailedFlushCount());
+
+    // Over the memory budget, rows are rejected without a flush and the buffer stops growing
+    int nBufferedRows = -1;
+    for (int i = 0; i < 10000 && nBufferedRows != sortEndpoint.getBufferedRows(); i++)
+    {
+        nBufferedRows = sortEndpoint.getBufferedRows();
+        try
+        {
+            template.sendBody(BUDGET_ENDPOINT_URI, TestRows.row(ROW_INFO, i, (long) i));
+        }
+        catch (CamelExecutionException e)
+        {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+    assertEquals(nBufferedRows, sortEndpoint.getBufferedRows());
+    assertTrue(nBufferedRows < 1000);
+    assertTrue(m_nAttempts < 12);
+
+    m_nFailures = 0;
+    sortEndpoint.flush();
+    assertFalse(sortEndpoint.isFlushFailed());
+    assertEquals(nBufferedRows, sortEndpoint.getRowsEmitted());
+    assertEquals(0, sortEndpoint.getBufferedRows());
+    sendRows(BUDGET_ENDPOINT_URI, 10);
+    assertEquals(10, sortEndpoint.getBufferedRows());
+}
+
+@Test
+public void testFailedEmitKeepsRows() throws Exception
+{
+    SortEndpoint sortEndpoint = getMandatoryEndpoint(ENDPOINT_URI, SortEndpoint.class);
+    m_nFailures = 1;
+    for (int i = 0; i < 99; i++)
+    {
+        template.sendBody(ENDPOINT_URI, TestRows.row(ROW_INFO, 1000 - i, (long) i));
+    }
+    try
+    {
+        template.sendBody(ENDPOINT_URI, TestRows.row(ROW_INFO, 0, 99L));
+        fail("Failure of the consumer not thrown");
+    }
+    catch (CamelExecutionException e)
+    {
+        assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+    assertEquals(100, sortEndpoint.getBufferedRows());
+    assertEquals(0, sortEndpoint.getBatchesEmitted());
+
+    template.sendBody(ENDPOINT_URI, TestRows.row(ROW_INFO, 500, 100L));
+    sortEndpoint.flush();
+    assertEquals(0, sortEndpoint.getBufferedRows());
+    assertEquals(101, m_listRowData.size());
+    for (int i = 1; i < m_listRowData.size(); i++)
+    {
+        assertTrue(m_listRowData.get(i - 1).getFieldData(0).compareTo(m_listRowData.get(i).getFieldData(0)) <= 0);
+    }
+}
+
+@Test
+public void testMismatchedRowRejected() throws Exception
+{
+    SortEndpoint sortEndpoint = getMandatoryEndpoint(ENDPOINT_URI, SortEndpoint.class);
+    template.sendBody(ENDPOINT_URI, TestRows.row(ROW_INFO, 1, 1L));
+
+    RowInfo rowInfoOther = TestRows.rowInfo(FieldType.STRING, FieldType.LONG);
+    assertSendFails(ENDPOINT_URI, TestRows.row(rowInfoOther, "a", 2L), IllegalArgumentException.class);
+    assertSendFails(ENDPOINT_URI, TestRows.row(TestRows.rowInfo(FieldType.INTEGER), 3),
+        IllegalArgumentException.class);
+    assertEquals(1, sortEndpoint.getBufferedRows());
+    assertEquals(1, sortEndpoint.getRowsReceived());
+}
+
+@Test
+public void testMismatchedBatchRejected() throws Exception
+{
+    SortEndpoint sortEndpoint = getMandatoryEndpoint(ENDPOINT_URI, SortEndpoint.class);
+    template.sendBody(ENDPOINT_URI, TestRows.row(ROW_INFO, 1, 1L));
+
+    RowInfo rowInfoOther = TestRows.rowInfo(FieldType.STRING, FieldType.LONG);
+    RowBatch rowBatch = new RowBatch(rowInfoOther, 4);
+    rowBatch.appendRow(TestRows.row(rowInfoOther, "a", 2L));
+    try
+    {
+        template.sendBody(ENDPOINT_URI, rowBatch);
+        fail("Mismatched RowBatch accepted");
+    }
+    catch (CamelExecutionException e)
+    {
+        assertTrue(e.getCause() instanceof IllegalArgumentException);
+    }
+    assertEquals(1, sortEndpoint.getBufferedRows());
+
+    RowBatch rowBatchSame = new RowBatch(ROW_INFO, 4);
+    rowBatchSame.appendRow(TestRows.row(ROW_INFO, 2, 2L));
+    template.sendBody(ENDPOINT_URI, rowBatchSame);
+    assertEquals(2, sortEndpoint.getBufferedRows());
+}
+
+/**
+ * Sends nRowCount rows with descending keys.
+ */
+private void sendRows(String sUri, int nRowCount)
+{
+    for (int i = 0; i < nRowCount; i++)
+    {
+        template.sendBody(sUri, TestRows.row(ROW_INFO, nRowCount - i, (long) i));
+    }
+}
+
+private void assertSendFails(String sUri, Class<? extends Exception> exceptionClass)
+{
+    assertSendFails(sUri, TestRows.row(ROW_INFO, 0, 0L), exceptionClass);
+}
+
+private void assertSendFails(String sUri, Object oBody, Class<? extends Exception> exceptionClass)
+{
+    try
+    {
+        template.sendBody(sUri, oBody);
+        fail("Send did not fail");
+    }
+    catch (CamelExecutionException e)
+    {
+        assertTrue(String.valueOf(e.getCause()), exceptionClass.isInstance(e.getCause()));
+    }
+}
+
+/**
+ * Checks that the rows received are in batches of nBatchSize rows, the last one excepted, each sorted on the first
+ * field.
+ */
+private void assertBatchesSorted(int nBatchSize)
+{
+    synchronized (m_listRowData)
+    {
+        for (int i = 1; i < m_listRowData.size(); i++)
+        {
+            if (i % nBatchSize != 0)
+            {
+                assertTrue(m_listRowData.get(i - 1).getFieldData(0).compareTo(m_listRowData.get(i).getFieldData(0))
+                    <= 0);
+            }
+        }
+    }
+}
+} ///////// End of class
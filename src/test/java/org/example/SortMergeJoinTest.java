@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: SortMergeJoinTest.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class SortMergeJoinTest
+{
+
+private static final RowInfo ROW_INFO = TestRows.rowInfo(FieldType.INTEGER, FieldType.LONG);
+private static final SortSpec SORT_SPEC = SortSpec.parse(ROW_INFO, "f0, f1");
+
+@Test
+public void testJoinTypes() throws IOException
+{
+    // Small key ranges so that both sides have duplicate groups, keys of one side only and null keys
+    List<RowData> listLeft = randomRows(3000, 400, 1);
+    List<RowData> listRight = randomRows(2000, 500, 2);
+    for (SortMergeJoin.JoinType joinType : SortMergeJoin.JoinType.values())
+    {
+        assertEquals(joinType.name(), referenceJoin(listLeft, listRight, joinType), join(listLeft, listRight,
+            joinType));
+    }
+}
+
+@Test
+public void testEmptySide() throws IOException
+{
+    List<RowData> listLeft = randomRows(100, 10, 3);
+    assertEquals(Collections.emptyList(), join(listLeft, Collections.emptyList(), SortMergeJoin.JoinType.INNER));
+    assertEquals(referenceJoin(listLeft, Collections.emptyList(), SortMergeJoin.JoinType.LEFT), join(listLeft,
+        Collections.emptyList(), SortMergeJoin.JoinType.LEFT));
+    assertEquals(Collections.emptyList(), join(Collections.emptyList(), listLeft, SortMergeJoin.JoinType.LEFT));
+}
+
+@Test
+public void testUnsortedLeftRejected() throws IOException
+{
+    RowKeyEncoder rowKeyEncoder = new RowKeyEncoder(ROW_INFO, SORT_SPEC);
+    KeySlab leftKeySlab = TestRows.keySlab(rowKeyEncoder, Arrays.asList(TestRows.row(ROW_INFO, 5, 0L),
+        TestRows.row(ROW_INFO, 3, 1L)));
+    KeySlab rightKeySlab = TestRows.keySlab(rowKeyEncoder, Collections.singletonList(TestRows.row(ROW_INFO, 3, 2L)));
+    SortMergeJoin sortMergeJoin = new SortMergeJoin(rowKeyEncoder, rowKeyEncoder, 1, SortMergeJoin.JoinType.INNER);
+    try
+    {
+        sortMergeJoin.join(new SlabKeyCursor(leftKeySlab), new SlabKeyCursor(rightKeySlab), (aLeftKey, nLeftOffset,
+            nLeftLength, aRightKey, nRightOffset, nRightLength) -> { });
+        fail("Unsorted left input accepted");
+    }
+    catch (IllegalStateException e)
+    {
+        // Expected
+    }
+}
+
+@Test(expected = IllegalArgumentException.class)
+public void testIncompatibleKeysRejected()
+{
+    SortSpec sortSpecDesc = SortSpec.parse(ROW_INFO, "f0 DESC, f1");
+    new SortMergeJoin(new RowKeyEncoder(ROW_INFO, SORT_SPEC), new RowKeyEncoder(ROW_INFO, sortSpecDesc), 1,
+        SortMergeJoin.JoinType.INNER);
+}
+
+/**
+ * Returns rows of a key in [0, nKeyRange) or null, and a unique id.
+ */
+private static List<RowData> randomRows(int nRowCount, int nKeyRange, long lSeed)
+{
+    Random random = new Random(lSeed);
+    List<RowData> listRowData = new ArrayList<>(nRowCount);
+    for (int i = 0; i < nRowCount; i++)
+    {
+        Integer nKey = random.nextInt(20) == 0 ? null : random.nextInt(nKeyRange);
+        listRowData.add(TestRows.row(ROW_INFO, nKey, lSeed * 1_000_000 + i));
+    }
+    return listRowData;
+}
+
+/**
+ * Returns the output rows as sorted "leftId:rightId" strings, rightId null when the row has no right side.
+ */
+private static List<String> join(List<RowData> listLeft, List<RowData> listRight, SortMergeJoin.JoinType joinType)
+    throws IOException
+{
+    RowKeyEncoder rowKeyEncoder = new RowKeyEncoder(ROW_INFO, SORT_SPEC);
+    KeySlab leftKeySlab = TestRows.keySlab(rowKeyEncoder, listLeft);
+    KeySlab rightKeySlab = TestRows.keySlab(rowKeyEncoder, listRight);
+    SortMergeJoin sortMergeJoin = new SortMergeJoin(rowKeyEncoder, rowKeyEncoder, 1, joinType);
+    List<String> listOutput = new ArrayList<>();
+    long lOutputRowCount = sortMergeJoin.join(new SlabKeyCursor(leftKeySlab, leftKeySlab.sortIndex()),
+        new SlabKeyCursor(rightKeySlab, rightKeySlab.sortIndex()),
+        (aLeftKey, nLeftOffset, nLeftLength, aRightKey, nRightOffset, nRightLength) -> {
+            RowData leftRowData = rowKeyEncoder.decode(Arrays.copyOfRange(aLeftKey, nLeftOffset,
+                nLeftOffset + nLeftLength));
+            Object oRightId = aRightKey == null ? null : rowKeyEncoder.decode(Arrays.copyOfRange(aRightKey,
+                nRightOffset, nRightOffset + nRightLength)).getFieldData(1).getValue();
+            listOutput.add(leftRowData.getFieldData(1).getValue() + ":" + oRightId);
+        });
+    assertEquals(listOutput.size(), lOutputRowCount);
+    assertEquals(listLeft.size(), sortMergeJoin.getLeftRowCount());
+    Collections.sort(listOutput);
+    return listOutput;
+}
+
+private static List<String> referenceJoin(List<RowData> listLeft, List<RowData> listRight,
+    SortMergeJoin.JoinType joinType)
+{
+    List<String> listOutput = new ArrayList<>();
+    for (RowData leftRowData : listLeft)
+    {
+        Object oLeftKey = leftRowData.getFieldData(0).getValue();
+        Object oLeftId = leftRowData.getFieldData(1).getValue();
+        int nMatchCount = 0;
+        for (RowData rightRowData : listRight)
+        {
+            if (oLeftKey != null && oLeftKey.equals(rightRowData.getFieldData(0).getValue()))
+            {
+                nMatchCount++;
+                if (joinType == SortMergeJoin.JoinType.INNER || joinType == SortMergeJoin.JoinType.LEFT)
+                {
+                    listOutput.add(oLeftId + ":" + rightRowData.getFieldData(1).getValue());
+                }
+            }
+        }
+        if (nMatchCount == 0 && joinType != SortMergeJoin.JoinType.INNER && joinType != SortMergeJoin.JoinType.SEMI
+            || nMatchCount > 0 && joinType == SortMergeJoin.JoinType.SEMI)
+        {
+            listOutput.add(oLeftId + ":" + null);
+        }
+    }
+    Collections.sort(listOutput);
+    return listOutput;
+}
+} ///////// End of class
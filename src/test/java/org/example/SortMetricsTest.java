@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: SortMetricsTest.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs with the metrics off in the default test run and again with -Dorg.example.sort.metrics=true in the
+ * metrics-enabled execution of the pom, so both values of SortMetrics.ENABLED are covered.
+ */
+public class SortMetricsTest
+{
+
+private static final RowInfo ROW_INFO = TestRows.rowInfo(FieldType.INTEGER, FieldType.LONG);
+private static final String PHASE_NAME = "SortMetricsTest";
+
+@Before
+public void setUp()
+{
+    SortMetrics.getInstance().resetStatistics();
+}
+
+@Test
+public void testCounters() throws IOException
+{
+    SortMetrics sortMetrics = SortMetrics.getInstance();
+    RowKeyEncoder rowKeyEncoder = new RowKeyEncoder(ROW_INFO);
+    List<RowData> listRowData = TestRows.randomRows(ROW_INFO, 100, 50, 0.1, 1);
+    long lByteCount = 0;
+    List<byte[]> listKey = new ArrayList<>();
+    for (RowData rowData : listRowData)
+    {
+        byte[] aKey = rowKeyEncoder.encode(rowData);
+        listKey.add(aKey);
+        lByteCount += aKey.length;
+    }
+    for (int i = 1; i < listKey.size(); i++)
+    {
+        BinaryKeyComparator.compareKeys(listKey.get(i - 1), 0, listKey.get(i), 0, rowKeyEncoder.getMaxKeyWidth());
+    }
+    new MergeKeyCursor(Arrays.asList(emptyCursor(), emptyCursor(), emptyCursor())).close();
+    KeySlab keySlab = new KeySlab(rowKeyEncoder.getMaxKeyWidth(), 4);
+    keySlab.ensureCapacity(1000);
+
+    if (SortMetrics.ENABLED)
+    {
+        assertEquals(100, sortMetrics.getEncodedRowCount());
+        assertEquals(lByteCount, sortMetrics.getEncodedByteCount());
+        assertEquals(99, sortMetrics.getComparisonCount());
+        assertEquals(1, sortMetrics.getMergeCount());
+        assertEquals(3, sortMetrics.getMaxMergeFanIn());
+        assertTrue(sortMetrics.getPeakSlabBytes() >= 1000L * rowKeyEncoder.getMaxKeyWidth());
+
+        sortMetrics.resetStatistics();
+        assertEquals(0, sortMetrics.getEncodedRowCount());
+        assertEquals(0, sortMetrics.getPeakSlabBytes());
+    }
+    else
+    {
+        assertUntouched(sortMetrics);
+    }
+}
+
+@Test
+public void testPhaseStats() throws Exception
+{
+    SortPhase.start(PHASE_NAME).end(100);
+    try (SortPhase sortPhase = SortPhase.start(PHASE_NAME))
+    {
+        sortPhase.setRowCount(50);
+    }
+
+    MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+    ObjectName objectNamePhase = new ObjectName(SortMetrics.PHASE_OBJECT_NAME_PREFIX + ObjectName.quote(PHASE_NAME));
+    SortPhaseStats sortPhaseStats = SortMetrics.getInstance().getPhaseStats(PHASE_NAME);
+    if (SortMetrics.ENABLED)
+    {
+        assertNotNull(sortPhaseStats);
+        assertEquals(2, sortPhaseStats.getCount());
+        assertEquals(150, sortPhaseStats.getRowCount());
+        assertEquals(50, sortPhaseStats.getLastRowCount());
+        assertTrue(sortPhaseStats.getTotalTimeNanos() >= sortPhaseStats.getLastTimeNanos());
+        assertTrue(mBeanServer.isRegistered(new ObjectName(SortMetrics.OBJECT_NAME)));
+        assertTrue(mBeanServer.isRegistered(objectNamePhase));
+    }
+    else
+    {
+        assertNull(sortPhaseStats);
+        assertTrue(SortMetrics.getInstance().getAllPhaseStats().isEmpty());
+        assertFalse(mBeanServer.isRegistered(new ObjectName(SortMetrics.OBJECT_NAME)));
+        assertFalse(mBeanServer.isRegistered(objectNamePhase));
+    }
+}
+
+private static void assertUntouched(SortMetrics sortMetrics)
+{
+    assertEquals(0, sortMetrics.getEncodedRowCount());
+    assertEquals(0, sortMetrics.getEncodedByteCount());
+    assertEquals(0, sortMetrics.getComparisonCount());
+    assertEquals(0, sortMetrics.getSpillCount());
+    assertEquals(0, sortMetrics.getMergeCount());
+    assertEquals(0, sortMetrics.getMaxMergeFanIn());
+    assertEquals(0, sortMetrics.getPeakSlabBytes());
+}
+
+private static KeyCursor emptyCursor()
+{
+    return new SlabKeyCursor(new KeySlab(8, 1));
+}
+} ///////// End of class
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: SortPlannerTest.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SortPlannerTest
+{
+
+private static final RowInfo ROW_INFO = TestRows.rowInfo(FieldType.LONG, FieldType.LONG);
+private static final RowInfo STRING_ROW_INFO = TestRows.rowInfo(FieldType.STRING, FieldType.LONG);
+private static final long MEMORY_BUDGET_BYTES = 64L << 20;
+
+@Rule
+public TemporaryFolder m_temporaryFolder = new TemporaryFolder();
+
+@Test
+public void testPresortedRows() throws IOException
+{
+    List<RowData> listRowData = rows(10000, nRowIdx -> (long) nRowIdx);
+    assertSame(listRowData, assertPlannedSort(ROW_INFO, "f0", listRowData, SortPlanner.Algorithm.NONE));
+
+    assertPlannedSort(ROW_INFO, "f0", rows(10000, nRowIdx -> (long) -nRowIdx), SortPlanner.Algorithm.REVERSE);
+}
+
+@Test
+public void testDescendingRowsWithEqualKeysStayStable() throws IOException
+{
+    // Descending keys with runs of equal keys, which reversing would put in the wrong order
+    List<RowData> listRowData = rows(10000, nRowIdx -> (long) -(nRowIdx / 3));
+    SortPlanner sortPlanner = planner(ROW_INFO, "f0", MEMORY_BUDGET_BYTES);
+    assertNull(sortPlanner.checkPresorted(listRowData));
+    assertEquals(stableSort(listRowData, SortSpec.parse(ROW_INFO, "f0")), sortPlanner.sort(listRowData));
+}
+
+@Test
+public void testInMemoryAlgorithms() throws IOException
+{
+    Random random = new Random(1);
+    assertPlannedSort(ROW_INFO, "f0", rows(1000, nRowIdx -> random.nextLong()), SortPlanner.Algorithm.TIM_SORT);
+    assertPlannedSort(ROW_INFO, "f0", rows(50000, nRowIdx -> random.nextLong()), SortPlanner.Algorithm.MSD_RADIX);
+    assertPlannedSort(ROW_INFO, "f0", rows(50000, nRowIdx -> (long) random.nextInt(3)),
+        SortPlanner.Algorithm.SLAB_QUICKSORT);
+
+    List<RowData> listNearlySorted = rows(50000, nRowIdx -> (long) nRowIdx);
+    for (int i = 0; i < 500; i++)
+    {
+        Collections.swap(listNearlySorted, random.nextInt(listNearlySorted.size()),
+            random.nextInt(listNearlySorted.size()));
+    }
+    assertPlannedSort(ROW_INFO, "f0", listNearlySorted, SortPlanner.Algorithm.TIM_SORT);
+
+    // Fixed width strings that share a long prefix and repeat
+    List<RowData> listRowData = new ArrayList<>();
+    for (int i = 0; i < 50000; i++)
+    {
+        listRowData.add(TestRows.row(STRING_ROW_INFO, String.format("prefix-%05d", random.nextInt(20000)), (long) i));
+    }
+    assertPlannedSort(STRING_ROW_INFO, "f0", listRowData, SortPlanner.Algorithm.MULTIKEY_QUICKSORT);
+}
+
+@Test
+public void testParallel() throws IOException
+{
+    Random random = new Random(2);
+    assertPlannedSort(ROW_INFO, "f0", rows(SortPlanner.PARALLEL_ROW_COUNT, nRowIdx -> (long) random.nextInt(1 << 16)),
+        SortPlanner.Algorithm.PARALLEL);
+}
+
+@Test
+public void testOverMemoryBudget() throws IOException
+{
+    Random random = new Random(3);
+    List<RowData> listRowData = rows(50000, nRowIdx -> (long) random.nextInt(1000));
+    SortPlanner.SortPlan sortPlan = planner(ROW_INFO, "f0, f1", 256 << 10).plan(listRowData);
+    assertEquals(SortPlanner.Algorithm.EXTERNAL, sortPlan.getAlgorithm());
+    assertEquals(stableSort(listRowData, SortSpec.parse(ROW_INFO, "f0, f1")), planner(ROW_INFO, "f0, f1", 256 << 10)
+        .execute(sortPlan, listRowData));
+
+    // Fields outside the key would be lost by an external sort of the keys
+    assertEquals(SortPlanner.Algorithm.TIM_SORT, planner(ROW_INFO, "f0", 256 << 10).plan(listRowData)
+        .getAlgorithm());
+}
+
+@Test
+public void testUnboundedKeyWidth() throws IOException
+{
+    List<RowData> listRowData = new ArrayList<>();
+    for (int i = 0; i < 10000; i++)
+    {
+        listRowData.add(TestRows.row(STRING_ROW_INFO, Integer.toString(i * 7919 % 10007), (long) i));
+    }
+    SortPlanner sortPlanner = new SortPlanner(new RowKeyEncoder(STRING_ROW_INFO, SortSpec.parse(STRING_ROW_INFO, "f0")),
+        MEMORY_BUDGET_BYTES, 2, m_temporaryFolder.getRoot().toPath());
+    assertEquals(SortPlanner.Algorithm.TIM_SORT, sortPlanner.plan(listRowData).getAlgorithm());
+}
+
+@Test
+public void testEveryPlanOrdersStringsByCodePoint() throws IOException
+{
+    // UTF-16 order puts U+1F600, stored as surrogates, before U+E000 and U+FFFD; the keys hold UTF-8, code point order
+    String[] asValue = {"a", "a\uE000", "a\uFFFD", "a\uD83D\uDE00", "a\uD83D\uDE00b", "\uFFFD", "\uD83D\uDE00",
+        "\uD800\uDC00", "z", "a\u00FF"};
+    Random random = new Random(4);
+    List<RowData> listRowData = new ArrayList<>();
+    for (int i = 0; i < 5000; i++)
+    {
+        listRowData.add(TestRows.row(STRING_ROW_INFO, asValue[random.nextInt(asValue.length)], (long) i));
+    }
+    SortSpec sortSpec = SortSpec.parse(STRING_ROW_INFO, "f0, f1");
+    List<RowData> listExpected = stableSort(listRowData, sortSpec);
+    RowKeyEncoder rowKeyEncoder = new RowKeyEncoder(STRING_ROW_INFO, sortSpec, 24);
+    for (int i = 1; i < listExpected.size(); i++)
+    {
+        assertTrue(Arrays.compareUnsigned(rowKeyEncoder.encode(listExpected.get(i - 1)),
+            rowKeyEncoder.encode(listExpected.get(i))) < 0);
+    }
+
+    SortPlanner sortPlanner = planner(STRING_ROW_INFO, "f0, f1", MEMORY_BUDGET_BYTES);
+    for (SortPlanner.Algorithm algorithm : SortPlanner.Algorithm.values())
+    {
+        if (algorithm == SortPlanner.Algorithm.NONE || algorithm == SortPlanner.Algorithm.REVERSE)
+        {
+            continue;
+        }
+        SortPlanner.SortPlan sortPlan = new SortPlanner.SortPlan(algorithm, listRowData.size(), null,
+            new ArrayList<>());
+        assertEquals(algorithm.name(), listExpected, sortPlanner.execute(sortPlan, listRowData));
+    }
+
+    // Rows in code point order are found to be presorted, and reversed rows to be in descending order
+    assertEquals(SortPlanner.Algorithm.NONE, sortPlanner.checkPresorted(listExpected));
+    List<RowData> listReversed = new ArrayList<>(listExpected);
+    Collections.reverse(listReversed);
+    assertEquals(SortPlanner.Algorithm.REVERSE, sortPlanner.checkPresorted(listReversed));
+}
+
+/**
+ * Checks that the planner picks the algorithm for the rows and that its result is that of a stable sort. The second
+ * field is the row index, so rows with equal keys are told apart.
+ */
+private List<RowData> assertPlannedSort(RowInfo rowInfo, String sOrderBy, List<RowData> listRowData,
+    SortPlanner.Algorithm algorithm) throws IOException
+{
+    SortPlanner sortPlanner = planner(rowInfo, sOrderBy, MEMORY_BUDGET_BYTES);
+    SortPlanner.SortPlan sortPlan = sortPlanner.plan(listRowData);
+    assertEquals(sortPlan.toString(), algorithm, sortPlan.getAlgorithm());
+    List<RowData> listSorted = sortPlanner.execute(sortPlan, listRowData);
+    assertEquals(algorithm.name(), stableSort(listRowData, SortSpec.parse(rowInfo, sOrderBy)), listSorted);
+    return listSorted;
+}
+
+private SortPlanner planner(RowInfo rowInfo, String sOrderBy, long lMemoryBudgetBytes)
+{
+    return new SortPlanner(new RowKeyEncoder(rowInfo, SortSpec.parse(rowInfo, sOrderBy), 24), lMemoryBudgetBytes, 2,
+        m_temporaryFolder.getRoot().toPath());
+}
+
+private static List<RowData> rows(int nRowCount, IntFunction<Long> keyFunction)
+{
+    List<RowData> listRowData = new ArrayList<>(nRowCount);
+    for (int i = 0; i < nRowCount; i++)
+    {
+        listRowData.add(TestRows.row(ROW_INFO, keyFunction.apply(i), (long) i));
+    }
+    return listRowData;
+}
+
+private static List<RowData> stableSort(List<RowData> listRowData, SortSpec sortSpec)
+{
+    List<RowData> listSorted = new ArrayList<>(listRowData);
+    listSorted.sort(TestRows.referenceComparator(sortSpec));
+    return listSorted;
+}
+} ///////// End of class
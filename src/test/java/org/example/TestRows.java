@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: TestRows.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.apache.parquet.io.api.Binary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds rows for the tests and orders them with a comparator that only uses FieldData.compareTo, so the sorters are
+ * checked against an order that does not depend on the code under test.
+ */
+final class TestRows
+{
+
+static final FieldType[] ALL_FIELD_TYPES = {FieldType.INTEGER, FieldType.LONG, FieldType.DOUBLE, FieldType.FLOAT,
+    FieldType.BOOLEAN, FieldType.DATE, FieldType.STRING, FieldType.BINARY, FieldType.INT96};
+
+private TestRows()
+{
+}
+
+static RowInfo rowInfo(FieldType... aFieldType)
+{
+    FieldInfo[] aFieldInfo = new FieldInfo[aFieldType.length];
+    for (int i = 0; i < aFieldType.length; i++)
+    {
+        aFieldInfo[i] = new FieldInfo("f" + i, aFieldType[i]);
+    }
+    return new RowInfo(aFieldInfo);
+}
+
+static RowData row(RowInfo rowInfo, Object... aValue)
+{
+    RowData rowData = new RowData(rowInfo);
+    for (int i = 0; i < aValue.length; i++)
+    {
+        rowData.getFieldData(i).setValue(aValue[i]);
+    }
+    return rowData;
+}
+
+/**
+ * Returns nRowCount rows with values drawn from nCardinality distinct values per field, the extremes of every type
+ * included, and with about one null in dNullFraction.
+ */
+static List<RowData> randomRows(RowInfo rowInfo, int nRowCount, int nCardinality, double dNullFraction, long lSeed)
+{
+    Random random = new Random(lSeed);
+    List<RowData> listRowData = new ArrayList<>(nRowCount);
+    for (int i = 0; i < nRowCount; i++)
+    {
+        RowData rowData = new RowData(rowInfo);
+        for (int j = 0; j < rowInfo.getFieldCount(); j++)
+        {
+            if (random.nextDouble() < dNullFraction)
+            {
+                continue;
+            }
+            int nPick = random.nextInt(nCardinality);
+            rowData.getFieldData(j).setValue(value(rowInfo.getFieldInfo(j).getFieldType(), nPick, nCardinality));
+        }
+        listRowData.add(rowData);
+    }
+    return listRowData;
+}
+
+/**
+ * Returns the nPick-th of nCardinality values of the type. The first two are the smallest and largest value.
+ */
+static Object value(FieldType fieldType, int nPick, int nCardinality)
+{
+    boolean bMin = nPick == 0;
+    boolean bMax = nPick == 1 && nCardinality > 2;
+    long lMix = (nPick * 0x9E3779B97F4A7C15L) >>> 17;
+    switch (fieldType)
+    {
+        case INTEGER:
+            return bMin ? Integer.MIN_VALUE : bMax ? Integer.MAX_VALUE : (int) lMix;
+        case DATE:
+            return bMin ? -719162 : bMax ? 2932896 : (int) (lMix % 100000);
+        case LONG:
+            return bMin ? Long.MIN_VALUE : bMax ? Long.MAX_VALUE : lMix - (1L << 45);
+        case DOUBLE:
+            return bMin ? -Double.MAX_VALUE : bMax ? Double.MAX_VALUE : (lMix - (1L << 45)) / 1024.0;
+        case FLOAT:
+            return bMin ? -Float.MAX_VALUE : bMax ? Float.MAX_VALUE : (float) ((lMix - (1L << 45)) / 1024.0);
+        case BOOLEAN:
+            return (nPick & 1) == 1;
+        case STRING:
+            return bMin ? "" : bMax ? "ÿÿ" : Long.toString(lMix, 36);
+        case BINARY:
+            return Binary.fromString(bMin ? "" : Long.toString(lMix, 36));
+        case INT96:
+            return Binary.fromString(String.format("%012d", lMix % 1000000000000L));
+        default:
+            throw new IllegalArgumentException("Unsupported field type: " + fieldType);
+    }
+}
+
+/**
+ * Returns the order of the SortSpec built only from FieldData.compareTo and the null ordering of every sort field.
+ */
+static Comparator<RowData> referenceComparator(SortSpec sortSpec)
+{
+    return (rowData1, rowData2) ->
+    {
+        for (int i = 0; i < sortSpec.getSortFieldCount(); i++)
+        {
+            SortField sortField = sortSpec.getSortField(i);
+            FieldData fieldData1 = rowData1.getFieldData(sortField.getFieldIdx());
+            FieldData fieldData2 = rowData2.getFieldData(sortField.getFieldIdx());
+            int nComp;
+            if (fieldData1.isNull() || fieldData2.isNull())
+            {
+                nComp = Boolean.compare(fieldData1.isNull(), fieldData2.isNull());
+                nComp = sortField.isNullsFirst() ? -nComp : nComp;
+            }
+            else
+            {
+                nComp = fieldData1.compareTo(fieldData2);
+                nComp = sortField.isDescending() ? -nComp : nComp;
+            }
+            if (nComp != 0)
+            {
+                return nComp;
+            }
+        }
+        return 0;
+    };
+}
+
+static KeySlab keySlab(RowKeyEncoder rowKeyEncoder, List<RowData> listRowData)
+{
+    KeySlab keySlab = new KeySlab(rowKeyEncoder, 16);
+    for (RowData rowData : listRowData)
+    {
+        keySlab.append(rowData);
+    }
+    return keySlab;
+}
+
+/**
+ * Returns the keys of the slab in the order of the row indexes, or in slab order when anRowIdx is null.
+ */
+static byte[][] keys(KeySlab keySlab, int[] anRowIdx)
+{
+    byte[][] aaKey = new byte[keySlab.getRowCount()][];
+    for (int i = 0; i < aaKey.length; i++)
+    {
+        aaKey[i] = keySlab.getKey(anRowIdx != null ? anRowIdx[i] : i);
+    }
+    return aaKey;
+}
+
+/**
+ * Returns the keys of the slab sorted with Arrays.sort, the order every sorter of a slab must give.
+ */
+static byte[][] sortedKeys(KeySlab keySlab)
+{
+    byte[][] aaKey = keys(keySlab, null);
+    Arrays.sort(aaKey, Arrays::compareUnsigned);
+    return aaKey;
+}
+
+/**
+ * Returns true when the row indexes of rows with equal keys are ascending, i.e. the sort kept their input order.
+ */
+static boolean isStable(KeySlab keySlab, int[] anRowIdx)
+{
+    for (int i = 1; i < anRowIdx.length; i++)
+    {
+        if (keySlab.compare(anRowIdx[i - 1], anRowIdx[i]) == 0 && anRowIdx[i - 1] > anRowIdx[i])
+        {
+            return false;
+        }
+    }
+    return true;
+}
+
+/**
+ * Returns true when the list is in the order of the comparator.
+ */
+static boolean isSorted(List<RowData> listRowData, Comparator<RowData> comparator)
+{
+    for (int i = 1; i < listRowData.size(); i++)
+    {
+        if (comparator.compare(listRowData.get(i - 1), listRowData.get(i)) > 0)
+        {
+            return false;
+        }
+    }
+    return true;
+}
+} ///////// End of class
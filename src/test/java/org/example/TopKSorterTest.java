@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2022 Uniphi Inc
+ * All rights reserved.
+ *
+ * File Name: TopKSorterTest.java
+ *
+ * Created On: 2026-10-18
+ */
+
+package org.example;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TopKSorterTest
+{
+
+private static final RowInfo ROW_INFO = TestRows.rowInfo(FieldType.INTEGER, FieldType.DOUBLE, FieldType.LONG);
+
+@Test
+public void testLimitAndOffset() throws IOException
+{
+    List<RowData> listRowData = TestRows.randomRows(ROW_INFO, 20000, 300, 0.1, 14);
+    SortSpec sortSpec = SortSpec.parse(ROW_INFO, "f1 DESC, f0 NULLS FIRST").withRemainingFields(ROW_INFO);
+    List<RowData> listSorted = new ArrayList<>(listRowData);
+    listSorted.sort(TestRows.referenceComparator(sortSpec));
+
+    int[][] aanLimitOffset = {{10, 0}, {100, 50}, {1, 19999}, {0, 10}, {50, 19990}, {30000, 0}};
+    for (int[] anLimitOffset : aanLimitOffset)
+    {
+        TopKSorter topKSorter = new TopKSorter(new RowKeyEncoder(ROW_INFO, sortSpec), anLimitOffset[0],
+            anLimitOffset[1]);
+        for (RowData rowData : listRowData)
+        {
+            topKSorter.add(rowData);
+        }
+
+        int nFrom = Math.min(anLimitOffset[1], listSorted.size());
+        int nTo = Math.min(anLimitOffset[0] + anLimitOffset[1], listSorted.size());
+        assertEquals(listSorted.subList(nFrom, nTo), decode(topKSorter));
+        assertEquals(listRowData.size(), topKSorter.getRowCount());
+    }
+}
+
+@Test
+public void testMostRowsAreRejectedAtTheRoot() throws IOException
+{
+    List<RowData> listRowData = TestRows.randomRows(ROW_INFO, 20000, 100000, 0.0, 15);
+    TopKSorter topKSorter = new TopKSorter(new RowKeyEncoder(ROW_INFO), 10);
+    RowBatch rowBatch = RowBatch.fromRowData(ROW_INFO, listRowData);
+    topKSorter.add(rowBatch);
+    assertEquals(10, decode(topKSorter).size());
+    assertTrue(topKSorter.getRejectedCount() > listRowData.size() / 2);
+}
+
+@Test(expected = IllegalArgumentException.class)
+public void testNegativeLimitFails()
+{
+    new TopKSorter(new RowKeyEncoder(ROW_INFO), -1);
+}
+
+private static List<RowData> decode(TopKSorter topKSorter) throws IOException
+{
+    List<RowData> listRowData = new ArrayList<>();
+    KeyCursor keyCursor = topKSorter.sort();
+    while (keyCursor.next())
+    {
+        listRowData.add(topKSorter.decode(keyCursor, new RowData(ROW_INFO)));
+    }
+    return listRowData;
+}
+} ///////// End of class